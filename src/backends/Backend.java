@@ -0,0 +1,217 @@
+package backends;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collection;
+
+import common.CompilationException;
+import common.log.Log;
+import common.log.Stage;
+
+/**
+ * Output of the code generation. A backend receives the code emitted by the generator, in a neutral form,
+ * and writes it in its own dialect (layout, names, constants...) into its file or writer.
+ * The generator drives all its backends during a single traversal of the AST, so that the types are computed once for all of them.
+ * @author C.Silva, R.Cuinat
+ */
+public abstract class Backend {
+	private final String file;
+	private final Writer target;
+	private final Stage stage;
+	private BufferedWriter bw;
+	private StringBuilder trace;
+
+	/**
+	 * Constructor of the class. The code is written in the given file.
+	 * @param file Name of the output file, with its extension.
+	 * @param stage Stage whose trace displays the generated code.
+	 * @author C.Silva, R.Cuinat
+	 */
+	protected Backend(String file, Stage stage) {
+		this.file = file;
+		this.target = null;
+		this.stage = stage;
+	}
+
+	/**
+	 * Constructor of the class. The code is written in the given writer.
+	 * @param target Writer receiving the generated code. It is closed once the generation is complete.
+	 * @param stage Stage whose trace displays the generated code.
+	 * @author C.Silva, R.Cuinat
+	 */
+	protected Backend(Writer target, Stage stage) {
+		this.file = null;
+		this.target = target;
+		this.stage = stage;
+	}
+
+	/**
+	 * Returns a description of the generated code, used in the messages.
+	 * @return The description of the code.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public abstract String getDescription();
+
+	/**
+	 * Opens the output of the backend.
+	 * @throws IOException When the output file cannot be created.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public void open() throws IOException {
+		this.bw = new BufferedWriter(this.target != null ? this.target : new FileWriter(this.file));
+		this.trace = Log.isTracing(this.stage) ? new StringBuilder() : null;
+	}
+
+	/**
+	 * Closes the output of the backend, if it is open. The generated code is displayed if the stage of the backend is traced.
+	 * @throws CompilationException When the end of the code cannot be written.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public void close() {
+		if (this.bw == null) {
+			return;
+		}
+		BufferedWriter bw = this.bw;
+		this.bw = null;
+		if (this.trace != null) {
+			Log.trace(this.stage, this.trace.append("\n").toString());
+			this.trace = null;
+		}
+		try {
+			bw.close();
+		} catch (IOException e) {
+			throw this.failure(e);
+		}
+	}
+
+	/**
+	 * Creates the exception reporting that the output of the backend cannot be written.
+	 * @param e The cause of the failure.
+	 * @return The exception.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public CompilationException failure(IOException e) {
+		return new CompilationException("Unable to write the " + this.getDescription() + (this.file != null ? " in " + this.file : "") + " : " + e.getMessage());
+	}
+
+	/**
+	 * Writes the specified string in the output as is.
+	 * @param s String to write.
+	 * @throws CompilationException When the string cannot be written.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public void write(String s) {
+		try {
+			this.bw.write(s);
+			if (this.trace != null) {
+				this.trace.append(s);
+			}
+		} catch (IOException e) {
+			throw this.failure(e);
+		}
+	}
+
+	/**
+	 * Writes the includes beginning the code.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public abstract void header();
+
+	/**
+	 * Ends the current line with the specified string and begins the next one.
+	 * @param end String to end the line with.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public abstract void newLine(String end);
+
+	/**
+	 * Writes the name of a variable or of an argument.
+	 * @param name Name of the variable or of the argument in the python code.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public abstract void identifier(String name);
+
+	/**
+	 * Writes the name of a function.
+	 * @param name Name of the function in the python code.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public abstract void function(String name);
+
+	/**
+	 * Begins the code of a function. The names of its variables only have to differ from each other and from the names of the functions.
+	 * Does nothing by default.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public void enterFunction() {
+	}
+
+	/**
+	 * Begins the condition of a branch or of a loop. Does nothing by default.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public void openCondition() {
+	}
+
+	/**
+	 * Ends the condition of a branch or of a loop. Does nothing by default.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public void closeCondition() {
+	}
+
+	/**
+	 * Returns the dispatcher of the states of the flattened functions. The control flow is not flattened by default.
+	 * @return The dispatcher, or null if the control flow of the functions is kept.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public Dispatch getDispatch() {
+		return null;
+	}
+
+	/**
+	 * Writes an integer constant, of type int when it fits in 32 bits, of type long long otherwise.
+	 * @param value Value of the constant.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public abstract void integer(long value);
+
+	/**
+	 * Declares the string literals of the program, before its functions. Does nothing by default.
+	 * @param literals The literals, as written between the quotes in the python code.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public void literals(Collection<String> literals) {
+	}
+
+	/**
+	 * Writes a string literal, between quotes by default.
+	 * @param literal The literal, as written between the quotes in the python code.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public void string(String literal) {
+		this.write("\"" + literal + "\"");
+	}
+
+	/**
+	 * Writes a C operator.
+	 * @param operator The operator, as written in C.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public abstract void operator(String operator);
+
+	/**
+	 * Opens a block of statements.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public abstract void openBlock();
+
+	/**
+	 * Closes the current block of statements.
+	 * @param end String ending the last line of the block.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public abstract void closeBlock(String end);
+}
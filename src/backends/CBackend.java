@@ -0,0 +1,98 @@
+package backends;
+
+import java.io.Writer;
+
+import common.log.Stage;
+
+/**
+ * Backend writing readable C code : one statement per line, indented blocks and the names of the python code.
+ * @author C.Silva, R.Cuinat
+ */
+public class CBackend extends Backend {
+	private int current_tab;
+
+	/**
+	 * Constructor of the class.
+	 * @param outputFile Name of the output c file. (without extension)
+	 * @author C.Silva, R.Cuinat
+	 */
+	public CBackend(String outputFile) {
+		super(outputFile + ".c", Stage.C_GEN);
+		this.current_tab = 0;
+	}
+
+	/**
+	 * Constructor of the class. The code is generated in the given writer instead of a file.
+	 * @param target Writer receiving the generated code. It is closed once the generation is complete.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public CBackend(Writer target) {
+		super(target, Stage.C_GEN);
+		this.current_tab = 0;
+	}
+
+	@Override
+	public String getDescription() {
+		return "c code";
+	}
+
+	@Override
+	public void header() {
+		this.write("#include <stdlib.h>\n#include <stdio.h>\n#include <math.h>\n#include <stdint.h>\n\n");
+	}
+
+	/**
+	 * Print a new Line with the relevant tabulations ending with the specified string;
+	 * @param end String to end the line with
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void newLine(String end) {
+		StringBuilder chaine = new StringBuilder(end + "\n");
+		for (int i=0;i<this.current_tab;i++) {
+			chaine.append("\t");
+		}
+		this.write(chaine.toString());
+	}
+
+	@Override
+	public void identifier(String name) {
+		this.write(name);
+	}
+
+	@Override
+	public void function(String name) {
+		this.write(name);
+	}
+
+	@Override
+	public void integer(long value) {
+		if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+			this.write(Long.toString(value));
+		}
+		else if (value == Long.MIN_VALUE) {
+			this.write("(-9223372036854775807LL-1)");
+		}
+		else {
+			this.write(value + "LL");
+		}
+	}
+
+	@Override
+	public void operator(String operator) {
+		this.write(operator);
+	}
+
+	@Override
+	public void openBlock() {
+		this.write("{");
+		this.current_tab ++;
+	}
+
+	@Override
+	public void closeBlock(String end) {
+		this.current_tab --;
+		this.newLine(end);
+		this.write("}");
+	}
+}
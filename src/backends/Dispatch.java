@@ -0,0 +1,49 @@
+package backends;
+
+/**
+ * Dispatchers of the states of the flattened functions (see ir.Flattener), with their estimated cost per dispatch, in instructions.
+ * @author C.Silva, R.Cuinat
+ */
+public enum Dispatch {
+	/** A switch on the number of the state in an infinite loop : portable C, compiled into a bound check and an indirect jump. */
+	SWITCH(3),
+	/** An indirect jump through a table of labels : the computed goto of gcc and clang. */
+	COMPUTED_GOTO(1);
+
+	private final double cost;
+
+	/**
+	 * Constructor of the enum.
+	 * @param cost Estimated cost of a dispatch, in instructions.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private Dispatch(double cost) {
+		this.cost = cost;
+	}
+
+	/**
+	 * Getter of the cost field.
+	 * @return The estimated cost of a dispatch, in instructions.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public double getCost() {
+		return this.cost;
+	}
+
+	/**
+	 * Reads a dispatcher from its name.
+	 * @param name Name of the dispatcher : switch, or goto for the computed goto.
+	 * @return The dispatcher.
+	 * @throws IllegalArgumentException When no dispatcher has this name.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public static Dispatch parse(String name) {
+		if (name.trim().compareToIgnoreCase("switch") == 0) {
+			return Dispatch.SWITCH;
+		}
+		if (name.trim().compareToIgnoreCase("goto") == 0 || name.trim().compareToIgnoreCase("computed_goto") == 0) {
+			return Dispatch.COMPUTED_GOTO;
+		}
+		throw new IllegalArgumentException("Unknown dispatch " + name + ". Expected switch or goto.");
+	}
+}
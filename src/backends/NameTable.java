@@ -0,0 +1,144 @@
+package backends;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Random;
+
+/**
+ * Table of the names given to the identifiers in the obfuscated code. A name is given once to every function, variable and argument,
+ * then looked up in a hash table at each of its uses. The names are made of letters and digits after a first letter telling the scope :
+ * the functions share the global scope, while the variables of each function have a scope of their own, cleared when the next function begins.
+ * Hence the names are as short as possible, two names of the same scope never collide and no variable hides a function.
+ * The names are given in order, or drawn at random from a seed so that the same program gives the same code.
+ * @author C.Silva, R.Cuinat
+ */
+public class NameTable {
+	private static final String CHARACTERS = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+
+	private final Scope functions;
+	private final Scope variables;
+	private final Random random;
+
+	/**
+	 * Constructor of the class. The names are given in order : O, Oa, Ob... for the functions, o, oa, ob... for the variables.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public NameTable() {
+		this.functions = new Scope('O');
+		this.variables = new Scope('o');
+		this.random = null;
+	}
+
+	/**
+	 * Constructor of the class. The names are drawn at random, of the shortest length leaving at least half of the names of this length free.
+	 * @param seed Seed of the random draws.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public NameTable(long seed) {
+		this.functions = new Scope('O');
+		this.variables = new Scope('o');
+		this.random = new Random(seed);
+	}
+
+	/**
+	 * Returns the name given to a function, giving it one on its first request.
+	 * @param name Name of the function in the generated code.
+	 * @return The name of the function in the obfuscated code.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public String function(String name) {
+		return this.rename(this.functions, name);
+	}
+
+	/**
+	 * Returns the name given to a variable or an argument of the current function, giving it one on its first request.
+	 * @param name Name of the variable in the generated code.
+	 * @return The name of the variable in the obfuscated code.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public String variable(String name) {
+		return this.rename(this.variables, name);
+	}
+
+	/**
+	 * Begins a function : the names of the variables of the previous function are forgotten, and can be given again.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public void enterFunction() {
+		this.variables.names.clear();
+		this.variables.taken.clear();
+	}
+
+	/**
+	 * Returns the name given to the given identifier in the given scope, giving it one on its first request.
+	 * @param scope The scope of the identifier.
+	 * @param name Name of the identifier in the generated code.
+	 * @return The name of the identifier in the obfuscated code.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private String rename(Scope scope, String name) {
+		String renamed = scope.names.get(name);
+		if (renamed == null) {
+			renamed = this.random == null ? NameTable.suffix(scope.taken.size()) : this.draw(scope.taken.size());
+			while (!scope.taken.add(renamed)) {
+				renamed = this.draw(scope.taken.size());
+			}
+			renamed = scope.prefix + renamed;
+			scope.names.put(name, renamed);
+		}
+		return renamed;
+	}
+
+	/**
+	 * Draws a random suffix of name.
+	 * @param count Number of names already given in the scope.
+	 * @return A suffix of the shortest length whose number of suffixes is at least twice the number of names, with the new one.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private String draw(int count) {
+		int length = 1;
+		for (long size = NameTable.CHARACTERS.length(); size < 2L * (count + 1); size *= NameTable.CHARACTERS.length()) {
+			length++;
+		}
+		StringBuilder suffix = new StringBuilder();
+		for (int i=0;i<length;i++) {
+			suffix.append(NameTable.CHARACTERS.charAt(this.random.nextInt(NameTable.CHARACTERS.length())));
+		}
+		return suffix.toString();
+	}
+
+	/**
+	 * Returns the suffix of name of the given rank, the suffixes being ordered by length then alphabetically.
+	 * @param rank Rank of the suffix.
+	 * @return The suffix : the empty suffix, then a, b... 9, then aa, ab...
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static String suffix(int rank) {
+		StringBuilder suffix = new StringBuilder();
+		for (int i=rank;i>0;i=(i - 1) / NameTable.CHARACTERS.length()) {
+			suffix.append(NameTable.CHARACTERS.charAt((i - 1) % NameTable.CHARACTERS.length()));
+		}
+		return suffix.reverse().toString();
+	}
+
+	/**
+	 * Scope of names : the names given, and their suffixes.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static class Scope {
+		private final char prefix;
+		private final HashMap<String, String> names;
+		private final HashSet<String> taken;
+
+		/**
+		 * Constructor of the class.
+		 * @param prefix First letter of the names of the scope.
+		 * @author C.Silva, R.Cuinat
+		 */
+		private Scope(char prefix) {
+			this.prefix = prefix;
+			this.names = new HashMap<>();
+			this.taken = new HashSet<>();
+		}
+	}
+}
@@ -0,0 +1,353 @@
+package backends;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Random;
+
+import common.log.Stage;
+
+/**
+ * Backend writing obfuscated C code : the whole code on a few lines, trigraphs instead of the braces, of the # and of the |,
+ * hexadecimal integers and names replaced by short meaningless names (see NameTable).
+ * According to its level (see ObfuscationLevel), the integer constants are also encoded, the string literals encrypted,
+ * the conditions joined to opaque predicates, and the control flow of the functions flattened.
+ * @author C.Silva, R.Cuinat
+ */
+public class ObfuscatedCBackend extends Backend {
+	private static final String PREDICATE = " predicate";
+	private static final String DECRYPT = " decrypt";
+
+	private final NameTable names;
+	private ObfuscationLevel level;
+	private Random random;
+	private Dispatch dispatch;
+	private final HashMap<String, Integer> keys;
+
+	/**
+	 * Constructor of the class. The names are given in order.
+	 * @param outputFile Name of the output c file. (without extension)
+	 * @author C.Silva, R.Cuinat
+	 */
+	public ObfuscatedCBackend(String outputFile) {
+		this(outputFile, new NameTable());
+	}
+
+	/**
+	 * Constructor of the class.
+	 * @param outputFile Name of the output c file. (without extension)
+	 * @param names Table of the names given to the identifiers.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public ObfuscatedCBackend(String outputFile, NameTable names) {
+		super(outputFile + "_obf.c", Stage.OBF_C_GEN);
+		this.names = names;
+		this.level = ObfuscationLevel.LEXICAL;
+		this.random = new Random(0);
+		this.dispatch = Dispatch.COMPUTED_GOTO;
+		this.keys = new HashMap<>();
+	}
+
+	/**
+	 * Constructor of the class. The code is generated in the given writer instead of a file. The names are given in order.
+	 * @param target Writer receiving the generated code. It is closed once the generation is complete.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public ObfuscatedCBackend(Writer target) {
+		this(target, new NameTable());
+	}
+
+	/**
+	 * Constructor of the class. The code is generated in the given writer instead of a file.
+	 * @param target Writer receiving the generated code. It is closed once the generation is complete.
+	 * @param names Table of the names given to the identifiers.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public ObfuscatedCBackend(Writer target, NameTable names) {
+		super(target, Stage.OBF_C_GEN);
+		this.names = names;
+		this.level = ObfuscationLevel.LEXICAL;
+		this.random = new Random(0);
+		this.dispatch = Dispatch.COMPUTED_GOTO;
+		this.keys = new HashMap<>();
+	}
+
+	/**
+	 * Setter of the level field. The code is obfuscated at the lexical level by default.
+	 * @param level Level of obfuscation of the code.
+	 * @param seed Seed of the keys encoding the constants and of the choice of the predicates.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public void setLevel(ObfuscationLevel level, long seed) {
+		this.level = level;
+		this.random = new Random(seed);
+	}
+
+	/**
+	 * Setter of the dispatch field. The states of the flattened functions are dispatched by a computed goto by default.
+	 * @param dispatch Dispatcher of the states, used from the level FLATTENING.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public void setDispatch(Dispatch dispatch) {
+		this.dispatch = dispatch;
+	}
+
+	@Override
+	public String getDescription() {
+		return "obfuscated c code";
+	}
+
+	@Override
+	public void header() {
+		this.write("??=include <stdlib.h>\n??=include <stdio.h>\n??=include <math.h>\n??=include <stdint.h>\n");
+		if (this.level.includes(ObfuscationLevel.PREDICATES)) {
+			this.write("static volatile unsigned int " + this.names.function(ObfuscatedCBackend.PREDICATE) + " = ");
+			this.hexadecimal(this.random.nextInt(Integer.MAX_VALUE));
+			this.write(";");
+		}
+	}
+
+	/**
+	 * Print a space ending with the specified string;
+	 * @param end String to end the space with
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void newLine(String end) {
+		this.write(" " + end);
+	}
+
+	@Override
+	public void identifier(String name) {
+		this.write(this.names.variable(name));
+	}
+
+	@Override
+	public void function(String name) {
+		this.write(this.names.function(name));
+	}
+
+	@Override
+	public void enterFunction() {
+		this.names.enterFunction();
+	}
+
+	/**
+	 * Begins the condition with a parenthesis when it is to be joined to an opaque predicate.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void openCondition() {
+		if (this.level.includes(ObfuscationLevel.PREDICATES)) {
+			this.write("(");
+		}
+	}
+
+	/**
+	 * Joins the condition to an opaque predicate, always true but computed at runtime from a volatile global :
+	 * the product of two consecutive integers is even, and the square of an integer is not 2 modulo 4.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void closeCondition() {
+		if (this.level.includes(ObfuscationLevel.PREDICATES)) {
+			String global = this.names.function(ObfuscatedCBackend.PREDICATE);
+			if (this.random.nextBoolean()) {
+				this.write(") && !(" + global + " * (" + global + " + ");
+				this.hexadecimal(1);
+				this.write(") & ");
+				this.hexadecimal(1);
+				this.write(")");
+			}
+			else {
+				this.write(") && " + global + " * " + global + " % ");
+				this.hexadecimal(4);
+				this.write(" != ");
+				this.hexadecimal(2);
+			}
+		}
+	}
+
+	@Override
+	public Dispatch getDispatch() {
+		return this.level.includes(ObfuscationLevel.FLATTENING) ? this.dispatch : null;
+	}
+
+	/**
+	 * Declares the string literals encrypted from the level STRINGS, after the function decrypting them.
+	 * Each literal is a static array of bytes : a flag telling whether it is decrypted, then the bytes of the literal and its terminating zero
+	 * xored with the high bytes of a linear congruential generator seeded by a random key. The first use of the literal decrypts it in place,
+	 * up to its terminating zero, and sets the flag : the next uses only test the flag, even in a loop.
+	 * @param literals The literals, as written between the quotes in the python code.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void literals(Collection<String> literals) {
+		if (!this.level.includes(ObfuscationLevel.STRINGS) || literals.isEmpty()) {
+			return;
+		}
+		this.write("static char *" + this.names.function(ObfuscatedCBackend.DECRYPT) + "(unsigned char *s, unsigned int k)??< if (!*s)??< unsigned char *c = s; *s = ");
+		this.hexadecimal(1);
+		this.write("; do ??< k = k * 0x41c64e6d + 0x3039; ??> while (*++c ??'= k >> 24); ??> return (char *) s + ");
+		this.hexadecimal(1);
+		this.write("; ??>");
+		for (String literal : literals) {
+			int key = this.random.nextInt();
+			this.keys.put(literal, key);
+			this.write("static unsigned char " + this.names.function("\"" + literal) + "[] = ??<");
+			this.hexadecimal(0);
+			int k = key;
+			for (byte b : ObfuscatedCBackend.bytes(literal)) {
+				k = k * 0x41c64e6d + 0x3039;
+				this.write(", ");
+				this.hexadecimal((b ^ (k >>> 24)) & 0xff);
+			}
+			this.write("??>;");
+		}
+	}
+
+	/**
+	 * Writes the string literal, decrypted by its first use from the level STRINGS (see literals).
+	 * @param literal The literal, as written between the quotes in the python code.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void string(String literal) {
+		if (!this.keys.containsKey(literal)) {
+			super.string(literal);
+			return;
+		}
+		this.write(this.names.function(ObfuscatedCBackend.DECRYPT) + "(" + this.names.function("\"" + literal) + ", ");
+		this.integer(this.keys.get(literal));
+		this.write(")");
+	}
+
+	/**
+	 * Returns the bytes of a string literal, its escape sequences being replaced by the characters they stand for, and its terminating zero.
+	 * @param literal The literal, as written between the quotes in the python code.
+	 * @return The bytes of the literal in UTF-8.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static byte[] bytes(String literal) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		for (int i=0;i<literal.length();i++) {
+			char c = literal.charAt(i);
+			if (c != '\\' || i + 1 == literal.length()) {
+				int codePoint = literal.codePointAt(i);
+				byte[] encoded = new String(Character.toChars(codePoint)).getBytes(StandardCharsets.UTF_8);
+				bytes.write(encoded, 0, encoded.length);
+				i += Character.charCount(codePoint) - 1;
+				continue;
+			}
+			c = literal.charAt(++i);
+			int end = i + 1;
+			if (c == 'x') {
+				while (end < literal.length() && Character.digit(literal.charAt(end), 16) >= 0) {
+					end++;
+				}
+			}
+			else if (c >= '0' && c <= '7') {
+				while (end < literal.length() && end < i + 3 && literal.charAt(end) >= '0' && literal.charAt(end) <= '7') {
+					end++;
+				}
+			}
+			if ("abfnrtv".indexOf(c) >= 0) {
+				bytes.write("\007\b\f\n\r\t\013".charAt("abfnrtv".indexOf(c)));
+			}
+			else if (c == 'x' && end > i + 1) {
+				bytes.write(Integer.parseInt(literal.substring(i + 1, end), 16));
+				i = end - 1;
+			}
+			else if (c >= '0' && c <= '7') {
+				bytes.write(Integer.parseInt(literal.substring(i, end), 8));
+				i = end - 1;
+			}
+			else {
+				bytes.write(c);
+			}
+		}
+		bytes.write(0);
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Writes the integer constant in hexadecimal, encoded from the level CONSTANTS as the exclusive or of two random keys,
+	 * or as the product of two random integers plus the difference, when it is an int. The keys of a constant beyond 32 bits are 64 bits long.
+	 * @param value Value of the constant.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void integer(long value) {
+		if (!this.level.includes(ObfuscationLevel.CONSTANTS)) {
+			this.hexadecimal(value);
+			return;
+		}
+		if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+			long key = this.random.nextLong();
+			this.write("(");
+			this.hexadecimal(key);
+			this.write(" ??' ");
+			this.hexadecimal(value ^ key);
+			this.write(")");
+			return;
+		}
+		int factor = 2 + this.random.nextInt(254);
+		int multiple = this.random.nextInt(1 << 16) - (1 << 15);
+		long difference = value - (long) factor * multiple;
+		this.write("(");
+		if (this.random.nextBoolean() && difference >= Integer.MIN_VALUE && difference <= Integer.MAX_VALUE) {
+			this.hexadecimal(multiple);
+			this.write(" * ");
+			this.hexadecimal(factor);
+			this.write(" + ");
+			this.hexadecimal((int) difference);
+		}
+		else {
+			int key = this.random.nextInt();
+			this.hexadecimal(key);
+			this.write(" ??' ");
+			this.hexadecimal((int) value ^ key);
+		}
+		this.write(")");
+	}
+
+	/**
+	 * Writes the integer constant in hexadecimal. The negative constants are negated hexadecimal constants,
+	 * as the hexadecimal constants beyond the range of int are unsigned in C. The constants beyond 32 bits are suffixed by LL.
+	 * @param value Value of the constant.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private void hexadecimal(long value) {
+		String suffix = value < Integer.MIN_VALUE || value > Integer.MAX_VALUE ? "LL" : "";
+		if (value == Long.MIN_VALUE) {
+			this.write("(-0x7fffffffffffffffLL-0x1)");
+		}
+		else if (value == Integer.MIN_VALUE) {
+			this.write("(-0x7fffffff-0x1)");
+		}
+		else if (value < 0) {
+			this.write("-0x" + Long.toHexString(-value) + suffix);
+		}
+		else {
+			this.write("0x" + Long.toHexString(value) + suffix);
+		}
+	}
+
+	@Override
+	public void operator(String operator) {
+		this.write(operator.replace("||", "??!??!"));
+	}
+
+	@Override
+	public void openBlock() {
+		this.write("??<");
+	}
+
+	@Override
+	public void closeBlock(String end) {
+		this.newLine(end);
+		this.write("??>");
+	}
+}
@@ -0,0 +1,69 @@
+package backends;
+
+/**
+ * Levels of obfuscation of the obfuscated code, from the cheapest to the strongest. Every level also applies the transformations of the levels below it.
+ * The slowdown and the growth of the binaries of each level are measured by benchmarks.ObfuscationBenchmark.
+ * @author C.Silva, R.Cuinat
+ */
+public enum ObfuscationLevel {
+	/** Code on a few lines, trigraphs, hexadecimal integers and meaningless names. No cost at runtime. */
+	LEXICAL("layout, trigraphs, hexadecimal integers and renaming"),
+	/** Integer constants written as arithmetic expressions on random keys, folded by the C compiler. */
+	CONSTANTS("arithmetic encoding of the integer constants"),
+	/** String literals encrypted by a stream cipher, each one decrypted in place on its first use only. */
+	STRINGS("encryption of the string literals"),
+	/** Conditions of the branches and of the loops joined to opaque predicates, always true but evaluated at runtime. */
+	PREDICATES("opaque predicates in the conditions"),
+	/** Branches and loops of the functions replaced by states run by a dispatcher, the hottest loops being kept under a cost budget (see ir.Flattener). */
+	FLATTENING("control flow flattening");
+
+	private final String description;
+
+	/**
+	 * Constructor of the enum.
+	 * @param description Description of the transformation added by the level.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private ObfuscationLevel(String description) {
+		this.description = description;
+	}
+
+	/**
+	 * Getter of the description field.
+	 * @return The description of the transformation added by the level.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public String getDescription() {
+		return this.description;
+	}
+
+	/**
+	 * Tells whether this level applies the transformations of the given one.
+	 * @param level The level.
+	 * @return true if this level is the given one or a stronger one.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public boolean includes(ObfuscationLevel level) {
+		return this.compareTo(level) >= 0;
+	}
+
+	/**
+	 * Reads a level from its name or its number.
+	 * @param name Name of the level (lexical, constants, strings, predicates, flattening), or its number from 0.
+	 * @return The level.
+	 * @throws IllegalArgumentException When no level has this name or this number.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public static ObfuscationLevel parse(String name) {
+		for (ObfuscationLevel level : ObfuscationLevel.values()) {
+			if (level.name().compareToIgnoreCase(name.trim()) == 0 || Integer.toString(level.ordinal()).compareTo(name.trim()) == 0) {
+				return level;
+			}
+		}
+		StringBuilder expected = new StringBuilder();
+		for (ObfuscationLevel level : ObfuscationLevel.values()) {
+			expected.append(expected.length() == 0 ? "" : ", ").append(level.name().toLowerCase());
+		}
+		throw new IllegalArgumentException("Unknown obfuscation level " + name + ". Expected one of " + expected + ", or its number from 0.");
+	}
+}
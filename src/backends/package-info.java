@@ -0,0 +1,5 @@
+/**
+ * This package contains the outputs of the code generation : the dialects of C in which the generated code is written.
+ * @author C.Silva, R.Cuinat
+ */
+package backends;
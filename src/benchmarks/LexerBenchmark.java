@@ -0,0 +1,155 @@
+package benchmarks;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import common.lexer.LexicalRules;
+import common.lexer.Lexer;
+import common.lexer.Token;
+import common.lexer.TokenKind;
+import python.lexer.PythonLexicalRules;
+
+/**
+ * Benchmark comparing the tokenizing throughput of the compiled lexical rules with the former rule by rule scan.
+ * Usage : java benchmarks.LexerBenchmark [synthetic line count] [iterations]
+ * The files of ./test_files are tokenized, then a synthetic file of the given number of lines (100000 by default).
+ * @author C.Silva, R.Cuinat
+ */
+public class LexerBenchmark {
+
+	/**
+	 * Main method of the benchmark.
+	 * @param args Optional number of lines of the synthetic file and number of timed iterations.
+	 * @author C.Silva, R.Cuinat
+	 * @throws IOException When the synthetic file cannot be written.
+	 */
+	public static void main(String[] args) throws IOException {
+		int lines = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+		int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+		File[] files = new File("test_files").listFiles();
+		if (files != null) {
+			for (File file : files) {
+				if (file.getName().endsWith(".py")) {
+					LexerBenchmark.compare("test_files/" + file.getName(), iterations);
+				}
+			}
+		}
+		File synthetic = LexerBenchmark.writeSyntheticFile(lines);
+		try {
+			LexerBenchmark.compare(synthetic.getName(), 1);
+		}
+		finally {
+			synthetic.delete();
+		}
+	}
+
+	/**
+	 * Tokenizes the given file with both implementations and prints their throughput.
+	 * @param source Path of the file, relative to the working directory.
+	 * @param iterations Number of timed runs of each implementation.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static void compare(String source, int iterations) {
+		double legacy = LexerBenchmark.measure(source, new LegacyPythonLexicalRules(), iterations);
+		double compiled = LexerBenchmark.measure(source, new PythonLexicalRules(), iterations);
+		System.out.println(String.format("%-40s legacy %12.0f tokens/s | compiled %12.0f tokens/s | speedup x%.1f", source, legacy, compiled, compiled / legacy));
+	}
+
+	/**
+	 * Measures the tokenizing throughput of the given rules on the given file.
+	 * @param source Path of the file, relative to the working directory.
+	 * @param rules Rules to tokenize with.
+	 * @param iterations Number of timed runs, after one warm up run.
+	 * @return The best throughput observed, in tokens per second.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static double measure(String source, LexicalRules rules, int iterations) {
+		new Lexer(source, rules).tokenize();
+		double best = 0;
+		for (int i=0;i<iterations;i++) {
+			Lexer lexer = new Lexer(source, rules);
+			long start = System.nanoTime();
+			lexer.tokenize();
+			long elapsed = System.nanoTime() - start;
+			best = Math.max(best, lexer.getTokens().size() / (elapsed / 1e9));
+		}
+		return best;
+	}
+
+	/**
+	 * Writes a python file of the given number of lines in the working directory.
+	 * @param lines Minimal number of lines of the file.
+	 * @return The written file.
+	 * @throws IOException When the file cannot be written.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static File writeSyntheticFile(int lines) throws IOException {
+		File file = File.createTempFile("lexer_benchmark", ".py", new File("."));
+		file.deleteOnExit();
+		BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8));
+		try {
+			for (int i=0;i*6<lines;i++) {
+				bw.write("def function_" + i + "(a, b=2.5) :\n");
+				bw.write("    value_" + i + " = a * " + i + " + b ** 2 - 3.0e2 # comment " + i + "\n");
+				bw.write("    while value_" + i + " >= 0 and a != " + i + " :\n");
+				bw.write("        value_" + i + " -= 1\n");
+				bw.write("    return value_" + i + "\n");
+				bw.write("print(\"line " + i + "\")\n");
+			}
+		}
+		finally {
+			bw.close();
+		}
+		return file;
+	}
+
+	/**
+	 * Python lexical rules tokenized the way LexicalRules did before the rules were compiled :
+	 * every rule is compiled and tried on a copy of the end of the line, at every position.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static class LegacyPythonLexicalRules extends PythonLexicalRules {
+
+		/**
+		 * Method tokenizing the given line.
+		 * @author C.Silva, R.Cuinat
+		 * @param line Line to tokenize
+		 * @param line_number Line number of the line.
+		 * @param tokens List of Tokens to fill with the determined tokens
+		 */
+		@Override
+		public void process(String line, int line_number, ArrayList<Token> tokens) {
+			int position = 0;
+			while (position < line.length()) {
+				Matcher match = null;
+				for (int i=0;i<this.tags.size();i++) {
+					TokenKind tag = this.tags.get(i);
+					Pattern regex = Pattern.compile(this.regexes.get(i));
+					match = regex.matcher(line.substring(position, line.length()));
+					if (match.lookingAt()) {
+						String data = match.group(0);
+						if(tag != TokenKind.SEPARATOR_TAB && tag != TokenKind.STRING) {
+							tokens.add(new Token(tag,data.replaceAll(" ",""),line_number,position+1));
+						}
+						else {
+							tokens.add(new Token(tag,data,line_number,position+1));
+						}
+						break;
+					}
+				}
+				match.reset();
+				if (!match.find()) {
+					throw new IllegalStateException("No match in line " + line_number);
+				}
+				position += match.end(0);
+			}
+		}
+	}
+}
@@ -0,0 +1,180 @@
+package benchmarks;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+
+import backends.ObfuscationLevel;
+import common.log.Level;
+import common.log.Log;
+import common.log.Stage;
+import python.Compiler;
+import python.CompilerOptions;
+
+/**
+ * Benchmark measuring the cost of every obfuscation level, to choose the level of each deployment.
+ * Usage : java benchmarks.ObfuscationBenchmark [py files...]
+ * Every program (by default, a generated program spending its time in loops, branches and calls, and printing a string literal in a loop)
+ * is translated at every level.
+ * The C code and the obfuscated C codes are compiled with gcc -O2 (or the compiler given by the CC environment variable),
+ * then the size of each binary and its best runtime out of 5 runs are compared to the ones of the C code.
+ * The outputs of the obfuscated programs are checked against the output of the C program.
+ * @author C.Silva, R.Cuinat
+ */
+public class ObfuscationBenchmark {
+	private static final int RUNS = 5;
+
+	/**
+	 * Main method of the benchmark.
+	 * @param args Optional py files to translate.
+	 * @throws IOException When a file cannot be written, or a program cannot be compiled or run.
+	 * @throws InterruptedException When the benchmark is interrupted while waiting for a compilation or a run.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public static void main(String[] args) throws IOException, InterruptedException {
+		Log.configure(Level.ERROR, EnumSet.noneOf(Stage.class));
+		ArrayList<File> programs = new ArrayList<>();
+		for (String arg : args) {
+			programs.add(new File(arg));
+		}
+		if (programs.isEmpty()) {
+			programs.add(ObfuscationBenchmark.writeProgram());
+		}
+		File directory = Files.createTempDirectory("obfuscation_benchmark").toFile();
+		Compiler compiler = new Compiler();
+		try {
+			for (File program : programs) {
+				String code = new String(Files.readAllBytes(program.toPath()), StandardCharsets.UTF_8);
+				System.out.println(program.getName() + " :");
+				File plain = null;
+				double runtime = 0;
+				String output = null;
+				for (ObfuscationLevel level : ObfuscationLevel.values()) {
+					CompilerOptions options = CompilerOptions.parse(new String[] {"--obfuscation=" + level.name()});
+					String[] codes = compiler.translate(program.getName(), code, options);
+					if (plain == null) {
+						plain = ObfuscationBenchmark.compile(directory, "plain", codes[0]);
+						runtime = ObfuscationBenchmark.run(plain, new File(directory, "plain.out"));
+						output = new String(Files.readAllBytes(new File(directory, "plain.out").toPath()), StandardCharsets.UTF_8);
+						System.out.println(String.format("  %-10s : binary %9d bytes            | runtime %9.2f ms", "c", plain.length(), runtime * 1e3));
+					}
+					String name = level.name().toLowerCase();
+					File binary = ObfuscationBenchmark.compile(directory, name, codes[1]);
+					double time = ObfuscationBenchmark.run(binary, new File(directory, name + ".out"));
+					boolean same = output.compareTo(new String(Files.readAllBytes(new File(directory, name + ".out").toPath()), StandardCharsets.UTF_8)) == 0;
+					System.out.println(String.format("  %-10s : binary %9d bytes (%+6.1f %%) | runtime %9.2f ms (x %5.2f) | %s%s", name, binary.length(),
+							100.0 * (binary.length() - plain.length()) / plain.length(), time * 1e3, time / runtime, level.getDescription(), same ? "" : " | OUTPUT DIFFERS"));
+				}
+			}
+		}
+		finally {
+			for (File file : directory.listFiles()) {
+				file.delete();
+			}
+			directory.delete();
+		}
+	}
+
+	/**
+	 * Compiles the given C code with gcc -O2.
+	 * @param directory Directory receiving the code and the binary.
+	 * @param name Name of the code and of the binary.
+	 * @param code C code to compile.
+	 * @return The binary.
+	 * @throws IOException When the code cannot be written or compiled.
+	 * @throws InterruptedException When the benchmark is interrupted during the compilation.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static File compile(File directory, String name, String code) throws IOException, InterruptedException {
+		File source = new File(directory, name + ".c");
+		File binary = new File(directory, name);
+		Files.write(source.toPath(), code.getBytes(StandardCharsets.UTF_8));
+		String cc = System.getenv("CC") == null ? "gcc" : System.getenv("CC");
+		List<String> command = Arrays.asList(cc, "-O2", "-trigraphs", "-w", "-o", binary.getPath(), source.getPath(), "-lm");
+		if (new ProcessBuilder(command).inheritIO().start().waitFor() != 0) {
+			throw new IOException("Unable to compile " + source.getPath() + " with " + cc + ".");
+		}
+		return binary;
+	}
+
+	/**
+	 * Runs the given binary once to warm up, then RUNS times.
+	 * @param binary The binary.
+	 * @param output File receiving the standard output of the runs.
+	 * @return The best runtime, in seconds.
+	 * @throws IOException When the binary cannot be run.
+	 * @throws InterruptedException When the benchmark is interrupted during a run.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static double run(File binary, File output) throws IOException, InterruptedException {
+		double best = Double.MAX_VALUE;
+		for (int i=0;i<=ObfuscationBenchmark.RUNS;i++) {
+			long start = System.nanoTime();
+			new ProcessBuilder(binary.getAbsolutePath()).redirectOutput(output).redirectError(ProcessBuilder.Redirect.INHERIT).start().waitFor();
+			if (i > 0) {
+				best = Math.min(best, (System.nanoTime() - start) / 1e9);
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Writes a python program spending its time in loops, branches and calls, and printing a string literal in a loop, in the working directory.
+	 * @return The written file.
+	 * @throws IOException When the file cannot be written.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static File writeProgram() throws IOException {
+		File file = File.createTempFile("obfuscation_benchmark", ".py", new File("."));
+		file.deleteOnExit();
+		BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8));
+		try {
+			bw.write("def collatz(n):\n");
+			bw.write("    steps = 0\n");
+			bw.write("    while n != 1:\n");
+			bw.write("        if n % 2 == 0:\n");
+			bw.write("            n = n // 2\n");
+			bw.write("        else:\n");
+			bw.write("            n = 3 * n + 1\n");
+			bw.write("        steps = steps + 1\n");
+			bw.write("    return steps\n");
+			bw.write("\n");
+			bw.write("def prime(n):\n");
+			bw.write("    d = 2\n");
+			bw.write("    result = 1\n");
+			bw.write("    while d * d <= n and result == 1:\n");
+			bw.write("        if n % d == 0:\n");
+			bw.write("            result = 0\n");
+			bw.write("        else:\n");
+			bw.write("            d = d + 1\n");
+			bw.write("    return result\n");
+			bw.write("\n");
+			bw.write("total = 0\n");
+			bw.write("for i in range(1, 300000):\n");
+			bw.write("    total = total + collatz(i)\n");
+			bw.write("n = 0\n");
+			bw.write("while n < 20000:\n");
+			bw.write("    print(\"zut\")\n");
+			bw.write("    n = n + 1\n");
+			bw.write("primes = 0\n");
+			bw.write("for i in range(2, 200000):\n");
+			bw.write("    primes = primes + prime(i)\n");
+			bw.write("if total > 0 and primes == 17984:\n");
+			bw.write("    print(\"done\")\n");
+			bw.write("else:\n");
+			bw.write("    print(\"wrong\")\n");
+		}
+		finally {
+			bw.close();
+		}
+		return file;
+	}
+}
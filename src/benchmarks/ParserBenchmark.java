@@ -0,0 +1,126 @@
+package benchmarks;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import common.lexer.Lexer;
+import python.lexer.PythonLexicalRules;
+import python.parser.PythonParser;
+
+/**
+ * Benchmark showing how the parsing time grows with the number of tokens.
+ * Usage : java benchmarks.ParserBenchmark [token counts...]
+ * Programs of about 10000, 100000 and 1000000 tokens (by default) are generated, tokenized, then parsed.
+ * Only the parsing is timed ; the trace the parser prints is discarded meanwhile.
+ * @author C.Silva, R.Cuinat
+ */
+public class ParserBenchmark {
+	private static final int ITERATIONS = 3;
+
+	/**
+	 * Main method of the benchmark.
+	 * @param args Optional token counts of the generated programs.
+	 * @author C.Silva, R.Cuinat
+	 * @throws IOException When a generated program cannot be written.
+	 */
+	public static void main(String[] args) throws IOException {
+		int[] sizes = {10000, 100000, 1000000};
+		if (args.length > 0) {
+			sizes = new int[args.length];
+			for (int i=0;i<args.length;i++) {
+				sizes[i] = Integer.parseInt(args[i]);
+			}
+		}
+		double previous_tokens = 0;
+		double previous_time = 0;
+		for (int size : sizes) {
+			File program = ParserBenchmark.writeProgram(size);
+			try {
+				Lexer lexer = new Lexer(program.getName(), new PythonLexicalRules());
+				lexer.tokenize();
+				int tokens = lexer.getTokens().size();
+				double time = ParserBenchmark.measure(lexer);
+				String growth = "";
+				if (previous_time > 0) {
+					growth = String.format(" | x%.1f tokens -> x%.1f time", tokens / previous_tokens, time / previous_time);
+				}
+				System.out.println(String.format("%9d tokens : %9.2f ms | %6.1f ns/token%s", tokens, time * 1e3, time * 1e9 / tokens, growth));
+				previous_tokens = tokens;
+				previous_time = time;
+			}
+			finally {
+				program.delete();
+			}
+		}
+	}
+
+	/**
+	 * Measures the time needed to parse the tokens of the given lexer.
+	 * @param lexer Lexer which tokenized the program.
+	 * @return The best parsing time observed, in seconds.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static double measure(Lexer lexer) {
+		PrintStream out = System.out;
+		System.setOut(new PrintStream(new OutputStream() {
+			@Override
+			public void write(int b) {
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) {
+			}
+		}));
+		double best = Double.MAX_VALUE;
+		try {
+			new PythonParser(lexer).parse();
+			for (int i=0;i<ParserBenchmark.ITERATIONS;i++) {
+				PythonParser parser = new PythonParser(lexer);
+				long start = System.nanoTime();
+				parser.parse();
+				best = Math.min(best, (System.nanoTime() - start) / 1e9);
+			}
+		}
+		finally {
+			System.setOut(out);
+		}
+		return best;
+	}
+
+	/**
+	 * Writes a python program of about the given number of tokens in the working directory.
+	 * @param tokens Minimal number of tokens of the program.
+	 * @return The written file.
+	 * @throws IOException When the file cannot be written.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static File writeProgram(int tokens) throws IOException {
+		File file = File.createTempFile("parser_benchmark", ".py", new File("."));
+		file.deleteOnExit();
+		BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8));
+		try {
+			// Each block is 67 tokens long.
+			for (int i=0;i*67<tokens;i++) {
+				bw.write("def function_" + i + "(a, b) :\n");
+				bw.write("    value = a * " + i + " + b - 3 # comment\n");
+				bw.write("    while value >= 0 and a != " + i + " :\n");
+				bw.write("        value -= 1\n");
+				bw.write("    if value == 0 :\n");
+				bw.write("        return b\n");
+				bw.write("    return value\n");
+				bw.write("result_" + i + " = function_" + i + "(" + i + ", 2)\n");
+				bw.write("print(\"block " + i + "\")\n");
+			}
+		}
+		finally {
+			bw.close();
+		}
+		return file;
+	}
+}
@@ -0,0 +1,99 @@
+package benchmarks;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+
+import common.ast.AST;
+import common.lexer.Lexer;
+import common.log.Level;
+import common.log.Log;
+import common.log.Stage;
+import python.lexer.PythonLexicalRules;
+import python.parser.PythonParser;
+import python.symbolTable.SymbolTable;
+import python.symbolTable.SymbolTableGenerator;
+import visitors.CGeneratorVisitor;
+
+/**
+ * Benchmark showing how the generation of the symbol table and of the C codes (plain and obfuscated, in a single traversal) grows with the number of symbols.
+ * Usage : java benchmarks.SymbolTableBenchmark [function counts...]
+ * Programs of 1000, 4000 and 16000 functions (by default) are generated, each function having two arguments,
+ * two local variables and being called once to initialize a global variable.
+ * @author C.Silva, R.Cuinat
+ */
+public class SymbolTableBenchmark {
+	private static final int ITERATIONS = 3;
+
+	/**
+	 * Main method of the benchmark.
+	 * @param args Optional function counts of the generated programs.
+	 * @author C.Silva, R.Cuinat
+	 * @throws IOException When a generated program cannot be written.
+	 */
+	public static void main(String[] args) throws IOException {
+		int[] sizes = {1000, 4000, 16000};
+		if (args.length > 0) {
+			sizes = new int[args.length];
+			for (int i=0;i<args.length;i++) {
+				sizes[i] = Integer.parseInt(args[i]);
+			}
+		}
+		Log.configure(Level.ERROR, EnumSet.noneOf(Stage.class));
+		for (int size : sizes) {
+			File program = SymbolTableBenchmark.writeProgram(size);
+			String output = program.getName().substring(0, program.getName().length() - 3);
+			try {
+				Lexer lexer = new Lexer(program.getName(), new PythonLexicalRules());
+				lexer.tokenize();
+				AST ast = new PythonParser(lexer).parse();
+				double table = Double.MAX_VALUE;
+				double generation = Double.MAX_VALUE;
+				for (int i=0;i<=SymbolTableBenchmark.ITERATIONS;i++) {
+					long start = System.nanoTime();
+					new SymbolTableGenerator(new SymbolTable()).generateFrom(ast.getRoot());
+					table = Math.min(table, (System.nanoTime() - start) / 1e9);
+					start = System.nanoTime();
+					new CGeneratorVisitor(output).visit(ast);
+					generation = Math.min(generation, (System.nanoTime() - start) / 1e9);
+				}
+				System.out.println(String.format("%6d functions, %6d variables : symbol table %9.2f ms | C and obfuscated C generation %9.2f ms", size, 5 * size, table * 1e3, generation * 1e3));
+			}
+			finally {
+				program.delete();
+				new File(output + ".c").delete();
+				new File(output + "_obf.c").delete();
+			}
+		}
+	}
+
+	/**
+	 * Writes a python program of the given number of functions in the working directory.
+	 * @param functions Number of functions of the program.
+	 * @return The written file.
+	 * @throws IOException When the file cannot be written.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static File writeProgram(int functions) throws IOException {
+		File file = File.createTempFile("symbol_table_benchmark", ".py", new File("."));
+		file.deleteOnExit();
+		BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8));
+		try {
+			for (int i=0;i<functions;i++) {
+				bw.write("def function_" + i + "(a, b) :\n");
+				bw.write("    sum_" + i + " = a + b\n");
+				bw.write("    product_" + i + " = sum_" + i + " * " + i + "\n");
+				bw.write("    return product_" + i + "\n");
+				bw.write("value_" + i + " = function_" + i + "(" + i + ", 1)\n");
+			}
+		}
+		finally {
+			bw.close();
+		}
+		return file;
+	}
+}
@@ -0,0 +1,155 @@
+package benchmarks;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumSet;
+
+import backends.CBackend;
+import backends.ObfuscatedCBackend;
+import common.ast.AST;
+import common.ast.Node;
+import common.lexer.Lexer;
+import common.log.Level;
+import common.log.Log;
+import common.log.Stage;
+import python.lexer.PythonLexicalRules;
+import python.ast.statements.AssignmentNode;
+import python.ast.statements.expressions.OperationExpressionNode;
+import python.parser.PythonParser;
+import python.symbolTable.SymbolTable;
+import python.symbolTable.SymbolTableGenerator;
+import visitors.CGeneratorVisitor;
+import visitors.TypeDiscovererVisitor;
+
+/**
+ * Benchmark showing how the typing of the expressions grows with their depth.
+ * Usage : java benchmarks.TypeAnnotationBenchmark [depths...]
+ * Programs of 200 assignments (in the main and in a function) whose expressions are nested 10, 40 and 160 times (by default) are generated.
+ * The generation of the C codes, which builds the symbol tables and types every expression, is timed,
+ * as well as the typing of every operation of the main program, as done by the passes needing the type of each operation.
+ * @author C.Silva, R.Cuinat
+ */
+public class TypeAnnotationBenchmark {
+	private static final int ITERATIONS = 5;
+	private static final int STATEMENTS = 200;
+
+	/**
+	 * Main method of the benchmark.
+	 * @param args Optional depths of the expressions of the generated programs.
+	 * @author C.Silva, R.Cuinat
+	 * @throws IOException When a generated program cannot be written.
+	 */
+	public static void main(String[] args) throws IOException {
+		int[] depths = {10, 40, 160};
+		if (args.length > 0) {
+			depths = new int[args.length];
+			for (int i=0;i<args.length;i++) {
+				depths[i] = Integer.parseInt(args[i]);
+			}
+		}
+		Log.configure(Level.ERROR, EnumSet.noneOf(Stage.class));
+		for (int depth : depths) {
+			File program = TypeAnnotationBenchmark.writeProgram(depth);
+			try {
+				Lexer lexer = new Lexer(program.getName(), new PythonLexicalRules());
+				lexer.tokenize();
+				AST ast = new PythonParser(lexer).parse();
+				ArrayList<OperationExpressionNode> operations = new ArrayList<>();
+				for (Node statement : ast.getRoot().getChildren()) {
+					if (statement instanceof AssignmentNode) {
+						TypeAnnotationBenchmark.collect(statement, operations);
+					}
+				}
+				double generation = Double.MAX_VALUE;
+				double typing = Double.MAX_VALUE;
+				for (int i=0;i<=TypeAnnotationBenchmark.ITERATIONS;i++) {
+					long start = System.nanoTime();
+					new CGeneratorVisitor(new CBackend(new StringWriter()), new ObfuscatedCBackend(new StringWriter())).visit(ast);
+					generation = Math.min(generation, (System.nanoTime() - start) / 1e9);
+					SymbolTable st = new SymbolTableGenerator(new SymbolTable()).generateFrom(ast.getRoot());
+					start = System.nanoTime();
+					for (OperationExpressionNode operation : operations) {
+						TypeDiscovererVisitor td = new TypeDiscovererVisitor(st);
+						operation.accept(td);
+					}
+					typing = Math.min(typing, (System.nanoTime() - start) / 1e9);
+				}
+				System.out.println(String.format("depth %4d : C and obfuscated C generation %9.2f ms | typing of the %6d operations %9.2f ms", depth, generation * 1e3, operations.size(), typing * 1e3));
+			}
+			finally {
+				program.delete();
+			}
+		}
+	}
+
+	/**
+	 * Gathers the operations of the given subtree.
+	 * @param node Root of the subtree.
+	 * @param operations List receiving the operations.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static void collect(Node node, ArrayList<OperationExpressionNode> operations) {
+		if (node instanceof OperationExpressionNode) {
+			operations.add((OperationExpressionNode) node);
+		}
+		for (Node child : node.getChildren()) {
+			TypeAnnotationBenchmark.collect(child, operations);
+		}
+	}
+
+	/**
+	 * Writes a python program whose expressions have the given depth in the working directory.
+	 * @param depth Number of nested operations of every expression.
+	 * @return The written file.
+	 * @throws IOException When the file cannot be written.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static File writeProgram(int depth) throws IOException {
+		File file = File.createTempFile("type_annotation_benchmark", ".py", new File("."));
+		file.deleteOnExit();
+		BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8));
+		try {
+			bw.write("def function(a, b) :\n");
+			bw.write("    local_0 = a\n");
+			for (int i=1;i<TypeAnnotationBenchmark.STATEMENTS;i++) {
+				bw.write("    local_" + i + " = " + TypeAnnotationBenchmark.expression("local_" + (i - 1), "b", depth) + "\n");
+			}
+			bw.write("    return local_" + (TypeAnnotationBenchmark.STATEMENTS - 1) + "\n");
+			bw.write("value_0 = 2\n");
+			for (int i=1;i<TypeAnnotationBenchmark.STATEMENTS;i++) {
+				bw.write("value_" + i + " = " + TypeAnnotationBenchmark.expression("value_" + (i - 1), "value_0", depth) + "\n");
+			}
+			bw.write("result = function(1, value_0)\n");
+		}
+		finally {
+			bw.close();
+		}
+		return file;
+	}
+
+	/**
+	 * Builds an expression of the given depth alternating the operations on two variables.
+	 * @param left First variable of the expression.
+	 * @param right Second variable of the expression.
+	 * @param depth Number of nested operations.
+	 * @return The python expression.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static String expression(String left, String right, int depth) {
+		StringBuilder expression = new StringBuilder();
+		for (int i=0;i<depth;i++) {
+			expression.append(i % 2 == 0 ? left : right).append(i % 2 == 0 ? " + (" : " * (");
+		}
+		expression.append(left);
+		for (int i=0;i<depth;i++) {
+			expression.append(")");
+		}
+		return expression.toString();
+	}
+}
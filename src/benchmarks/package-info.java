@@ -0,0 +1,5 @@
+/**
+ * This package contains the benchmarks of the compiler. Each class is a standalone program to be launched from the root of the project.
+ * @author C.Silva, R.Cuinat
+ */
+package benchmarks;
@@ -0,0 +1,18 @@
+package common;
+
+/**
+ * Exception raised when a code cannot be compiled. It stops the compilation of this code only.
+ * @author C.Silva, R.Cuinat
+ */
+public class CompilationException extends RuntimeException {
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Constructor of the class.
+	 * @param message Description of the error, including its position in the code when it is known.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public CompilationException(String message) {
+		super(message);
+	}
+}
@@ -43,6 +43,22 @@ public abstract class Node implements INode {
 		}
 	}
 	
+	/**
+	 * Replaces the specified child of this node by the given node, at the same position. If the child is not found, the node is attached instead.
+	 * @param old Child to replace.
+	 * @param n Node replacing the child.
+	 * @author C.Silva, R.Cuinat
+	 */
+	protected void replaceNode(Node old, Node n) {
+		int index = old == null ? -1 : this.children.indexOf(old);
+		if (index < 0) {
+			this.attachNode(n);
+		}
+		else {
+			this.children.set(index, n);
+		}
+	}
+	
 	/**
 	 * Getter of the line field.
 	 * @return The line number corresponding to this node.
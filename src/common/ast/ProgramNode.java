@@ -1,5 +1,7 @@
 package common.ast;
 
+import java.util.List;
+
 import visitors.Visitor;
 
 /**
@@ -15,6 +17,18 @@ public class ProgramNode extends Node {
 	public ProgramNode() {
 		super(0,0);
 	}
+
+	/**
+	 * Replaces a statement of the program with the given statements.
+	 * @param old Statement to replace.
+	 * @param statements Statements replacing it, in order.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public void replaceStatement(Node old, List<? extends Node> statements) {
+		int index = this.getChildren().indexOf(old);
+		this.getChildren().remove(index);
+		this.getChildren().addAll(index, statements);
+	}
 	
 	/**
 	 * Allow this node to be visited by the specified visitor
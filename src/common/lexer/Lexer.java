@@ -6,9 +6,12 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 
+import common.CompilationException;
+
 /**
  * Lexer class. The purpose of a lexer is to tokenize a code. 
  * @author C.Silva, R.Cuinat
@@ -32,33 +35,63 @@ public class Lexer {
 	
 	/**
 	 * Main method of the class. This method analyze the source code to determine the tokens.
+	 * @throws CompilationException When the source file cannot be opened or tokenized.
 	 * @author C.Silva, R.Cuinat
 	 */
 	public void tokenize() {
 		BufferedReader reader = null;
-		int line_number = 0;
 		try {
-			reader = new BufferedReader(new InputStreamReader(new FileInputStream(new File("./"+this.source)), StandardCharsets.UTF_8));
+			reader = new BufferedReader(new InputStreamReader(new FileInputStream(new File(this.source)), StandardCharsets.UTF_8));
 		} catch (FileNotFoundException e) {
-			System.out.println("Source file not found");
-			e.printStackTrace();
+			throw new CompilationException("Source file not found : " + this.source);
 		}
+		try {
+			this.tokenize(reader);
+		}
+		finally {
+			try {
+				reader.close();
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+	
+	/**
+	 * Analyzes the given code, instead of the content of the source file, to determine the tokens.
+	 * @param code Reader of the code to tokenize.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public void tokenize(Reader code) {
+		BufferedReader reader = code instanceof BufferedReader ? (BufferedReader) code : new BufferedReader(code);
+		int line_number = 0;
 		try {
 			String line = null;
 			while ((line = reader.readLine()) != null) {
 				line_number++;
 				this.lexicalRules.process(line,line_number,this.tokens);
 				if (this.tokens.size() > 0){
-					this.tokens.add(new Token("CarriageReturn", "\\n", line_number, this.tokens.get(this.tokens.size()-1).getColumn()+1));
+					this.tokens.add(new Token(TokenKind.CARRIAGE_RETURN, "\\n", line_number, this.tokens.get(this.tokens.size()-1).getColumn()+1));
 				}
 			}
 		}
 		catch (IOException e) {
 			e.printStackTrace();
 		}
-
 	}	
 	
+	/**
+	 * Opens the source code as a stream of tokens produced lazily, line by line, while they are consumed.
+	 * Unlike tokenize(), the whole file and its tokens are never held in memory : the file is mapped and at most the given number of tokens are buffered.
+	 * @param capacity Maximum number of tokens produced ahead of the consumer.
+	 * @return The stream of the tokens of the source code.
+	 * @throws IOException When the source file cannot be opened.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public TokenStream stream(int capacity) throws IOException {
+		return new TokenRingBuffer(new MappedSourceReader(new File(this.source)), this.lexicalRules, capacity);
+	}
+	
 	/**
 	 * Getter of the instance variable Source. This variable contains the name of the source code file.
 	 * @return The name of the source code file.
@@ -86,7 +119,7 @@ public class Lexer {
 	public String toString() {
 		StringBuilder string = new StringBuilder();
 		for (Token token : this.tokens) {
-			string.append(token.getKind()).append("\t|\t").append(token.getValue()).append("\t|\t").append(token.getLine()).append("\t|\t").append(token.getColumn()).append("\t|\n");
+			string.append(token).append("\n");
 		}
 		return string.substring(0,string.length()-1);
 	}		
@@ -4,92 +4,108 @@ import java.util.ArrayList;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import common.CompilationException;
+
 /**
  * Abstract data structure representing the lexical rules of a language.
  * This class is to be extended and supplied with the rules of a specific language.
+ * The rules are compiled once, on first use, into a single alternation whose branches are tried in the order the rules were put.
  * @author C.Silva, R.Cuinat
  */
 public abstract class LexicalRules {
-	protected ArrayList<String> tags;
+	protected ArrayList<TokenKind> tags;
 	protected ArrayList<String> regexes;
-	
+	private Automaton automaton;
+
 	/**
 	 * Method tokenizing the given line.
 	 * @author C.Silva, R.Cuinat
 	 * @param line Line to tokenize
 	 * @param line_number Line number of the line.
 	 * @param tokens List of Tokens to fill with the determined tokens
+	 * @throws CompilationException When a part of the line matches no rule.
 	 */
 	public void process(String line, int line_number, ArrayList<Token> tokens) {
+		Automaton automaton = this.getAutomaton();
+		Matcher match = automaton.pattern.matcher(line);
+		Matcher fallback = null;
 		int position = 0;
 		while (position < line.length()) {
-			Matcher match = null;
-			for (String tag : this.getTags()) {
-				String pattern = this.get(tag);
-				Pattern regex = Pattern.compile(pattern);
-				match = regex.matcher(line.substring(position, line.length()));
-				if (match.lookingAt()) {
-					String data = match.group(0);
-					if(tag.compareTo("SeparatorTab") != 0 && tag.compareTo("String") != 0) {
-						tokens.add(new Token(tag,data.replaceAll(" ",""),line_number,position+1));
-					}
-					else {
-						tokens.add(new Token(tag,data,line_number,position+1));
-					}
-					
-					break;
+			match.region(position, line.length());
+			if (match.lookingAt()) {
+				int rule = automaton.ruleOf(match);
+				TokenKind tag = this.tags.get(rule);
+				if(tag != TokenKind.SEPARATOR_TAB && tag != TokenKind.STRING) {
+					tokens.add(new Token(tag,LexicalRules.removeSpaces(line, match.start(), match.end()),line_number,position+1));
 				}
-			}
-			match.reset();
-			if (!match.find()) {
-				System.out.println(line);
-				System.out.println("No match");
-				System.exit(1);
+				else {
+					tokens.add(new Token(tag,match.group(),line_number,position+1));
+				}
+				position = match.end();
 			}
 			else {
-				position += match.end(0);
+				// No rule matches here : skip to the next match of the last rule, as the rule by rule scan used to do.
+				if (fallback == null) {
+					fallback = automaton.last.matcher(line);
+				}
+				fallback.region(position, line.length());
+				if (!fallback.find()) {
+					throw new CompilationException("No match at (" + line_number + " , " + (position+1) + ") in line : " + line);
+				}
+				position = fallback.end();
 			}
 		}
 	}
-	
+
 	/**
-	 * Maps the specified tag with the specified regex in the LexicalRule.
+	 * Maps the specified kind of token with the specified regex in the LexicalRule.
 	 * This method is only to be used by subclasses to initialize the rules.
 	 * @author C.Silva, R.Cuinat
-	 * @param tag Tag of the rule
+	 * @param tag Kind of the tokens matched by the rule
 	 * @param regex Regex of the rule
 	 */
-	protected void put(String tag, String regex) {
+	protected void put(TokenKind tag, String regex) {
 		this.tags.add(tag);
 		this.regexes.add(regex);
+		this.automaton = null;
 	}
-	
+
 	/**
-	 * Returns the regex of the rules maps with the specified tag.
-	 * If the given tag is not known, null is returned
+	 * Returns the compiled form of the rules, compiling it if the rules changed since the last call.
 	 * @author C.Silva, R.Cuinat
-	 * @param tag The tag of the requested rule regex.
-	 * @return The regex mapped with the given tag or null if the tag is unknown.
+	 * @return The automaton matching all the rules.
 	 */
-    private String get(String tag) {
-		int i = this.tags.indexOf(tag);
-		if (i == -1) {
-			return null;
+	private Automaton getAutomaton() {
+		Automaton automaton = this.automaton;
+		if (automaton == null) {
+			automaton = new Automaton(this.regexes);
+			this.automaton = automaton;
 		}
-		return this.regexes.get(i);
+		return automaton;
 	}
-	
+
 	/**
-	 * Returns a copy of the tag list.
-	 * The tags are sorted in the same order they were put in the LexicalRule object.
+	 * Returns the given part of a line without its spaces.
 	 * @author C.Silva, R.Cuinat
-	 * @return A list containing the tags of the rules.
+	 * @param line Line containing the token.
+	 * @param start Index of the first character of the token.
+	 * @param end Index following the last character of the token.
+	 * @return The value of the token without spaces.
 	 */
-	@SuppressWarnings("unchecked")
-    private ArrayList<String> getTags(){
-		return (ArrayList<String>) this.tags.clone();
+	private static String removeSpaces(String line, int start, int end) {
+		while (start < end && line.charAt(start) == ' ') {
+			start++;
+		}
+		while (end > start && line.charAt(end - 1) == ' ') {
+			end--;
+		}
+		String value = line.substring(start, end);
+		if (value.indexOf(' ') != -1) {
+			value = value.replace(" ", "");
+		}
+		return value;
 	}
-	
+
 	/**
 	 * Returns a String representation of this object.
 	 * This representation is composed of an enumeration of the tags and the associated regex.
@@ -98,8 +114,58 @@ public abstract class LexicalRules {
 	public String toString() {
 		StringBuilder chaine = new StringBuilder();
 		for (int i=0;i<this.tags.size();i++) {
-			chaine.append(this.tags.get(i)).append(" --> ").append(this.regexes.get(i)).append("\n");
+			chaine.append(this.tags.get(i).getTag()).append(" --> ").append(this.regexes.get(i)).append("\n");
 		}
 		return chaine.substring(0,chaine.length()-1);
 	}
+
+	/**
+	 * Compiled form of a set of rules.
+	 * Every rule becomes a capturing branch of one alternation. As the branches of an alternation are tried from left to right,
+	 * the first rule matching at a position wins, exactly as when the rules are tried one by one.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static final class Automaton {
+		private final Pattern pattern;
+		private final Pattern last;
+		private final int[] groups;
+
+		/**
+		 * Constructor of the class. Compiles the given regexes.
+		 * @author C.Silva, R.Cuinat
+		 * @param regexes Regexes of the rules, sorted by priority.
+		 */
+		private Automaton(ArrayList<String> regexes) {
+			this.groups = new int[regexes.size()];
+			StringBuilder alternation = new StringBuilder();
+			Pattern rule = null;
+			int group = 1;
+			for (int i=0;i<regexes.size();i++) {
+				rule = Pattern.compile(regexes.get(i));
+				this.groups[i] = group;
+				group += rule.matcher("").groupCount() + 1;
+				if (i > 0) {
+					alternation.append("|");
+				}
+				alternation.append("(").append(regexes.get(i)).append(")");
+			}
+			this.pattern = Pattern.compile(alternation.toString());
+			this.last = rule;
+		}
+
+		/**
+		 * Returns the index of the rule which produced the current match of the given matcher.
+		 * @author C.Silva, R.Cuinat
+		 * @param match Matcher of the automaton pattern which just matched.
+		 * @return The index of the matching rule.
+		 */
+		private int ruleOf(Matcher match) {
+			for (int i=0;i<this.groups.length;i++) {
+				if (match.start(this.groups[i]) != -1) {
+					return i;
+				}
+			}
+			throw new IllegalStateException("No rule matched");
+		}
+	}
 }
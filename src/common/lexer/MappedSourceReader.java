@@ -0,0 +1,148 @@
+package common.lexer;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Line reader of an UTF-8 source file mapped in memory.
+ * The file is decoded chunk by chunk into a fixed size buffer, so the memory used does not depend on the size of the file.
+ * Lines are split as BufferedReader does (\n, \r or \r\n).
+ * @author C.Silva, R.Cuinat
+ */
+public class MappedSourceReader implements Closeable {
+	private static final long WINDOW_SIZE = 1L << 30;
+	private static final int CHUNK_SIZE = 8192;
+	private final FileChannel channel;
+	private final long size;
+	private final long window_size;
+	private final CharsetDecoder decoder;
+	private final CharBuffer chars;
+	private final StringBuilder line;
+	private ByteBuffer bytes;
+	private long window_start;
+	private boolean decoded;
+	private boolean skip_line_feed;
+
+	/**
+	 * Constructor of the class. Maps the given file in memory, by windows of 1 GiB.
+	 * @param file The file to read.
+	 * @throws IOException When the file cannot be opened or mapped.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public MappedSourceReader(File file) throws IOException {
+		this(file, MappedSourceReader.WINDOW_SIZE);
+	}
+
+	/**
+	 * Constructor of the class. Maps the given file in memory, by windows of the given size.
+	 * @param file The file to read.
+	 * @param window_size Size of the mapped windows, in bytes. At least 4 bytes, the length of the longest UTF-8 character.
+	 * @throws IOException When the file cannot be opened or mapped.
+	 * @throws IllegalArgumentException When the window is smaller than 4 bytes.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public MappedSourceReader(File file, long window_size) throws IOException {
+		if (window_size < 4) {
+			throw new IllegalArgumentException("Invalid window size " + window_size + ". Expected at least 4 bytes.");
+		}
+		this.window_size = window_size;
+		this.channel = new RandomAccessFile(file, "r").getChannel();
+		this.size = this.channel.size();
+		this.decoder = StandardCharsets.UTF_8.newDecoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		this.chars = CharBuffer.allocate(MappedSourceReader.CHUNK_SIZE);
+		this.chars.flip();
+		this.line = new StringBuilder();
+		this.map(0);
+	}
+
+	/**
+	 * Reads the next line of the file.
+	 * @return The line without its terminator, or null at the end of the file.
+	 * @throws IOException When the file cannot be read.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public String readLine() throws IOException {
+		this.line.setLength(0);
+		boolean read = false;
+		while (this.chars.hasRemaining() || this.fill()) {
+			char c = this.chars.get();
+			if (this.skip_line_feed) {
+				this.skip_line_feed = false;
+				if (c == '\n') {
+					continue;
+				}
+			}
+			if (c == '\n') {
+				return this.line.toString();
+			}
+			if (c == '\r') {
+				this.skip_line_feed = true;
+				return this.line.toString();
+			}
+			this.line.append(c);
+			read = true;
+		}
+		return read ? this.line.toString() : null;
+	}
+
+	/**
+	 * Decodes the next chunk of the file. The windows are mapped one after the other until some characters are decoded,
+	 * as a window may end where the previous chunk ended.
+	 * @return false if the whole file has already been decoded.
+	 * @throws IOException When the file cannot be mapped.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private boolean fill() throws IOException {
+		if (this.decoded) {
+			return false;
+		}
+		this.chars.compact();
+		do {
+			boolean last_window = this.window_start + this.bytes.limit() >= this.size;
+			CoderResult result = this.decoder.decode(this.bytes, this.chars, last_window);
+			if (result.isUnderflow()) {
+				if (!last_window) {
+					// The end of the window may cut a character : the next window starts at the first byte not decoded.
+					this.map(this.window_start + this.bytes.position());
+				}
+				else if (this.decoder.flush(this.chars).isUnderflow()) {
+					this.decoded = true;
+				}
+			}
+		} while (this.chars.position() == 0 && !this.decoded);
+		this.chars.flip();
+		return this.chars.hasRemaining();
+	}
+
+	/**
+	 * Maps the window of the file starting at the given position.
+	 * @param start Position of the first byte of the window.
+	 * @throws IOException When the file cannot be mapped.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private void map(long start) throws IOException {
+		this.window_start = start;
+		this.bytes = this.channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(this.window_size, this.size - start));
+	}
+
+	/**
+	 * Closes the mapped file.
+	 * @throws IOException When the file cannot be closed.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void close() throws IOException {
+		this.channel.close();
+	}
+}
@@ -7,20 +7,20 @@ package common.lexer;
 public class Token {
 	private final int line;
 	private final int column;
-	private final String kind;
+	private final TokenKind kind;
 	private final String value;
 	
 	/**
 	 * Constructor of the class. 
-	 * A token is defined by its tag, its value and its position in the code it is extracted from.
+	 * A token is defined by its kind, its value and its position in the code it is extracted from.
 	 * @author C.Silva, R.Cuinat
-	 * @param tag Tag of the token
+	 * @param kind Kind of the token
 	 * @param data Value of the token
 	 * @param line Line number of the token in the original code
 	 * @param column Column number of the token in the original code
 	 */
-	public Token(String tag, String data, int line, int column) {
-		this.kind = tag;
+	public Token(TokenKind kind, String data, int line, int column) {
+		this.kind = kind;
 		this.value = data;
 		this.line = line;
 		this.column = column;
@@ -36,14 +36,23 @@ public class Token {
 	}
 	
 	/**
-	 *Returns the tag of the token.
+	 *Returns the kind of the token.
 	 * @author C.Silva, R.Cuinat
-	 *@return The tag of the token
+	 *@return The kind of the token
 	 */
-	public String getKind() {
+	public TokenKind getKind() {
 		return kind;
 	}
 
+	/**
+	 *Returns the tag of the token, that is the textual form of its kind.
+	 * @author C.Silva, R.Cuinat
+	 *@return The tag of the token
+	 */
+	public String getTag() {
+		return this.kind.getTag();
+	}
+
 	/**
 	 *Returns the value of the token.
 	 * @author C.Silva, R.Cuinat
@@ -61,4 +70,13 @@ public class Token {
 	public int getColumn() {
 		return this.column;
 	}
+
+	/**
+	 * Returns a String representation of the token, composed of its tag, value, line and column.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public String toString() {
+		return this.getTag() + "\t|\t" + this.value + "\t|\t" + this.line + "\t|\t" + this.column + "\t|";
+	}
 }
\ No newline at end of file
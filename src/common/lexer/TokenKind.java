@@ -0,0 +1,118 @@
+package common.lexer;
+
+/**
+ * Enumeration of the kinds of tokens.
+ * Each kind carries the textual tag used in the diagnostics and in the listing of the tokens.
+ * @author C.Silva, R.Cuinat
+ */
+public enum TokenKind {
+	// Comments and indentation
+	SEPARATOR_HASH("Separator#"),
+	SEPARATOR_TAB("SeparatorTab"),
+	SEPARATOR_TRIPLE_QUOTE("Separator\'\'\'"),
+	SEPARATOR_TRIPLE_DOUBLE_QUOTE("Separator\"\"\""),
+	// Keywords
+	KEYWORD_FALSE("KeywordFalse"),
+	KEYWORD_TRUE("KeywordTrue"),
+	KEYWORD_NONE("KeywordNone"),
+	KEYWORD_AND("KeywordAnd"),
+	KEYWORD_ASSERT("KeywordAssert"),
+	KEYWORD_AS("KeywordAs"),
+	KEYWORD_BREAK("KeywordBreak"),
+	KEYWORD_CLASS("KeywordClass"),
+	KEYWORD_CONTINUE("KeywordContinue"),
+	KEYWORD_DEF("KeywordDef"),
+	KEYWORD_DEL("KeywordDel"),
+	KEYWORD_ELIF("KeywordElif"),
+	KEYWORD_ELSE("KeywordElse"),
+	KEYWORD_EXCEPT("KeywordExcept"),
+	KEYWORD_FINALLY("KeywordFinally"),
+	KEYWORD_FOR("KeywordFor"),
+	KEYWORD_FROM("KeywordFrom"),
+	KEYWORD_GLOBAL("KeywordGlobal"),
+	KEYWORD_IF("KeywordIf"),
+	KEYWORD_IMPORT("KeywordImport"),
+	KEYWORD_IN("KeywordIn"),
+	KEYWORD_IS("KeywordIs"),
+	KEYWORD_LAMBDA("KeywordLambda"),
+	KEYWORD_NONLOCAL("KeywordNonlocal"),
+	KEYWORD_NOT("KeywordNot"),
+	KEYWORD_OR("KeywordOr"),
+	KEYWORD_PASS("KeywordPass"),
+	KEYWORD_RAISE("KeywordRaise"),
+	KEYWORD_RETURN("KeywordReturn"),
+	KEYWORD_TRY("KeywordTry"),
+	KEYWORD_WHILE("KeywordWhile"),
+	KEYWORD_WITH("KeywordWith"),
+	KEYWORD_YIELD("KeywordYield"),
+	// Literals
+	STRING("String"),
+	FLOAT("Float"),
+	INTEGER("Integer"),
+	// Comparison operators
+	OPERATOR_LESS_EQUAL("Operator<="),
+	OPERATOR_GREATER_EQUAL("Operator>="),
+	OPERATOR_EQUAL("Operator=="),
+	OPERATOR_NOT_EQUAL("Operator!="),
+	OPERATOR_LESS("Operator<"),
+	OPERATOR_GREATER("Operator>"),
+	// Assignment operators
+	OPERATOR_MULTIPLY_ASSIGN("Operator*="),
+	OPERATOR_PLUS_ASSIGN("Operator+="),
+	OPERATOR_DIVIDE_ASSIGN("Operator/="),
+	OPERATOR_POWER_ASSIGN("Operator**="),
+	OPERATOR_MINUS_ASSIGN("Operator-="),
+	OPERATOR_MODULO_ASSIGN("Operator%="),
+	OPERATOR_ASSIGN("Operator="),
+	// Arithmetic operators
+	OPERATOR_PLUS("Operator+"),
+	OPERATOR_MINUS("Operator-"),
+	OPERATOR_POWER("Operator**"),
+	OPERATOR_MULTIPLY("Operator*"),
+	OPERATOR_FLOOR_DIVIDE("Operator//"),
+	OPERATOR_DIVIDE("Operator/"),
+	OPERATOR_MODULO("Operator%"),
+	// Separators
+	SEPARATOR_SEMICOLON("Separator;"),
+	SEPARATOR_COLON("Separator:"),
+	SEPARATOR_LEFT_PARENTHESIS("Separator("),
+	SEPARATOR_RIGHT_PARENTHESIS("Separator)"),
+	SEPARATOR_LEFT_BRACKET("Separator["),
+	SEPARATOR_RIGHT_BRACKET("Separator]"),
+	SEPARATOR_LEFT_BRACE("Separator{"),
+	SEPARATOR_RIGHT_BRACE("Separator}"),
+	SEPARATOR_COMMA("Separator,"),
+	SEPARATOR_DOT("Separator."),
+	// Identifiers and end of lines
+	IDENTIFIER("Identifier"),
+	CARRIAGE_RETURN("CarriageReturn");
+
+	private final String tag;
+
+	/**
+	 * Constructor of the enumeration.
+	 * @param tag Textual tag of the kind.
+	 * @author C.Silva, R.Cuinat
+	 */
+	TokenKind(String tag) {
+		this.tag = tag;
+	}
+
+	/**
+	 * Returns the textual tag of the kind.
+	 * @return The tag of the kind.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public String getTag() {
+		return this.tag;
+	}
+
+	/**
+	 * Returns the textual tag of the kind.
+	 * @return The tag of the kind.
+	 */
+	@Override
+	public String toString() {
+		return this.tag;
+	}
+}
@@ -0,0 +1,49 @@
+package common.lexer;
+
+import java.util.List;
+
+/**
+ * Token stream reading an already tokenized code.
+ * Consuming a token only moves a cursor forward : the list of tokens is never modified.
+ * @author C.Silva, R.Cuinat
+ */
+public class TokenList implements TokenStream {
+	private final List<Token> tokens;
+	private int cursor;
+
+	/**
+	 * Constructor of the class.
+	 * @param tokens The tokens to read, from the first to the last.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public TokenList(List<Token> tokens) {
+		this.tokens = tokens;
+		this.cursor = 0;
+	}
+
+	/**
+	 * Returns the token following the next one by the given offset without consuming any token.
+	 * @param k Offset of the token from the next one (0 for the next token).
+	 * @return The token, or null if the list ends before it.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public Token peek(int k) {
+		int index = this.cursor + k;
+		return index < this.tokens.size() ? this.tokens.get(index) : null;
+	}
+
+	/**
+	 * Consumes the next token of the list.
+	 * @return The consumed token, or null at the end of the list.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public Token next() {
+		Token token = this.peek(0);
+		if (token != null) {
+			this.cursor++;
+		}
+		return token;
+	}
+}
@@ -0,0 +1,148 @@
+package common.lexer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+
+import common.log.Log;
+import common.log.Stage;
+
+/**
+ * Token stream tokenizing its source lazily, line by line, as the tokens are consumed.
+ * The tokens produced ahead of the consumer are kept in a bounded circular buffer, so the whole token list never lives in memory.
+ * @author C.Silva, R.Cuinat
+ */
+public class TokenRingBuffer implements TokenStream {
+	private final MappedSourceReader reader;
+	private final LexicalRules lexicalRules;
+	private final Token[] buffer;
+	private final ArrayList<Token> pending;
+	private int pending_index;
+	private int head;
+	private int size;
+	private int line_number;
+	private Token last;
+	private boolean ended;
+
+	/**
+	 * Constructor of the class.
+	 * @param reader Reader of the source code.
+	 * @param rules LexicalRules to be employed to tokenize.
+	 * @param capacity Maximum number of tokens produced ahead of the consumer.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public TokenRingBuffer(MappedSourceReader reader, LexicalRules rules, int capacity) {
+		this.reader = reader;
+		this.lexicalRules = rules;
+		this.buffer = new Token[capacity];
+		this.pending = new ArrayList<>();
+		this.pending_index = 0;
+		this.head = 0;
+		this.size = 0;
+		this.line_number = 0;
+		this.last = null;
+		this.ended = false;
+	}
+
+	/**
+	 * Returns the token following the next one by the given offset without consuming any token.
+	 * @param k Offset of the token from the next one (0 for the next token), lower than the capacity of the buffer.
+	 * @return The token, or null if the source code ends before it.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public Token peek(int k) {
+		if (k >= this.buffer.length) {
+			throw new IllegalArgumentException("Lookahead " + k + " exceeds the capacity of the buffer (" + this.buffer.length + ")");
+		}
+		if (this.size <= k) {
+			this.fill();
+		}
+		return this.size > k ? this.buffer[(this.head + k) % this.buffer.length] : null;
+	}
+
+	/**
+	 * Consumes the next token of the stream.
+	 * @return The consumed token, or null at the end of the source code.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public Token next() {
+		Token token = this.peek(0);
+		if (token != null) {
+			this.buffer[this.head] = null;
+			this.head = (this.head + 1) % this.buffer.length;
+			this.size--;
+		}
+		return token;
+	}
+
+	/**
+	 * Fills the buffer with the tokens of the following lines until it is full or the source code ends.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private void fill() {
+		while (this.size < this.buffer.length) {
+			if (this.pending_index == this.pending.size() && !this.tokenize_line()) {
+				return;
+			}
+			this.buffer[(this.head + this.size) % this.buffer.length] = this.pending.get(this.pending_index++);
+			this.size++;
+		}
+	}
+
+	/**
+	 * Tokenizes the next line of the source code into the list of pending tokens.
+	 * As in Lexer.tokenize(), each line is followed by a CarriageReturn token once the first token was produced.
+	 * The tokens are displayed as they are produced if the lexer is traced.
+	 * @return false if the source code ended.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private boolean tokenize_line() {
+		this.pending.clear();
+		this.pending_index = 0;
+		while (this.pending.isEmpty()) {
+			String line = this.read_line();
+			if (line == null) {
+				return false;
+			}
+			this.line_number++;
+			this.lexicalRules.process(line, this.line_number, this.pending);
+			if (!this.pending.isEmpty()) {
+				this.last = this.pending.get(this.pending.size()-1);
+			}
+			if (this.last != null) {
+				this.last = new Token(TokenKind.CARRIAGE_RETURN, "\\n", this.line_number, this.last.getColumn()+1);
+				this.pending.add(this.last);
+			}
+		}
+		if (Log.isTracing(Stage.LEXER)) {
+			for (Token token : this.pending) {
+				Log.trace(Stage.LEXER, token + "\n");
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Reads the next line of the source code, closing the reader at its end.
+	 * @return The line, or null if the source code ended.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private String read_line() {
+		if (this.ended) {
+			return null;
+		}
+		try {
+			String line = this.reader.readLine();
+			if (line == null) {
+				this.ended = true;
+				this.reader.close();
+			}
+			return line;
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
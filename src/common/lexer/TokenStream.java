@@ -0,0 +1,37 @@
+package common.lexer;
+
+import java.text.ParseException;
+
+/**
+ * Interface of a sequence of tokens consumed one by one, from the first to the last.
+ * @author C.Silva, R.Cuinat
+ */
+public interface TokenStream {
+
+	/**
+	 * Returns the next token of the stream without consuming it.
+	 * @return The next token, or null at the end of the stream.
+	 * @throws ParseException When the token cannot be produced because the code is malformed.
+	 * @author C.Silva, R.Cuinat
+	 */
+	default Token peek() throws ParseException {
+		return this.peek(0);
+	}
+
+	/**
+	 * Returns the token following the next one by the given offset without consuming any token.
+	 * @param k Offset of the token from the next one (0 for the next token).
+	 * @return The token, or null if the stream ends before it.
+	 * @throws ParseException When the token cannot be produced because the code is malformed.
+	 * @author C.Silva, R.Cuinat
+	 */
+	Token peek(int k) throws ParseException;
+
+	/**
+	 * Consumes the next token of the stream.
+	 * @return The consumed token, or null at the end of the stream.
+	 * @throws ParseException When the token cannot be produced because the code is malformed.
+	 * @author C.Silva, R.Cuinat
+	 */
+	Token next() throws ParseException;
+}
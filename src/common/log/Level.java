@@ -0,0 +1,14 @@
+package common.log;
+
+/**
+ * Enumeration of the verbosity levels of the compiler, from the least to the most verbose.
+ * @author C.Silva, R.Cuinat
+ */
+public enum Level {
+	/** Only the errors are displayed. */
+	ERROR,
+	/** The errors and the progress of the compilation are displayed. */
+	INFO,
+	/** Everything is displayed, including the trace of every stage. */
+	TRACE
+}
@@ -0,0 +1,134 @@
+package common.log;
+
+import java.io.PrintStream;
+import java.util.EnumSet;
+
+/**
+ * Console output of the compiler.
+ * The progress messages are displayed from the INFO level, the default one. The trace of a stage (tokens, generated code...)
+ * is only displayed when the stage is traced, as writing it to the console costs more than the compilation itself.
+ * The errors are always displayed, and counted by thread. A thread can redirect its output, to keep the output of concurrent compilations apart.
+ * @author C.Silva, R.Cuinat
+ */
+public final class Log {
+	private static volatile Level level = Level.INFO;
+	private static volatile EnumSet<Stage> traced = EnumSet.noneOf(Stage.class);
+	private static final ThreadLocal<PrintStream> redirection = new ThreadLocal<>();
+	private static final ThreadLocal<Integer> errors = new ThreadLocal<>();
+
+	/**
+	 * This class is not to be instantiated.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private Log() {
+	}
+
+	/**
+	 * Sets the verbosity of the console output.
+	 * The TRACE level traces every stage.
+	 * @param level Verbosity level.
+	 * @param stages Stages to trace.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public static void configure(Level level, EnumSet<Stage> stages) {
+		Log.level = level;
+		Log.traced = level == Level.TRACE ? EnumSet.allOf(Stage.class) : EnumSet.copyOf(stages);
+	}
+
+	/**
+	 * Redirects the output of the current thread (messages, traces and errors) into the given stream.
+	 * @param stream Stream receiving the output, or null to display it in the console again.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public static void redirect(PrintStream stream) {
+		if (stream == null) {
+			Log.redirection.remove();
+		}
+		else {
+			Log.redirection.set(stream);
+		}
+	}
+
+	/**
+	 * Returns the number of errors displayed by the current thread since its last reset.
+	 * @return The number of errors.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public static int getErrors() {
+		Integer errors = Log.errors.get();
+		return errors != null ? errors : 0;
+	}
+
+	/**
+	 * Resets the number of errors displayed by the current thread.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public static void resetErrors() {
+		Log.errors.remove();
+	}
+
+	/**
+	 * Indicates if the messages of the given level are displayed.
+	 * @param level Level of the messages.
+	 * @return true if the messages are displayed.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public static boolean isEnabled(Level level) {
+		return Log.level.compareTo(level) >= 0;
+	}
+
+	/**
+	 * Indicates if the trace of the given stage is displayed.
+	 * Callers building an expensive trace should check it first.
+	 * @param stage Stage of the compilation.
+	 * @return true if the stage is traced.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public static boolean isTracing(Stage stage) {
+		return Log.traced.contains(stage);
+	}
+
+	/**
+	 * Displays a progress message, followed by a new line.
+	 * @param message The message to display.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public static void info(String message) {
+		if (Log.isEnabled(Level.INFO)) {
+			Log.out().println(message);
+		}
+	}
+
+	/**
+	 * Displays a piece of the trace of the given stage, as is.
+	 * @param stage Stage of the compilation.
+	 * @param text The text to display.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public static void trace(Stage stage, String text) {
+		if (Log.isTracing(stage)) {
+			Log.out().print(text);
+		}
+	}
+
+	/**
+	 * Displays an error message, followed by a new line, whatever the level. The error is counted for the current thread.
+	 * @param message The message to display.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public static void error(String message) {
+		Log.errors.set(Log.getErrors() + 1);
+		PrintStream stream = Log.redirection.get();
+		(stream != null ? stream : System.err).println(message);
+	}
+
+	/**
+	 * Returns the stream of the messages and traces of the current thread.
+	 * @return The redirection of the thread, or the standard output.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static PrintStream out() {
+		PrintStream stream = Log.redirection.get();
+		return stream != null ? stream : System.out;
+	}
+}
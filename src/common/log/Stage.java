@@ -0,0 +1,20 @@
+package common.log;
+
+/**
+ * Enumeration of the stages of the compilation whose trace can be displayed.
+ * @author C.Silva, R.Cuinat
+ */
+public enum Stage {
+	/** Tokenization of the source code : every token produced. */
+	LEXER,
+	/** Parsing : every token accepted, then the program as parsed. */
+	PARSER,
+	/** Generation of the symbol table : the generated table. */
+	SYMBOL_TABLE,
+	/** Lowering into the intermediate representation : the functions and the main program as lowered. */
+	IR,
+	/** Generation of the C code : every piece of code written. */
+	C_GEN,
+	/** Generation of the obfuscated C code : every piece of code written. */
+	OBF_C_GEN
+}
@@ -1,11 +1,15 @@
 package common.parser;
 
 import java.text.ParseException;
-import java.util.ArrayList;
 
 import common.ast.AST;
 import common.lexer.Lexer;
 import common.lexer.Token;
+import common.lexer.TokenKind;
+import common.lexer.TokenList;
+import common.lexer.TokenStream;
+import common.log.Log;
+import common.log.Stage;
 
 /**
  * This class aims at parsing a tokenized code to create the AST.
@@ -13,7 +17,7 @@ import common.lexer.Token;
  *
  */
 public abstract class Parser {
-	protected ArrayList<Token> tokens;
+	protected TokenStream stream;
 	protected final String source;
 	
 	/**
@@ -23,7 +27,18 @@ public abstract class Parser {
 	 */
     protected Parser(Lexer lexer) {
 		this.source = lexer.getSource();
-		this.tokens = lexer.getTokens();
+		this.stream = new TokenList(lexer.getTokens());
+	}
+	
+	/**
+	 * Constructor of the class. Initializes the Parser with a stream of tokens consumed while parsing.
+	 * @param source Name of the source code file.
+	 * @param stream Stream of the tokens of the code to parse.
+	 * @author C.Silva, R.Cuinat
+	 */
+	protected Parser(String source, TokenStream stream) {
+		this.source = source;
+		this.stream = stream;
 	}
 	
 	/**
@@ -37,17 +52,22 @@ public abstract class Parser {
 	/**
 	 * Returns the next token to process without modifying the list of tokens.
 	 * @return The next Token to process.
+	 * @throws ParseException When the stream of tokens cannot produce the next token.
 	 * @author C.Silva, R.Cuinat
 	 */
-	protected Token show_next() {
-		Token next_token;
-		if (this.tokens.size() > 0) {
-			next_token = this.tokens.get(0);
-		}
-		else {
-			next_token = null;
-		}
-		return next_token;
+	protected Token show_next() throws ParseException {
+		return this.stream.peek(0);
+	}
+	
+	/**
+	 * Returns the token following the next token to process by the given offset without modifying the list of tokens.
+	 * @param k Offset of the token from the next one (0 for the next token).
+	 * @return The token, or null if the code ends before it.
+	 * @throws ParseException When the stream of tokens cannot produce the token.
+	 * @author C.Silva, R.Cuinat
+	 */
+	protected Token show_next(int k) throws ParseException {
+		return this.stream.peek(k);
 	}
 	
 	/**
@@ -57,34 +77,36 @@ public abstract class Parser {
 	 * @throws ParseException When the next token kind doesn't match the given one.
 	 * @author C.Silva, R.Cuinat
 	 */
-	protected Token expect(String kind) throws ParseException {
+	protected Token expect(TokenKind kind) throws ParseException {
 		Token actual_token = this.show_next();
-		if (actual_token.getKind().compareTo(kind) == 0) {
+		if (actual_token.getKind() == kind) {
 			this.accept_it();
 			return actual_token;
 		}
 		else {
-			System.err.println("\nError at (" + actual_token.getLine() + " , " + actual_token.getColumn() + "): expected "+kind+", got "+actual_token.getKind()+" instead.");
-			throw new ParseException("",0);
+			throw new ParseException("Error at (" + actual_token.getLine() + " , " + actual_token.getColumn() + "): expected "+kind.getTag()+", got "+actual_token.getTag()+" instead.", 0);
 		}
 	}
 	
-	/** Process the next token.
+	/** Process the next token. The token is displayed if the parser is traced.
 	 * @return The token which was accepted.
+	 * @throws ParseException When the stream of tokens cannot produce the next token.
 	 * @author C.Silva, R.Cuinat
 	 */
-	protected Token accept_it() {
-		Token token = this.tokens.remove(0);
-		if (token.getKind().compareTo("CarriageReturn") == 0) {
-			System.out.print("\n");
-		}
-		else if (token.getKind().compareTo("SeparatorTab") == 0) {
-			for (int i=0;i<this.sizeOfTab(token);i++) {
-				System.out.print("\t");
+	protected Token accept_it() throws ParseException {
+		Token token = this.stream.next();
+		if (Log.isTracing(Stage.PARSER)) {
+			if (token.getKind() == TokenKind.CARRIAGE_RETURN) {
+				Log.trace(Stage.PARSER, "\n");
+			}
+			else if (token.getKind() == TokenKind.SEPARATOR_TAB) {
+				for (int i=0;i<this.sizeOfTab(token);i++) {
+					Log.trace(Stage.PARSER, "\t");
+				}
+			}
+			else {
+				Log.trace(Stage.PARSER, token.getValue() + " ");
 			}
-		}
-		else {
-			System.out.print(token.getValue() + " ");
 		}
 		return token;
 	}
@@ -95,7 +117,7 @@ public abstract class Parser {
 	 * @author C.Silva, R.Cuinat
 	 */
 	protected int sizeOfTab(Token token) {
-		assert (token.getKind().compareTo("SeparatorTab") == 0);
+		assert (token.getKind() == TokenKind.SEPARATOR_TAB);
 		int count_tab = 0;
 		int count_space = 0;
 		for (int i=0;i<token.getValue().length();i++) {
@@ -0,0 +1,53 @@
+package ir;
+
+import java.util.ArrayList;
+
+/**
+ * Basic block : a sequence of instructions executed one after the other. Only its last instruction can be a return, a break or a continue.
+ * @author C.Silva, R.Cuinat
+ */
+public class BasicBlock extends Region {
+	private final ArrayList<Instruction> instructions;
+
+	/**
+	 * Constructor of the class. Creates an empty block.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public BasicBlock() {
+		this.instructions = new ArrayList<>();
+	}
+
+	/**
+	 * Appends an instruction to the block.
+	 * @param instruction The instruction.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public void add(Instruction instruction) {
+		this.instructions.add(instruction);
+	}
+
+	/**
+	 * Getter of the instructions field.
+	 * @return The instructions of the block, in the order of execution.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public ArrayList<Instruction> getInstructions() {
+		return this.instructions;
+	}
+
+	/**
+	 * Tells whether the block ends with a return, a break or a continue.
+	 * @return true if the instructions following the block in its body are never executed.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public boolean isTerminated() {
+		return !this.instructions.isEmpty() && this.instructions.get(this.instructions.size() - 1).isTerminator();
+	}
+
+	@Override
+	void dump(StringBuilder s, String indent) {
+		for (Instruction instruction : this.instructions) {
+			s.append(indent).append(instruction).append("\n");
+		}
+	}
+}
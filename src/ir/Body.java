@@ -0,0 +1,75 @@
+package ir;
+
+import java.util.ArrayList;
+
+/**
+ * Body of a function, of a loop or of a branch : the variables declared in it and the regions executed one after the other.
+ * @author C.Silva, R.Cuinat
+ */
+public class Body {
+	private final ArrayList<Variable> declarations;
+	private final ArrayList<Region> regions;
+
+	/**
+	 * Constructor of the class. Creates an empty body.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public Body() {
+		this.declarations = new ArrayList<>();
+		this.regions = new ArrayList<>();
+	}
+
+	/**
+	 * Declares a variable in the body.
+	 * @param variable The variable.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public void declare(Variable variable) {
+		this.declarations.add(variable);
+	}
+
+	/**
+	 * Appends a region to the body.
+	 * @param region The region.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public void add(Region region) {
+		this.regions.add(region);
+	}
+
+	/**
+	 * Getter of the declarations field.
+	 * @return The variables declared in the body.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public ArrayList<Variable> getDeclarations() {
+		return this.declarations;
+	}
+
+	/**
+	 * Getter of the regions field.
+	 * @return The regions of the body, in the order of execution.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public ArrayList<Region> getRegions() {
+		return this.regions;
+	}
+
+	/**
+	 * Writes a representation of this body.
+	 * @param s StringBuilder receiving the representation.
+	 * @param indent Indentation of the lines of the body.
+	 * @author C.Silva, R.Cuinat
+	 */
+	void dump(StringBuilder s, String indent) {
+		for (Variable variable : this.declarations) {
+			s.append(indent).append("declare ").append(variable).append(" : ").append(variable.getType().getName()).append("\n");
+		}
+		for (Region region : this.regions) {
+			region.dump(s, indent);
+		}
+		if (this.declarations.isEmpty() && this.regions.isEmpty()) {
+			s.append(indent).append("pass\n");
+		}
+	}
+}
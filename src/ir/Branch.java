@@ -0,0 +1,70 @@
+package ir;
+
+/**
+ * Conditional execution of a body : if condition: then else: otherwise. An elif is a branch alone in the otherwise body of the previous one,
+ * after the block computing its condition.
+ * @author C.Silva, R.Cuinat
+ */
+public class Branch extends Region {
+	private final Value condition;
+	private final Body then;
+	private Body otherwise;
+
+	/**
+	 * Constructor of the class. The branch has no otherwise body.
+	 * @param condition Condition of the branch, computed by the block preceding it.
+	 * @param then Body executed when the condition is true.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public Branch(Value condition, Body then) {
+		this.condition = condition;
+		this.then = then;
+		this.otherwise = null;
+	}
+
+	/**
+	 * Getter of the condition field.
+	 * @return The condition of the branch.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public Value getCondition() {
+		return this.condition;
+	}
+
+	/**
+	 * Getter of the then field.
+	 * @return The body executed when the condition is true.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public Body getThen() {
+		return this.then;
+	}
+
+	/**
+	 * Getter of the otherwise field.
+	 * @return The body executed when the condition is false. null if none.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public Body getOtherwise() {
+		return this.otherwise;
+	}
+
+	/**
+	 * Setter of the otherwise field.
+	 * @param otherwise The body executed when the condition is false.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public void setOtherwise(Body otherwise) {
+		this.otherwise = otherwise;
+	}
+
+	@Override
+	void dump(StringBuilder s, String indent) {
+		s.append(indent).append("if ").append(this.condition).append(":\n");
+		this.then.dump(s, indent + "  ");
+		if (this.otherwise != null) {
+			s.append(indent).append("else:\n");
+			this.otherwise.dump(s, indent + "  ");
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package ir;
+
+import python.symbolTable.types.AbstractType;
+import python.symbolTable.types.DoubleType;
+import python.symbolTable.types.IntegerType;
+import python.symbolTable.types.StringType;
+
+/**
+ * Constant value : an integer (the booleans included), a double, a string or None.
+ * @author C.Silva, R.Cuinat
+ */
+public class Constant extends Value {
+	private final Object value;
+
+	/**
+	 * Constructor of the class.
+	 * @param type Type of the constant.
+	 * @param value Value of the constant : a Long, a Double, the String of a string constant, or null for None.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private Constant(AbstractType type, Object value) {
+		super(type);
+		this.value = value;
+	}
+
+	/**
+	 * Creates an integer constant.
+	 * @param value Value of the constant.
+	 * @return The constant.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public static Constant integer(long value) {
+		return new Constant(new IntegerType(), value);
+	}
+
+	/**
+	 * Creates a double constant.
+	 * @param value Value of the constant.
+	 * @return The constant.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public static Constant real(double value) {
+		return new Constant(new DoubleType(), value);
+	}
+
+	/**
+	 * Creates a string constant.
+	 * @param text Characters of the string, without the quotes.
+	 * @return The constant.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public static Constant string(String text) {
+		return new Constant(new StringType(), text);
+	}
+
+	/**
+	 * Creates the constant None.
+	 * @param type Type given to None.
+	 * @return The constant.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public static Constant none(AbstractType type) {
+		return new Constant(type, null);
+	}
+
+	/**
+	 * Getter of the value field.
+	 * @return A Long, a Double, the String of a string constant, or null for None.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public Object getValue() {
+		return this.value;
+	}
+
+	/**
+	 * Gives a string representation of this constant.
+	 * @return The constant as written in python.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public String toString() {
+		if (this.value == null) {
+			return "None";
+		}
+		else if (this.value instanceof String) {
+			return "\"" + this.value + "\"";
+		}
+		return this.value.toString();
+	}
+}
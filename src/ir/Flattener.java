@@ -0,0 +1,343 @@
+package ir;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import python.symbolTable.types.IntegerType;
+
+/**
+ * Flattener of the control flow of a function in intermediate representation : its branches and its loops are replaced by states
+ * run by a dispatcher, each state choosing the next one (see State). The variables declared in the flattened bodies are declared by the function.
+ * Every dispatch costs a few instructions : the estimated cost of the dispatches of a function is kept under a budget proportional to the estimated
+ * number of instructions it runs, each loop being assumed to run ITERATIONS times. While the budget is exceeded, the innermost flattened loop
+ * costing the most dispatches is kept as it is, inside the state reaching it.
+ * @author C.Silva, R.Cuinat
+ */
+public class Flattener {
+	/** Estimated cost of the dispatches of a function allowed per instruction it runs. */
+	public static final double BUDGET = 0.5;
+	private static final int ITERATIONS = 10;
+
+	private final IRProgram program;
+	private final double cost;
+	private final HashSet<Loop> kept;
+	private final ArrayList<State> states;
+	private final ArrayList<Variable> declarations;
+	private final HashMap<String, Variable> names;
+	private boolean conflicting;
+
+	/**
+	 * Constructor of the class.
+	 * @param program Program of the flattened functions, creating their temporaries.
+	 * @param cost Estimated cost of a dispatch, in instructions.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public Flattener(IRProgram program, double cost) {
+		this.program = program;
+		this.cost = cost;
+		this.kept = new HashSet<>();
+		this.states = new ArrayList<>();
+		this.declarations = new ArrayList<>();
+		this.names = new HashMap<>();
+		this.conflicting = false;
+	}
+
+	/**
+	 * Flattens the body of a function. The body itself is not modified.
+	 * @param body The body of the function.
+	 * @return The states of the function, its first state first, or null if two of its bodies declare variables of the same name
+	 * and of different types, which cannot be both declared by the function.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public ArrayList<State> flatten(Body body) {
+		this.kept.clear();
+		this.states.clear();
+		this.declarations.clear();
+		this.names.clear();
+		this.conflicting = false;
+		this.choose(body);
+		this.flatten(body, this.state(), null, null);
+		return this.conflicting ? null : new ArrayList<>(this.states);
+	}
+
+	/**
+	 * Getter of the declarations field.
+	 * @return The variables declared by the bodies of the last flattened function, to be declared by the function.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public ArrayList<Variable> getDeclarations() {
+		return this.declarations;
+	}
+
+	/**
+	 * Returns the number of loops of the last flattened function kept as they are.
+	 * @return The number of loops written inside a state.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public int getKept() {
+		return this.kept.size();
+	}
+
+	/**
+	 * Chooses the loops kept as they are : the for loops whose step is not a constant, then the innermost flattened loops costing the most dispatches
+	 * until the budget is respected.
+	 * @param body The body of the function.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private void choose(Body body) {
+		while (true) {
+			double[] totals = new double[2];
+			LinkedHashMap<Loop, Double> innermost = new LinkedHashMap<>();
+			this.estimate(body, 1, totals, innermost);
+			if (innermost.isEmpty() || this.cost * totals[1] <= Flattener.BUDGET * totals[0]) {
+				return;
+			}
+			Loop costliest = null;
+			for (Map.Entry<Loop, Double> entry : innermost.entrySet()) {
+				if (costliest == null || entry.getValue() > innermost.get(costliest)) {
+					costliest = entry.getKey();
+				}
+			}
+			this.kept.add(costliest);
+		}
+	}
+
+	/**
+	 * Estimates the number of instructions run by the given flattened body, and the number of dispatches between its states.
+	 * @param body The body.
+	 * @param weight Estimated number of runs of the body.
+	 * @param totals Array receiving the number of instructions, then the number of dispatches.
+	 * @param innermost Map receiving the flattened loops containing no flattened loop, with their number of dispatches.
+	 * @return true if the body contains a flattened loop.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private boolean estimate(Body body, double weight, double[] totals, Map<Loop, Double> innermost) {
+		boolean loops = false;
+		for (Region region : body.getRegions()) {
+			if (region instanceof BasicBlock) {
+				totals[0] += ((BasicBlock) region).getInstructions().size() * weight;
+			}
+			else if (region instanceof Branch) {
+				Branch branch = (Branch) region;
+				totals[1] += 2 * weight;
+				loops |= this.estimate(branch.getThen(), weight, totals, innermost);
+				if (branch.getOtherwise() != null) {
+					loops |= this.estimate(branch.getOtherwise(), weight, totals, innermost);
+				}
+			}
+			else if (region instanceof ForLoop && !(((ForLoop) region).getStep() instanceof Constant)) {
+				this.kept.add((Loop) region);
+			}
+			if (region instanceof Loop && this.kept.contains(region)) {
+				totals[0] += Flattener.work(region, weight);
+			}
+			else if (region instanceof Loop) {
+				Loop loop = (Loop) region;
+				double[] own = new double[2];
+				boolean nested = loop instanceof WhileLoop && this.estimate(((WhileLoop) loop).getHeader(), weight * Flattener.ITERATIONS, own, innermost);
+				nested |= this.estimate(loop.getBody(), weight * Flattener.ITERATIONS, own, innermost);
+				own[1] += (loop instanceof ForLoop ? 3 : 2) * weight * Flattener.ITERATIONS + weight;
+				if (!nested) {
+					innermost.put(loop, own[1]);
+				}
+				totals[0] += own[0];
+				totals[1] += own[1];
+				loops = true;
+			}
+		}
+		return loops;
+	}
+
+	/**
+	 * Estimates the number of instructions run by the given region.
+	 * @param region The region.
+	 * @param weight Estimated number of runs of the region.
+	 * @return The estimated number of instructions.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static double work(Region region, double weight) {
+		double work = 0;
+		if (region instanceof BasicBlock) {
+			work = ((BasicBlock) region).getInstructions().size() * weight;
+		}
+		else if (region instanceof Branch) {
+			work = Flattener.work(((Branch) region).getThen(), weight) + (((Branch) region).getOtherwise() == null ? 0 : Flattener.work(((Branch) region).getOtherwise(), weight));
+		}
+		else if (region instanceof Loop) {
+			work = Flattener.work(((Loop) region).getBody(), weight * Flattener.ITERATIONS);
+			if (region instanceof WhileLoop) {
+				work += Flattener.work(((WhileLoop) region).getHeader(), weight * Flattener.ITERATIONS);
+			}
+		}
+		return work;
+	}
+
+	/**
+	 * Estimates the number of instructions run by the given body.
+	 * @param body The body.
+	 * @param weight Estimated number of runs of the body.
+	 * @return The estimated number of instructions.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static double work(Body body, double weight) {
+		double work = 0;
+		for (Region region : body.getRegions()) {
+			work += Flattener.work(region, weight);
+		}
+		return work;
+	}
+
+	/**
+	 * Creates a new state of the function.
+	 * @return The state, numbered after the previous ones.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private State state() {
+		State state = new State(this.states.size());
+		this.states.add(state);
+		return state;
+	}
+
+	/**
+	 * Flattens the given body from the given state.
+	 * @param body The body.
+	 * @param current State running the beginning of the body.
+	 * @param exit State following the innermost loop containing the body, reached by a break. null if none.
+	 * @param resume State beginning the next iteration of this loop, reached by a continue. null if none.
+	 * @return The state running the end of the body, or null if the body ends with a return, a break or a continue.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private State flatten(Body body, State current, State exit, State resume) {
+		this.declare(body);
+		for (Region region : body.getRegions()) {
+			if (current == null) {
+				break;
+			}
+			if (region instanceof BasicBlock) {
+				current = this.block((BasicBlock) region, current, exit, resume);
+			}
+			else if (this.kept.contains(region)) {
+				current.getBody().add(region);
+			}
+			else if (region instanceof Branch) {
+				Branch branch = (Branch) region;
+				State then = this.state();
+				State otherwise = branch.getOtherwise() == null ? null : this.state();
+				State join = this.state();
+				current.branch(branch.getCondition(), then, otherwise == null ? join : otherwise);
+				this.link(this.flatten(branch.getThen(), then, exit, resume), join);
+				if (otherwise != null) {
+					this.link(this.flatten(branch.getOtherwise(), otherwise, exit, resume), join);
+				}
+				current = join;
+			}
+			else if (region instanceof WhileLoop) {
+				WhileLoop loop = (WhileLoop) region;
+				State header = this.state();
+				State inside = this.state();
+				State after = this.state();
+				current.jump(header);
+				State test = this.flatten(loop.getHeader(), header, exit, resume);
+				if (test != null) {
+					test.branch(loop.getCondition(), inside, after);
+				}
+				this.link(this.flatten(loop.getBody(), inside, after, header), header);
+				current = after;
+			}
+			else if (region instanceof ForLoop) {
+				ForLoop loop = (ForLoop) region;
+				Variable counter = loop.getCounter();
+				long step = (Long) ((Constant) loop.getStep()).getValue();
+				State test = this.state();
+				State inside = this.state();
+				State increment = this.state();
+				State after = this.state();
+				this.append(current, Instruction.copy(counter, loop.getStart()));
+				current.jump(test);
+				Temporary condition = this.program.newTemporary(new IntegerType());
+				this.append(test, Instruction.binary(condition, step < 0 ? ">" : "<", counter, loop.getStop()));
+				test.branch(condition, inside, after);
+				this.append(increment, Instruction.binary(counter, "+", counter, loop.getStep()));
+				increment.jump(test);
+				this.link(this.flatten(loop.getBody(), inside, after, increment), increment);
+				current = after;
+			}
+		}
+		return current;
+	}
+
+	/**
+	 * Adds the variables declared by the given flattened body to the declarations of the function, once per name.
+	 * @param body The body.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private void declare(Body body) {
+		for (Variable variable : body.getDeclarations()) {
+			Variable declared = this.names.putIfAbsent(variable.getName(), variable);
+			if (declared == null) {
+				this.declarations.add(variable);
+			}
+			else if (declared.getType().getName().compareTo(variable.getType().getName()) != 0 || this.program.isWide(declared) != this.program.isWide(variable)) {
+				this.conflicting = true;
+			}
+		}
+	}
+
+	/**
+	 * Adds the instructions of the given block to the given state, until a jump.
+	 * @param block The block.
+	 * @param current State running the block.
+	 * @param exit State reached by a break. null if none.
+	 * @param resume State reached by a continue. null if none.
+	 * @return The state running the code following the block, or null if the block ends with a return, a break or a continue.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private State block(BasicBlock block, State current, State exit, State resume) {
+		for (Instruction instruction : block.getInstructions()) {
+			switch (instruction.getOpcode()) {
+			case BREAK :
+				current.jump(exit);
+				return null;
+			case CONTINUE :
+				current.jump(resume);
+				return null;
+			case RETURN :
+				this.append(current, instruction);
+				return null;
+			default :
+				this.append(current, instruction);
+				break;
+			}
+		}
+		return current;
+	}
+
+	/**
+	 * Adds an instruction at the end of the given state, in its last block.
+	 * @param state The state.
+	 * @param instruction The instruction.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private void append(State state, Instruction instruction) {
+		ArrayList<Region> regions = state.getBody().getRegions();
+		if (regions.isEmpty() || !(regions.get(regions.size() - 1) instanceof BasicBlock)) {
+			state.getBody().add(new BasicBlock());
+		}
+		((BasicBlock) regions.get(regions.size() - 1)).add(instruction);
+	}
+
+	/**
+	 * Ends the given state with a jump to the given one.
+	 * @param state The state. null if the code reaching it ended with a return, a break or a continue.
+	 * @param next The next state.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private void link(State state, State next) {
+		if (state != null) {
+			state.jump(next);
+		}
+	}
+}
@@ -0,0 +1,82 @@
+package ir;
+
+/**
+ * For loop over a range : for counter in range(start, stop, step). Its bounds and its step are computed once, before the loop.
+ * @author C.Silva, R.Cuinat
+ */
+public class ForLoop extends Loop {
+	private final Variable counter;
+	private final Value start;
+	private Value stop;
+	private Value step;
+
+	/**
+	 * Constructor of the class.
+	 * @param counter Integer variable iterating over the range.
+	 * @param start First value of the range, computed by the block preceding the loop.
+	 * @param stop End of the range, excluded.
+	 * @param step Step of the range.
+	 * @param body Body of the loop.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public ForLoop(Variable counter, Value start, Value stop, Value step, Body body) {
+		super(body);
+		this.counter = counter;
+		this.start = start;
+		this.stop = stop;
+		this.step = step;
+	}
+
+	/**
+	 * Getter of the counter field.
+	 * @return The variable iterating over the range.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public Variable getCounter() {
+		return this.counter;
+	}
+
+	/**
+	 * Getter of the start field.
+	 * @return The first value of the range.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public Value getStart() {
+		return this.start;
+	}
+
+	/**
+	 * Getter of the stop field.
+	 * @return The end of the range, excluded.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public Value getStop() {
+		return this.stop;
+	}
+
+	/**
+	 * Getter of the step field.
+	 * @return The step of the range.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public Value getStep() {
+		return this.step;
+	}
+
+	/**
+	 * Replaces the end and the step of the range, by the values they are copied to before the loop.
+	 * @param stop End of the range, excluded.
+	 * @param step Step of the range.
+	 * @author C.Silva, R.Cuinat
+	 */
+	void setRange(Value stop, Value step) {
+		this.stop = stop;
+		this.step = step;
+	}
+
+	@Override
+	void dump(StringBuilder s, String indent) {
+		s.append(indent).append("for ").append(this.counter).append(" in range(").append(this.start).append(", ").append(this.stop).append(", ").append(this.step).append("):\n");
+		this.getBody().dump(s, indent + "  ");
+	}
+}
@@ -0,0 +1,80 @@
+package ir;
+
+import java.util.List;
+
+import python.symbolTable.FunctionSymbol;
+
+/**
+ * Function of the intermediate representation : a function of the python code, or the main program.
+ * @author C.Silva, R.Cuinat
+ */
+public class IRFunction {
+	private final FunctionSymbol symbol;
+	private final List<Variable> arguments;
+	private final Body body;
+
+	/**
+	 * Constructor of the class.
+	 * @param symbol Symbol of the function, giving its signature. null for the main program.
+	 * @param arguments Variables of the arguments of the function, the optional ones included, in the order of its declaration.
+	 * @param body Body of the function.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public IRFunction(FunctionSymbol symbol, List<Variable> arguments, Body body) {
+		this.symbol = symbol;
+		this.arguments = arguments;
+		this.body = body;
+	}
+
+	/**
+	 * Getter of the symbol field.
+	 * @return The symbol of the function. null for the main program.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public FunctionSymbol getSymbol() {
+		return this.symbol;
+	}
+
+	/**
+	 * Getter of the arguments field.
+	 * @return The variables of the arguments of the function, in the order of its declaration.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public List<Variable> getArguments() {
+		return this.arguments;
+	}
+
+	/**
+	 * Getter of the body field.
+	 * @return The body of the function.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public Body getBody() {
+		return this.body;
+	}
+
+	/**
+	 * Gives a string representation of this function.
+	 * @return The function, in a python-like syntax.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public String toString() {
+		StringBuilder s = new StringBuilder();
+		if (this.symbol == null) {
+			s.append("main:\n");
+		}
+		else {
+			s.append("def ").append(this.symbol.getName()).append("(");
+			for (int i=0;i<this.symbol.getMandatoryArgs().size();i++) {
+				s.append(i == 0 ? "" : ", ").append(this.symbol.getMandatoryArgs().get(i).getName());
+			}
+			for (int i=0;i<this.symbol.getOptionals().size();i++) {
+				s.append(i == 0 && this.symbol.getMandatoryArgs().isEmpty() ? "" : ", ").append(this.symbol.getOptionals().get(i).getName());
+			}
+			s.append(") : ").append(this.symbol.getReturnedType().getName()).append("\n");
+		}
+		this.body.dump(s, "  ");
+		return s.toString();
+	}
+}
@@ -0,0 +1,242 @@
+package ir;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+
+import python.symbolTable.FunctionSymbol;
+import python.symbolTable.SymbolTable;
+import python.symbolTable.types.AbstractType;
+
+/**
+ * Program in intermediate representation : its functions, its main program and the symbol table they were typed with.
+ * The program knows every name used by its code, so that the temporaries and the names added by the generators are unique,
+ * and the integers needing 64 bits.
+ * @author C.Silva, R.Cuinat
+ */
+public class IRProgram {
+	private final SymbolTable symbolTable;
+	private final ArrayList<IRFunction> functions;
+	private IRFunction main;
+	private final HashSet<String> names;
+	private int temporaries;
+	private final HashSet<Value> wide;
+	private final HashSet<FunctionSymbol> wideResults;
+
+	/**
+	 * Constructor of the class. Creates a program without function.
+	 * @param symbolTable SymbolTable of the program.
+	 * @param names Names of the variables and of the functions of the program.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public IRProgram(SymbolTable symbolTable, HashSet<String> names) {
+		this.symbolTable = symbolTable;
+		this.functions = new ArrayList<>();
+		this.main = null;
+		this.names = names;
+		this.temporaries = 0;
+		this.wide = new HashSet<>();
+		this.wideResults = new HashSet<>();
+	}
+
+	/**
+	 * Getter of the symbolTable field.
+	 * @return The SymbolTable of the program.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public SymbolTable getSymbolTable() {
+		return this.symbolTable;
+	}
+
+	/**
+	 * Adds a function to the program.
+	 * @param function The function.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public void addFunction(IRFunction function) {
+		this.functions.add(function);
+	}
+
+	/**
+	 * Getter of the functions field.
+	 * @return The functions of the program, without the main program.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public ArrayList<IRFunction> getFunctions() {
+		return this.functions;
+	}
+
+	/**
+	 * Returns the function of the given symbol.
+	 * @param symbol Symbol of the function.
+	 * @return The function, or null if the program does not define it.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public IRFunction getFunction(FunctionSymbol symbol) {
+		for (IRFunction function : this.functions) {
+			if (function.getSymbol() == symbol) {
+				return function;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Getter of the main field.
+	 * @return The main program.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public IRFunction getMain() {
+		return this.main;
+	}
+
+	/**
+	 * Setter of the main field.
+	 * @param main The main program.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public void setMain(IRFunction main) {
+		this.main = main;
+	}
+
+	/**
+	 * Returns a name used nowhere in the program, based on the given name.
+	 * @param name The name wished.
+	 * @return The name wished, followed by as many underscores as needed to make it unique.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public String freshName(String name) {
+		while (this.names.contains(name)) {
+			name += "_";
+		}
+		this.names.add(name);
+		return name;
+	}
+
+	/**
+	 * Creates a new temporary.
+	 * @param type Type of the temporary.
+	 * @return A temporary whose name is used nowhere else in the program.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public Temporary newTemporary(AbstractType type) {
+		this.temporaries ++;
+		return new Temporary(this.freshName("tmp" + this.temporaries), type);
+	}
+
+	/**
+	 * Marks the given integer value as needing 64 bits.
+	 * @param value The variable or the temporary.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public void setWide(Value value) {
+		this.wide.add(value);
+	}
+
+	/**
+	 * Tells whether the given value needs 64 bits.
+	 * @param value The value.
+	 * @return true if the value is an integer which can go beyond the range of the 32 bits integers, or an integer constant beyond it.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public boolean isWide(Value value) {
+		if (value instanceof Constant && ((Constant) value).getValue() instanceof Long) {
+			long constant = (Long) ((Constant) value).getValue();
+			return constant < Integer.MIN_VALUE || constant > Integer.MAX_VALUE;
+		}
+		return this.wide.contains(value);
+	}
+
+	/**
+	 * Tells whether some integer of the program needs 64 bits.
+	 * @return true if a value or the result of a function was marked as needing 64 bits, or if the code uses an integer constant beyond 32 bits.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public boolean hasWide() {
+		if (!this.wide.isEmpty() || !this.wideResults.isEmpty() || (this.main != null && this.hasWide(this.main.getBody()))) {
+			return true;
+		}
+		for (IRFunction function : this.functions) {
+			if (this.hasWide(function.getBody())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Tells whether the given body uses an integer constant beyond 32 bits.
+	 * @param body The body.
+	 * @return true if an operand, a condition or a bound of a range of the body is such a constant.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private boolean hasWide(Body body) {
+		for (Region region : body.getRegions()) {
+			if (region instanceof BasicBlock) {
+				for (Instruction instruction : ((BasicBlock) region).getInstructions()) {
+					for (Value operand : instruction.getOperands()) {
+						if (this.isWide(operand)) {
+							return true;
+						}
+					}
+				}
+			}
+			else if (region instanceof Branch) {
+				Branch branch = (Branch) region;
+				if (this.isWide(branch.getCondition()) || this.hasWide(branch.getThen()) || (branch.getOtherwise() != null && this.hasWide(branch.getOtherwise()))) {
+					return true;
+				}
+			}
+			else if (region instanceof WhileLoop) {
+				if (this.isWide(((WhileLoop) region).getCondition()) || this.hasWide(((WhileLoop) region).getHeader())) {
+					return true;
+				}
+			}
+			else if (region instanceof ForLoop) {
+				ForLoop loop = (ForLoop) region;
+				if (this.isWide(loop.getStart()) || this.isWide(loop.getStop()) || this.isWide(loop.getStep())) {
+					return true;
+				}
+			}
+			if (region instanceof Loop && this.hasWide(((Loop) region).getBody())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Marks the integer result of the given function as needing 64 bits.
+	 * @param function Symbol of the function.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public void setWide(FunctionSymbol function) {
+		this.wideResults.add(function);
+	}
+
+	/**
+	 * Tells whether the result of the given function needs 64 bits.
+	 * @param function Symbol of the function.
+	 * @return true if the function returns an integer which can go beyond the range of the 32 bits integers.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public boolean isWide(FunctionSymbol function) {
+		return this.wideResults.contains(function);
+	}
+
+	/**
+	 * Gives a string representation of this program.
+	 * @return The functions, then the main program, in a python-like syntax.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public String toString() {
+		StringBuilder s = new StringBuilder();
+		for (IRFunction function : this.functions) {
+			s.append(function).append("\n");
+		}
+		if (this.main != null) {
+			s.append(this.main);
+		}
+		return s.toString();
+	}
+}
@@ -0,0 +1,212 @@
+package ir;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import python.symbolTable.FunctionSymbol;
+
+/**
+ * Three-address instruction : an operation on at most two values (any number for a call), whose result is assigned to a variable or to a temporary.
+ * @author C.Silva, R.Cuinat
+ */
+public class Instruction {
+	private final Opcode opcode;
+	private final Value target;
+	private final String operator;
+	private final FunctionSymbol function;
+	private final ArrayList<Value> operands;
+
+	/**
+	 * Constructor of the class.
+	 * @param opcode Kind of the instruction.
+	 * @param target Variable or temporary receiving the result. null if none.
+	 * @param operator Python operator of a binary operation. null for the other instructions.
+	 * @param function Function called. null for the other instructions.
+	 * @param operands Values used by the instruction.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private Instruction(Opcode opcode, Value target, String operator, FunctionSymbol function, List<Value> operands) {
+		this.opcode = opcode;
+		this.target = target;
+		this.operator = operator;
+		this.function = function;
+		this.operands = new ArrayList<>(operands);
+	}
+
+	/**
+	 * Creates a copy : target = source.
+	 * @param target Variable or temporary assigned.
+	 * @param source Value copied.
+	 * @return The instruction.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public static Instruction copy(Value target, Value source) {
+		return new Instruction(Opcode.COPY, target, null, null, Collections.singletonList(source));
+	}
+
+	/**
+	 * Creates a binary operation : target = left operator right.
+	 * @param target Variable or temporary assigned.
+	 * @param operator Python operator (+, //, **, <, and...).
+	 * @param left Left operand.
+	 * @param right Right operand.
+	 * @return The instruction.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public static Instruction binary(Value target, String operator, Value left, Value right) {
+		return new Instruction(Opcode.BINARY, target, operator, null, Arrays.asList(left, right));
+	}
+
+	/**
+	 * Creates a call : target = function(arguments).
+	 * @param target Temporary receiving the result. null if the result is not used.
+	 * @param function Function called.
+	 * @param arguments Arguments of the call, the optional ones included, in the order of the declaration of the function.
+	 * @return The instruction.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public static Instruction call(Value target, FunctionSymbol function, List<Value> arguments) {
+		return new Instruction(Opcode.CALL, target, null, function, arguments);
+	}
+
+	/**
+	 * Creates a return.
+	 * @param value Value returned. null if none.
+	 * @return The instruction.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public static Instruction ret(Value value) {
+		return new Instruction(Opcode.RETURN, null, null, null, value == null ? Collections.<Value>emptyList() : Collections.singletonList(value));
+	}
+
+	/**
+	 * Creates a break or a continue.
+	 * @param opcode BREAK or CONTINUE.
+	 * @return The instruction.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public static Instruction jump(Opcode opcode) {
+		return new Instruction(opcode, null, null, null, Collections.<Value>emptyList());
+	}
+
+	/**
+	 * Creates the same instruction, assigning its result to another target.
+	 * @param target Variable or temporary assigned.
+	 * @return The instruction.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public Instruction assign(Value target) {
+		return new Instruction(this.opcode, target, this.operator, this.function, this.operands);
+	}
+
+	/**
+	 * Getter of the opcode field.
+	 * @return The kind of the instruction.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public Opcode getOpcode() {
+		return this.opcode;
+	}
+
+	/**
+	 * Getter of the target field.
+	 * @return The variable or the temporary assigned. null if none.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public Value getTarget() {
+		return this.target;
+	}
+
+	/**
+	 * Getter of the operator field.
+	 * @return The python operator of a binary operation. null for the other instructions.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public String getOperator() {
+		return this.operator;
+	}
+
+	/**
+	 * Getter of the function field.
+	 * @return The function called. null for the other instructions.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public FunctionSymbol getFunction() {
+		return this.function;
+	}
+
+	/**
+	 * Getter of the operands field.
+	 * @return The values used by the instruction, the left one first.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public List<Value> getOperands() {
+		return this.operands;
+	}
+
+	/**
+	 * Replaces an operand of the instruction.
+	 * @param index Index of the operand.
+	 * @param value New operand.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public void setOperand(int index, Value value) {
+		this.operands.set(index, value);
+	}
+
+	/**
+	 * Tells whether the instruction ends its block : the instructions following it in the block are never executed.
+	 * @return true for the returns, the breaks and the continues.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public boolean isTerminator() {
+		return this.opcode == Opcode.RETURN || this.opcode == Opcode.BREAK || this.opcode == Opcode.CONTINUE;
+	}
+
+	/**
+	 * Tells whether the instruction does more than computing its result. The functions cannot write the variables of their caller :
+	 * only the calls (print included) have side effects.
+	 * @return true for the calls.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public boolean hasSideEffects() {
+		return this.opcode == Opcode.CALL;
+	}
+
+	/**
+	 * Gives a string representation of this instruction.
+	 * @return The instruction, in a python-like syntax.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public String toString() {
+		StringBuilder s = new StringBuilder();
+		if (this.target != null) {
+			s.append(this.target).append(" : ").append(this.target.getType().getName()).append(" = ");
+		}
+		switch (this.opcode) {
+		case COPY :
+			s.append(this.operands.get(0));
+			break;
+		case BINARY :
+			s.append(this.operands.get(0)).append(" ").append(this.operator).append(" ").append(this.operands.get(1));
+			break;
+		case CALL :
+			s.append(this.function.getName()).append("(");
+			for (int i=0;i<this.operands.size();i++) {
+				s.append(i == 0 ? "" : ", ").append(this.operands.get(i));
+			}
+			s.append(")");
+			break;
+		default :
+			s.append(this.opcode.name().toLowerCase());
+			if (!this.operands.isEmpty()) {
+				s.append(" ").append(this.operands.get(0));
+			}
+			break;
+		}
+		return s.toString();
+	}
+}
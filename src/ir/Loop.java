@@ -0,0 +1,27 @@
+package ir;
+
+/**
+ * Loop executing a body : a while loop or a for loop over a range.
+ * @author C.Silva, R.Cuinat
+ */
+public abstract class Loop extends Region {
+	private final Body body;
+
+	/**
+	 * Constructor of the class.
+	 * @param body Body of the loop.
+	 * @author C.Silva, R.Cuinat
+	 */
+	protected Loop(Body body) {
+		this.body = body;
+	}
+
+	/**
+	 * Getter of the body field.
+	 * @return The body of the loop.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public Body getBody() {
+		return this.body;
+	}
+}
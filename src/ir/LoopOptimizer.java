@@ -0,0 +1,603 @@
+package ir;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import common.log.Log;
+
+/**
+ * Optimizer of the loops of a program in intermediate representation. Innermost loops first, every loop is transformed as follows :
+ * <ul>
+ * <li>the instructions computing the same value at each iteration are moved before the loop ;</li>
+ * <li>the products of the counter of a for loop by an invariant integer, and its squares, are replaced by variables updated by additions ;</li>
+ * <li>the variables only accumulating values (s = s + e, s = s - e, s = s * e) are replaced by a copy kept in a register during the loop.</li>
+ * </ul>
+ * @author C.Silva, R.Cuinat
+ */
+public class LoopOptimizer {
+	private static final HashSet<String> DIVISIONS = new HashSet<>(Arrays.asList("/", "//", "%"));
+	private static final HashSet<String> ACCUMULATIONS = new HashSet<>(Arrays.asList("+", "-", "*"));
+
+	private final IRProgram program;
+	private Body enclosing;
+	private LinkedHashMap<Value, Integer> definitions;
+	private HashMap<String, Variable> reduced;
+	private BasicBlock before;
+	private BasicBlock end;
+	private BasicBlock after;
+
+	/**
+	 * Constructor of the class.
+	 * @param program Program whose loops are optimized.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public LoopOptimizer(IRProgram program) {
+		this.program = program;
+	}
+
+	/**
+	 * Optimizes the loops of every function of the program, and of its main program.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public void optimize() {
+		Log.info("Optimizing loops");
+		for (IRFunction function : this.program.getFunctions()) {
+			this.optimize(function.getBody());
+		}
+		if (this.program.getMain() != null) {
+			this.optimize(this.program.getMain().getBody());
+		}
+	}
+
+	/**
+	 * Optimizes the loops of the given body. The instructions computed before a loop are added to the block preceding it,
+	 * and the ones computed after it to the block following it.
+	 * @param body The body.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private void optimize(Body body) {
+		ArrayList<Region> regions = body.getRegions();
+		for (int i=0;i<regions.size();i++) {
+			Region region = regions.get(i);
+			if (region instanceof Branch) {
+				this.optimize(((Branch) region).getThen());
+				if (((Branch) region).getOtherwise() != null) {
+					this.optimize(((Branch) region).getOtherwise());
+				}
+			}
+			else if (region instanceof Loop) {
+				Loop loop = (Loop) region;
+				this.optimize(loop.getBody());
+				this.enclosing = body;
+				this.definitions = LoopOptimizer.definitions(loop);
+				this.before = new BasicBlock();
+				this.after = new BasicBlock();
+				this.hoist(loop);
+				if (loop instanceof ForLoop) {
+					this.reduce_strength((ForLoop) loop);
+				}
+				this.promote(loop);
+				if (!this.before.getInstructions().isEmpty()) {
+					Region previous = i > 0 ? regions.get(i - 1) : null;
+					if (previous instanceof BasicBlock && !((BasicBlock) previous).isTerminated()) {
+						((BasicBlock) previous).getInstructions().addAll(this.before.getInstructions());
+					}
+					else {
+						regions.add(i, this.before);
+						i ++;
+					}
+				}
+				if (!this.after.getInstructions().isEmpty()) {
+					Region next = i + 1 < regions.size() ? regions.get(i + 1) : null;
+					if (next instanceof BasicBlock) {
+						((BasicBlock) next).getInstructions().addAll(0, this.after.getInstructions());
+					}
+					else {
+						regions.add(i + 1, this.after);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Moves before the given loop the instructions of its header and of its body computing the same value at each iteration.
+	 * Only the blocks executed at each iteration are searched, nested branches and loops excluded. The end and the step of a for loop
+	 * are first copied to temporaries, as range() evaluates them once even if the loop assigns their variables.
+	 * @param loop The loop.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private void hoist(Loop loop) {
+		if (loop instanceof WhileLoop) {
+			this.hoist(((WhileLoop) loop).getHeader());
+		}
+		else {
+			ForLoop f = (ForLoop) loop;
+			f.setRange(this.evaluate(f.getStop()), this.evaluate(f.getStep()));
+		}
+		this.hoist(loop.getBody());
+	}
+
+	/**
+	 * Returns the value of the given bound of the current for loop, computed before the loop.
+	 * @param value The end or the step of the range.
+	 * @return The value itself if it is a constant or a temporary, else a temporary assigned its value before the loop.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private Value evaluate(Value value) {
+		if (!(value instanceof Variable)) {
+			return value;
+		}
+		Temporary temporary = this.temporary(value);
+		this.before.add(Instruction.copy(temporary, value));
+		return temporary;
+	}
+
+	/**
+	 * Moves before the current loop the invariant instructions of the blocks of the given body.
+	 * @param body The header or the body of the loop.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private void hoist(Body body) {
+		for (Region region : body.getRegions()) {
+			if (region instanceof BasicBlock) {
+				Iterator<Instruction> instructions = ((BasicBlock) region).getInstructions().iterator();
+				while (instructions.hasNext()) {
+					Instruction instruction = instructions.next();
+					if (this.invariant(instruction)) {
+						instructions.remove();
+						this.before.add(instruction);
+						this.definitions.remove(instruction.getTarget());
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Tells whether the given instruction of the current loop can be computed once, before the loop : it is a copy or a numeric operation,
+	 * assigning a temporary from values not assigned in the loop, and it cannot fail (its divisor, if any, is a constant other than 0).
+	 * @param instruction The instruction.
+	 * @return true if the instruction can be moved before the loop.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private boolean invariant(Instruction instruction) {
+		Value target = instruction.getTarget();
+		if ((instruction.getOpcode() != Opcode.COPY && instruction.getOpcode() != Opcode.BINARY) || !(target instanceof Temporary)
+				|| this.definitions.get(target) != 1 || !(target.is("Integer") || target.is("Double"))) {
+			return false;
+		}
+		if (instruction.getOpcode() == Opcode.BINARY && LoopOptimizer.DIVISIONS.contains(instruction.getOperator())
+				&& !LoopOptimizer.nonzero(instruction.getOperands().get(1))) {
+			return false;
+		}
+		for (Value operand : instruction.getOperands()) {
+			if (!this.invariant(operand)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Tells whether the given value is the same at each iteration of the current loop.
+	 * @param value The value.
+	 * @return true if the value is a constant, or is not assigned in the loop.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private boolean invariant(Value value) {
+		return value instanceof Constant || !this.definitions.containsKey(value);
+	}
+
+	/**
+	 * Replaces the products of the counter of the given loop by an invariant integer, and the squares of its counter, by variables
+	 * initialized before the loop and increased at the end of each iteration. The loop must not assign its counter nor continue,
+	 * so that the end of its body is reached by every iteration but the last.
+	 * @param loop The loop.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private void reduce_strength(ForLoop loop) {
+		if (this.definitions.get(loop.getCounter()) != 1 || LoopOptimizer.continues(loop.getBody())) {
+			return;
+		}
+		this.reduced = new HashMap<>();
+		this.end = new BasicBlock();
+		this.reduce_strength(loop, loop.getBody());
+		if (!this.end.getInstructions().isEmpty()) {
+			ArrayList<Region> regions = loop.getBody().getRegions();
+			Region last = regions.get(regions.size() - 1);
+			if (!(last instanceof BasicBlock)) {
+				regions.add(this.end);
+			}
+			else if (!((BasicBlock) last).isTerminated()) {
+				((BasicBlock) last).getInstructions().addAll(this.end.getInstructions());
+			}
+		}
+	}
+
+	/**
+	 * Replaces the products and the squares of the counter of the given loop found in the given body, nested loops excluded.
+	 * @param loop The loop.
+	 * @param body Its body, or a body nested in a branch of its body.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private void reduce_strength(ForLoop loop, Body body) {
+		for (Region region : body.getRegions()) {
+			if (region instanceof BasicBlock) {
+				List<Instruction> instructions = ((BasicBlock) region).getInstructions();
+				for (int i=0;i<instructions.size();i++) {
+					Variable induction = this.induction(loop, instructions.get(i));
+					if (induction != null) {
+						instructions.set(i, Instruction.copy(instructions.get(i).getTarget(), induction));
+					}
+				}
+			}
+			else if (region instanceof Branch) {
+				this.reduce_strength(loop, ((Branch) region).getThen());
+				if (((Branch) region).getOtherwise() != null) {
+					this.reduce_strength(loop, ((Branch) region).getOtherwise());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the variable following the value computed by the given instruction along the iterations of the given loop.
+	 * @param loop The loop.
+	 * @param instruction An instruction of its body.
+	 * @return The variable equal to the result of the instruction, or null if the instruction is not a product by the counter of the loop.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private Variable induction(ForLoop loop, Instruction instruction) {
+		Value target = instruction.getTarget();
+		if (instruction.getOpcode() != Opcode.BINARY || !(target instanceof Temporary) || !target.is("Integer") || this.definitions.get(target) != 1) {
+			return null;
+		}
+		Variable counter = loop.getCounter();
+		Value left = instruction.getOperands().get(0);
+		Value right = instruction.getOperands().get(1);
+		if ((instruction.getOperator().equals("*") && left == counter && right == counter)
+				|| (instruction.getOperator().equals("**") && left == counter && LoopOptimizer.equals(right, 2))) {
+			return this.square(loop, target);
+		}
+		if (instruction.getOperator().equals("*") && (left == counter) != (right == counter)) {
+			Value factor = left == counter ? right : left;
+			if (factor.is("Integer") && this.invariant(factor)) {
+				return this.product(loop, factor, target);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the variable equal to the product of the counter of the given loop by the given factor, created on its first request :
+	 * it is initialized to start * factor, then increased by step * factor.
+	 * @param loop The loop.
+	 * @param factor Integer invariant in the loop.
+	 * @param model Temporary replaced by the variable, whose width it takes.
+	 * @return The variable.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private Variable product(ForLoop loop, Value factor, Value model) {
+		Variable product = this.reduced.get("*" + factor);
+		if (product == null) {
+			product = this.register(loop.getCounter().getName() + "_scaled", model);
+			this.before.add(LoopOptimizer.product(product, loop.getStart(), factor));
+			Value increment = null;
+			if (loop.getStep() instanceof Constant && factor instanceof Constant) {
+				increment = Constant.integer((Long) ((Constant) loop.getStep()).getValue() * (Long) ((Constant) factor).getValue());
+			}
+			else if (LoopOptimizer.equals(loop.getStep(), 1)) {
+				increment = factor;
+			}
+			else {
+				increment = this.temporary(model);
+				this.before.add(Instruction.binary(increment, "*", loop.getStep(), factor));
+			}
+			this.end.add(Instruction.binary(product, "+", product, increment));
+			this.reduced.put("*" + factor, product);
+		}
+		return product;
+	}
+
+	/**
+	 * Returns the variable equal to the square of the counter of the given loop, created on its first request. Going from i to i + step,
+	 * the square increases by 2 * step * i + step * step : this difference is kept in a second variable, increased by 2 * step * step.
+	 * @param loop The loop.
+	 * @param model Temporary replaced by the variable, whose width it takes.
+	 * @return The variable, or null if the step of the loop is not a constant.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private Variable square(ForLoop loop, Value model) {
+		Variable square = this.reduced.get("**");
+		if (square == null && loop.getStep() instanceof Constant) {
+			long step = (Long) ((Constant) loop.getStep()).getValue();
+			Value start = loop.getStart();
+			square = this.register(loop.getCounter().getName() + "_square", model);
+			Variable difference = this.register(loop.getCounter().getName() + "_square_step", model);
+			this.before.add(LoopOptimizer.product(square, start, start));
+			if (start instanceof Constant) {
+				this.before.add(Instruction.copy(difference, Constant.integer(2 * step * (Long) ((Constant) start).getValue() + step * step)));
+			}
+			else {
+				Temporary twice = this.temporary(model);
+				this.before.add(Instruction.binary(twice, "*", start, Constant.integer(2 * step)));
+				this.before.add(Instruction.binary(difference, "+", twice, Constant.integer(step * step)));
+			}
+			this.end.add(Instruction.binary(square, "+", square, difference));
+			this.end.add(Instruction.binary(difference, "+", difference, Constant.integer(2 * step * step)));
+			this.reduced.put("**", square);
+		}
+		return square;
+	}
+
+	/**
+	 * Replaces by a register copy every variable of the given loop which only accumulates values. The copy is initialized before the loop,
+	 * and the variable is assigned the copy after it.
+	 * @param loop The loop.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private void promote(Loop loop) {
+		for (Value value : new ArrayList<>(this.definitions.keySet())) {
+			if (value instanceof Variable && !((Variable) value).isRegister() && (value.is("Integer") || value.is("Double"))
+					&& !(loop instanceof ForLoop && ((ForLoop) loop).getCounter() == value) && LoopOptimizer.accumulates(loop, (Variable) value)) {
+				Variable variable = (Variable) value;
+				Variable accumulator = this.register(variable.getName() + "_acc", variable);
+				this.before.add(Instruction.copy(accumulator, variable));
+				this.after.add(Instruction.copy(variable, accumulator));
+				LoopOptimizer.rename(loop.getBody(), variable, accumulator);
+			}
+		}
+	}
+
+	/**
+	 * Creates a variable kept in a register, declared in the body enclosing the current loop.
+	 * @param name Name wished for the variable.
+	 * @param model Value replaced by the variable, whose type and width it takes.
+	 * @return The variable, whose name is used nowhere else in the program.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private Variable register(String name, Value model) {
+		Variable variable = new Variable(this.program.freshName(name), model.getType(), true);
+		if (this.program.isWide(model)) {
+			this.program.setWide(variable);
+		}
+		this.enclosing.declare(variable);
+		return variable;
+	}
+
+	/**
+	 * Creates a temporary used by the variables replacing the given value.
+	 * @param model Value replaced, whose type and width the temporary takes.
+	 * @return The temporary.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private Temporary temporary(Value model) {
+		Temporary temporary = this.program.newTemporary(model.getType());
+		if (this.program.isWide(model)) {
+			this.program.setWide(temporary);
+		}
+		return temporary;
+	}
+
+	/**
+	 * Creates the instruction assigning the product of two integers, simplified when one of them is a constant 0 or 1,
+	 * and computed now if both are constants.
+	 * @param target Variable assigned.
+	 * @param left Left operand.
+	 * @param right Right operand.
+	 * @return The instruction.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static Instruction product(Variable target, Value left, Value right) {
+		if (left instanceof Constant && right instanceof Constant) {
+			return Instruction.copy(target, Constant.integer((Long) ((Constant) left).getValue() * (Long) ((Constant) right).getValue()));
+		}
+		else if (LoopOptimizer.equals(left, 0) || LoopOptimizer.equals(right, 0)) {
+			return Instruction.copy(target, Constant.integer(0));
+		}
+		else if (LoopOptimizer.equals(left, 1) || LoopOptimizer.equals(right, 1)) {
+			return Instruction.copy(target, LoopOptimizer.equals(left, 1) ? right : left);
+		}
+		return Instruction.binary(target, "*", left, right);
+	}
+
+	/**
+	 * Tells whether the given value is the given integer constant.
+	 * @param value The value.
+	 * @param constant The integer.
+	 * @return true if the value is a constant equal to the integer.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static boolean equals(Value value, int constant) {
+		return value instanceof Constant && Long.valueOf(constant).equals(((Constant) value).getValue());
+	}
+
+	/**
+	 * Tells whether the given value is a constant other than 0.
+	 * @param value The value.
+	 * @return true if dividing by the value cannot fail.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static boolean nonzero(Value value) {
+		if (value instanceof Constant && ((Constant) value).getValue() instanceof Long) {
+			return (Long) ((Constant) value).getValue() != 0;
+		}
+		return value instanceof Constant && ((Constant) value).getValue() instanceof Double && (Double) ((Constant) value).getValue() != 0;
+	}
+
+	/**
+	 * Counts the assignments of the variables and of the temporaries of the given loop, the counters of the for loops included.
+	 * @param loop The loop.
+	 * @return The number of assignments of each value assigned in the loop, in the order of their first assignment.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static LinkedHashMap<Value, Integer> definitions(Loop loop) {
+		LinkedHashMap<Value, Integer> definitions = new LinkedHashMap<>();
+		LoopOptimizer.definitions(loop, definitions);
+		return definitions;
+	}
+
+	/**
+	 * Counts the assignments of the values of the given loop.
+	 * @param loop The loop.
+	 * @param definitions Map receiving the number of assignments of each value.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static void definitions(Loop loop, LinkedHashMap<Value, Integer> definitions) {
+		if (loop instanceof ForLoop) {
+			definitions.put(((ForLoop) loop).getCounter(), definitions.getOrDefault(((ForLoop) loop).getCounter(), 0) + 1);
+		}
+		else {
+			LoopOptimizer.definitions(((WhileLoop) loop).getHeader(), definitions);
+		}
+		LoopOptimizer.definitions(loop.getBody(), definitions);
+	}
+
+	/**
+	 * Counts the assignments of the values of the given body.
+	 * @param body The body.
+	 * @param definitions Map receiving the number of assignments of each value.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static void definitions(Body body, LinkedHashMap<Value, Integer> definitions) {
+		for (Region region : body.getRegions()) {
+			if (region instanceof BasicBlock) {
+				for (Instruction instruction : ((BasicBlock) region).getInstructions()) {
+					if (instruction.getTarget() != null) {
+						definitions.put(instruction.getTarget(), definitions.getOrDefault(instruction.getTarget(), 0) + 1);
+					}
+				}
+			}
+			else if (region instanceof Branch) {
+				LoopOptimizer.definitions(((Branch) region).getThen(), definitions);
+				if (((Branch) region).getOtherwise() != null) {
+					LoopOptimizer.definitions(((Branch) region).getOtherwise(), definitions);
+				}
+			}
+			else if (region instanceof Loop) {
+				LoopOptimizer.definitions((Loop) region, definitions);
+			}
+		}
+	}
+
+	/**
+	 * Tells whether the given body continues the loop it belongs to.
+	 * @param body The body of a loop, or a body nested in a branch of it.
+	 * @return true if a continue of the body, nested loops excluded, goes to the next iteration of the loop.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static boolean continues(Body body) {
+		for (Region region : body.getRegions()) {
+			if (region instanceof BasicBlock && ((BasicBlock) region).isTerminated()) {
+				List<Instruction> instructions = ((BasicBlock) region).getInstructions();
+				if (instructions.get(instructions.size() - 1).getOpcode() == Opcode.CONTINUE) {
+					return true;
+				}
+			}
+			else if (region instanceof Branch) {
+				if (LoopOptimizer.continues(((Branch) region).getThen())
+						|| (((Branch) region).getOtherwise() != null && LoopOptimizer.continues(((Branch) region).getOtherwise()))) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Tells whether the given variable only accumulates values in the given loop : it is only used by instructions variable = variable op value,
+	 * where op is +, - or * and value is not the variable.
+	 * @param loop The loop.
+	 * @param variable The variable.
+	 * @return true if every use of the variable in the loop is an accumulation.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static boolean accumulates(Loop loop, Variable variable) {
+		if (loop instanceof ForLoop) {
+			ForLoop f = (ForLoop) loop;
+			if (f.getCounter() == variable || f.getStart() == variable || f.getStop() == variable || f.getStep() == variable) {
+				return false;
+			}
+		}
+		else if (((WhileLoop) loop).getCondition() == variable || !LoopOptimizer.accumulates(((WhileLoop) loop).getHeader(), variable)) {
+			return false;
+		}
+		return LoopOptimizer.accumulates(loop.getBody(), variable);
+	}
+
+	/**
+	 * Tells whether the given variable only accumulates values in the given body.
+	 * @param body The body.
+	 * @param variable The variable.
+	 * @return true if every use of the variable in the body is an accumulation.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static boolean accumulates(Body body, Variable variable) {
+		for (Region region : body.getRegions()) {
+			if (region instanceof BasicBlock) {
+				for (Instruction instruction : ((BasicBlock) region).getInstructions()) {
+					List<Value> operands = instruction.getOperands();
+					if (instruction.getTarget() == variable) {
+						if (instruction.getOpcode() != Opcode.BINARY || !LoopOptimizer.ACCUMULATIONS.contains(instruction.getOperator())
+								|| operands.get(0) != variable || operands.get(1) == variable) {
+							return false;
+						}
+					}
+					else if (operands.contains(variable)) {
+						return false;
+					}
+				}
+			}
+			else if (region instanceof Branch) {
+				Branch branch = (Branch) region;
+				if (branch.getCondition() == variable || !LoopOptimizer.accumulates(branch.getThen(), variable)
+						|| (branch.getOtherwise() != null && !LoopOptimizer.accumulates(branch.getOtherwise(), variable))) {
+					return false;
+				}
+			}
+			else if (region instanceof Loop && !LoopOptimizer.accumulates((Loop) region, variable)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Replaces the accumulations of the given variable in the given body by accumulations of another variable.
+	 * @param body The body.
+	 * @param variable The variable accumulating values.
+	 * @param accumulator The variable replacing it.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static void rename(Body body, Variable variable, Variable accumulator) {
+		for (Region region : body.getRegions()) {
+			if (region instanceof BasicBlock) {
+				List<Instruction> instructions = ((BasicBlock) region).getInstructions();
+				for (int i=0;i<instructions.size();i++) {
+					Instruction instruction = instructions.get(i);
+					if (instruction.getTarget() == variable) {
+						instructions.set(i, Instruction.binary(accumulator, instruction.getOperator(), accumulator, instruction.getOperands().get(1)));
+					}
+				}
+			}
+			else if (region instanceof Branch) {
+				LoopOptimizer.rename(((Branch) region).getThen(), variable, accumulator);
+				if (((Branch) region).getOtherwise() != null) {
+					LoopOptimizer.rename(((Branch) region).getOtherwise(), variable, accumulator);
+				}
+			}
+			else if (region instanceof Loop) {
+				if (region instanceof WhileLoop) {
+					LoopOptimizer.rename(((WhileLoop) region).getHeader(), variable, accumulator);
+				}
+				LoopOptimizer.rename(((Loop) region).getBody(), variable, accumulator);
+			}
+		}
+	}
+}
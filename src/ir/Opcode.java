@@ -0,0 +1,20 @@
+package ir;
+
+/**
+ * Enumeration of the kinds of instructions of the intermediate representation.
+ * @author C.Silva, R.Cuinat
+ */
+public enum Opcode {
+	/** Copy of a value : target = operand. */
+	COPY,
+	/** Binary operation, with the python operator : target = left operator right. */
+	BINARY,
+	/** Call of a function, whose result is kept if the instruction has a target : target = function(operands). */
+	CALL,
+	/** Return from the function, with the value of its only operand if any. */
+	RETURN,
+	/** Exit of the innermost loop. */
+	BREAK,
+	/** Next iteration of the innermost loop. */
+	CONTINUE
+}
@@ -0,0 +1,278 @@
+package ir;
+
+/**
+ * Range of the values an integer can take : an interval whose bounds can be infinite.
+ * The bounds are doubles, exact on the whole range of the 32 bits integers.
+ * @author C.Silva, R.Cuinat
+ */
+public class Range {
+	/** Range of every value. */
+	public static final Range FULL = new Range(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+	/** Range of a truth value. */
+	public static final Range TRUTH = new Range(0, 1);
+
+	private final double low;
+	private final double high;
+
+	/**
+	 * Constructor of the class.
+	 * @param low Lower bound, included.
+	 * @param high Upper bound, included.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public Range(double low, double high) {
+		this.low = low;
+		this.high = high;
+	}
+
+	/**
+	 * Creates the range of a single value.
+	 * @param value The value.
+	 * @return The range.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public static Range of(double value) {
+		return new Range(value, value);
+	}
+
+	/**
+	 * Getter of the low field.
+	 * @return The lower bound.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public double getLow() {
+		return this.low;
+	}
+
+	/**
+	 * Getter of the high field.
+	 * @return The upper bound.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public double getHigh() {
+		return this.high;
+	}
+
+	/**
+	 * Tells whether every value of the range can be held by a 32 bits integer.
+	 * @return true if the range is included in the range of int32_t.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public boolean fits() {
+		return this.low >= Integer.MIN_VALUE && this.high <= Integer.MAX_VALUE;
+	}
+
+	/**
+	 * Tells whether the given range is included in this one.
+	 * @param range The range. null for no value.
+	 * @return true if every value of the given range belongs to this range.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public boolean includes(Range range) {
+		return range == null || (this.low <= range.low && range.high <= this.high);
+	}
+
+	/**
+	 * Returns the smallest range including this range and the given one.
+	 * @param range The range. null for no value.
+	 * @return The union of the ranges.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public Range join(Range range) {
+		if (range == null || range.includes(this)) {
+			return range == null ? this : range;
+		}
+		return this.includes(range) ? this : new Range(Math.min(this.low, range.low), Math.max(this.high, range.high));
+	}
+
+	/**
+	 * Returns the range including this range and the given one, whose bounds are moved away until they stop moving :
+	 * a bound going beyond this range goes to 0, to the limit of the 32 bits integers, then to the infinite.
+	 * @param range The range following this one.
+	 * @return The widened range.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public Range widen(Range range) {
+		if (this.includes(range)) {
+			return this;
+		}
+		double low = this.low;
+		double high = this.high;
+		if (range.low < this.low) {
+			low = this.low > 0 && range.low >= 0 ? 0 : this.low > Integer.MIN_VALUE && range.low >= Integer.MIN_VALUE ? Integer.MIN_VALUE : Double.NEGATIVE_INFINITY;
+		}
+		if (range.high > this.high) {
+			high = this.high < 0 && range.high <= 0 ? 0 : this.high < Integer.MAX_VALUE && range.high <= Integer.MAX_VALUE ? Integer.MAX_VALUE : Double.POSITIVE_INFINITY;
+		}
+		return new Range(low, high);
+	}
+
+	/**
+	 * Returns the values of this range lower than the values of the given one.
+	 * @param range The range.
+	 * @param strict true to exclude the upper bound of the given range.
+	 * @return The restricted range, or null if it is empty.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public Range below(Range range, boolean strict) {
+		return Range.of(this.low, Math.min(this.high, strict ? range.high - 1 : range.high));
+	}
+
+	/**
+	 * Returns the values of this range greater than the values of the given one.
+	 * @param range The range.
+	 * @param strict true to exclude the lower bound of the given range.
+	 * @return The restricted range, or null if it is empty.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public Range above(Range range, boolean strict) {
+		return Range.of(Math.max(this.low, strict ? range.low + 1 : range.low), this.high);
+	}
+
+	/**
+	 * Returns the values of this range different from the value of the given one.
+	 * @param range The range.
+	 * @return The restricted range, or null if it is empty. Only a bound equal to a single value can be removed.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public Range except(Range range) {
+		if (range.low != range.high) {
+			return this;
+		}
+		return Range.of(this.low == range.low ? this.low + 1 : this.low, this.high == range.high ? this.high - 1 : this.high);
+	}
+
+	/**
+	 * Returns the range of the sum of a value of this range and a value of the given one.
+	 * @param range The range.
+	 * @return The range of the sum.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public Range add(Range range) {
+		return new Range(this.low + range.low, this.high + range.high);
+	}
+
+	/**
+	 * Returns the range of the difference of a value of this range and a value of the given one.
+	 * @param range The range.
+	 * @return The range of the difference.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public Range subtract(Range range) {
+		return new Range(this.low - range.high, this.high - range.low);
+	}
+
+	/**
+	 * Returns the range of the product of a value of this range and a value of the given one.
+	 * @param range The range.
+	 * @return The range of the product.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public Range multiply(Range range) {
+		double[] products = {Range.product(this.low, range.low), Range.product(this.low, range.high), Range.product(this.high, range.low), Range.product(this.high, range.high)};
+		return Range.hull(products);
+	}
+
+	/**
+	 * Returns the range of the quotient, truncated toward 0 as in C, of a value of this range by a value of the given one.
+	 * @param range The range of the divisor.
+	 * @return The range of the quotient.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public Range divide(Range range) {
+		if (range.low <= 0 && range.high >= 0) {
+			double magnitude = Math.max(Math.abs(this.low), Math.abs(this.high));
+			return new Range(-magnitude, magnitude);
+		}
+		double[] quotients = {this.low / range.low, this.low / range.high, this.high / range.low, this.high / range.high};
+		Range hull = Range.hull(quotients);
+		return new Range(Math.floor(hull.low), Math.ceil(hull.high));
+	}
+
+	/**
+	 * Returns the range of the remainder, of the sign of the dividend as in C, of a value of this range by a value of the given one.
+	 * @param range The range of the divisor.
+	 * @return The range of the remainder.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public Range modulo(Range range) {
+		double divisor = Math.max(Math.max(Math.abs(range.low), Math.abs(range.high)) - 1, 0);
+		double low = this.low >= 0 ? 0 : -Math.min(divisor, -this.low);
+		double high = this.high <= 0 ? 0 : Math.min(divisor, this.high);
+		return new Range(low, high);
+	}
+
+	/**
+	 * Returns the range of the power of a value of this range by a value of the given one.
+	 * A negative exponent gives the truncated inverse : -1, 0 or 1.
+	 * @param range The range of the exponent.
+	 * @return The range of the power.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public Range power(Range range) {
+		double magnitude = Math.max(Math.abs(this.low), Math.abs(this.high));
+		if (range.high < 0 || magnitude <= 1) {
+			return new Range(-1, 1);
+		}
+		if (range.low == range.high) {
+			double exponent = range.low;
+			if (exponent % 2 == 0) {
+				double smallest = this.low <= 0 && this.high >= 0 ? 0 : Math.min(Math.abs(this.low), Math.abs(this.high));
+				return new Range(Math.pow(smallest, exponent), Math.pow(magnitude, exponent));
+			}
+			return new Range(Math.pow(this.low, exponent), Math.pow(this.high, exponent));
+		}
+		double bound = Math.pow(magnitude, range.high);
+		return new Range(-bound, bound);
+	}
+
+	/**
+	 * Gives a string representation of this range.
+	 * @return The bounds of the range, between brackets.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public String toString() {
+		return "[" + this.low + ", " + this.high + "]";
+	}
+
+	/**
+	 * Creates a range from its bounds.
+	 * @param low Lower bound.
+	 * @param high Upper bound.
+	 * @return The range, or null if it is empty.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static Range of(double low, double high) {
+		return low > high ? null : new Range(low, high);
+	}
+
+	/**
+	 * Multiplies two bounds, 0 times an infinite bound giving 0.
+	 * @param left Left bound.
+	 * @param right Right bound.
+	 * @return The product.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static double product(double left, double right) {
+		return left == 0 || right == 0 ? 0 : left * right;
+	}
+
+	/**
+	 * Returns the smallest range including the given values.
+	 * @param values The values. NaN values are ignored.
+	 * @return The range.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static Range hull(double[] values) {
+		double low = Double.POSITIVE_INFINITY;
+		double high = Double.NEGATIVE_INFINITY;
+		for (double value : values) {
+			if (!Double.isNaN(value)) {
+				low = Math.min(low, value);
+				high = Math.max(high, value);
+			}
+		}
+		return low > high ? Range.FULL : new Range(low, high);
+	}
+}
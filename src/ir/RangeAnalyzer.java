@@ -0,0 +1,547 @@
+package ir;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import common.log.Log;
+import python.symbolTable.FunctionSymbol;
+
+/**
+ * Analyzer of the ranges of the integers of a program in intermediate representation, choosing the integers needing 64 bits.
+ * The program is interpreted on ranges : the conditions of the branches and of the loops restrict the ranges of their operands,
+ * the arguments of a function take the ranges of the values given by its calls, and its result the ranges of the values it returns.
+ * The ranges still growing after a few iterations of a loop, or of the whole program, are widened to the limits of the 32 bits integers,
+ * then to the infinite. Every integer variable, temporary, argument and result whose range goes beyond the 32 bits integers needs 64 bits.
+ * @author C.Silva, R.Cuinat
+ */
+public class RangeAnalyzer {
+	private static final int WIDENING = 3;
+
+	private final IRProgram program;
+	private final HashMap<Value, Range> assigned;
+	private final HashMap<FunctionSymbol, Range> results;
+	private HashMap<Temporary, Instruction> conditions;
+	private FunctionSymbol function;
+	private HashMap<Value, Range> breaks;
+	private HashMap<Value, Range> continues;
+
+	/**
+	 * Constructor of the class.
+	 * @param program Program whose integers are analyzed.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public RangeAnalyzer(IRProgram program) {
+		this.program = program;
+		this.assigned = new HashMap<>();
+		this.results = new HashMap<>();
+	}
+
+	/**
+	 * Analyzes the program until the ranges stop growing, then marks the integers needing 64 bits in the program.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public void analyze() {
+		Log.info("Choosing the widths of the integers");
+		for (int round=0;;round++) {
+			HashMap<Value, Range> assigned = new HashMap<>(this.assigned);
+			HashMap<FunctionSymbol, Range> results = new HashMap<>(this.results);
+			for (IRFunction function : this.program.getFunctions()) {
+				this.analyze(function);
+			}
+			this.analyze(this.program.getMain());
+			if (RangeAnalyzer.includes(assigned, this.assigned) && RangeAnalyzer.includes(results, this.results)) {
+				break;
+			}
+			if (round >= RangeAnalyzer.WIDENING) {
+				this.assigned.putAll(RangeAnalyzer.widen(assigned, this.assigned));
+				this.results.putAll(RangeAnalyzer.widen(results, this.results));
+			}
+		}
+		for (Map.Entry<Value, Range> entry : this.assigned.entrySet()) {
+			if (!entry.getValue().fits()) {
+				this.program.setWide(entry.getKey());
+			}
+		}
+		for (Map.Entry<FunctionSymbol, Range> entry : this.results.entrySet()) {
+			if (!entry.getValue().fits()) {
+				this.program.setWide(entry.getKey());
+			}
+		}
+	}
+
+	/**
+	 * Interprets the given function, its arguments taking the ranges of the values given by its calls so far.
+	 * A function whose integer arguments were not all given yet is not interpreted.
+	 * @param function The function, or the main program.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private void analyze(IRFunction function) {
+		HashMap<Value, Range> state = new HashMap<>();
+		for (Variable argument : function.getArguments()) {
+			if (this.assigned.containsKey(argument)) {
+				state.put(argument, this.assigned.get(argument));
+			}
+			else if (argument.is("Integer")) {
+				return;
+			}
+		}
+		this.function = function.getSymbol();
+		this.conditions = new HashMap<>();
+		RangeAnalyzer.conditions(function.getBody(), this.conditions);
+		this.breaks = null;
+		this.continues = null;
+		this.body(function.getBody(), state);
+	}
+
+	/**
+	 * Interprets the given body.
+	 * @param body The body.
+	 * @param state Ranges of the values before the body, modified by the interpretation.
+	 * @return The ranges of the values after the body, or null if its end cannot be reached.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private HashMap<Value, Range> body(Body body, HashMap<Value, Range> state) {
+		for (Region region : body.getRegions()) {
+			if (state == null) {
+				return null;
+			}
+			if (region instanceof BasicBlock) {
+				for (Instruction instruction : ((BasicBlock) region).getInstructions()) {
+					state = this.instruction(instruction, state);
+					if (state == null) {
+						break;
+					}
+				}
+			}
+			else if (region instanceof Branch) {
+				Branch branch = (Branch) region;
+				HashMap<Value, Range> then = this.refine(state, branch.getCondition(), true);
+				HashMap<Value, Range> otherwise = this.refine(state, branch.getCondition(), false);
+				if (then != null) {
+					then = this.body(branch.getThen(), then);
+				}
+				if (otherwise != null && branch.getOtherwise() != null) {
+					otherwise = this.body(branch.getOtherwise(), otherwise);
+				}
+				state = RangeAnalyzer.join(then, otherwise);
+			}
+			else if (region instanceof WhileLoop) {
+				state = this.loop((WhileLoop) region, state);
+			}
+			else if (region instanceof ForLoop) {
+				state = this.loop((ForLoop) region, state);
+			}
+		}
+		return state;
+	}
+
+	/**
+	 * Interprets the given while loop until the ranges of its values stop growing.
+	 * @param loop The loop.
+	 * @param state Ranges of the values before the loop.
+	 * @return The ranges of the values after the loop, or null if its end cannot be reached.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private HashMap<Value, Range> loop(WhileLoop loop, HashMap<Value, Range> state) {
+		HashMap<Value, Range> breaks = this.breaks;
+		HashMap<Value, Range> continues = this.continues;
+		HashMap<Value, Range> entry = state;
+		HashMap<Value, Range> exit = null;
+		for (int i=0;;i++) {
+			this.breaks = null;
+			this.continues = null;
+			HashMap<Value, Range> head = this.body(loop.getHeader(), new HashMap<>(entry));
+			HashMap<Value, Range> inside = head == null ? null : this.refine(head, loop.getCondition(), true);
+			HashMap<Value, Range> next = RangeAnalyzer.join(state, RangeAnalyzer.join(inside == null ? null : this.body(loop.getBody(), inside), this.continues));
+			if (RangeAnalyzer.includes(entry, next)) {
+				exit = RangeAnalyzer.join(head == null ? null : this.refine(head, loop.getCondition(), false), this.breaks);
+				break;
+			}
+			entry = i < RangeAnalyzer.WIDENING ? next : RangeAnalyzer.widen(entry, next);
+		}
+		this.breaks = breaks;
+		this.continues = continues;
+		return exit;
+	}
+
+	/**
+	 * Interprets the given for loop until the ranges of its values stop growing. Inside the loop, its counter goes from the first value
+	 * of the range to its end. After the loop, it is between its first value and the first value beyond the end.
+	 * @param loop The loop.
+	 * @param state Ranges of the values before the loop.
+	 * @return The ranges of the values after the loop, or null if its end cannot be reached.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private HashMap<Value, Range> loop(ForLoop loop, HashMap<Value, Range> state) {
+		Range start = this.value(loop.getStart(), state);
+		Range stop = this.value(loop.getStop(), state);
+		Range step = this.value(loop.getStep(), state);
+		if (start == null || stop == null || step == null) {
+			return null;
+		}
+		Range inside = start.join(stop);
+		if (step.getLow() > 0) {
+			inside = stop.getHigh() - 1 < start.getLow() ? null : new Range(start.getLow(), stop.getHigh() - 1);
+		}
+		else if (step.getHigh() < 0) {
+			inside = stop.getLow() + 1 > start.getHigh() ? null : new Range(stop.getLow() + 1, start.getHigh());
+		}
+		Range exit = start.join(stop.add(step));
+		Variable counter = loop.getCounter();
+		this.assigned.put(counter, exit.join(inside).join(this.assigned.get(counter)));
+		HashMap<Value, Range> breaks = this.breaks;
+		HashMap<Value, Range> continues = this.continues;
+		HashMap<Value, Range> entry = state;
+		HashMap<Value, Range> after = null;
+		for (int i=0;;i++) {
+			this.breaks = null;
+			this.continues = null;
+			HashMap<Value, Range> out = null;
+			if (inside != null) {
+				out = new HashMap<>(entry);
+				out.put(counter, inside);
+				out = this.body(loop.getBody(), out);
+			}
+			HashMap<Value, Range> next = RangeAnalyzer.join(state, RangeAnalyzer.join(out, this.continues));
+			if (RangeAnalyzer.includes(entry, next)) {
+				after = RangeAnalyzer.join(next, this.breaks);
+				after.put(counter, inside == null ? exit : exit.join(inside));
+				break;
+			}
+			entry = i < RangeAnalyzer.WIDENING ? next : RangeAnalyzer.widen(entry, next);
+		}
+		this.breaks = breaks;
+		this.continues = continues;
+		return after;
+	}
+
+	/**
+	 * Interprets the given instruction.
+	 * @param instruction The instruction.
+	 * @param state Ranges of the values before the instruction, modified by the interpretation.
+	 * @return The ranges of the values after the instruction, or null after a return, a break or a continue.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private HashMap<Value, Range> instruction(Instruction instruction, HashMap<Value, Range> state) {
+		List<Value> operands = instruction.getOperands();
+		switch (instruction.getOpcode()) {
+		case RETURN :
+			if (!operands.isEmpty() && this.function != null && operands.get(0).is("Integer")) {
+				Range range = this.value(operands.get(0), state);
+				if (range != null) {
+					this.results.put(this.function, range.join(this.results.get(this.function)));
+				}
+			}
+			return null;
+		case BREAK :
+			this.breaks = RangeAnalyzer.join(this.breaks, state);
+			return null;
+		case CONTINUE :
+			this.continues = RangeAnalyzer.join(this.continues, state);
+			return null;
+		case COPY :
+			this.assign(instruction.getTarget(), this.value(operands.get(0), state), state);
+			break;
+		case BINARY :
+			this.assign(instruction.getTarget(), RangeAnalyzer.binary(instruction.getOperator(), this.value(operands.get(0), state), this.value(operands.get(1), state)), state);
+			break;
+		case CALL :
+			IRFunction callee = this.program.getFunction(instruction.getFunction());
+			Range result = Range.FULL;
+			if (callee != null) {
+				for (int i=0;i<operands.size();i++) {
+					Variable argument = callee.getArguments().get(i);
+					Range range = this.value(operands.get(i), state);
+					if (range != null && argument.is("Integer")) {
+						this.assigned.put(argument, range.join(this.assigned.get(argument)));
+					}
+				}
+				result = this.results.get(callee.getSymbol());
+			}
+			this.assign(instruction.getTarget(), result, state);
+			break;
+		default :
+			break;
+		}
+		return state;
+	}
+
+	/**
+	 * Assigns a range to the given value.
+	 * @param target Variable or temporary assigned. null if none.
+	 * @param range Range of the value assigned. null if it is not known yet.
+	 * @param state Ranges of the values, modified by the assignment.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private void assign(Value target, Range range, HashMap<Value, Range> state) {
+		if (target == null || !target.is("Integer")) {
+			return;
+		}
+		if (range == null) {
+			state.remove(target);
+		}
+		else {
+			state.put(target, range);
+			this.assigned.put(target, range.join(this.assigned.get(target)));
+		}
+	}
+
+	/**
+	 * Returns the range of the given value.
+	 * @param value The value.
+	 * @param state Ranges of the values.
+	 * @return The range of the value, every value for the values which are not integers, or null if it is not known yet.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private Range value(Value value, HashMap<Value, Range> state) {
+		if (value instanceof Constant) {
+			Object constant = ((Constant) value).getValue();
+			return constant instanceof Long ? Range.of((Long) constant) : Range.FULL;
+		}
+		return value.is("Integer") ? state.get(value) : Range.FULL;
+	}
+
+	/**
+	 * Returns the ranges of the values when the given condition has the given truth value.
+	 * @param state Ranges of the values.
+	 * @param condition The condition.
+	 * @param truth Truth value of the condition.
+	 * @return New ranges of the values, restricted by the condition, or null if the condition cannot have this truth value.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private HashMap<Value, Range> refine(HashMap<Value, Range> state, Value condition, boolean truth) {
+		HashMap<Value, Range> refined = new HashMap<>(state);
+		return this.restrict(refined, condition, truth) ? refined : null;
+	}
+
+	/**
+	 * Restricts the ranges of the operands of the given condition to the values giving it the given truth value.
+	 * @param state Ranges of the values, modified by the restriction.
+	 * @param condition The condition.
+	 * @param truth Truth value of the condition.
+	 * @return false if the condition cannot have this truth value.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private boolean restrict(HashMap<Value, Range> state, Value condition, boolean truth) {
+		Range range = this.value(condition, state);
+		if (range != null && condition.is("Integer")) {
+			range = truth ? range.except(Range.of(0)) : (range.includes(Range.of(0)) ? Range.of(0) : null);
+			if (range == null) {
+				return false;
+			}
+			if (!(condition instanceof Constant)) {
+				state.put(condition, range);
+			}
+		}
+		Instruction definition = this.conditions.get(condition);
+		if (definition == null) {
+			return true;
+		}
+		String operator = definition.getOperator();
+		Value left = definition.getOperands().get(0);
+		Value right = definition.getOperands().get(1);
+		if (operator.compareTo("and") == 0 || operator.compareTo("or") == 0) {
+			return (operator.compareTo("and") == 0) != truth || (this.restrict(state, left, truth) && this.restrict(state, right, truth));
+		}
+		Range l = this.value(left, state);
+		Range r = this.value(right, state);
+		if (l == null || r == null) {
+			return true;
+		}
+		switch (truth ? operator : RangeAnalyzer.negation(operator)) {
+		case "<" :
+			l = l.below(r, true);
+			r = r.above(this.value(left, state), true);
+			break;
+		case "<=" :
+			l = l.below(r, false);
+			r = r.above(this.value(left, state), false);
+			break;
+		case ">" :
+			l = l.above(r, true);
+			r = r.below(this.value(left, state), true);
+			break;
+		case ">=" :
+			l = l.above(r, false);
+			r = r.below(this.value(left, state), false);
+			break;
+		case "==" :
+			l = l.above(r, false);
+			l = l == null ? null : l.below(r, false);
+			r = l;
+			break;
+		case "!=" :
+			l = l.except(r);
+			r = r.except(this.value(left, state));
+			break;
+		default :
+			return true;
+		}
+		if (l == null || r == null) {
+			return false;
+		}
+		if (!(left instanceof Constant) && left.is("Integer")) {
+			state.put(left, l);
+		}
+		if (!(right instanceof Constant) && right.is("Integer")) {
+			state.put(right, r);
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the range of the result of a binary operation.
+	 * @param operator Python operator.
+	 * @param left Range of the left operand. null if not known yet.
+	 * @param right Range of the right operand. null if not known yet.
+	 * @return The range of the result, or null if it is not known yet.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static Range binary(String operator, Range left, Range right) {
+		switch (operator) {
+		case "and" :
+		case "or" :
+		case "<" :
+		case "<=" :
+		case ">" :
+		case ">=" :
+		case "==" :
+		case "!=" :
+			return Range.TRUTH;
+		default :
+			break;
+		}
+		if (left == null || right == null) {
+			return null;
+		}
+		switch (operator) {
+		case "+" :
+			return left.add(right);
+		case "-" :
+			return left.subtract(right);
+		case "*" :
+			return left.multiply(right);
+		case "/" :
+		case "//" :
+			return left.divide(right);
+		case "%" :
+			return left.modulo(right);
+		case "**" :
+			return left.power(right);
+		default :
+			return Range.FULL;
+		}
+	}
+
+	/**
+	 * Returns the comparison true when the given one is false.
+	 * @param operator Python comparison operator.
+	 * @return The opposite comparison operator.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static String negation(String operator) {
+		switch (operator) {
+		case "<" :
+			return ">=";
+		case "<=" :
+			return ">";
+		case ">" :
+			return "<=";
+		case ">=" :
+			return "<";
+		case "==" :
+			return "!=";
+		case "!=" :
+			return "==";
+		default :
+			return operator;
+		}
+	}
+
+	/**
+	 * Gathers the comparisons and the logical operations of the given body whose result is assigned once.
+	 * @param body The body.
+	 * @param conditions Map receiving the instruction computing each of these results. A result assigned several times is mapped to null.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static void conditions(Body body, HashMap<Temporary, Instruction> conditions) {
+		for (Region region : body.getRegions()) {
+			if (region instanceof BasicBlock) {
+				for (Instruction instruction : ((BasicBlock) region).getInstructions()) {
+					if (instruction.getTarget() instanceof Temporary) {
+						Temporary target = (Temporary) instruction.getTarget();
+						boolean condition = instruction.getOpcode() == Opcode.BINARY && RangeAnalyzer.binary(instruction.getOperator(), null, null) == Range.TRUTH;
+						conditions.put(target, condition && !conditions.containsKey(target) ? instruction : null);
+					}
+				}
+			}
+			else if (region instanceof Branch) {
+				RangeAnalyzer.conditions(((Branch) region).getThen(), conditions);
+				if (((Branch) region).getOtherwise() != null) {
+					RangeAnalyzer.conditions(((Branch) region).getOtherwise(), conditions);
+				}
+			}
+			else if (region instanceof Loop) {
+				if (region instanceof WhileLoop) {
+					RangeAnalyzer.conditions(((WhileLoop) region).getHeader(), conditions);
+				}
+				RangeAnalyzer.conditions(((Loop) region).getBody(), conditions);
+			}
+		}
+	}
+
+	/**
+	 * Returns the union of the given ranges of values.
+	 * @param left Ranges of the values on a path. null if the path cannot be taken.
+	 * @param right Ranges of the values on another path. null if the path cannot be taken.
+	 * @return New ranges of the values, null if no path can be taken.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static HashMap<Value, Range> join(HashMap<Value, Range> left, HashMap<Value, Range> right) {
+		if (left == null || right == null) {
+			return left == null ? (right == null ? null : new HashMap<>(right)) : new HashMap<>(left);
+		}
+		HashMap<Value, Range> union = new HashMap<>(left);
+		for (Map.Entry<Value, Range> entry : right.entrySet()) {
+			union.put(entry.getKey(), entry.getValue().join(left.get(entry.getKey())));
+		}
+		return union;
+	}
+
+	/**
+	 * Tells whether the given ranges include the following ones : the ranges stopped growing.
+	 * @param previous Previous ranges.
+	 * @param next Following ranges. null if none.
+	 * @return true if every following range is included in the previous range of its key.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static <K> boolean includes(HashMap<K, Range> previous, HashMap<K, Range> next) {
+		if (next == null) {
+			return true;
+		}
+		for (Map.Entry<K, Range> entry : next.entrySet()) {
+			if (!previous.containsKey(entry.getKey()) || !previous.get(entry.getKey()).includes(entry.getValue())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Widens the given ranges, still growing.
+	 * @param previous Previous ranges.
+	 * @param next Following ranges.
+	 * @return New ranges, whose bounds going beyond the previous ones are moved away.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static <K> HashMap<K, Range> widen(HashMap<K, Range> previous, HashMap<K, Range> next) {
+		HashMap<K, Range> widened = new HashMap<>(next);
+		for (Map.Entry<K, Range> entry : next.entrySet()) {
+			if (previous.containsKey(entry.getKey())) {
+				widened.put(entry.getKey(), previous.get(entry.getKey()).widen(entry.getValue()));
+			}
+		}
+		return widened;
+	}
+}
@@ -0,0 +1,28 @@
+package ir;
+
+/**
+ * Part of the control flow of a function : a basic block, a branch or a loop.
+ * @author C.Silva, R.Cuinat
+ */
+public abstract class Region {
+
+	/**
+	 * Writes a representation of this region.
+	 * @param s StringBuilder receiving the representation.
+	 * @param indent Indentation of the lines of the region.
+	 * @author C.Silva, R.Cuinat
+	 */
+	abstract void dump(StringBuilder s, String indent);
+
+	/**
+	 * Gives a string representation of this region.
+	 * @return The region, in a python-like syntax.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public String toString() {
+		StringBuilder s = new StringBuilder();
+		this.dump(s, "");
+		return s.toString();
+	}
+}
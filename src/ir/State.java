@@ -0,0 +1,131 @@
+package ir;
+
+/**
+ * State of a flattened function (see Flattener) : a body run when the dispatcher reaches the state, then a jump to the next state,
+ * chosen by a condition or not. A state without next state ends with a return, or ends the function.
+ * @author C.Silva, R.Cuinat
+ */
+public class State {
+	private final int number;
+	private final Body body;
+	private Value condition;
+	private State next;
+	private State otherwise;
+
+	/**
+	 * Constructor of the class. Creates an empty state ending the function.
+	 * @param number Number of the state in its function, from 0 for its first state.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public State(int number) {
+		this.number = number;
+		this.body = new Body();
+		this.condition = null;
+		this.next = null;
+		this.otherwise = null;
+	}
+
+	/**
+	 * Getter of the number field.
+	 * @return The number of the state in its function.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public int getNumber() {
+		return this.number;
+	}
+
+	/**
+	 * Getter of the body field.
+	 * @return The code run in the state.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public Body getBody() {
+		return this.body;
+	}
+
+	/**
+	 * Getter of the condition field.
+	 * @return The condition choosing the next state, computed by the body. null if the jump is unconditional.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public Value getCondition() {
+		return this.condition;
+	}
+
+	/**
+	 * Getter of the next field.
+	 * @return The next state, when the condition is true if there is one. null if the state ends with a return or ends the function.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public State getNext() {
+		return this.next;
+	}
+
+	/**
+	 * Getter of the otherwise field.
+	 * @return The next state when the condition is false. null if the jump is unconditional.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public State getOtherwise() {
+		return this.otherwise;
+	}
+
+	/**
+	 * Ends the state with an unconditional jump.
+	 * @param next The next state.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public void jump(State next) {
+		this.condition = null;
+		this.next = next;
+		this.otherwise = null;
+	}
+
+	/**
+	 * Ends the state with a conditional jump.
+	 * @param condition Condition computed by the body.
+	 * @param next The next state when the condition is true.
+	 * @param otherwise The next state when the condition is false.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public void branch(Value condition, State next, State otherwise) {
+		this.condition = condition;
+		this.next = next;
+		this.otherwise = otherwise;
+	}
+
+	/**
+	 * Tells whether the state ends with a return.
+	 * @return true if the last instruction of the body is a return.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public boolean returns() {
+		if (this.body.getRegions().isEmpty() || !(this.body.getRegions().get(this.body.getRegions().size() - 1) instanceof BasicBlock)) {
+			return false;
+		}
+		BasicBlock last = (BasicBlock) this.body.getRegions().get(this.body.getRegions().size() - 1);
+		return !last.getInstructions().isEmpty() && last.getInstructions().get(last.getInstructions().size() - 1).getOpcode() == Opcode.RETURN;
+	}
+
+	/**
+	 * Gives a string representation of this state.
+	 * @return The number of the state, its body in a python-like syntax, then its jump.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public String toString() {
+		StringBuilder s = new StringBuilder();
+		s.append("state ").append(this.number).append(":\n");
+		this.body.dump(s, "  ");
+		if (this.condition != null) {
+			s.append("  goto ").append(this.condition).append(" ? ").append(this.next.number).append(" : ").append(this.otherwise.number).append("\n");
+		}
+		else if (this.next != null) {
+			s.append("  goto ").append(this.next.number).append("\n");
+		}
+		else if (!this.returns()) {
+			s.append("  end\n");
+		}
+		return s.toString();
+	}
+}
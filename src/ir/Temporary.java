@@ -0,0 +1,42 @@
+package ir;
+
+import python.symbolTable.types.AbstractType;
+
+/**
+ * Temporary holding an intermediate result. A temporary is assigned once, except the result of a short-circuit operation,
+ * which is assigned on each of its paths.
+ * @author C.Silva, R.Cuinat
+ */
+public class Temporary extends Value {
+	private final String name;
+
+	/**
+	 * Constructor of the class. The temporaries are created by their program (see IRProgram).
+	 * @param name Name of the temporary, used by no variable nor function of the program.
+	 * @param type Type of the temporary.
+	 * @author C.Silva, R.Cuinat
+	 */
+	Temporary(String name, AbstractType type) {
+		super(type);
+		this.name = name;
+	}
+
+	/**
+	 * Getter of the name field.
+	 * @return The name of the temporary.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * Gives a string representation of this temporary.
+	 * @return The name of the temporary.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public String toString() {
+		return "%" + this.name;
+	}
+}
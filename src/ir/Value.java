@@ -0,0 +1,40 @@
+package ir;
+
+import python.symbolTable.types.AbstractType;
+
+/**
+ * Value handled by the instructions of the intermediate representation : a constant, a variable of the python code or a temporary.
+ * Every value is typed, its type giving its C type.
+ * @author C.Silva, R.Cuinat
+ */
+public abstract class Value {
+	private final AbstractType type;
+
+	/**
+	 * Constructor of the class.
+	 * @param type Type of the value.
+	 * @author C.Silva, R.Cuinat
+	 */
+	protected Value(AbstractType type) {
+		this.type = type;
+	}
+
+	/**
+	 * Getter of the type field.
+	 * @return The type of the value.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public AbstractType getType() {
+		return this.type;
+	}
+
+	/**
+	 * Tells whether the value is of the given type.
+	 * @param name Name of the type (Integer, Double, String...).
+	 * @return true if the value has a type of this name.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public boolean is(String name) {
+		return this.type != null && this.type.getName().compareTo(name) == 0;
+	}
+}
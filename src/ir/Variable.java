@@ -0,0 +1,63 @@
+package ir;
+
+import python.symbolTable.types.AbstractType;
+
+/**
+ * Variable of the python code, argument of a function, or variable added by an optimization. A variable can be assigned any number of times.
+ * @author C.Silva, R.Cuinat
+ */
+public class Variable extends Value {
+	private final String name;
+	private final boolean register;
+
+	/**
+	 * Constructor of the class.
+	 * @param name Name of the variable in the python code.
+	 * @param type Type of the variable.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public Variable(String name, AbstractType type) {
+		this(name, type, false);
+	}
+
+	/**
+	 * Constructor of the class.
+	 * @param name Name of the variable.
+	 * @param type Type of the variable.
+	 * @param register true if the variable should be kept in a register : it is written and read at each iteration of a loop.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public Variable(String name, AbstractType type, boolean register) {
+		super(type);
+		this.name = name;
+		this.register = register;
+	}
+
+	/**
+	 * Getter of the name field.
+	 * @return The name of the variable in the python code.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * Getter of the register field.
+	 * @return true if the variable should be kept in a register.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public boolean isRegister() {
+		return this.register;
+	}
+
+	/**
+	 * Gives a string representation of this variable.
+	 * @return The name of the variable.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public String toString() {
+		return this.name;
+	}
+}
@@ -0,0 +1,49 @@
+package ir;
+
+/**
+ * While loop. Its condition is computed by its header before every iteration.
+ * @author C.Silva, R.Cuinat
+ */
+public class WhileLoop extends Loop {
+	private final Body header;
+	private final Value condition;
+
+	/**
+	 * Constructor of the class.
+	 * @param header Body computing the condition.
+	 * @param condition Condition of the loop.
+	 * @param body Body of the loop.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public WhileLoop(Body header, Value condition, Body body) {
+		super(body);
+		this.header = header;
+		this.condition = condition;
+	}
+
+	/**
+	 * Getter of the header field.
+	 * @return The body computing the condition before every iteration.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public Body getHeader() {
+		return this.header;
+	}
+
+	/**
+	 * Getter of the condition field.
+	 * @return The condition of the loop.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public Value getCondition() {
+		return this.condition;
+	}
+
+	@Override
+	void dump(StringBuilder s, String indent) {
+		s.append(indent).append("while:\n");
+		this.header.dump(s, indent + "  ");
+		s.append(indent).append("test ").append(this.condition).append(":\n");
+		this.getBody().dump(s, indent + "  ");
+	}
+}
@@ -0,0 +1,7 @@
+/**
+ * This package contains the intermediate representation of the programs : typed three-address instructions grouped in basic blocks,
+ * themselves nested in the structured control flow of the python code. The ranges of its integers are analyzed to choose their widths,
+ * its loops are optimized, then the code generators emit from it, flattening the control flow of the functions for the obfuscated code.
+ * @author C.Silva, R.Cuinat
+ */
+package ir;
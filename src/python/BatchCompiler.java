@@ -0,0 +1,186 @@
+package python;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import common.CompilationException;
+import common.log.Log;
+
+/**
+ * Translator of many py files in parallel.
+ * The files are split recursively between the threads of a fork/join pool, idle threads stealing the halves left by busy ones,
+ * so that long files do not hold back the others. Every translation is independent : an error only stops the translation of its file.
+ * A translation displaying errors (an undefined variable for instance) fails, even if it goes to its end.
+ * @author C.Silva, R.Cuinat
+ */
+public class BatchCompiler {
+	private final Compiler compiler;
+	private final ForkJoinPool pool;
+
+	/**
+	 * Constructor of the class.
+	 * @param compiler Compiler translating the files.
+	 * @param parallelism Number of files translated in parallel.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public BatchCompiler(Compiler compiler, int parallelism) {
+		this.compiler = compiler;
+		this.pool = new ForkJoinPool(parallelism);
+	}
+
+	/**
+	 * Translates the given py files. The log is to be configured beforehand.
+	 * @param sources Names of the py files (without extension).
+	 * @param options Options of the translations. Its sources are ignored.
+	 * @return The result of every translation, in the order of the sources.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public List<CompilationResult> compile(List<String> sources, CompilerOptions options) {
+		CompilationResult[] results = new CompilationResult[sources.size()];
+		this.pool.invoke(new Translations(sources, options, results, 0, sources.size()));
+		return Arrays.asList(results);
+	}
+
+	/**
+	 * Stops the threads of the compiler.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public void shutdown() {
+		this.pool.shutdown();
+	}
+
+	/**
+	 * Lists the py files to translate from the given paths.
+	 * A directory stands for all the py files it contains, subdirectories included. The extension of a py file is optional.
+	 * @param paths Paths of py files and of directories.
+	 * @return The names of the py files (without extension), sorted by directory.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public static List<String> collect(List<String> paths) {
+		ArrayList<String> sources = new ArrayList<>();
+		for (String path : paths) {
+			BatchCompiler.collect(new File(path), sources);
+		}
+		return sources;
+	}
+
+	/**
+	 * Adds the py files of the given path to the given list.
+	 * @param file Path of a py file or of a directory.
+	 * @param sources List of the names of the py files (without extension) to complete.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static void collect(File file, List<String> sources) {
+		if (file.isDirectory()) {
+			File[] children = file.listFiles();
+			if (children != null) {
+				Arrays.sort(children);
+				for (File child : children) {
+					if (child.isDirectory() || child.getName().endsWith(".py")) {
+						BatchCompiler.collect(child, sources);
+					}
+				}
+			}
+		}
+		else if (file.getPath().endsWith(".py")) {
+			sources.add(file.getPath().substring(0, file.getPath().length() - 3));
+		}
+		else {
+			sources.add(file.getPath());
+		}
+	}
+
+	/**
+	 * Translates one py file, collecting its output, its error and the number of errors it displays instead of displaying them.
+	 * A stack overflow, raised by a too deeply nested program, fails this file only.
+	 * @param source Name of the py file (without extension).
+	 * @param options Options of the translation.
+	 * @return The result of the translation.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private CompilationResult translate(String source, CompilerOptions options) {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		String error = null;
+		try {
+			Log.redirect(new PrintStream(output, true, "UTF-8"));
+			Log.resetErrors();
+			this.compiler.compile(source, options);
+		}
+		catch (CompilationException e) {
+			error = e.getMessage();
+		}
+		catch (RuntimeException e) {
+			error = "Internal error : " + e;
+		}
+		catch (StackOverflowError e) {
+			error = "Internal error : " + e + " (the program is too deeply nested)";
+		}
+		catch (UnsupportedEncodingException e) {
+			throw new IllegalStateException(e);
+		}
+		finally {
+			Log.redirect(null);
+		}
+		int errors = Log.getErrors();
+		Log.resetErrors();
+		try {
+			return new CompilationResult(source, output.toString("UTF-8"), error, errors);
+		}
+		catch (UnsupportedEncodingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Task translating a range of the py files. Large ranges are split in two halves, one of them being left to other threads.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private final class Translations extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private final List<String> sources;
+		private final CompilerOptions options;
+		private final CompilationResult[] results;
+		private final int start;
+		private final int end;
+
+		/**
+		 * Constructor of the class.
+		 * @param sources Names of all the py files (without extension).
+		 * @param options Options of the translations.
+		 * @param results Results of all the translations, filled by the task for its range.
+		 * @param start Index of the first file of the range.
+		 * @param end Index following the last file of the range.
+		 * @author C.Silva, R.Cuinat
+		 */
+		private Translations(List<String> sources, CompilerOptions options, CompilationResult[] results, int start, int end) {
+			this.sources = sources;
+			this.options = options;
+			this.results = results;
+			this.start = start;
+			this.end = end;
+		}
+
+		/**
+		 * Translates the range of files, or splits it.
+		 * @author C.Silva, R.Cuinat
+		 */
+		@Override
+		protected void compute() {
+			if (this.end - this.start == 1) {
+				this.results[this.start] = BatchCompiler.this.translate(this.sources.get(this.start), this.options);
+			}
+			else if (this.end - this.start > 1) {
+				int middle = (this.start + this.end) >>> 1;
+				RecursiveAction.invokeAll(new Translations(this.sources, this.options, this.results, this.start, middle),
+						new Translations(this.sources, this.options, this.results, middle, this.end));
+			}
+		}
+	}
+}
@@ -0,0 +1,72 @@
+package python;
+
+/**
+ * Outcome of the translation of a py file in batch mode.
+ * @author C.Silva, R.Cuinat
+ */
+public class CompilationResult {
+	private final String source;
+	private final String output;
+	private final String error;
+	private final int errors;
+
+	/**
+	 * Constructor of the class.
+	 * @param source Name of the py file (without extension).
+	 * @param output Messages, traces and errors displayed during the translation.
+	 * @param error Error which stopped the translation, or null if the translation went to its end.
+	 * @param errors Number of errors displayed during the translation.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public CompilationResult(String source, String output, String error, int errors) {
+		this.source = source;
+		this.output = output;
+		this.error = error;
+		this.errors = errors;
+	}
+
+	/**
+	 * Getter of the source field.
+	 * @return The name of the py file (without extension).
+	 * @author C.Silva, R.Cuinat
+	 */
+	public String getSource() {
+		return this.source;
+	}
+
+	/**
+	 * Getter of the output field.
+	 * @return The messages, traces and errors displayed during the translation.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public String getOutput() {
+		return this.output;
+	}
+
+	/**
+	 * Getter of the error field.
+	 * @return The error which stopped the translation, or null if the translation went to its end.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public String getError() {
+		return this.error;
+	}
+
+	/**
+	 * Getter of the errors field.
+	 * @return The number of errors displayed during the translation.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public int getErrors() {
+		return this.errors;
+	}
+
+	/**
+	 * Indicates if the translation succeeded.
+	 * @return true if the c file and the obfuscated c file were generated without any error.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public boolean isSuccess() {
+		return this.error == null && this.errors == 0;
+	}
+}
@@ -0,0 +1,246 @@
+package python;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import common.CompilationException;
+import common.log.Log;
+
+/**
+ * Long-running compile server, keeping the JVM, the lexical rules and the loaded classes warm between translations.
+ * The requests are read from an input stream and the responses are written in an output stream, usually the standard ones.
+ * Every request is a line of words separated by spaces :
+ *  compile [options] file : translates file.py into file.c and file_obf.c, as MainPython does.
+ *  source [options] length name : translates the python code of the given length (in bytes) following the line. The name is only used in the messages.
+ *  quit : stops the server.
+ * The options are the ones of MainPython. The file or the name extends to the end of the line.
+ * Every response is a line "status out err c obf" giving the exit status (0 on success) and the lengths (in bytes) of the standard output,
+ * of the error output, of the c code and of the obfuscated c code of the translation, followed by these four texts. The codes are empty for compile requests.
+ * The line ends with the word "stopping" when the server stops after the response : after the quit request, or when the JVM is stopped during a translation.
+ * @author C.Silva, R.Cuinat
+ */
+final class CompileServer {
+	private final Compiler compiler;
+	private final InputStream in;
+	private final OutputStream out;
+	private final ByteArrayOutputStream captured_out;
+	private final ByteArrayOutputStream captured_err;
+	private volatile boolean translating;
+
+	/**
+	 * Constructor of the class.
+	 * @param compiler Compiler translating the requests.
+	 * @param in Stream of the requests.
+	 * @param out Stream of the responses.
+	 * @author C.Silva, R.Cuinat
+	 */
+	CompileServer(Compiler compiler, InputStream in, OutputStream out) {
+		this.compiler = compiler;
+		this.in = in;
+		this.out = out;
+		this.captured_out = new ByteArrayOutputStream();
+		this.captured_err = new ByteArrayOutputStream();
+		this.translating = false;
+	}
+
+	/**
+	 * Serves the requests until the quit request or the end of the input stream.
+	 * The standard and error outputs are captured to be sent in the responses.
+	 * @throws IOException When the requests cannot be read or the responses cannot be written.
+	 * @author C.Silva, R.Cuinat
+	 */
+	void serve() throws IOException {
+		PrintStream stdout = System.out;
+		PrintStream stderr = System.err;
+		System.setOut(CompileServer.print_stream(this.captured_out));
+		System.setErr(CompileServer.print_stream(this.captured_err));
+		Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+			@Override
+			public void run() {
+				CompileServer.this.abort();
+			}
+		}));
+		try {
+			String request;
+			while ((request = this.read_line()) != null) {
+				String[] words = request.trim().split(" +");
+				if (words[0].isEmpty()) {
+					continue;
+				}
+				if (words[0].compareTo("quit") == 0) {
+					this.respond(0, null, true);
+					break;
+				}
+				this.translating = true;
+				String[] codes = null;
+				int status = 0;
+				try {
+					codes = this.translate(request.trim(), words);
+				}
+				catch (CompilationException | IllegalArgumentException e) {
+					System.err.println(e.getMessage());
+					status = 1;
+				}
+				catch (RuntimeException e) {
+					e.printStackTrace();
+					status = 1;
+				}
+				this.translating = false;
+				this.respond(status, codes, false);
+			}
+		}
+		finally {
+			System.setOut(stdout);
+			System.setErr(stderr);
+		}
+	}
+
+	/**
+	 * Executes the given translation request.
+	 * @param request The request line.
+	 * @param words The words of the request line.
+	 * @return The c code and the obfuscated c code for a source request, null for a compile request.
+	 * @throws IOException When the code of a source request cannot be read.
+	 * @throws IllegalArgumentException When the request is invalid.
+	 * @throws CompilationException When the program cannot be translated.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private String[] translate(String request, String[] words) throws IOException {
+		int count = 1;
+		while (count < words.length && words[count].startsWith("--")) {
+			count++;
+		}
+		CompilerOptions options = CompilerOptions.parse(Arrays.copyOfRange(words, 1, count));
+		Log.configure(options.getLevel(), options.getTraced());
+		if (words[0].compareTo("compile") == 0 && count < words.length) {
+			this.compiler.compile(CompileServer.rest(request, count), options);
+			return null;
+		}
+		else if (words[0].compareTo("source") == 0 && count + 1 < words.length) {
+			int length = Integer.parseInt(words[count]);
+			byte[] code = new byte[length];
+			int read = 0;
+			while (read < length) {
+				int n = this.in.read(code, read, length - read);
+				if (n < 0) {
+					throw new IOException("The code of the request ends prematurely");
+				}
+				read += n;
+			}
+			return this.compiler.translate(CompileServer.rest(request, count + 1), new String(code, StandardCharsets.UTF_8), options);
+		}
+		else {
+			throw new IllegalArgumentException("Invalid request : " + request);
+		}
+	}
+
+	/**
+	 * Sends the response of the current request and clears the captured outputs.
+	 * @param status Exit status of the request.
+	 * @param codes The c code and the obfuscated c code, or null if the request produced none.
+	 * @param stopping true if the server stops after this response.
+	 * @throws IOException When the response cannot be written.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private synchronized void respond(int status, String[] codes, boolean stopping) throws IOException {
+		System.out.flush();
+		System.err.flush();
+		byte[][] texts = new byte[4][];
+		texts[0] = this.captured_out.toByteArray();
+		texts[1] = this.captured_err.toByteArray();
+		texts[2] = codes == null ? new byte[0] : codes[0].getBytes(StandardCharsets.UTF_8);
+		texts[3] = codes == null ? new byte[0] : codes[1].getBytes(StandardCharsets.UTF_8);
+		this.captured_out.reset();
+		this.captured_err.reset();
+		StringBuilder header = new StringBuilder().append(status);
+		for (byte[] text : texts) {
+			header.append(" ").append(text.length);
+		}
+		if (stopping) {
+			header.append(" stopping");
+		}
+		this.out.write(header.append("\n").toString().getBytes(StandardCharsets.UTF_8));
+		for (byte[] text : texts) {
+			this.out.write(text);
+		}
+		this.out.flush();
+	}
+
+	/**
+	 * Sends the response of the translation in progress when the JVM is stopped, so that the client receives its messages.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private void abort() {
+		if (this.translating) {
+			this.translating = false;
+			System.err.println("The compile server stopped. It is restarted by the next request.");
+			try {
+				this.respond(1, null, true);
+			}
+			catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	/**
+	 * Reads the next request line, decoded from UTF-8.
+	 * @return The line without its line terminator, or null at the end of the stream.
+	 * @throws IOException When the stream cannot be read.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private String read_line() throws IOException {
+		ByteArrayOutputStream line = new ByteArrayOutputStream();
+		int b = this.in.read();
+		if (b < 0) {
+			return null;
+		}
+		while (b >= 0 && b != '\n') {
+			line.write(b);
+			b = this.in.read();
+		}
+		String request = new String(line.toByteArray(), StandardCharsets.UTF_8);
+		return request.endsWith("\r") ? request.substring(0, request.length() - 1) : request;
+	}
+
+	/**
+	 * Returns the given request line without its first words.
+	 * @param request Request line, without leading spaces.
+	 * @param words Number of words to skip.
+	 * @return The end of the line following the skipped words and their spaces.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static String rest(String request, int words) {
+		int position = 0;
+		for (int i=0;i<words;i++) {
+			while (position < request.length() && request.charAt(position) != ' ') {
+				position++;
+			}
+			while (position < request.length() && request.charAt(position) == ' ') {
+				position++;
+			}
+		}
+		return request.substring(position);
+	}
+
+	/**
+	 * Creates a print stream encoding the printed text in UTF-8 into the given stream.
+	 * @param stream Stream receiving the printed text.
+	 * @return The print stream.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static PrintStream print_stream(OutputStream stream) {
+		try {
+			return new PrintStream(stream, true, "UTF-8");
+		}
+		catch (UnsupportedEncodingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,162 @@
+package python;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import backends.CBackend;
+import backends.NameTable;
+import backends.ObfuscatedCBackend;
+import common.CompilationException;
+import common.ast.AST;
+import common.lexer.Lexer;
+import common.log.Log;
+import common.log.Stage;
+import python.lexer.PythonLexicalRules;
+import python.parser.PythonParser;
+import visitors.CGeneratorVisitor;
+import visitors.ConstantFolderVisitor;
+import visitors.DeadCodeEliminatorVisitor;
+import visitors.FunctionInlinerVisitor;
+import visitors.PythonPrettyPrinterVisitor;
+import visitors.TailRecursionVisitor;
+import visitors.VariableCheckerVisitor;
+
+/**
+ * Translator of python code into c and obfuscated c code : lex, parse, check and generation of both codes.
+ * A compiler can translate any number of programs, concurrently or not. Its lexical rules, compiled on the first translation, are shared by the translations.
+ * @author C.Silva, R.Cuinat
+ */
+public class Compiler {
+	private static final int STREAM_CAPACITY = 1024;
+	private final PythonLexicalRules rules;
+
+	/**
+	 * Constructor of the class.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public Compiler() {
+		this.rules = new PythonLexicalRules();
+	}
+
+	/**
+	 * Translates the given py file into the c file and the obfuscated c file of the same name.
+	 * A compiler can translate several programs concurrently. The log is to be configured beforehand.
+	 * @param source Name of the py file (without extension).
+	 * @param options Options of the translation. Its sources are ignored.
+	 * @throws CompilationException When the program cannot be translated.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public void compile(String source, CompilerOptions options) {
+		Lexer lexer = new Lexer(source + ".py", this.rules);
+		PythonParser parser = null;
+		if (options.isStreaming()) {
+			try {
+				parser = new PythonParser(lexer.getSource(), lexer.stream(Compiler.STREAM_CAPACITY));
+			}
+			catch (IOException e) {
+				throw new CompilationException("Source file not found : " + lexer.getSource());
+			}
+		}
+		else {
+			lexer.tokenize();
+			parser = this.parser_of(lexer);
+		}
+		AST ast = this.optimize(this.check(parser.parse()));
+		CGeneratorVisitor cg = new CGeneratorVisitor(new CBackend(source), Compiler.obfuscated(new ObfuscatedCBackend(source, Compiler.names(options)), options));
+		cg.setMemoizing(options.isMemoizing());
+		cg.visit(ast);
+	}
+
+	/**
+	 * Translates the given python code.
+	 * @param name Name of the program, used in the messages.
+	 * @param code Python code to translate.
+	 * @param options Options of the translation. Its sources and streaming options are ignored.
+	 * @return The c code and the obfuscated c code, in this order.
+	 * @throws CompilationException When the program cannot be translated.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public String[] translate(String name, String code, CompilerOptions options) {
+		Lexer lexer = new Lexer(name, this.rules);
+		lexer.tokenize(new StringReader(code));
+		AST ast = this.optimize(this.check(this.parser_of(lexer).parse()));
+		StringWriter c = new StringWriter();
+		StringWriter obfuscated = new StringWriter();
+		CGeneratorVisitor cg = new CGeneratorVisitor(new CBackend(c), Compiler.obfuscated(new ObfuscatedCBackend(obfuscated, Compiler.names(options)), options));
+		cg.setMemoizing(options.isMemoizing());
+		cg.visit(ast);
+		return new String[] {c.toString(), obfuscated.toString()};
+	}
+
+	/**
+	 * Creates the table of the names of the obfuscated code asked by the given options.
+	 * @param options Options of the translation.
+	 * @return The table, drawing the names from the seed of the options if there is one.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static NameTable names(CompilerOptions options) {
+		return options.getSeed() == null ? new NameTable() : new NameTable(options.getSeed());
+	}
+
+	/**
+	 * Sets the level of obfuscation and the dispatcher asked by the given options to the given backend.
+	 * @param backend Backend of the obfuscated code.
+	 * @param options Options of the translation.
+	 * @return The backend.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static ObfuscatedCBackend obfuscated(ObfuscatedCBackend backend, CompilerOptions options) {
+		backend.setLevel(options.getObfuscation(), options.getSeed() == null ? 0 : options.getSeed());
+		backend.setDispatch(options.getDispatch());
+		return backend;
+	}
+
+	/**
+	 * Creates the parser of the tokens of the given lexer. The tokens are displayed if the lexer is traced.
+	 * @param lexer Lexer containing the tokenized code.
+	 * @return The parser of the code.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private PythonParser parser_of(Lexer lexer) {
+		if (Log.isTracing(Stage.LEXER)) {
+			Log.trace(Stage.LEXER, lexer.toString() + "\n\n");
+		}
+		return new PythonParser(lexer);
+	}
+
+	/**
+	 * Checks the variables of the given AST. The AST is displayed if the parser is traced.
+	 * @param ast AST to check.
+	 * @return The checked AST.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private AST check(AST ast) {
+		if (Log.isTracing(Stage.PARSER)) {
+			PythonPrettyPrinterVisitor pp = new PythonPrettyPrinterVisitor();
+			pp.visit(ast);
+		}
+		VariableCheckerVisitor vc = new VariableCheckerVisitor();
+		vc.visit(ast);
+		return ast;
+	}
+
+	/**
+	 * Optimizes the given checked AST : its small functions are inlined, its constants are folded and propagated, its recursive functions are turned into loops,
+	 * then its dead code is removed.
+	 * @param ast AST to transform.
+	 * @return The transformed AST.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private AST optimize(AST ast) {
+		FunctionInlinerVisitor fi = new FunctionInlinerVisitor();
+		fi.visit(ast);
+		ConstantFolderVisitor cf = new ConstantFolderVisitor();
+		cf.visit(ast);
+		TailRecursionVisitor tr = new TailRecursionVisitor();
+		tr.visit(ast);
+		DeadCodeEliminatorVisitor dc = new DeadCodeEliminatorVisitor();
+		dc.visit(ast);
+		return ast;
+	}
+}
@@ -0,0 +1,228 @@
+package python;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import backends.Dispatch;
+import backends.ObfuscationLevel;
+import common.log.Level;
+import common.log.Stage;
+
+/**
+ * Options of a translation, read from the command line or from a request of the compile server.
+ * @author C.Silva, R.Cuinat
+ */
+public class CompilerOptions {
+	private final ArrayList<String> sources;
+	private boolean streaming;
+	private boolean server;
+	private boolean batch;
+	private boolean memoizing;
+	private Long seed;
+	private ObfuscationLevel obfuscation;
+	private Dispatch dispatch;
+	private int jobs;
+	private Level level;
+	private final EnumSet<Stage> traced;
+
+	/**
+	 * Constructor of the class. Initializes the default options : the file is tokenized beforehand and only the messages are displayed.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public CompilerOptions() {
+		this.sources = new ArrayList<>();
+		this.streaming = false;
+		this.server = false;
+		this.batch = false;
+		this.memoizing = false;
+		this.seed = null;
+		this.obfuscation = ObfuscationLevel.LEXICAL;
+		this.dispatch = Dispatch.COMPUTED_GOTO;
+		this.jobs = Runtime.getRuntime().availableProcessors();
+		this.level = Level.INFO;
+		this.traced = EnumSet.noneOf(Stage.class);
+	}
+
+	/**
+	 * Reads the options from the given arguments.
+	 * Options :
+	 *  --stream : the file is tokenized lazily while it is parsed instead of being tokenized beforehand.
+	 *  --quiet : only the errors are displayed.
+	 *  --verbose : the trace of every stage is displayed.
+	 *  --trace=stage[,stage...] : the trace of the given stages (lexer, parser, symbol_table, ir, c_gen, obf_c_gen) is displayed.
+	 *  --server : the translation requests are read from the standard input (see CompileServer).
+	 *  --batch : every argument which is not an option is a py file or a directory of py files to translate (see BatchCompiler).
+	 *  --jobs=n : number of files translated in parallel in batch mode, the number of processors by default.
+	 *  --memoize : the results of the recursive pure functions are kept in a table by the generated code (see PurityAnalyzer).
+	 *  --seed=n : the names of the obfuscated code are drawn at random from the given seed instead of being given in order (see NameTable).
+	 *  --obfuscation=level : level of obfuscation of the obfuscated code (see ObfuscationLevel), by name or by number, lexical by default.
+	 *  --dispatch=switch|goto : dispatcher of the states of the flattened functions (see Dispatch), the computed goto by default.
+	 * The arguments which are not options are the names of the py files (without extension).
+	 * @param args Arguments to read.
+	 * @return The options read.
+	 * @throws IllegalArgumentException When an unknown stage, obfuscation level or dispatcher, an invalid number of jobs or an invalid seed is given.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public static CompilerOptions parse(String[] args) {
+		CompilerOptions options = new CompilerOptions();
+		for (String arg : args) {
+			if (arg.compareTo("--stream") == 0) {
+				options.streaming = true;
+			}
+			else if (arg.compareTo("--server") == 0) {
+				options.server = true;
+			}
+			else if (arg.compareTo("--batch") == 0) {
+				options.batch = true;
+			}
+			else if (arg.compareTo("--memoize") == 0) {
+				options.memoizing = true;
+			}
+			else if (arg.startsWith("--seed=")) {
+				try {
+					options.seed = Long.parseLong(arg.substring("--seed=".length()));
+				}
+				catch (NumberFormatException e) {
+					throw new IllegalArgumentException("Invalid seed " + arg.substring("--seed=".length()) + ". Expected an integer.");
+				}
+			}
+			else if (arg.startsWith("--obfuscation=")) {
+				options.obfuscation = ObfuscationLevel.parse(arg.substring("--obfuscation=".length()));
+			}
+			else if (arg.startsWith("--dispatch=")) {
+				options.dispatch = Dispatch.parse(arg.substring("--dispatch=".length()));
+			}
+			else if (arg.startsWith("--jobs=")) {
+				try {
+					options.jobs = Integer.parseInt(arg.substring("--jobs=".length()));
+				}
+				catch (NumberFormatException e) {
+					options.jobs = 0;
+				}
+				if (options.jobs < 1) {
+					throw new IllegalArgumentException("Invalid number of jobs " + arg.substring("--jobs=".length()) + ". Expected a positive integer.");
+				}
+			}
+			else if (arg.compareTo("--quiet") == 0) {
+				options.level = Level.ERROR;
+			}
+			else if (arg.compareTo("--verbose") == 0) {
+				options.level = Level.TRACE;
+			}
+			else if (arg.startsWith("--trace=")) {
+				for (String stage : arg.substring("--trace=".length()).split(",")) {
+					try {
+						options.traced.add(Stage.valueOf(stage.trim().toUpperCase()));
+					}
+					catch (IllegalArgumentException e) {
+						throw new IllegalArgumentException("Unknown stage " + stage + ". Expected one of lexer, parser, symbol_table, ir, c_gen, obf_c_gen.");
+					}
+				}
+			}
+			else {
+				options.sources.add(arg);
+			}
+		}
+		return options;
+	}
+
+	/**
+	 * Getter of the sources field.
+	 * @return The names of the py files (without extension), or the files and directories to translate in batch mode.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public List<String> getSources() {
+		return this.sources;
+	}
+
+	/**
+	 * Getter of the streaming field.
+	 * @return true if the file is to be tokenized while it is parsed.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public boolean isStreaming() {
+		return this.streaming;
+	}
+
+	/**
+	 * Getter of the server field.
+	 * @return true if the compile server is to be started.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public boolean isServer() {
+		return this.server;
+	}
+
+	/**
+	 * Getter of the batch field.
+	 * @return true if the sources are to be translated in batch mode.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public boolean isBatch() {
+		return this.batch;
+	}
+
+	/**
+	 * Getter of the jobs field.
+	 * @return The number of files translated in parallel in batch mode.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public int getJobs() {
+		return this.jobs;
+	}
+
+	/**
+	 * Getter of the memoizing field.
+	 * @return true if the results of the recursive pure functions are to be kept in a table.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public boolean isMemoizing() {
+		return this.memoizing;
+	}
+
+	/**
+	 * Getter of the seed field.
+	 * @return The seed of the names of the obfuscated code, or null if the names are given in order.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public Long getSeed() {
+		return this.seed;
+	}
+
+	/**
+	 * Getter of the obfuscation field.
+	 * @return The level of obfuscation of the obfuscated code.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public ObfuscationLevel getObfuscation() {
+		return this.obfuscation;
+	}
+
+	/**
+	 * Getter of the dispatch field.
+	 * @return The dispatcher of the states of the flattened functions.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public Dispatch getDispatch() {
+		return this.dispatch;
+	}
+
+	/**
+	 * Getter of the level field.
+	 * @return The level of the messages to display.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public Level getLevel() {
+		return this.level;
+	}
+
+	/**
+	 * Getter of the traced field.
+	 * @return The stages whose trace is to be displayed.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public EnumSet<Stage> getTraced() {
+		return this.traced;
+	}
+}
@@ -1,13 +1,11 @@
 package python;
 
-import common.ast.AST;
-import common.lexer.Lexer;
-import python.lexer.PythonLexicalRules;
-import python.parser.PythonParser;
-import visitors.CGeneratorVisitor;
-import visitors.ObfuscatedCGeneratorVisitor;
-import visitors.PythonPrettyPrinterVisitor;
-import visitors.VariableCheckerVisitor;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.util.List;
+
+import common.CompilationException;
+import common.log.Log;
 
 /**
  * Main class of the project.
@@ -17,31 +15,88 @@ class MainPython {
 
 	/**
 	 * Main method. Creates the AST from the given file and convert it into c and obfuscated c code.
-	 * @param args name of the py file (without extension)
+	 * Options :
+	 *  --stream : the file is tokenized lazily while it is parsed instead of being tokenized beforehand.
+	 *  --quiet : only the errors are displayed.
+	 *  --verbose : the trace of every stage is displayed.
+	 *  --trace=stage[,stage...] : the trace of the given stages (lexer, parser, symbol_table, ir, c_gen, obf_c_gen) is displayed.
+	 *  --server : no file is given. The translation requests are read from the standard input and answered on the standard output (see CompileServer).
+	 *  --batch : the given py files and directories of py files are translated in parallel, and a report of every translation is displayed.
+	 *  --jobs=n : number of files translated in parallel in batch mode.
+	 *  --memoize : the results of the recursive pure functions are kept in a table by the generated code.
+	 *  --seed=n : the names of the obfuscated code are drawn at random from the given seed.
+	 *  --obfuscation=level : level of obfuscation of the obfuscated code (lexical, constants, strings, predicates, flattening, or its number), lexical by default.
+	 *  --dispatch=switch|goto : dispatcher of the states of the flattened functions, the computed goto by default.
+	 * @param args name of the py file (without extension), optionally preceded by options
 	 * @author C.Silva, R.Cuinat
 	 */
 	public static void main(String[] args) {
-		String source = null;
-		if (args.length > 0) {
-			source = args[0];
+		CompilerOptions options = null;
+		try {
+			options = CompilerOptions.parse(args);
+		}
+		catch (IllegalArgumentException e) {
+			System.err.println(e.getMessage());
+			System.exit(1);
+		}
+		if (options.isServer()) {
+			try {
+				new CompileServer(new Compiler(), new BufferedInputStream(System.in), System.out).serve();
+			}
+			catch (IOException e) {
+				e.printStackTrace();
+				System.exit(1);
+			}
+			return;
 		}
-		else {
+		if (options.getSources().isEmpty()) {
 			System.err.println("No file was given. Quitting ...");
 			System.exit(1);
 		}
-		Lexer lexer = new Lexer(source + ".py", new PythonLexicalRules());
-		lexer.tokenize();
-		System.out.println(lexer.toString());
-		System.out.print("\n");
-		PythonParser parser = new PythonParser(lexer);
-		AST ast = parser.parse();
-		PythonPrettyPrinterVisitor pp = new PythonPrettyPrinterVisitor();
-		pp.visit(ast);
-		VariableCheckerVisitor vc = new VariableCheckerVisitor();
-		vc.visit(ast);
-		CGeneratorVisitor cg = new CGeneratorVisitor(source);
-		cg.visit(ast);
-		ObfuscatedCGeneratorVisitor Obfcg = new ObfuscatedCGeneratorVisitor(source);
-		Obfcg.visit(ast);
+		Log.configure(options.getLevel(), options.getTraced());
+		if (options.isBatch()) {
+			BatchCompiler batch = new BatchCompiler(new Compiler(), options.getJobs());
+			List<CompilationResult> results = batch.compile(BatchCompiler.collect(options.getSources()), options);
+			batch.shutdown();
+			if (MainPython.report(results) > 0) {
+				System.exit(1);
+			}
+			return;
+		}
+		Compiler compiler = new Compiler();
+		for (String source : options.getSources()) {
+			try {
+				compiler.compile(source, options);
+			}
+			catch (CompilationException e) {
+				System.err.println(e.getMessage());
+				System.exit(1);
+			}
+		}
+		if (Log.getErrors() > 0) {
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * Displays the output and the outcome of every translation of a batch, then the number of failures.
+	 * @param results Results of the translations.
+	 * @return The number of translations which failed.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static int report(List<CompilationResult> results) {
+		int failures = 0;
+		for (CompilationResult result : results) {
+			System.out.print(result.getOutput());
+			if (result.isSuccess()) {
+				System.out.println("OK     " + result.getSource());
+			}
+			else {
+				failures++;
+				System.out.println("FAILED " + result.getSource() + " : " + (result.getError() != null ? result.getError() : result.getErrors() + " error(s) displayed"));
+			}
+		}
+		System.out.println("\n" + results.size() + " files translated, " + (results.size() - failures) + " succeeded, " + failures + " failed.");
+		return failures;
 	}
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package python.ast.other;
 
+import java.util.List;
+
 import common.ast.Node;
 import python.ast.statements.StatementNode;
 import visitors.Visitor;
@@ -29,6 +31,18 @@ public class BodyNode extends Node {
 		this.attachNode(node);
 	}
 
+	/**
+	 * Replaces a statement of the block with the given statements.
+	 * @param old Statement to replace.
+	 * @param statements Statements replacing it, in order.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public void replaceStatement(StatementNode old, List<StatementNode> statements) {
+		int index = this.getChildren().indexOf(old);
+		this.getChildren().remove(index);
+		this.getChildren().addAll(index, statements);
+	}
+
 	/**
 	 * Allow this node to be visited by the specified visitor
 	 * @param v The visitor v
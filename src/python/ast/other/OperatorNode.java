@@ -1,9 +1,10 @@
 package python.ast.other;
 
-import java.util.ArrayList;
+import java.util.EnumSet;
 
 import common.ast.Node;
 import common.lexer.Token;
+import common.lexer.TokenKind;
 import visitors.Visitor;
 
 /**
@@ -13,7 +14,29 @@ import visitors.Visitor;
  */
 public class OperatorNode extends Node {
 	private String value;
-	private static ArrayList<String> operators;
+	private static final EnumSet<TokenKind> operators = EnumSet.of(
+			TokenKind.KEYWORD_AND,
+			TokenKind.KEYWORD_OR,
+			TokenKind.OPERATOR_LESS_EQUAL,
+			TokenKind.OPERATOR_GREATER_EQUAL,
+			TokenKind.OPERATOR_EQUAL,
+			TokenKind.OPERATOR_NOT_EQUAL,
+			TokenKind.OPERATOR_LESS,
+			TokenKind.OPERATOR_GREATER,
+			TokenKind.OPERATOR_PLUS,
+			TokenKind.OPERATOR_MINUS,
+			TokenKind.OPERATOR_POWER,
+			TokenKind.OPERATOR_MULTIPLY,
+			TokenKind.OPERATOR_FLOOR_DIVIDE,
+			TokenKind.OPERATOR_DIVIDE,
+			TokenKind.OPERATOR_MODULO,
+			TokenKind.OPERATOR_MULTIPLY_ASSIGN,
+			TokenKind.OPERATOR_PLUS_ASSIGN,
+			TokenKind.OPERATOR_DIVIDE_ASSIGN,
+			TokenKind.OPERATOR_POWER_ASSIGN,
+			TokenKind.OPERATOR_MINUS_ASSIGN,
+			TokenKind.OPERATOR_MODULO_ASSIGN,
+			TokenKind.OPERATOR_ASSIGN);
 
 	/**
 	 * Initializes the children of this node and sets the expression of the member with the given expression.
@@ -22,41 +45,20 @@ public class OperatorNode extends Node {
 	 */
 	public OperatorNode(Token t) {
 		super(t.getLine(),t.getColumn());
-		if (OperatorNode.operators == null) {
-			OperatorNode.init();
-		}
 		assert OperatorNode.operators.contains(t.getKind());
 		this.value = t.getValue().replaceAll(" ", "");
 	}
-	
+
 	/**
-	 * Initializes the list of operators.
+	 * Initializes this node as a copy of the given operator, at the given position.
+	 * @param operator The operator to copy.
+	 * @param line Line of the copy.
+	 * @param column Column of the copy.
 	 * @author C.Silva, R.Cuinat
 	 */
-	private static void init() {
-		OperatorNode.operators = new ArrayList<>();
-		OperatorNode.operators.add("KeywordAnd");
-		OperatorNode.operators.add("KeywordOr");
-		OperatorNode.operators.add("Operator<=");
-		OperatorNode.operators.add("Operator>=");
-		OperatorNode.operators.add("Operator==");
-		OperatorNode.operators.add("Operator!=");
-		OperatorNode.operators.add("Operator<");
-		OperatorNode.operators.add("Operator>");
-		OperatorNode.operators.add("Operator+");
-		OperatorNode.operators.add("Operator-");
-		OperatorNode.operators.add("Operator**");
-		OperatorNode.operators.add("Operator*");
-		OperatorNode.operators.add("Operator//");
-		OperatorNode.operators.add("Operator/");
-		OperatorNode.operators.add("Operator%");
-		OperatorNode.operators.add("Operator*=");
-		OperatorNode.operators.add("Operator+=");
-		OperatorNode.operators.add("Operator/=");
-		OperatorNode.operators.add("Operator**=");
-		OperatorNode.operators.add("Operator-=");
-		OperatorNode.operators.add("Operator%=");
-		OperatorNode.operators.add("Operator=");
+	public OperatorNode(OperatorNode operator, int line, int column) {
+		super(line, column);
+		this.value = operator.value;
 	}
 	
 	/**
@@ -10,7 +10,7 @@ import visitors.Visitor;
  *
  */
 public class RightMemberNode extends Node {
-	private final ExpressionNode expression;
+	private ExpressionNode expression;
 
     /**
 	 * Initializes the children of this node and sets the expression of the member with the given expression.
@@ -32,6 +32,16 @@ public class RightMemberNode extends Node {
 		return this.expression;
 	}
 
+	/**
+	 * Replaces the expression of the member.
+	 * @param expression The new expression of the member.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public void setExpression(ExpressionNode expression) {
+		this.replaceNode(this.expression, expression);
+		this.expression = expression;
+	}
+
 	/**
 	 * Allow this node to be visited by the specified visitor
 	 * @param v The visitor v
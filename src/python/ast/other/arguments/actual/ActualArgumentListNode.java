@@ -30,6 +30,16 @@ public class ActualArgumentListNode extends Node {
 		this.attachNode(arg);
 	}
 
+	/**
+	 * Replaces the specified argument by the given one, at the same position.
+	 * @param old Argument to replace.
+	 * @param arg Argument replacing it.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public void replaceArg(ExpressionNode old, ExpressionNode arg) {
+		this.replaceNode(old, arg);
+	}
+
 	/**
 	 * Allow this node to be visited by the specified visitor
 	 * @param v The visitor v
@@ -35,13 +35,13 @@ public class ActualOptionalArgumentNode extends Node {
 	}
 	
 	/**
-	 * Sets the value of the argument with the given expression
+	 * Sets the value of the argument with the given expression, replacing the previous one if any.
 	 * @param expression value of the optional argument.
 	 * @author C.Silva, R.Cuinat
 	 */
 	public void setValue(ExpressionNode expression) {
+		this.replaceNode(this.value, expression);
 		this.value = expression;
-		this.attachNode(this.value);
 	}
 	
 	/**
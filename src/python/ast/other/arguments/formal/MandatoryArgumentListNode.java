@@ -2,6 +2,7 @@ package python.ast.other.arguments.formal;
 
 import common.ast.Node;
 import common.lexer.Token;
+import common.lexer.TokenKind;
 import visitors.Visitor;
 
 /**
@@ -27,7 +28,7 @@ public class MandatoryArgumentListNode extends Node {
 	 * @author C.Silva, R.Cuinat
 	 */
 	public void addArg(Token arg) {
-		assert (arg.getKind().compareTo("Identifier") == 0);
+		assert (arg.getKind() == TokenKind.IDENTIFIER);
 		this.attachNode(new MandatoryArgumentNode(arg));
 	}
 
@@ -48,13 +48,13 @@ public class FunctionDefinitionNode extends StatementNode {
 	
 
 	/**
-	 * Sets the function body with the given BodyNode
+	 * Sets the function body with the given BodyNode, replacing the previous one if any.
 	 * @param n BodyNode specifying the body of the function
 	 * @author C.Silva, R.Cuinat
 	 */
 	public void setBody(BodyNode n) {
+		this.replaceNode(this.body, n);
 		this.body = n;
-		this.attachNode(this.body);
 	}
 	
 	/**
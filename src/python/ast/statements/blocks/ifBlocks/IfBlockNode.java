@@ -24,13 +24,13 @@ public class IfBlockNode extends StatementNode {
 	}
 
 	/**
-	 * Sets the condition of the if block with the specified expression.
+	 * Sets the condition of the if block with the specified expression, replacing the previous one if any.
 	 * @param expression Condition of the block.
 	 * @author C.Silva, R.Cuinat
 	 */
 	public void setCondition(ExpressionNode expression) {
+		this.replaceNode(this.condition, expression);
 		this.condition = expression;
-		this.attachNode(this.condition);
 	}
 	
 	/**
@@ -1,14 +1,20 @@
 package python.ast.statements.expressions;
 
 import python.ast.statements.StatementNode;
+import python.symbolTable.SymbolTable;
+import python.symbolTable.types.AbstractType;
 import visitors.Visitor;
 
 /**
  * Node of the AST representing an expression.
+ * The type of the expression is cached on the node by the TypeDiscovererVisitor, along with the SymbolTable and the revision it was computed for.
  * @author C.Silva, R.Cuinat
  *
  */
 public class ExpressionNode extends StatementNode {
+	private AbstractType type;
+	private SymbolTable typedIn;
+	private long typedRevision;
 
 	/**
 	 * Initializes the children of this node.
@@ -30,4 +36,29 @@ public class ExpressionNode extends StatementNode {
 		v.visit(this);
 	}
 
+	/**
+	 * Returns the type cached for this expression in the given SymbolTable.
+	 * @param st SymbolTable in which the type is looked for.
+	 * @return The cached type. null if none, or if a symbol of the table was added or retyped since the type was computed.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public AbstractType getType(SymbolTable st) {
+		if (this.typedIn != st || this.typedRevision != st.getRevision()) {
+			return null;
+		}
+		return this.type;
+	}
+
+	/**
+	 * Caches the type of this expression in the given SymbolTable.
+	 * @param type Type of the expression.
+	 * @param st SymbolTable used to determine the type.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public void setType(AbstractType type, SymbolTable st) {
+		this.type = type;
+		this.typedIn = st;
+		this.typedRevision = st.getRevision();
+	}
+
 }
@@ -1,6 +1,7 @@
 package python.ast.statements.expressions;
 
 import common.lexer.Token;
+import common.lexer.TokenKind;
 import visitors.Visitor;
 
 /**
@@ -18,7 +19,7 @@ public class IdentifierNode extends ExpressionNode {
 	 */
 	public IdentifierNode(Token name) {
 		super(name.getLine(), name.getColumn());
-		assert (name.getKind().compareTo("Identifier") == 0);
+		assert (name.getKind() == TokenKind.IDENTIFIER);
 		this.name = name.getValue().replaceAll(" ", "");
 	}
 	
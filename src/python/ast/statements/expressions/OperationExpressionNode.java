@@ -51,7 +51,16 @@ public class OperationExpressionNode extends ExpressionNode {
 	 * @author C.Silva, R.Cuinat
 	 */
 	public void setOperator(Token t) {
-		this.operator = new OperatorNode(t);
+		this.setOperator(new OperatorNode(t));
+	}
+
+	/**
+	 * Sets the operator of the operation with the given node.
+	 * @param operator Node of the operator.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public void setOperator(OperatorNode operator) {
+		this.operator = operator;
 		this.attachNode(this.operator);
 	}
 	
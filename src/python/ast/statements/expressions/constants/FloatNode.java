@@ -1,6 +1,7 @@
 package python.ast.statements.expressions.constants;
 
 import common.lexer.Token;
+import common.lexer.TokenKind;
 import visitors.Visitor;
 
 /**
@@ -17,9 +18,21 @@ public class FloatNode extends ConstantNode {
 	 */
 	public FloatNode(Token t) {
 		super(t.getLine(), t.getColumn());
-		assert (t.getKind().compareTo("Float") == 0);
+		assert (t.getKind() == TokenKind.FLOAT);
 		this.value = Double.parseDouble(t.getValue());
 	}
+
+	/**
+	 * Constructor of the class used to create a Float computed by the compiler.
+	 * @param value Value of the Float.
+	 * @param line Line of the code the Float stems from.
+	 * @param column Column of the code the Float stems from.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public FloatNode(double value, int line, int column) {
+		super(line, column);
+		this.value = value;
+	}
 	
 	/**
 	 * Getter of the value field.
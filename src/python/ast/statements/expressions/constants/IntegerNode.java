@@ -1,6 +1,8 @@
 package python.ast.statements.expressions.constants;
 
+import common.CompilationException;
 import common.lexer.Token;
+import common.lexer.TokenKind;
 import visitors.Visitor;
 
 /**
@@ -8,17 +10,35 @@ import visitors.Visitor;
  * @author C.Silva, R.Cuinat
  */
 public class IntegerNode extends ConstantNode {
-	private int value;
+	private long value;
 	
 	/**
 	 * Constructor of the class.
 	 * @param t Token representing the String.
+	 * @throws CompilationException When the Integer does not fit in 64 bits.
 	 * @author C.Silva, R.Cuinat
 	 */
 	public IntegerNode(Token t) {
 		super(t.getLine(), t.getColumn());
-		assert (t.getKind().compareTo("Integer") == 0);
-		this.value = Integer.parseInt(t.getValue());
+		assert (t.getKind() == TokenKind.INTEGER);
+		try {
+			this.value = Long.parseLong(t.getValue());
+		}
+		catch (NumberFormatException e) {
+			throw new CompilationException("Integer " + t.getValue() + " beyond 64 bits (L" + t.getLine() + ", C" + t.getColumn() + ").");
+		}
+	}
+
+	/**
+	 * Constructor of the class used to create an Integer computed by the compiler.
+	 * @param value Value of the Integer.
+	 * @param line Line of the code the Integer stems from.
+	 * @param column Column of the code the Integer stems from.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public IntegerNode(long value, int line, int column) {
+		super(line, column);
+		this.value = value;
 	}
 	
 	/**
@@ -26,7 +46,7 @@ public class IntegerNode extends ConstantNode {
 	 * @return The value of the Integer.
 	 * @author C.Silva, R.Cuinat
 	 */
-	public int getValue() {
+	public long getValue() {
 		return this.value;
 	}
 	
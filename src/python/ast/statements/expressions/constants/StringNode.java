@@ -1,6 +1,7 @@
 package python.ast.statements.expressions.constants;
 
 import common.lexer.Token;
+import common.lexer.TokenKind;
 import visitors.Visitor;
 
 /**
@@ -17,7 +18,7 @@ public class StringNode extends ConstantNode {
 	 */
 	public StringNode(Token t) {
 		super(t.getLine(), t.getColumn());
-		assert (t.getKind().compareTo("String") == 0);
+		assert (t.getKind() == TokenKind.STRING);
 		this.value = t.getValue();
 	}
 	
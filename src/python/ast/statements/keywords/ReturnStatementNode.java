@@ -22,13 +22,13 @@ public class ReturnStatementNode extends StatementNode {
 	}
 	
 	/**
-	 * Sets the  returned expression;
+	 * Sets the  returned expression, replacing the previous one if any;
 	 * @param expression Returned expression.
 	 * @author C.Silva, R.Cuinat
 	 */
 	public void setExpression(ExpressionNode expression) {
+		this.replaceNode(this.expression, expression);
 		this.expression = expression;
-		this.attachNode(this.expression);
 	}	
 	
 	/**
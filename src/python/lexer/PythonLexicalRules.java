@@ -3,6 +3,7 @@ package python.lexer;
 import java.util.ArrayList;
 
 import common.lexer.LexicalRules;
+import common.lexer.TokenKind;
 
 /**
  * Data Structure containing all Python lexical rules.
@@ -25,84 +26,84 @@ public class PythonLexicalRules extends LexicalRules {
 	 * @author C.Silva, R.Cuinat
 	 */
 	private void create_rules() {
-		this.put("Separator#", "\\ *\\#\\ *");
-		this.put("SeparatorTab", "(\t+)|(\\ \\ \\ \\ )+");
-		this.put("Separator\'\'\'", "\\ *\\'\\'\\'\\ *");
-		this.put("Separator\"\"\"", "\\ *\\\"\\\"\\\"\\ *");
-		this.put("KeywordFalse", "\\ *False\\ +");
-		this.put("KeywordTrue", "\\ *True\\ +");
-		this.put("KeywordNone", "\\ *None\\ +");
-		this.put("KeywordAnd", "\\ *and\\ +");
-		this.put("KeywordAssert", "\\ *assert\\ +");
-		this.put("KeywordAs", "\\ *as\\ +");
-		this.put("KeywordBreak", "\\ *break\\ +");
-		this.put("KeywordClass", "\\ *class\\ +");
-		this.put("KeywordContinue", "\\ *continue\\ +");
-		this.put("KeywordDef", "\\ *def\\ +");
-		this.put("KeywordDel", "\\ *del\\ +");
-		this.put("KeywordElif", "\\ *elif\\ +");
-		this.put("KeywordElse", "\\ *else\\ *");
-		this.put("KeywordExcept", "\\ *except\\ +");
-		this.put("KeywordFinally", "\\ *finally\\ +");
-		this.put("KeywordFor", "\\ *for\\ +");
-		this.put("KeywordFrom", "\\ *from\\ +");
-		this.put("KeywordGlobal", "\\ *global\\ +");
-		this.put("KeywordIf", "\\ *if\\ +");
-		this.put("KeywordImport", "\\ *import\\ +");
-		this.put("KeywordIn", "\\ *in\\ +");
-		this.put("KeywordIs", "\\ *is\\ +");
-		this.put("KeywordLambda", "\\ *lambda\\ +");
-		this.put("KeywordNonlocal", "\\ *nonlocal\\ +");
-		this.put("KeywordNot", "\\ *not\\ +");
-		this.put("KeywordOr", "\\ *or\\ +");
-		this.put("KeywordPass", "\\ *pass\\ +");
-		this.put("KeywordRaise", "\\ *raise\\ +");
-		this.put("KeywordReturn", "\\ *return\\ +");
-		this.put("KeywordTry", "\\ *try\\ +");
-		this.put("KeywordWhile", "\\ *while\\ +");
-		this.put("KeywordWith", "\\ *with\\ +");
-		this.put("KeywordYield", "\\ *yield\\ +");
+		this.put(TokenKind.SEPARATOR_HASH, "\\ *\\#\\ *");
+		this.put(TokenKind.SEPARATOR_TAB, "(\t+)|(\\ \\ \\ \\ )+");
+		this.put(TokenKind.SEPARATOR_TRIPLE_QUOTE, "\\ *\\'\\'\\'\\ *");
+		this.put(TokenKind.SEPARATOR_TRIPLE_DOUBLE_QUOTE, "\\ *\\\"\\\"\\\"\\ *");
+		this.put(TokenKind.KEYWORD_FALSE, "\\ *False\\ +");
+		this.put(TokenKind.KEYWORD_TRUE, "\\ *True\\ +");
+		this.put(TokenKind.KEYWORD_NONE, "\\ *None\\ +");
+		this.put(TokenKind.KEYWORD_AND, "\\ *and\\ +");
+		this.put(TokenKind.KEYWORD_ASSERT, "\\ *assert\\ +");
+		this.put(TokenKind.KEYWORD_AS, "\\ *as\\ +");
+		this.put(TokenKind.KEYWORD_BREAK, "\\ *break\\ +");
+		this.put(TokenKind.KEYWORD_CLASS, "\\ *class\\ +");
+		this.put(TokenKind.KEYWORD_CONTINUE, "\\ *continue\\ +");
+		this.put(TokenKind.KEYWORD_DEF, "\\ *def\\ +");
+		this.put(TokenKind.KEYWORD_DEL, "\\ *del\\ +");
+		this.put(TokenKind.KEYWORD_ELIF, "\\ *elif\\ +");
+		this.put(TokenKind.KEYWORD_ELSE, "\\ *else\\ *");
+		this.put(TokenKind.KEYWORD_EXCEPT, "\\ *except\\ +");
+		this.put(TokenKind.KEYWORD_FINALLY, "\\ *finally\\ +");
+		this.put(TokenKind.KEYWORD_FOR, "\\ *for\\ +");
+		this.put(TokenKind.KEYWORD_FROM, "\\ *from\\ +");
+		this.put(TokenKind.KEYWORD_GLOBAL, "\\ *global\\ +");
+		this.put(TokenKind.KEYWORD_IF, "\\ *if\\ +");
+		this.put(TokenKind.KEYWORD_IMPORT, "\\ *import\\ +");
+		this.put(TokenKind.KEYWORD_IN, "\\ *in\\ +");
+		this.put(TokenKind.KEYWORD_IS, "\\ *is\\ +");
+		this.put(TokenKind.KEYWORD_LAMBDA, "\\ *lambda\\ +");
+		this.put(TokenKind.KEYWORD_NONLOCAL, "\\ *nonlocal\\ +");
+		this.put(TokenKind.KEYWORD_NOT, "\\ *not\\ +");
+		this.put(TokenKind.KEYWORD_OR, "\\ *or\\ +");
+		this.put(TokenKind.KEYWORD_PASS, "\\ *pass\\ +");
+		this.put(TokenKind.KEYWORD_RAISE, "\\ *raise\\ +");
+		this.put(TokenKind.KEYWORD_RETURN, "\\ *return\\ +");
+		this.put(TokenKind.KEYWORD_TRY, "\\ *try\\ +");
+		this.put(TokenKind.KEYWORD_WHILE, "\\ *while\\ +");
+		this.put(TokenKind.KEYWORD_WITH, "\\ *with\\ +");
+		this.put(TokenKind.KEYWORD_YIELD, "\\ *yield\\ +");
 		//Literals
-		this.put("String", "(\\\".*\\\")|(\\\'.*\\\')");
-		this.put("Float", "\\ *(\\ *(([0-9]*\\.[0-9]+)|([0-9]+\\.[0-9]*)))e?(\\+|\\-)?[0-9]+"
+		this.put(TokenKind.STRING, "(\\\".*\\\")|(\\\'.*\\\')");
+		this.put(TokenKind.FLOAT, "\\ *(\\ *(([0-9]*\\.[0-9]+)|([0-9]+\\.[0-9]*)))e?(\\+|\\-)?[0-9]+"
 				+ "|"
 				+ "(\\ *[0-9]+e(\\+|\\-)?[0-9]+)\\ *");
-		this.put("Integer","\\ *\\ *[0-9]+\\ *");
+		this.put(TokenKind.INTEGER,"\\ *\\ *[0-9]+\\ *");
 		//Comparison  operator
-		this.put("Operator<=", "\\ *\\<\\=\\ *");
-		this.put("Operator>=", "\\ *\\>\\=\\ *");
-		this.put("Operator==", "\\ *\\=\\=\\ *");
-		this.put("Operator!=", "\\ *\\!\\=\\ *");
-		this.put("Operator<", "\\ *\\<\\ *");
-		this.put("Operator>", "\\ *\\>\\ *");
+		this.put(TokenKind.OPERATOR_LESS_EQUAL, "\\ *\\<\\=\\ *");
+		this.put(TokenKind.OPERATOR_GREATER_EQUAL, "\\ *\\>\\=\\ *");
+		this.put(TokenKind.OPERATOR_EQUAL, "\\ *\\=\\=\\ *");
+		this.put(TokenKind.OPERATOR_NOT_EQUAL, "\\ *\\!\\=\\ *");
+		this.put(TokenKind.OPERATOR_LESS, "\\ *\\<\\ *");
+		this.put(TokenKind.OPERATOR_GREATER, "\\ *\\>\\ *");
 		//Assignment operator
-		this.put("Operator*=", "\\ *\\*\\=\\ *");
-		this.put("Operator+=", "\\ *\\+\\=\\ *");
-		this.put("Operator/=", "\\ *\\/\\=\\ *");
-		this.put("Operator**=", "\\ *\\*\\*\\=\\ *");
-		this.put("Operator-=", "\\ *\\-\\=\\ *");
-		this.put("Operator%=", "\\ *\\%\\=\\ *");
-		this.put("Operator=", "\\ *\\=\\ *");
+		this.put(TokenKind.OPERATOR_MULTIPLY_ASSIGN, "\\ *\\*\\=\\ *");
+		this.put(TokenKind.OPERATOR_PLUS_ASSIGN, "\\ *\\+\\=\\ *");
+		this.put(TokenKind.OPERATOR_DIVIDE_ASSIGN, "\\ *\\/\\=\\ *");
+		this.put(TokenKind.OPERATOR_POWER_ASSIGN, "\\ *\\*\\*\\=\\ *");
+		this.put(TokenKind.OPERATOR_MINUS_ASSIGN, "\\ *\\-\\=\\ *");
+		this.put(TokenKind.OPERATOR_MODULO_ASSIGN, "\\ *\\%\\=\\ *");
+		this.put(TokenKind.OPERATOR_ASSIGN, "\\ *\\=\\ *");
 		//Arithmetic operator
-		this.put("Operator+", "\\ *\\+\\ *");
-		this.put("Operator-", "\\ *\\-\\ *");
-		this.put("Operator**", "\\ *\\*\\*\\ *");
-		this.put("Operator*", "\\ *\\*\\ *");
-		this.put("Operator//", "\\ *\\/\\/\\ *");
-		this.put("Operator/", "\\ *\\/\\ *");
-		this.put("Operator%", "\\ *\\%\\ *");	
+		this.put(TokenKind.OPERATOR_PLUS, "\\ *\\+\\ *");
+		this.put(TokenKind.OPERATOR_MINUS, "\\ *\\-\\ *");
+		this.put(TokenKind.OPERATOR_POWER, "\\ *\\*\\*\\ *");
+		this.put(TokenKind.OPERATOR_MULTIPLY, "\\ *\\*\\ *");
+		this.put(TokenKind.OPERATOR_FLOOR_DIVIDE, "\\ *\\/\\/\\ *");
+		this.put(TokenKind.OPERATOR_DIVIDE, "\\ *\\/\\ *");
+		this.put(TokenKind.OPERATOR_MODULO, "\\ *\\%\\ *");	
 		//Separator
-		this.put("Separator;", "\\ *;\\ *");
-		this.put("Separator:", "\\ *:\\ *");
-		this.put("Separator(", "\\ *\\(\\ *");
-		this.put("Separator)", "\\ *\\)\\ *");
-		this.put("Separator[", "\\ *\\[\\ *");
-		this.put("Separator]", "\\ *\\]\\ *");
-		this.put("Separator{", "\\ *\\{\\ *");
-		this.put("Separator}", "\\ *\\}\\ *");
-		this.put("Separator,", "\\ *\\,\\ *");
-		this.put("Separator.", "\\ *\\.\\ *");
+		this.put(TokenKind.SEPARATOR_SEMICOLON, "\\ *;\\ *");
+		this.put(TokenKind.SEPARATOR_COLON, "\\ *:\\ *");
+		this.put(TokenKind.SEPARATOR_LEFT_PARENTHESIS, "\\ *\\(\\ *");
+		this.put(TokenKind.SEPARATOR_RIGHT_PARENTHESIS, "\\ *\\)\\ *");
+		this.put(TokenKind.SEPARATOR_LEFT_BRACKET, "\\ *\\[\\ *");
+		this.put(TokenKind.SEPARATOR_RIGHT_BRACKET, "\\ *\\]\\ *");
+		this.put(TokenKind.SEPARATOR_LEFT_BRACE, "\\ *\\{\\ *");
+		this.put(TokenKind.SEPARATOR_RIGHT_BRACE, "\\ *\\}\\ *");
+		this.put(TokenKind.SEPARATOR_COMMA, "\\ *\\,\\ *");
+		this.put(TokenKind.SEPARATOR_DOT, "\\ *\\.\\ *");
 		//Identifier
-		this.put("Identifier", "\\ *(([a-z]|[A-Z]|\\_)([a-z]|[A-Z]|\\_|[0-9])*)\\ *");	
+		this.put(TokenKind.IDENTIFIER, "\\ *(([a-z]|[A-Z]|\\_)([a-z]|[A-Z]|\\_|[0-9])*)\\ *");	
 	}
 }
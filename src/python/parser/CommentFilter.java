@@ -0,0 +1,116 @@
+package python.parser;
+
+import java.text.ParseException;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+import common.lexer.Token;
+import common.lexer.TokenKind;
+import common.lexer.TokenStream;
+
+/**
+ * Token stream removing the comments and the docstrings of the python tokens of another stream, while they are consumed.
+ * A comment starts with # and ends with the line. A docstring must start a line and the line must end with it.
+ * As a docstring removes the tabulations preceding it, trailing SeparatorTab tokens are held back until the next token is known.
+ * @author C.Silva, R.Cuinat
+ */
+class CommentFilter implements TokenStream {
+	private final TokenStream tokens;
+	private final ArrayDeque<Token> kept;
+	private TokenKind last_released;
+	private boolean in_comment;
+	private boolean docstring;
+
+	/**
+	 * Constructor of the class.
+	 * @param tokens Stream of the tokens to filter.
+	 * @author C.Silva, R.Cuinat
+	 */
+	CommentFilter(TokenStream tokens) {
+		this.tokens = tokens;
+		this.kept = new ArrayDeque<>();
+		this.last_released = null;
+		this.in_comment = false;
+		this.docstring = false;
+	}
+
+	/**
+	 * Returns the token following the next one which is not part of a comment by the given offset, without consuming any token.
+	 * @param k Offset of the token from the next one (0 for the next token).
+	 * @return The token, or null if the stream ends before it.
+	 * @throws ParseException When a docstring is misplaced.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public Token peek(int k) throws ParseException {
+		while ((this.kept.size() <= k || this.kept.peekLast().getKind() == TokenKind.SEPARATOR_TAB) && this.tokens.peek() != null) {
+			this.filter(this.tokens.next());
+		}
+		if (this.kept.size() <= k) {
+			return null;
+		}
+		Iterator<Token> iterator = this.kept.iterator();
+		for (int i=0;i<k;i++) {
+			iterator.next();
+		}
+		return iterator.next();
+	}
+
+	/**
+	 * Consumes the next token which is not part of a comment.
+	 * @return The consumed token, or null at the end of the stream.
+	 * @throws ParseException When a docstring is misplaced.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public Token next() throws ParseException {
+		Token token = this.peek(0);
+		if (token != null) {
+			this.kept.removeFirst();
+			this.last_released = token.getKind();
+		}
+		return token;
+	}
+
+	/**
+	 * Processes a token of the filtered stream, keeping it if it is not part of a comment.
+	 * @param token The token to process.
+	 * @throws ParseException When a docstring is misplaced.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private void filter(Token token) throws ParseException {
+		if (token.getKind() == TokenKind.SEPARATOR_TRIPLE_DOUBLE_QUOTE || token.getKind() == TokenKind.SEPARATOR_TRIPLE_QUOTE) {
+			this.docstring = !this.docstring;
+			if (this.docstring) {
+				TokenKind last_kind = this.kept.isEmpty() ? this.last_released : this.kept.peekLast().getKind();
+				if (last_kind != null && last_kind != TokenKind.CARRIAGE_RETURN && last_kind != TokenKind.SEPARATOR_TAB) {
+					throw new ParseException("Error at (" + token.getLine() + " , " + token.getColumn() + "): Wrong syntax for docstring", 0);
+				}
+				while (!this.kept.isEmpty() && this.kept.peekLast().getKind() == TokenKind.SEPARATOR_TAB) {
+					this.kept.removeLast();
+				}
+			}
+			else {
+				token = this.tokens.peek();
+				if (token != null && token.getKind() != TokenKind.SEPARATOR_HASH) {
+					this.tokens.next();
+					if (token.getKind() != TokenKind.CARRIAGE_RETURN) {
+						throw new ParseException("Error at (" + token.getLine() + " , " + token.getColumn() + "): Wrong syntax for docstring", 0);
+					}
+				}
+			}
+		}
+		else if (token.getKind() == TokenKind.SEPARATOR_HASH) {
+			this.in_comment = true;
+		}
+		else if (token.getKind() == TokenKind.CARRIAGE_RETURN) {
+			this.in_comment = false;
+			if (!this.docstring) {
+				this.kept.addLast(token);
+			}
+		}
+		else if (!this.in_comment && !this.docstring) {
+			this.kept.addLast(token);
+		}
+	}
+}
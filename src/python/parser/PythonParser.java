@@ -2,12 +2,18 @@ package python.parser;
 
 import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.EnumSet;
 
+import common.CompilationException;
 import common.ast.AST;
 import common.lexer.Lexer;
 import common.lexer.Token;
+import common.lexer.TokenKind;
+import common.lexer.TokenStream;
+import common.log.Log;
 import common.parser.Parser;
 import python.ast.other.BodyNode;
+import python.ast.other.OperatorNode;
 import python.ast.other.arguments.actual.ActualArgumentListNode;
 import python.ast.other.arguments.actual.ActualOptionalArgumentListNode;
 import python.ast.other.arguments.actual.ActualOptionalArgumentNode;
@@ -43,12 +49,51 @@ import python.ast.statements.keywords.PassStatementNode;
 import python.ast.statements.keywords.ReturnStatementNode;
 
 public class PythonParser extends Parser {
+	private static final int COMPARISON_PRECEDENCE = 4;
 	private int current_tab;
-	private static ArrayList<String> expression_starters;
-	private static ArrayList<String> operators;
-	private static ArrayList<String> assignment_operators;
-	private static ArrayList<String> constants;
-	private static ArrayList<String> expression_enders;
+	private static final EnumSet<TokenKind> expression_starters = EnumSet.of(
+			TokenKind.IDENTIFIER,
+			TokenKind.STRING,
+			TokenKind.OPERATOR_MINUS,
+			TokenKind.OPERATOR_PLUS,
+			TokenKind.INTEGER,
+			TokenKind.FLOAT,
+			TokenKind.SEPARATOR_LEFT_PARENTHESIS,
+			TokenKind.KEYWORD_NONE,
+			TokenKind.KEYWORD_TRUE,
+			TokenKind.KEYWORD_FALSE,
+			TokenKind.KEYWORD_NOT);
+	private static final EnumSet<TokenKind> operators = EnumSet.of(
+			TokenKind.KEYWORD_AND,
+			TokenKind.KEYWORD_OR,
+			TokenKind.OPERATOR_LESS_EQUAL,
+			TokenKind.OPERATOR_GREATER_EQUAL,
+			TokenKind.OPERATOR_EQUAL,
+			TokenKind.OPERATOR_NOT_EQUAL,
+			TokenKind.OPERATOR_LESS,
+			TokenKind.OPERATOR_GREATER,
+			TokenKind.OPERATOR_PLUS,
+			TokenKind.OPERATOR_MINUS,
+			TokenKind.OPERATOR_POWER,
+			TokenKind.OPERATOR_MULTIPLY,
+			TokenKind.OPERATOR_FLOOR_DIVIDE,
+			TokenKind.OPERATOR_DIVIDE,
+			TokenKind.OPERATOR_MODULO);
+	private static final EnumSet<TokenKind> assignment_operators = EnumSet.of(
+			TokenKind.OPERATOR_MULTIPLY_ASSIGN,
+			TokenKind.OPERATOR_PLUS_ASSIGN,
+			TokenKind.OPERATOR_DIVIDE_ASSIGN,
+			TokenKind.OPERATOR_POWER_ASSIGN,
+			TokenKind.OPERATOR_MINUS_ASSIGN,
+			TokenKind.OPERATOR_MODULO_ASSIGN,
+			TokenKind.OPERATOR_ASSIGN);
+	private static final EnumSet<TokenKind> constants = EnumSet.of(
+			TokenKind.STRING,
+			TokenKind.INTEGER,
+			TokenKind.FLOAT,
+			TokenKind.KEYWORD_TRUE,
+			TokenKind.KEYWORD_FALSE,
+			TokenKind.KEYWORD_NONE);
 
 	/**
 	 * Constructor of the parser. It initializes the parameters of the parser.
@@ -58,69 +103,17 @@ public class PythonParser extends Parser {
 	public PythonParser(Lexer lexer) {
 		super(lexer);
 		this.current_tab = 0;
-		if (PythonParser.expression_enders == null) {
-			PythonParser.init_resources();
-		}
 	}
 	
 	/**
-	 * Initializes some relevant lists for parsing python code.
+	 * Constructor of the parser consuming the tokens of the given stream while parsing.
+	 * @param source Name of the source code file.
+	 * @param stream Stream of the tokens of the code to parse.
 	 * @author C.Silva, R.Cuinat
 	 */
-	private static void init_resources() {
-		PythonParser.expression_starters = new ArrayList<>();
-		PythonParser.expression_starters.add("Identifier");
-		PythonParser.expression_starters.add("String");
-		PythonParser.expression_starters.add("Operator-");
-		PythonParser.expression_starters.add("Operator+");
-		PythonParser.expression_starters.add("Integer");
-		PythonParser.expression_starters.add("Float");
-		PythonParser.expression_starters.add("Separator(");
-		PythonParser.expression_starters.add("KeywordNone");
-		PythonParser.expression_starters.add("KeywordTrue");
-		PythonParser.expression_starters.add("KeywordFalse");
-		PythonParser.expression_starters.add("KeywordNot");
-		
-		PythonParser.operators = new ArrayList<>();
-		PythonParser.operators.add("KeywordAnd");
-		PythonParser.operators.add("KeywordOr");
-		PythonParser.operators.add("Operator<=");
-		PythonParser.operators.add("Operator>=");
-		PythonParser.operators.add("Operator==");
-		PythonParser.operators.add("Operator!=");
-		PythonParser.operators.add("Operator<");
-		PythonParser.operators.add("Operator>");
-		PythonParser.operators.add("Operator+");
-		PythonParser.operators.add("Operator-");
-		PythonParser.operators.add("Operator**");
-		PythonParser.operators.add("Operator*");
-		PythonParser.operators.add("Operator//");
-		PythonParser.operators.add("Operator/");
-		PythonParser.operators.add("Operator%");
-		
-		PythonParser.assignment_operators = new ArrayList<>();
-		PythonParser.assignment_operators.add("Operator*=");
-		PythonParser.assignment_operators.add("Operator+=");
-		PythonParser.assignment_operators.add("Operator/=");
-		PythonParser.assignment_operators.add("Operator**=");
-		PythonParser.assignment_operators.add("Operator-=");
-		PythonParser.assignment_operators.add("Operator%=");
-		PythonParser.assignment_operators.add("Operator=");
-		
-		PythonParser.constants = new ArrayList<>();
-		PythonParser.constants.add("String");
-		PythonParser.constants.add("Integer");
-		PythonParser.constants.add("Float");
-		PythonParser.constants.add("KeywordTrue");
-		PythonParser.constants.add("KeywordFalse");
-		PythonParser.constants.add("KeywordNone");
-		
-		PythonParser.expression_enders = new ArrayList<>();
-		PythonParser.expression_enders.add("CarriageReturn");
-		PythonParser.expression_enders.add("Separator)");
-		PythonParser.expression_enders.add("Separator:");
-		PythonParser.expression_enders.add("Separator;");
-		PythonParser.expression_enders.add("Separator,");
+	public PythonParser(String source, TokenStream stream) {
+		super(source, stream);
+		this.current_tab = 0;
 	}
 	
 	/**
@@ -133,22 +126,22 @@ public class PythonParser extends Parser {
 		assert PythonParser.constants.contains(t.getKind());
 		ConstantNode node = null;
 		switch (t.getKind()){
-		case "String" :
+		case STRING :
 			node = new StringNode(t);
 			break;
-		case "Integer" : 
+		case INTEGER : 
 			node = new IntegerNode(t);
 			break;
-		case "Float" : 
+		case FLOAT : 
 			node = new FloatNode(t);
 			break;
-		case "KeywordTrue" : 
+		case KEYWORD_TRUE : 
 			node = new TrueNode(t.getLine(), t.getColumn());
 			break;
-		case "KeywordFalse" : 
+		case KEYWORD_FALSE : 
 			node = new FalseNode(t.getLine(), t.getColumn());
 			break;
-		case "KeywordNone" : 
+		case KEYWORD_NONE : 
 			node = new NoneNode(t.getLine(), t.getColumn());
 			break;
 		}
@@ -158,22 +151,21 @@ public class PythonParser extends Parser {
 	/**
 	 * Main method of the parser. It parses the program to create the AST.
 	 * @return The AST extracted from the source
+	 * @throws CompilationException When the program cannot be parsed.
 	 * @author C.Silva, R.Cuinat
 	 */
 	@Override
 	public AST parse() {
 		AST ast;
 		try {
-			System.out.println("\nParsing program "+ this.source + "\n");
-			this.remove_comments();
+			Log.info("\nParsing program "+ this.source + "\n");
+			this.stream = new CommentFilter(this.stream);
 			ast = this.parse_program();
 		}
 		catch (ParseException e) {
-			ast = null;
-			e.printStackTrace();
-			System.exit(1);
+			throw new CompilationException(e.getMessage());
 		}
-		System.out.println("\nProgram successfully parsed.\n");
+		Log.info("\nProgram successfully parsed.\n");
 		return ast;
 	}
 	
@@ -206,9 +198,9 @@ public class PythonParser extends Parser {
 			node = null;
 		}
 		if (PythonParser.expression_starters.contains(token.getKind())) {
-			if (token.getKind().compareTo("Identifier") != 0) { //Expression
+			if (token.getKind() != TokenKind.IDENTIFIER) { //Expression
 				node = this.parse_expression();
-				this.expect("CarriageReturn");
+				this.expect(TokenKind.CARRIAGE_RETURN);
 			}
 			else {
 				Token name = this.accept_it();
@@ -218,74 +210,76 @@ public class PythonParser extends Parser {
 				}
 				if (PythonParser.assignment_operators.contains(token.getKind())) { // assignment
 					node = this.parse_assignment(name);
-					this.expect("CarriageReturn");
+					this.expect(TokenKind.CARRIAGE_RETURN);
 				}
-				else if(token.getKind().compareTo("Separator(") == 0) { //Function call
+				else if(token.getKind() == TokenKind.SEPARATOR_LEFT_PARENTHESIS) { //Function call
 					node = new FunctionCallNode(token.getLine(), token.getColumn());
 					((FunctionCallNode)node).setName(name);
 					this.accept_it();
 					((FunctionCallNode)node).setArgList(this.parse_call_arguments());
-					this.expect("Separator)");
+					this.expect(TokenKind.SEPARATOR_RIGHT_PARENTHESIS);
 					token = this.show_next();
 					if (token == null) {//Function call then end of file
 						node = null;
 					}
-					this.expect("CarriageReturn");
+					this.expect(TokenKind.CARRIAGE_RETURN);
 				}
 				else {//Expression autre
-					node = this.parse_expression();
-					this.expect("CarriageReturn");
+					node = this.parse_operation(this.parse_power(new IdentifierNode(name)), 1);
+					this.expect(TokenKind.CARRIAGE_RETURN);
 				}
 			}
 		}
-		else if (token.getKind().compareTo("KeywordDef") == 0) { //Function definition
-			node = this.parse_function();
-		}
-		else if (token.getKind().compareTo("KeywordAssert") == 0) { // Assert statement
-			Token assert_t = this.accept_it();
-			node = new AssertStatementNode(assert_t.getLine(), assert_t.getColumn());
-			((AssertStatementNode)node).setAssertion(this.parse_expression());
-			this.expect("CarriageReturn");
-		}
-		else if (token.getKind().compareTo("KeywordReturn") == 0) { // Return Statement
-			this.accept_it();
-			node = new ReturnStatementNode(token.getLine(), token.getColumn());
-			((ReturnStatementNode)node).setExpression(this.parse_expression());
-			this.expect("CarriageReturn");
-		}
-		else if (token.getKind().compareTo("KeywordIf") == 0) { // If Statement
-			node = this.parse_if_statement();
-		}
-		else if (token.getKind().compareTo("KeywordWhile") == 0) {// While Statement
-			node = this.parse_while_statement();
-		}
-		else if (token.getKind().compareTo("KeywordFor") == 0) {// For statement
-			node = this.parse_for_statement();
-		}
-		else if (token.getKind().compareTo("KeywordPass") == 0) {// Pass Statement
-			Token pass_t = this.accept_it();
-			node = new PassStatementNode(pass_t.getLine(), pass_t.getColumn());
-			this.expect("CarriageReturn");
-		}
-		else if (token.getKind().compareTo("KeywordBreak") == 0) {// Break Statement
-			Token break_t = this.accept_it();
-			node = new BreakStatementNode(break_t.getLine(), break_t.getColumn());
-			this.expect("CarriageReturn");
-		}
-		else if (token.getKind().compareTo("KeywordContinue") == 0) { // Continue Statement
-			Token continue_t = this.accept_it();
-			node = new ContinueStatementNode(continue_t.getLine(), continue_t.getColumn());
-			this.expect("CarriageReturn");
-		}
-		else if (token.getKind().compareTo("CarriageReturn") == 0) { //Empty line
-			this.accept_it();
-		}
 		else {
-			for ( byte b : token.getValue().getBytes()){
-				System.out.println("byte : " + b);
+			switch (token.getKind()) {
+			case KEYWORD_DEF : //Function definition
+				node = this.parse_function();
+				break;
+			case KEYWORD_ASSERT : // Assert statement
+				Token assert_t = this.accept_it();
+				node = new AssertStatementNode(assert_t.getLine(), assert_t.getColumn());
+				((AssertStatementNode)node).setAssertion(this.parse_expression());
+				this.expect(TokenKind.CARRIAGE_RETURN);
+				break;
+			case KEYWORD_RETURN : // Return Statement
+				this.accept_it();
+				node = new ReturnStatementNode(token.getLine(), token.getColumn());
+				((ReturnStatementNode)node).setExpression(this.parse_expression());
+				this.expect(TokenKind.CARRIAGE_RETURN);
+				break;
+			case KEYWORD_IF : // If Statement
+				node = this.parse_if_statement();
+				break;
+			case KEYWORD_WHILE : // While Statement
+				node = this.parse_while_statement();
+				break;
+			case KEYWORD_FOR : // For statement
+				node = this.parse_for_statement();
+				break;
+			case KEYWORD_PASS : // Pass Statement
+				Token pass_t = this.accept_it();
+				node = new PassStatementNode(pass_t.getLine(), pass_t.getColumn());
+				this.expect(TokenKind.CARRIAGE_RETURN);
+				break;
+			case KEYWORD_BREAK : // Break Statement
+				Token break_t = this.accept_it();
+				node = new BreakStatementNode(break_t.getLine(), break_t.getColumn());
+				this.expect(TokenKind.CARRIAGE_RETURN);
+				break;
+			case KEYWORD_CONTINUE : // Continue Statement
+				Token continue_t = this.accept_it();
+				node = new ContinueStatementNode(continue_t.getLine(), continue_t.getColumn());
+				this.expect(TokenKind.CARRIAGE_RETURN);
+				break;
+			case CARRIAGE_RETURN : //Empty line
+				this.accept_it();
+				break;
+			default :
+				for ( byte b : token.getValue().getBytes()){
+					Log.info("byte : " + b);
+				}
+				throw new ParseException("Error at (" + token.getLine() + " , " + token.getColumn() + "): Expected Statement starter but got " + token.getValue() + " instead.", 0);
 			}
-			System.err.println("\nError at (" + token.getLine() + " , " + token.getColumn() + "): Expected Statement starter but got " + token.getValue() + " instead.");
-			throw new ParseException("", 0);
 		}
 		return node;
 	}
@@ -297,16 +291,16 @@ public class PythonParser extends Parser {
 	 * @author C.Silva, R.Cuinat
 	 */
 	private FunctionDefinitionNode parse_function() throws ParseException{
-		Token def = this.expect("KeywordDef");
+		Token def = this.expect(TokenKind.KEYWORD_DEF);
 		FunctionDefinitionNode node =  new FunctionDefinitionNode(def.getLine(), def.getColumn());
-		node.setName(this.expect("Identifier"));
-		this.expect("Separator(");
-		if (this.show_next().getKind().compareTo("Identifier") == 0) {
+		node.setName(this.expect(TokenKind.IDENTIFIER));
+		this.expect(TokenKind.SEPARATOR_LEFT_PARENTHESIS);
+		if (this.show_next().getKind() == TokenKind.IDENTIFIER) {
 			node.setArgs(this.parse_formal_arguments());
 		}
-		this.expect("Separator)");
-		this.expect("Separator:");
-		this.expect("CarriageReturn");
+		this.expect(TokenKind.SEPARATOR_RIGHT_PARENTHESIS);
+		this.expect(TokenKind.SEPARATOR_COLON);
+		this.expect(TokenKind.CARRIAGE_RETURN);
 		this.current_tab ++;
 		node.setBody(this.parse_body());
 		this.current_tab --;
@@ -322,26 +316,25 @@ public class PythonParser extends Parser {
 	private FormalArgumentListNode parse_formal_arguments() throws ParseException{
 		FormalArgumentListNode arglist = new FormalArgumentListNode(this.show_next().getLine(),this.show_next().getColumn()-1);
 		MandatoryArgumentListNode mandatory = null;
-		if (this.show_next().getKind().compareTo("Separator)") != 0) {// non void function
+		if (this.show_next().getKind() != TokenKind.SEPARATOR_RIGHT_PARENTHESIS) {// non void function
 			mandatory = new MandatoryArgumentListNode(this.show_next().getLine(), this.show_next().getColumn());
 		} 
-		while (this.show_next().getKind().compareTo("Separator)") != 0) {
-			Token name = this.expect("Identifier");
+		while (this.show_next().getKind() != TokenKind.SEPARATOR_RIGHT_PARENTHESIS) {
+			Token name = this.expect(TokenKind.IDENTIFIER);
 			Token token = this.show_next();
-			if (token.getKind().compareTo("Separator)") == 0) {
+			if (token.getKind() == TokenKind.SEPARATOR_RIGHT_PARENTHESIS) {
 				mandatory.addArg(name);
 			}
-			else if (token.getKind().compareTo("Separator,") == 0) {
+			else if (token.getKind() == TokenKind.SEPARATOR_COMMA) {
 				this.accept_it();
 				mandatory.addArg(name);
 			}
-			else if (token.getKind().compareTo("Operator=") == 0) {
+			else if (token.getKind() == TokenKind.OPERATOR_ASSIGN) {
 				arglist.setOptionalArgList(this.parse_optional_args(name));
 				
 			}
-			else if (token.getKind().compareTo("Separator)") != 0) {
-				System.err.println("\nError at (" + token.getLine() + " , " + token.getColumn() + "): Wrong syntax to define the arguments. Expected ',' / '=' or ')' but got " + token.getValue() + " instead.");
-				throw new ParseException("", 0);
+			else if (token.getKind() != TokenKind.SEPARATOR_RIGHT_PARENTHESIS) {
+				throw new ParseException("Error at (" + token.getLine() + " , " + token.getColumn() + "): Wrong syntax to define the arguments. Expected ',' / '=' or ')' but got " + token.getValue() + " instead.", 0);
 			}
 		}
 		arglist.setMandatoryArgList(mandatory);
@@ -360,17 +353,17 @@ public class PythonParser extends Parser {
 		OptionalArgumentNode optArg = new OptionalArgumentNode(name.getLine(),name.getColumn());
 		optArg.setName(name);
 		Token token = this.show_next();
-		while (token.getKind().compareTo("Separator)") != 0) {
-			this.expect("Operator=");
+		while (token.getKind() != TokenKind.SEPARATOR_RIGHT_PARENTHESIS) {
+			this.expect(TokenKind.OPERATOR_ASSIGN);
 			optArg.setDefault(this.parse_expression());
 			token = this.show_next();
-			if (token.getKind().compareTo("Separator)") == 0) {
+			if (token.getKind() == TokenKind.SEPARATOR_RIGHT_PARENTHESIS) {
 				optArgList.addOptionalArg(optArg);
 			}
-			else if (token.getKind().compareTo("Separator,") == 0){
+			else if (token.getKind() == TokenKind.SEPARATOR_COMMA){
 				this.accept_it();
 				optArgList.addOptionalArg(optArg);
-				Token arg = this.expect("Identifier");
+				Token arg = this.expect(TokenKind.IDENTIFIER);
 				optArg = new OptionalArgumentNode(arg.getLine(),arg.getColumn());
 				optArg.setName(arg);
 			}
@@ -390,17 +383,17 @@ public class PythonParser extends Parser {
 		ActualOptionalArgumentNode optArg = new ActualOptionalArgumentNode(name.getLine(),name.getColumn());
 		optArg.setName(name);
 		Token token = this.show_next();
-		while (token.getKind().compareTo("Separator)") != 0) {
-			this.expect("Operator=");
+		while (token.getKind() != TokenKind.SEPARATOR_RIGHT_PARENTHESIS) {
+			this.expect(TokenKind.OPERATOR_ASSIGN);
 			optArg.setValue(this.parse_expression());
 			token = this.show_next();
-			if (token.getKind().compareTo("Separator)") == 0) {
+			if (token.getKind() == TokenKind.SEPARATOR_RIGHT_PARENTHESIS) {
 				optArgList.addOptionalArg(optArg);
 			}
-			else if (token.getKind().compareTo("Separator,") == 0){
+			else if (token.getKind() == TokenKind.SEPARATOR_COMMA){
 				this.accept_it();
 				optArgList.addOptionalArg(optArg);
-				Token arg = this.expect("Identifier");
+				Token arg = this.expect(TokenKind.IDENTIFIER);
 				optArg = new ActualOptionalArgumentNode(arg.getLine(), arg.getColumn());
 				optArg.setName(arg);
 			}
@@ -419,21 +412,20 @@ public class PythonParser extends Parser {
 		Token token;
 		token = this.show_next();
 		BodyNode node = new BodyNode(token.getLine(), token.getColumn());
-		while (token != null && token.getKind().compareTo("CarriageReturn") == 0) {
+		while (token != null && token.getKind() == TokenKind.CARRIAGE_RETURN) {
 			this.accept_it();
 			token = this.show_next();
 		}
-		if (token != null && token.getKind().compareTo("SeparatorTab") == 0 && this.sizeOfTab(token) == this.current_tab) {
+		if (token != null && token.getKind() == TokenKind.SEPARATOR_TAB && this.sizeOfTab(token) == this.current_tab) {
 			accept_it();
 		}
 		else {
-			System.err.println("\nError at (" + token.getLine() + " , " + token.getColumn() + "): Expected Indent but got " + token.getValue() + " instead.");
-			throw new ParseException("", 0);
+			throw new ParseException("Error at (" + token.getLine() + " , " + token.getColumn() + "): Expected Indent but got " + token.getValue() + " instead.", 0);
 		}
 		node.addStatement(parse_statement());
 		//Next statements
 		token = this.show_next();
-		while (token != null && token.getKind().compareTo("SeparatorTab") == 0 && this.sizeOfTab(token) == this.current_tab) {
+		while (token != null && token.getKind() == TokenKind.SEPARATOR_TAB && this.sizeOfTab(token) == this.current_tab) {
 			this.accept_it();
 			node.addStatement(this.parse_statement());
 			token = this.show_next();
@@ -457,90 +449,242 @@ public class PythonParser extends Parser {
 			node.setRightMember(this.parse_expression());
 		}
 		else {
-			System.err.println("\nError at (" + token.getLine() + " , " + token.getColumn() + "): Expected Assignment Operator but got " + token.getValue() + " instead.");
-			throw new ParseException("", 0);
+			throw new ParseException("Error at (" + token.getLine() + " , " + token.getColumn() + "): Expected Assignment Operator but got " + token.getValue() + " instead.", 0);
 		}
 		return node;
 	}
 	
+	/**
+	 * Returns the precedence of the given binary operator, the operators of higher precedence being applied first.
+	 * The power, right-associative and applied before the unary operators on its left, is parsed apart.
+	 * @param kind Kind of the operator.
+	 * @return The precedence of the operator, or 0 if it is not a binary operator parsed by precedence.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static int precedence(TokenKind kind) {
+		switch (kind) {
+		case KEYWORD_OR :
+			return 1;
+		case KEYWORD_AND :
+			return 2;
+		case OPERATOR_LESS_EQUAL :
+		case OPERATOR_GREATER_EQUAL :
+		case OPERATOR_EQUAL :
+		case OPERATOR_NOT_EQUAL :
+		case OPERATOR_LESS :
+		case OPERATOR_GREATER :
+			return PythonParser.COMPARISON_PRECEDENCE;
+		case OPERATOR_PLUS :
+		case OPERATOR_MINUS :
+			return 5;
+		case OPERATOR_MULTIPLY :
+		case OPERATOR_FLOOR_DIVIDE :
+		case OPERATOR_DIVIDE :
+		case OPERATOR_MODULO :
+			return 6;
+		default :
+			return 0;
+		}
+	}
+
 	/**
 	 * Parses an expression.
-	 * @return The Expression node generated from the parsing.
+	 * @return The Expression node generated from the parsing, or null if no expression starts at the next token.
 	 * @throws ParseException When an error is encountered during the parsing
 	 * @author C.Silva, R.Cuinat
 	 */
 	private ExpressionNode parse_expression() throws ParseException{
 		Token token = this.show_next();
-		if (token != null && token.getKind().compareTo("Separator(") == 0) { //expression between parenthesis
-			this.accept_it();
-			ExpressionNode subExp = this.parse_expression();
-			this.expect("Separator)");
-			token = this.show_next();
-			if (token == null || PythonParser.expression_enders.contains(token.getKind())) {
-				return subExp;
+		if (token == null || !PythonParser.expression_starters.contains(token.getKind())) {
+			return null;
+		}
+		return this.parse_operation(this.parse_unary(), 1);
+	}
+
+	/**
+	 * Parses the operations following the given operand by precedence climbing : the operations of the same precedence are grouped from left to right in a loop,
+	 * and only the operands of operators of higher precedence are parsed recursively.
+	 * As in python, a &lt; b &lt; c is parsed as a &lt; b and b &lt; c. The middle operand b is copied, so it must give the same value when evaluated twice :
+	 * a chained comparison whose middle operand calls a function, or is not a number, is rejected.
+	 * @param left First operand, already parsed.
+	 * @param min Lowest precedence of the operators to parse.
+	 * @return The Expression node generated from the parsing.
+	 * @throws ParseException When an error is encountered during the parsing
+	 * @author C.Silva, R.Cuinat
+	 */
+	private ExpressionNode parse_operation(ExpressionNode left, int min) throws ParseException{
+		Token token = this.show_next();
+		OperationExpressionNode comparison = null;
+		while (token != null && PythonParser.operators.contains(token.getKind()) && PythonParser.precedence(token.getKind()) >= min) {
+			int precedence = PythonParser.precedence(token.getKind());
+			ExpressionNode middle = comparison == null || precedence != PythonParser.COMPARISON_PRECEDENCE ? null : PythonParser.copy_operand(comparison.getRightMember().getExpression());
+			OperationExpressionNode operation = new OperationExpressionNode(token.getLine(), token.getColumn());
+			operation.setLeftMember(middle == null ? left : middle);
+			operation.setOperator(this.accept_it());
+			operation.setRightMember(this.parse_operation(this.parse_unary(), precedence + 1));
+			if (middle == null && comparison != null && precedence == PythonParser.COMPARISON_PRECEDENCE) {
+				throw new ParseException("Error at (" + token.getLine() + " , " + token.getColumn() + "): Chained comparison whose middle operand calls a function or is not a number is not supported.", 0);
 			}
-			if (PythonParser.operators.contains(token.getKind())){// operation between parenthesis
-				OperationExpressionNode operationNode = new OperationExpressionNode(token.getLine(), token.getColumn());
-				operationNode.setLeftMember(subExp);
-				operationNode.setOperator(this.accept_it());
-				operationNode.setRightMember(this.parse_expression());
-				return operationNode;
+			if (middle != null) { // chained comparison
+				OperationExpressionNode and = new OperationExpressionNode(token.getLine(), token.getColumn());
+				and.setLeftMember(left);
+				and.setOperator(new Token(TokenKind.KEYWORD_AND, "and", token.getLine(), token.getColumn()));
+				and.setRightMember(operation);
+				left = and;
 			}
 			else {
-				System.err.println("\nError at (" + token.getLine() + " , " + token.getColumn() + "): Expected Operator but got " + token.getValue() + " instead.");
-				throw new ParseException("", 0);
+				left = operation;
 			}
-			
-		}
-		else if (token != null && token.getKind().compareTo("Identifier") == 0) { // Expression starting with identifier
-			Token name = this.accept_it();
-			ExpressionNode expression = new IdentifierNode(name);
+			comparison = precedence == PythonParser.COMPARISON_PRECEDENCE ? operation : null;
 			token = this.show_next();
-			if (token == null || PythonParser.expression_enders.contains(token.getKind())) { //End with the identifier
-				return expression;
+		}
+		return left;
+	}
+
+	/**
+	 * Creates a copy of the given operand of a chained comparison, if evaluating it twice gives the same value.
+	 * @param operand The operand.
+	 * @return A copy of the identifier, of the constant or of the operation on such operands, or null for any other expression.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static ExpressionNode copy_operand(ExpressionNode operand) {
+		int line = operand.getLine();
+		int column = operand.getColumn();
+		if (operand instanceof IdentifierNode) {
+			return new IdentifierNode(new Token(TokenKind.IDENTIFIER, ((IdentifierNode) operand).getName(), line, column));
+		}
+		else if (operand instanceof IntegerNode) {
+			return new IntegerNode(((IntegerNode) operand).getValue(), line, column);
+		}
+		else if (operand instanceof FloatNode) {
+			return new FloatNode(((FloatNode) operand).getValue(), line, column);
+		}
+		else if (operand instanceof TrueNode) {
+			return new TrueNode(line, column);
+		}
+		else if (operand instanceof FalseNode) {
+			return new FalseNode(line, column);
+		}
+		else if (operand instanceof OperationExpressionNode) {
+			OperationExpressionNode operation = (OperationExpressionNode) operand;
+			ExpressionNode left = PythonParser.copy_operand(operation.getLeftMember().getExpression());
+			ExpressionNode right = PythonParser.copy_operand(operation.getRightMember().getExpression());
+			if (left == null || right == null) {
+				return null;
 			}
-			if (token.getKind().compareTo("Separator(") == 0) { // Function call
-				expression = new FunctionCallNode(token.getLine(), token.getColumn());
-				((FunctionCallNode)expression).setName(name);
-				this.accept_it();
-				((FunctionCallNode)expression).setArgList(this.parse_call_arguments());
-				this.expect("Separator)");
-				token = this.show_next();
-				if (token == null || PythonParser.expression_enders.contains(token.getKind())) { //End with the function call
-					return expression;
-				}
+			OperationExpressionNode copy = new OperationExpressionNode(line, column);
+			copy.setLeftMember(left);
+			copy.setOperator(new OperatorNode(operation.getOperator(), operation.getOperator().getLine(), operation.getOperator().getColumn()));
+			copy.setRightMember(right);
+			return copy;
+		}
+		return null;
+	}
+
+	/**
+	 * Parses an operand, preceded by unary operators if any. The not operator applies to the comparisons following it,
+	 * the unary minus and plus to the power following them. As the AST has no unary operation, not x is parsed as x == 0,
+	 * the opposite of a constant as a negative constant, and the opposite of any other expression as 0 - x.
+	 * @return The Expression node generated from the parsing.
+	 * @throws ParseException When an error is encountered during the parsing
+	 * @author C.Silva, R.Cuinat
+	 */
+	private ExpressionNode parse_unary() throws ParseException{
+		Token token = this.show_next();
+		if (token != null && token.getKind() == TokenKind.KEYWORD_NOT) {
+			this.accept_it();
+			ExpressionNode operand = this.parse_operation(this.parse_unary(), PythonParser.COMPARISON_PRECEDENCE);
+			OperationExpressionNode operation = new OperationExpressionNode(token.getLine(), token.getColumn());
+			operation.setLeftMember(operand);
+			operation.setOperator(new Token(TokenKind.OPERATOR_EQUAL, "==", token.getLine(), token.getColumn()));
+			operation.setRightMember(new IntegerNode(0, token.getLine(), token.getColumn()));
+			return operation;
+		}
+		if (token != null && token.getKind() == TokenKind.OPERATOR_PLUS) {
+			this.accept_it();
+			return this.parse_unary();
+		}
+		if (token != null && token.getKind() == TokenKind.OPERATOR_MINUS) {
+			this.accept_it();
+			ExpressionNode operand = this.parse_unary();
+			if (operand instanceof IntegerNode) {
+				return new IntegerNode(-((IntegerNode) operand).getValue(), token.getLine(), token.getColumn());
 			}
-			if (PythonParser.operators.contains(token.getKind())){ //Operation
-				OperationExpressionNode operation = new OperationExpressionNode(token.getLine(), token.getColumn());
-				operation.setLeftMember(expression);
-				operation.setOperator(this.accept_it());
-				operation.setRightMember(this.parse_expression());
-				return operation;
+			if (operand instanceof FloatNode) {
+				return new FloatNode(-((FloatNode) operand).getValue(), token.getLine(), token.getColumn());
 			}
-			else {
-				System.err.println("\nError at (" + token.getLine() + " , " + token.getColumn() + "): Expected Operator but got " + token.getValue() + " instead.");
-				throw new ParseException("", 0);
-			}	
+			OperationExpressionNode operation = new OperationExpressionNode(token.getLine(), token.getColumn());
+			operation.setLeftMember(new IntegerNode(0, token.getLine(), token.getColumn()));
+			operation.setOperator(new Token(TokenKind.OPERATOR_MINUS, "-", token.getLine(), token.getColumn()));
+			operation.setRightMember(operand);
+			return operation;
+		}
+		return this.parse_power(this.parse_primary());
+	}
+
+	/**
+	 * Parses the power of the given operand, if any. The power is right-associative and its exponent may be preceded by unary operators.
+	 * @param base Operand already parsed.
+	 * @return The Expression node generated from the parsing.
+	 * @throws ParseException When an error is encountered during the parsing
+	 * @author C.Silva, R.Cuinat
+	 */
+	private ExpressionNode parse_power(ExpressionNode base) throws ParseException{
+		Token token = this.show_next();
+		if (token == null || token.getKind() != TokenKind.OPERATOR_POWER) {
+			return base;
+		}
+		OperationExpressionNode operation = new OperationExpressionNode(token.getLine(), token.getColumn());
+		operation.setLeftMember(base);
+		operation.setOperator(this.accept_it());
+		operation.setRightMember(this.parse_unary());
+		return operation;
+	}
+
+	/**
+	 * Parses an expression between parenthesis, an identifier, a function call or a constant.
+	 * @return The Expression node generated from the parsing.
+	 * @throws ParseException When an error is encountered during the parsing
+	 * @author C.Silva, R.Cuinat
+	 */
+	private ExpressionNode parse_primary() throws ParseException{
+		Token token = this.show_next();
+		if (token != null && token.getKind() == TokenKind.SEPARATOR_LEFT_PARENTHESIS) { //expression between parenthesis
+			this.accept_it();
+			ExpressionNode subExp = this.parse_operation(this.parse_unary(), 1);
+			this.expect(TokenKind.SEPARATOR_RIGHT_PARENTHESIS);
+			return subExp;
+		}
+		else if (token != null && token.getKind() == TokenKind.IDENTIFIER) { // Identifier or function call
+			return this.parse_name(this.accept_it());
 		}
 		else if (token != null && PythonParser.constants.contains(token.getKind())) { //Constants
-			ConstantNode node = this.create_constant(this.accept_it());
-			token = this.show_next();
-			if (token == null || PythonParser.expression_enders.contains(token.getKind())) { //End with the constant
-				return node;
-			}
-			if (PythonParser.operators.contains(token.getKind())){ //Operation
-				OperationExpressionNode operation = new OperationExpressionNode(token.getLine(), token.getColumn());
-				operation.setLeftMember(node);
-				operation.setOperator(this.accept_it());
-				operation.setRightMember(this.parse_expression());
-				return operation;
-			}
-			else {
-				System.err.println("\nError at (" + token.getLine() + " , " + token.getColumn() + "): Expected Operator but got " + token.getValue() + " instead.");
-				throw new ParseException("", 0);
-			}
+			return this.create_constant(this.accept_it());
 		}
-		return null;
+		else if (token == null) {
+			throw new ParseException("Error : Expected Expression but got the end of the file instead.", 0);
+		}
+		throw new ParseException("Error at (" + token.getLine() + " , " + token.getColumn() + "): Expected Expression but got " + token.getValue() + " instead.", 0);
+	}
+
+	/**
+	 * Parses the identifier of the given name, or the call of the function of this name.
+	 * @param name Token of the identifier, already accepted.
+	 * @return The IdentifierNode or the FunctionCallNode generated from the parsing.
+	 * @throws ParseException When an error is encountered during the parsing
+	 * @author C.Silva, R.Cuinat
+	 */
+	private ExpressionNode parse_name(Token name) throws ParseException{
+		Token token = this.show_next();
+		if (token != null && token.getKind() == TokenKind.SEPARATOR_LEFT_PARENTHESIS) { // Function call
+			FunctionCallNode function = new FunctionCallNode(token.getLine(), token.getColumn());
+			function.setName(name);
+			this.accept_it();
+			function.setArgList(this.parse_call_arguments());
+			this.expect(TokenKind.SEPARATOR_RIGHT_PARENTHESIS);
+			return function;
+		}
+		return new IdentifierNode(name);
 	}
 	
 	/**
@@ -553,67 +697,33 @@ public class PythonParser extends Parser {
 		Token token = this.show_next();
 		CallArgumentListNode argList = new CallArgumentListNode(token.getLine(), token.getColumn()-1);
 		ActualArgumentListNode mandatory = null;
-		if (token != null && token.getKind().compareTo("Separator)") != 0) {
+		if (token != null && token.getKind() != TokenKind.SEPARATOR_RIGHT_PARENTHESIS) {
 			mandatory = new ActualArgumentListNode(token.getLine(),token.getColumn());
 		}
-		while (token != null && token.getKind().compareTo("Separator)") != 0) {
-			if (PythonParser.expression_starters.contains(token.getKind())) {
-				if (token.getKind().compareTo("Identifier") != 0) {
-					ExpressionNode expression = this.parse_expression();
-					token = this.show_next();
-					if (token != null && token.getKind().compareTo("Separator)") == 0) {
-						mandatory.addArg(expression);
-					}
-					else if  (token != null && token.getKind().compareTo("Separator,") == 0) {
-						this.accept_it();
-						mandatory.addArg(expression);
-					}
-				}
-				else {
-					Token name = this.accept_it();
-					token = this.show_next();
-					if (token.getKind().compareTo("Separator)") == 0) {
-						mandatory.addArg(new IdentifierNode(name));
-					}
-					else if (token.getKind().compareTo("Operator,") == 0) {
-						mandatory.addArg(new IdentifierNode(name));
-						this.accept_it();
-					}
-					else if (token.getKind().compareTo("Operator=") == 0) {
-						argList.addOptionalArgs(this.parse_actual_optional_args(name));
-					}
-					else if (PythonParser.operators.contains(token.getKind())){
-						OperationExpressionNode operation = new OperationExpressionNode(token.getLine(), token.getColumn());
-						operation.setLeftMember(new IdentifierNode(name));
-						operation.setOperator(this.accept_it());
-						operation.setRightMember(this.parse_expression());
-						token = this.show_next();
-						if (token != null && token.getKind().compareTo("Separator)") == 0) {
-							mandatory.addArg(operation);
-						}
-						else if  (token != null && token.getKind().compareTo("Separator,") == 0) { // End with the operation
-							this.accept_it();
-							mandatory.addArg(operation);
-						}
-					}
-					else if (token.getKind().compareTo("Separator(") == 0){
-						FunctionCallNode function = new FunctionCallNode(token.getLine(), token.getColumn());
-						function.setName(name);
-						this.accept_it();
-						function.setArgList(this.parse_call_arguments());
-						this.expect("Separator)");
-						token = this.show_next();
-						if  (token != null && token.getKind().compareTo("Separator,") == 0) {
-							this.accept_it();
-						}
-						mandatory.addArg(function);
-					}
-					
+		while (token != null && token.getKind() != TokenKind.SEPARATOR_RIGHT_PARENTHESIS) {
+			if (!PythonParser.expression_starters.contains(token.getKind())) {
+				throw new ParseException("Error at (" + token.getLine() + " , " + token.getColumn() + "): Expected ) or Expression starter but got " + token.getValue() + " instead.", 0);
+			}
+			ExpressionNode expression;
+			if (token.getKind() == TokenKind.IDENTIFIER) {
+				Token name = this.accept_it();
+				token = this.show_next();
+				if (token != null && token.getKind() == TokenKind.OPERATOR_ASSIGN) {
+					argList.addOptionalArgs(this.parse_actual_optional_args(name));
+					break;
 				}
+				expression = this.parse_operation(this.parse_power(this.parse_name(name)), 1);
 			}
 			else {
-				System.err.println("\nError at (" + token.getLine() + " , " + token.getColumn() + "): Expected ) or Expression starter but got " + token.getValue() + " instead.");
-				throw new ParseException("", 0);
+				expression = this.parse_expression();
+			}
+			mandatory.addArg(expression);
+			token = this.show_next();
+			if (token != null && token.getKind() == TokenKind.SEPARATOR_COMMA) {
+				this.accept_it();
+			}
+			else if (token == null || token.getKind() != TokenKind.SEPARATOR_RIGHT_PARENTHESIS) {
+				throw new ParseException("Error at (" + (token == null ? "EOF" : token.getLine() + " , " + token.getColumn()) + "): Expected , or ) but got " + (token == null ? "the end of the file" : token.getValue()) + " instead.", 0);
 			}
 			token = this.show_next();
 		}
@@ -628,11 +738,11 @@ public class PythonParser extends Parser {
 	 * @author C.Silva, R.Cuinat
 	 */
 	private WhileStatementNode parse_while_statement() throws ParseException {
-		Token while_t = this.expect("KeywordWhile");
+		Token while_t = this.expect(TokenKind.KEYWORD_WHILE);
 		WhileStatementNode node = new WhileStatementNode(while_t.getLine(), while_t.getColumn());
 		node.setCondition(this.parse_expression());
-		this.expect("Separator:");
-		this.expect("CarriageReturn");
+		this.expect(TokenKind.SEPARATOR_COLON);
+		this.expect(TokenKind.CARRIAGE_RETURN);
 		this.current_tab ++;
 		node.setBody(this.parse_body());
 		this.current_tab --;
@@ -646,22 +756,21 @@ public class PythonParser extends Parser {
 	 * @author C.Silva, R.Cuinat
 	 */
 	private IfStatementNode parse_if_statement() throws ParseException{
-		Token if_t = this.expect("KeywordIf");
+		Token if_t = this.expect(TokenKind.KEYWORD_IF);
 		IfStatementNode node = new IfStatementNode(if_t.getLine(), if_t.getColumn());
 		IfBlockNode ifnode = new IfBlockNode(if_t.getLine(), if_t.getColumn());
 		ifnode.setCondition(this.parse_expression());
-		this.expect("Separator:");
-		this.expect("CarriageReturn");
+		this.expect(TokenKind.SEPARATOR_COLON);
+		this.expect(TokenKind.CARRIAGE_RETURN);
 		this.current_tab ++;
 		ifnode.setBody(this.parse_body());
 		this.current_tab--;
 		node.setIfBlock(ifnode);
 		Token token = this.show_next();
 		if (token.getKind() == null){
-			System.err.println("Error while parsing : inconsistent token.");
-			System.exit(1);
+			throw new CompilationException("Error while parsing : inconsistent token.");
 		}
-		while (token != null && token.getKind().compareTo("CarriageReturn") == 0) { // Multiple CarriageReturn between the if and the potential elif or else
+		while (token != null && token.getKind() == TokenKind.CARRIAGE_RETURN) { // Multiple CarriageReturn between the if and the potential elif or else
 			this.accept_it();
 			token = this.show_next();
 		}
@@ -669,27 +778,27 @@ public class PythonParser extends Parser {
 			return node;
 		}
 		if (this.current_tab > 0) { 
-			if (token.getKind().compareTo("SeparatorTab") == 0 && this.sizeOfTab(token) == this.current_tab) { // Potential Tab before block if block in another block
+			if (token.getKind() == TokenKind.SEPARATOR_TAB && this.sizeOfTab(token) == this.current_tab) { // Potential Tab before block if block in another block
 				this.accept_it();
 				token = this.show_next();
 			}
-			else if (token.getKind().compareTo("SeparatorTab") == 0){ //Change of block
+			else if (token.getKind() == TokenKind.SEPARATOR_TAB){ //Change of block
 				return node;
 				
 			}
 		}
-		while (token != null && token.getKind().compareTo("KeywordElif") == 0) { // Elif block(s)
+		while (token != null && token.getKind() == TokenKind.KEYWORD_ELIF) { // Elif block(s)
 			Token elif = this.accept_it();
 			ElifBlockNode elifnode = new ElifBlockNode(elif.getLine(), elif.getColumn());
 			elifnode.setCondition(this.parse_expression());
-			this.expect("Separator:");
-			this.expect("CarriageReturn");
+			this.expect(TokenKind.SEPARATOR_COLON);
+			this.expect(TokenKind.CARRIAGE_RETURN);
 			this.current_tab++;
 			elifnode.setBody(this.parse_body());
 			this.current_tab--;
 			node.addElifBlock(elifnode);
 			token = this.show_next();
-			while (token != null && token.getKind().compareTo("CarriageReturn") == 0) { // Multiple CarriageReturn between elifs
+			while (token != null && token.getKind() == TokenKind.CARRIAGE_RETURN) { // Multiple CarriageReturn between elifs
 				this.accept_it();
 				token = this.show_next();
 			}
@@ -697,21 +806,21 @@ public class PythonParser extends Parser {
 				return node;
 			}
 			if (this.current_tab > 0) { 
-				if (token.getKind().compareTo("SeparatorTab") == 0 && this.sizeOfTab(token) == this.current_tab) { // Potential Tab before block elif block in another block
+				if (token.getKind() == TokenKind.SEPARATOR_TAB && this.sizeOfTab(token) == this.current_tab) { // Potential Tab before block elif block in another block
 					this.accept_it();
 					token = this.show_next();
 				}
-				else if (token.getKind().compareTo("SeparatorTab") == 0){ //Change of block
+				else if (token.getKind() == TokenKind.SEPARATOR_TAB){ //Change of block
 					return node;
 					
 				}
 			}
 		}
-		if (token.getKind().compareTo("KeywordElse") == 0) {
+		if (token.getKind() == TokenKind.KEYWORD_ELSE) {
 			Token else_t = this.accept_it();
 			ElseBlockNode elsenode = new ElseBlockNode(else_t.getLine(), else_t.getColumn());
-			this.expect("Separator:");
-			this.expect("CarriageReturn");
+			this.expect(TokenKind.SEPARATOR_COLON);
+			this.expect(TokenKind.CARRIAGE_RETURN);
 			this.current_tab++;
 			elsenode.setBody(this.parse_body());
 			this.current_tab--;
@@ -727,71 +836,17 @@ public class PythonParser extends Parser {
 	 * @author C.Silva, R.Cuinat
 	 */
 	private ForStatementNode parse_for_statement() throws ParseException{
-		Token for_t = this.expect("KeywordFor");
+		Token for_t = this.expect(TokenKind.KEYWORD_FOR);
 		ForStatementNode node = new ForStatementNode(for_t.getLine(), for_t.getColumn());
-		node.setVariable(this.expect("Identifier"));
-		this.expect("KeywordIn");
+		node.setVariable(this.expect(TokenKind.IDENTIFIER));
+		this.expect(TokenKind.KEYWORD_IN);
 		node.setIterable(this.parse_expression());
-		this.expect("Separator:");
-		this.expect("CarriageReturn");
+		this.expect(TokenKind.SEPARATOR_COLON);
+		this.expect(TokenKind.CARRIAGE_RETURN);
 		this.current_tab++;
 		node.setBody(this.parse_body());
 		this.current_tab--;
 		return node;
 	}
-	
-	/**
-	 * Updates the tokenized code by removing all comments.
-	 * @throws ParseException When the removal of the comment shows a syntax error.
-	 * @author C.Silva, R.Cuinat
-	 */
-	private void remove_comments() throws ParseException{
-		ArrayList<Token> new_tokens = new ArrayList<>();
-		boolean in_comment = false;
-		boolean docstring = false;
-		Token token;
-		while (this.tokens.size() > 0) {
-			token = this.tokens.remove(0);
-			if (token.getKind().compareTo("Separator\"\"\"") == 0 || token.getKind().compareTo("Separator\'\'\'") == 0) {
-				docstring = !docstring;
-				if (docstring) {
-					if (new_tokens.size() > 0 && new_tokens.get(new_tokens.size() - 1).getKind().compareTo("CarriageReturn") != 0 && new_tokens.get(new_tokens.size() - 1).getKind().compareTo("SeparatorTab") != 0 ) {
-						System.err.println("\nError at (" + token.getLine() + " , " + token.getColumn() + "): Wrong syntax for docstring");
-						throw new ParseException("",0);
-					}
-					else {
-						while (new_tokens.size() > 0 && new_tokens.get(new_tokens.size() - 1).getKind().compareTo("SeparatorTab") == 0) {
-							new_tokens.remove(new_tokens.size() - 1);
-						}
-					}
-				}
-				else {
-					token = this.tokens.remove(0);
-					if (token != null && token.getKind().compareTo("Separator#") == 0) {
-						this.tokens.add(0, token);
-					}
-					else if (token != null && token.getKind().compareTo("CarriageReturn") != 0) {
-						System.err.println("\nError at (" + token.getLine() + " , " + token.getColumn() + "): Wrong syntax for docstring");
-						throw new ParseException("",0);
-					}
-				}	
-			}
-			else if (token.getKind().compareTo("Separator#") == 0) {
-				in_comment = true;
-			}
-			else if (token.getKind().compareTo("CarriageReturn") == 0) {
-				in_comment = false;
-				if (!docstring) {
-					new_tokens.add(token);
-				}
-			}
-			else {
-				if (!in_comment && !docstring) {
-					new_tokens.add(token);
-				}
-			}
-		}
-		this.tokens = new_tokens;
-	}
 
 }
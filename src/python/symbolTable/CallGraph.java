@@ -0,0 +1,110 @@
+package python.symbolTable;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
+
+import common.ast.Node;
+import python.ast.statements.expressions.FunctionCallNode;
+
+/**
+ * Call graph of the functions of a SymbolTable : the names of the functions called in the body of every function.
+ * @author C.Silva, R.Cuinat
+ */
+public class CallGraph {
+	private final HashMap<String, FunctionSymbol> functions;
+	private final HashMap<FunctionSymbol, HashSet<String>> calls;
+
+	/**
+	 * Constructor of the class. Builds the call graph of the functions of the given SymbolTable.
+	 * @param st SymbolTable containing the functions.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public CallGraph(SymbolTable st) {
+		this.functions = new HashMap<>();
+		this.calls = new HashMap<>();
+		for (FunctionSymbol func : st.getFunctions()) {
+			if (func.getNode() != null && func.getNode().getBody() != null) {
+				HashSet<String> called = new HashSet<>();
+				CallGraph.collect_calls(func.getNode().getBody(), called);
+				this.functions.put(func.getName(), func);
+				this.calls.put(func, called);
+			}
+		}
+	}
+
+	/**
+	 * Returns the functions called by the given function.
+	 * @param func The function.
+	 * @return The names of the called functions, including the builtins (print, range), or an empty set if the function is unknown.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public Set<String> getCalled(FunctionSymbol func) {
+		HashSet<String> called = this.calls.get(func);
+		return called == null ? new HashSet<String>() : called;
+	}
+
+	/**
+	 * Returns the function of the given name.
+	 * @param name Name of the function.
+	 * @return The function, or null if it is not in the graph (a builtin, or a function without body).
+	 * @author C.Silva, R.Cuinat
+	 */
+	public FunctionSymbol getFunction(String name) {
+		return this.functions.get(name);
+	}
+
+	/**
+	 * Tells whether the given function calls itself, directly or through other functions.
+	 * @param func The function.
+	 * @return true if the function is recursive.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public boolean isRecursive(FunctionSymbol func) {
+		return this.getReachable(this.getCalled(func)).contains(func.getName());
+	}
+
+	/**
+	 * Returns the functions reachable from the given calls. The graph is traversed once, with a worklist of the functions reached
+	 * whose calls are not followed yet, so that every function and every call is visited at most once.
+	 * @param called Names of the called functions.
+	 * @return The names of the functions called, directly or not, by the given calls, including the called functions themselves.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public Set<String> getReachable(Collection<String> called) {
+		HashSet<String> reached = new HashSet<>();
+		ArrayDeque<FunctionSymbol> worklist = new ArrayDeque<>();
+		for (String name : called) {
+			if (this.functions.containsKey(name) && reached.add(name)) {
+				worklist.add(this.functions.get(name));
+			}
+		}
+		while (!worklist.isEmpty()) {
+			for (String name : this.getCalled(worklist.poll())) {
+				if (this.functions.containsKey(name) && reached.add(name)) {
+					worklist.add(this.functions.get(name));
+				}
+			}
+		}
+		return reached;
+	}
+
+	/**
+	 * Gathers the names of the functions called in the given subtree.
+	 * @param node Root of the subtree.
+	 * @param called Set receiving the names of the called functions.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static void collect_calls(Node node, HashSet<String> called) {
+		if (node instanceof FunctionCallNode) {
+			called.add(((FunctionCallNode) node).getName().getName());
+		}
+		for (Node child : node.getChildren()) {
+			if (child != null) {
+				CallGraph.collect_calls(child, called);
+			}
+		}
+	}
+}
@@ -19,6 +19,7 @@ public class FunctionSymbol {
 	private AbstractType returnedType;
 	private final ArrayList<ArgumentSymbol> mandatoryArgs;
 	private final ArrayList<OptionalArgumentSymbol> optionalArgs;
+	private SymbolTable table;
 
 	/**
 	 * Constructor of the class.
@@ -149,5 +150,17 @@ public class FunctionSymbol {
 	 */
 	public void setReturnedType(AbstractType result) {
 		this.returnedType = result;
+		if (this.table != null) {
+			this.table.touch();
+		}
+	}
+
+	/**
+	 * Setter of the table field.
+	 * @param table SymbolTable this function was added to.
+	 * @author C.Silva, R.Cuinat
+	 */
+	void setTable(SymbolTable table) {
+		this.table = table;
 	}
 }
@@ -22,9 +22,7 @@ public class OptionalArgumentSymbol {
 	public OptionalArgumentSymbol(OptionalArgumentNode node, SymbolTable st) {
 		this.node = node;
 		this.name = node.getName().getName();
-		TypeDiscovererVisitor td = new TypeDiscovererVisitor(st);
-		node.getDefault().accept(td);
-		this.type = td.getResult();
+		this.type = TypeDiscovererVisitor.typeOf(node.getDefault(), st);
 	}
 
 	/**
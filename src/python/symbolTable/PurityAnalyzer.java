@@ -0,0 +1,123 @@
+package python.symbolTable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+
+import common.ast.Node;
+import python.symbolTable.types.AbstractType;
+import python.ast.statements.blocks.FunctionDefinitionNode;
+
+/**
+ * Analysis of the purity of the functions of a SymbolTable. A function is pure when its result only depends on its arguments :
+ * its arguments and its result are numbers (Integer or Double), it has no optional argument, and it only calls pure functions (print is not), as found in the CallGraph.
+ * The functions cannot write the variables of the main program, which are local to the main function of the generated code.
+ * @author C.Silva, R.Cuinat
+ */
+public class PurityAnalyzer {
+	private static final List<String> pureBuiltins = Arrays.asList("range");
+	private final CallGraph graph;
+	private final HashMap<String, FunctionSymbol> pure;
+
+	/**
+	 * Constructor of the class. Analyzes the functions of the given SymbolTable.
+	 * @param st SymbolTable containing the functions, whose types are known.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public PurityAnalyzer(SymbolTable st) {
+		this.graph = new CallGraph(st);
+		this.pure = new HashMap<>();
+		for (FunctionSymbol func : st.getFunctions()) {
+			if (func.getNode() != null && func.getNode().getBody() != null && PurityAnalyzer.has_numeric_signature(func)
+					&& !PurityAnalyzer.defines_function(func.getNode().getBody())) {
+				this.pure.put(func.getName(), func);
+			}
+		}
+		boolean progress = true;
+		while (progress) {
+			progress = false;
+			for (FunctionSymbol func : new ArrayList<>(this.pure.values())) {
+				for (String name : this.graph.getCalled(func)) {
+					if (!this.pure.containsKey(name) && !PurityAnalyzer.pureBuiltins.contains(name)) {
+						this.pure.remove(func.getName());
+						progress = true;
+						break;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Tells whether the given function is pure.
+	 * @param func The function.
+	 * @return true if the function is pure.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public boolean isPure(FunctionSymbol func) {
+		return this.pure.get(func.getName()) == func;
+	}
+
+	/**
+	 * Returns the functions worth memoizing : the pure functions which call themselves, directly or through other pure functions.
+	 * @return The recursive pure functions.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public HashSet<FunctionSymbol> getRecursivePureFunctions() {
+		HashSet<FunctionSymbol> result = new HashSet<>();
+		for (FunctionSymbol func : this.pure.values()) {
+			if (this.graph.isRecursive(func)) {
+				result.add(func);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Tells whether the arguments and the result of the given function are numbers.
+	 * @param func The function.
+	 * @return true if the function only has Integer or Double mandatory arguments and returns an Integer or a Double.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static boolean has_numeric_signature(FunctionSymbol func) {
+		if (!func.getOptionals().isEmpty() || !PurityAnalyzer.is_numeric(func.getReturnedType())) {
+			return false;
+		}
+		for (ArgumentSymbol arg : func.getMandatoryArgs()) {
+			if (!PurityAnalyzer.is_numeric(arg.getType())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Tells whether the given type is a number.
+	 * @param type The type.
+	 * @return true for the Integer and Double types.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static boolean is_numeric(AbstractType type) {
+		return type != null && (type.getName().compareTo("Integer") == 0 || type.getName().compareTo("Double") == 0);
+	}
+
+	/**
+	 * Tells whether the given subtree defines a function.
+	 * @param node Root of the subtree.
+	 * @return true if the subtree contains a function definition.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static boolean defines_function(Node node) {
+		if (node instanceof FunctionDefinitionNode) {
+			return true;
+		}
+		for (Node child : node.getChildren()) {
+			if (child != null && PurityAnalyzer.defines_function(child)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
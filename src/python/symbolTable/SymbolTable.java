@@ -1,8 +1,10 @@
 package python.symbolTable;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 
 import common.lexer.Token;
+import common.lexer.TokenKind;
 import python.symbolTable.types.StringType;
 import python.ast.other.arguments.formal.MandatoryArgumentNode;
 import python.ast.statements.blocks.FunctionDefinitionNode;
@@ -10,56 +12,85 @@ import python.ast.statements.expressions.IdentifierNode;
 
 /**
  * Class defining a symbol table gathering the variables and functions of an AST.
+ * A table is a scope : it holds the symbols declared in it and sees the symbols of its parent scope.
+ * The symbols are indexed by name, and a symbol of a scope hides the symbols of the same name of the parent scopes.
+ * Every scope has a revision, incremented whenever one of its symbols is added or retyped : the types of expressions cached on the AST
+ * (see ExpressionNode) are only valid as long as the revisions of the scope they were computed in and of its parents are unchanged.
  * @author C.Silva, R.Cuinat
  */
 public class SymbolTable {
+	private final SymbolTable parent;
+	private long revision;
 	private final ArrayList<VariableSymbol> variables;
 	private final ArrayList<FunctionSymbol> functions;
+	private final HashMap<String, VariableSymbol> variablesByName;
+	private final HashMap<String, FunctionSymbol> functionsByName;
 
 	/**
-	 * Constructor of the class.
+	 * Constructor of the class. Creates the global scope, which only contains the builtin functions.
 	 * @author C.Silva, R.Cuinat
 	 */
 	public SymbolTable() {
+		this.parent = null;
+		this.revision = 0;
 		this.variables = new ArrayList<>();
 		this.functions = new ArrayList<>();
+		this.variablesByName = new HashMap<>();
+		this.functionsByName = new HashMap<>();
 		FunctionDefinitionNode node = new FunctionDefinitionNode(0, 0);
-		node.setName(new Token("Identifier", "print", 0, 0));
+		node.setName(new Token(TokenKind.IDENTIFIER, "print", 0, 0));
 		FunctionSymbol print = new FunctionSymbol(node);
-		MandatoryArgumentNode arg = new MandatoryArgumentNode(new Token("Identifier", "string", 0, 0));
+		MandatoryArgumentNode arg = new MandatoryArgumentNode(new Token(TokenKind.IDENTIFIER, "string", 0, 0));
 		print.addArg(arg);
 		ArgumentSymbol argsymbol = print.getMandatoryArgs().get(0);
 		argsymbol.setType(new StringType());
-		this.functions.add(print);
+		this.addFunction(print);
 	}
 
 	/**
-	 * Constructor of the class. This constructor is to be used to initialize a new SymbolTable with an existing one.
-	 * @param symbolTable SymbolTable use to initialize the new one.
+	 * Constructor of the class. Creates a new scope inside the given one.
+	 * The symbols added to the new scope are not visible from the given one, whereas the symbols of the given one stay visible from the new scope.
+	 * @param symbolTable The enclosing scope.
 	 * @author C.Silva, R.Cuinat
 	 */
-	@SuppressWarnings("unchecked")
 	public SymbolTable(SymbolTable symbolTable) {
-		this.variables = (ArrayList<VariableSymbol>)symbolTable.getVariables().clone();
-		this.functions = (ArrayList<FunctionSymbol>)symbolTable.getFunctions().clone();
+		this.parent = symbolTable;
+		this.revision = 0;
+		this.variables = new ArrayList<>();
+		this.functions = new ArrayList<>();
+		this.variablesByName = new HashMap<>();
+		this.functionsByName = new HashMap<>();
 	}
 
 	/**
 	 * Getter of the functions field.
-	 * @return The list of all FunctionSymbol stored in the table.
+	 * @return The list of all FunctionSymbol visible from this scope, from the outermost scope to this one.
 	 * @author C.Silva, R.Cuinat
 	 */
 	public ArrayList<FunctionSymbol> getFunctions() {
-		return this.functions;
+		if (this.parent == null) {
+			return this.functions;
+		}
+		ArrayList<FunctionSymbol> functions = this.parent.getFunctions();
+		if (this.functions.isEmpty()) {
+			return functions;
+		}
+		functions = new ArrayList<>(functions);
+		functions.addAll(this.functions);
+		return functions;
 	}
 
 	/**
-	 * Add the given VariableSymbol to this table.
+	 * Add the given VariableSymbol to this scope. If this scope already contains a variable of the same name, the table is unchanged.
 	 * @param vs Symbol to add to the table.
 	 * @author C.Silva, R.Cuinat
 	 */
 	public void addVariable(VariableSymbol vs) {
-		this.variables.add(vs);
+		if (this.variablesByName.putIfAbsent(vs.getName(), vs) == null) {
+			this.variables.add(vs);
+			vs.setTable(this);
+			this.touch();
+		}
 	}
 
 	/**
@@ -72,8 +103,19 @@ public class SymbolTable {
 		if (name == null) {
 			return null;
 		}
-		for (VariableSymbol variable : this.variables) {
-			if (variable.getName().compareTo(name.getName()) == 0) {
+		return this.getVariableByName(name.getName());
+	}
+
+	/**
+	 * Gets the VariableSymbol of the given name, looking from this scope to the outermost one.
+	 * @param name Name of the variable to retrieve.
+	 * @return The matching VariableSymbol. null if none.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public VariableSymbol getVariableByName(String name) {
+		for (SymbolTable scope = this; scope != null; scope = scope.parent) {
+			VariableSymbol variable = scope.variablesByName.get(name);
+			if (variable != null) {
 				return variable;
 			}
 		}
@@ -90,8 +132,9 @@ public class SymbolTable {
 		if (name == null) {
 			return null;
 		}
-		for (FunctionSymbol function : this.functions) {
-			if (function.getName().compareTo(name.getName()) == 0) {
+		for (SymbolTable scope = this; scope != null; scope = scope.parent) {
+			FunctionSymbol function = scope.functionsByName.get(name.getName());
+			if (function != null) {
 				return function;
 			}
 		}
@@ -100,10 +143,37 @@ public class SymbolTable {
 
 	/**
 	 * Getter of the variables field.
-	 * @return The list of all VariableSymbol of this table.
+	 * @return The list of all VariableSymbol visible from this scope, from the outermost scope to this one.
 	 * @author C.Silva, R.Cuinat
 	 */
 	public ArrayList<VariableSymbol> getVariables() {
+		if (this.parent == null) {
+			return this.variables;
+		}
+		ArrayList<VariableSymbol> variables = this.parent.getVariables();
+		if (this.variables.isEmpty()) {
+			return variables;
+		}
+		variables = new ArrayList<>(variables);
+		variables.addAll(this.variables);
+		return variables;
+	}
+
+	/**
+	 * Returns the functions declared in this scope, in the order they were added.
+	 * @return The list of the FunctionSymbol of this scope only.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public ArrayList<FunctionSymbol> getLocalFunctions() {
+		return this.functions;
+	}
+
+	/**
+	 * Returns the variables declared in this scope, in the order they were added.
+	 * @return The list of the VariableSymbol of this scope only.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public ArrayList<VariableSymbol> getLocalVariables() {
 		return this.variables;
 	}
 
@@ -115,11 +185,11 @@ public class SymbolTable {
 	@Override
 	public String toString() {
 		StringBuilder s = new StringBuilder("Variables\n");
-		for (VariableSymbol var : this.variables) {
+		for (VariableSymbol var : this.getVariables()) {
 			s.append(var.getName()).append(" : ").append(var.getType().getName()).append("\n");
 		}
 		s.append("Functions\n");
-		for (FunctionSymbol func : this.functions) {
+		for (FunctionSymbol func : this.getFunctions()) {
 			s.append(func.getReturnedType()).append(" ").append(func.getName()).append("(");
 			for (int i=0;i<func.getMandatoryArgs().size();i++) {
 				s.append(func.getMandatoryArgs().get(i).getType()).append(" ").append(func.getMandatoryArgs().get(i).getName());
@@ -142,22 +212,46 @@ public class SymbolTable {
 	}
 
 	/**
-	 * Returns a copy of this symbolTable.
-	 * @return A copy of this object.
+	 * Returns the revision of the symbols visible from this scope : the sum of the revisions of this scope and of its parents.
+	 * @return A number incremented whenever a symbol of this scope or of a parent scope is added or retyped.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public long getRevision() {
+		long revision = 0;
+		for (SymbolTable scope = this; scope != null; scope = scope.parent) {
+			revision += scope.revision;
+		}
+		return revision;
+	}
+
+	/**
+	 * Increments the revision of this scope, invalidating the types cached for it and for the scopes inside it.
 	 * @author C.Silva, R.Cuinat
 	 */
-	public SymbolTable save() {
-		return new SymbolTable(this);
+	void touch() {
+		this.revision ++;
 	}
 
 	/**
-	 * Adds a FunctionSymbol to this SymbolTable.
+	 * Getter of the parent field.
+	 * @return The scope enclosing this one. null for the global scope.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public SymbolTable getParent() {
+		return this.parent;
+	}
+
+	/**
+	 * Adds a FunctionSymbol to this SymbolTable. If this scope already contains a function of the same name, the table is unchanged.
 	 * @param func The function to add.
 	 * @author C.Silva, R.Cuinat
 	 */
 	public void addFunction(FunctionSymbol func) {
-		this.functions.add(func);
-		
+		if (this.functionsByName.putIfAbsent(func.getName(), func) == null) {
+			this.functions.add(func);
+			func.setTable(this);
+			this.touch();
+		}
 	}
 
 	/**
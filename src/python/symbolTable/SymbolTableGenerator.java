@@ -13,8 +13,8 @@ public class SymbolTableGenerator {
 	private SymbolTable symbolTable;
 
 	/**
-	 * Constructor of the class.
-	 * @param symbolTable SymbolTable to fill.
+	 * Constructor of the class. The generated table is a new scope inside the given one.
+	 * @param symbolTable SymbolTable of the enclosing scope.
 	 * @author C.Silva, R.Cuinat
 	 */
 	public SymbolTableGenerator(SymbolTable symbolTable) {
@@ -24,6 +24,7 @@ public class SymbolTableGenerator {
 
 	/**
 	 * Factory method which fills the symbolTable with information extracted from an AST (or subtree).
+	 * The return types are discovered for the functions declared in the subtree, those of the enclosing scopes being already known.
 	 * @param node Root node of the tree to process.
 	 * @return The generated symbolTable.
 	 */
@@ -32,12 +33,18 @@ public class SymbolTableGenerator {
 		this.symbolTable = vs.startVisit(node);
 		FunctionSearcherVisitor fsv = new FunctionSearcherVisitor(this.symbolTable);
 		this.symbolTable = fsv.startVisit(node);
+		// The return type of a function may depend on the one of a function declared after it : the discovery is repeated until it does not progress.
 		ReturnDiscovererVisitor rdv;
-		for (FunctionSymbol func : this.symbolTable.getFunctions().subList(1, this.symbolTable.getFunctions().size())) {
-			if (func.getReturnedType().getName().compareTo("Undefined") == 0) {
-				rdv = new ReturnDiscovererVisitor(this.symbolTable);
-				func.getNode().accept(rdv);
-				func.setReturnedType(rdv.getResult());
+		boolean progress = true;
+		while (progress) {
+			progress = false;
+			for (FunctionSymbol func : this.symbolTable.getLocalFunctions()) {
+				if (func.getReturnedType().getName().compareTo("Undefined") == 0) {
+					rdv = new ReturnDiscovererVisitor(this.symbolTable);
+					func.getNode().accept(rdv);
+					func.setReturnedType(rdv.getResult());
+					progress |= func.getReturnedType().getName().compareTo("Undefined") != 0;
+				}
 			}
 		}
 		vs = new VariableSearcherVisitor(this.symbolTable);
@@ -14,6 +14,7 @@ public class VariableSymbol {
 	private final Node node;
 	private final String name;
 	private AbstractType type;
+	private SymbolTable table;
 
 	/**
 	 * Constructor of the class.
@@ -24,9 +25,7 @@ public class VariableSymbol {
 	public VariableSymbol(AssignmentNode node,SymbolTable st) {
 		this.node = node;
 		this.name = ((IdentifierNode)node.getLeftMember().getExpression()).getName();
-		TypeDiscovererVisitor v = new TypeDiscovererVisitor(st);
-		v.visit(node.getRightMember());
-		this.type = v.getResult();
+		this.type = TypeDiscovererVisitor.typeOf(node.getRightMember(), st);
 	}
 
 	/**
@@ -85,5 +84,17 @@ public class VariableSymbol {
 	 */
 	public void setType(AbstractType type) {
 		this.type = type;
+		if (this.table != null) {
+			this.table.touch();
+		}
+	}
+
+	/**
+	 * Setter of the table field.
+	 * @param table SymbolTable this variable was added to.
+	 * @author C.Silva, R.Cuinat
+	 */
+	void setTable(SymbolTable table) {
+		this.table = table;
 	}
 }
\ No newline at end of file
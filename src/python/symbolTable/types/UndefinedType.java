@@ -6,6 +6,7 @@ import common.ast.Node;
 
 /**
  * Class representing an undefined type.
+ * An undefined type is never modified once created, so that it can be shared by the expressions whose type is cached.
  * @author C.Silva, R.Cuinat
  */
 public class UndefinedType extends AbstractType {
@@ -22,6 +23,18 @@ public class UndefinedType extends AbstractType {
 		this.cause.add(n);
 	}
 
+	/**
+	 * Constructor of the class used to gather the causes of two undefined types.
+	 * @param first First undefined type.
+	 * @param second Second undefined type.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private UndefinedType(UndefinedType first, UndefinedType second) {
+		this.name = "Undefined";
+		this.cause = new ArrayList<>(first.cause);
+		this.cause.addAll(second.cause);
+	}
+
 	/**
 	 * Determine the resulting type of an operation between this type and an IntegerType.
 	 * @param type Type of the second operand of this operation
@@ -58,13 +71,12 @@ public class UndefinedType extends AbstractType {
 	/**
 	 * Determine the resulting type of an operation between this type and an UndefinedType.
 	 * @param type Type of the second operand of this operation
-	 * @return This type.
+	 * @return An undefined type gathering the causes of both types.
 	 * @author C.Silva, R.Cuinat
 	 */
 	@Override
 	public AbstractType operationWith(UndefinedType type) {
-		this.cause.addAll(type.getCause());
-		return this;
+		return new UndefinedType(this, type);
 	}
 
 	/**
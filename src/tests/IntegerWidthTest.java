@@ -0,0 +1,84 @@
+package tests;
+
+import common.CompilationException;
+import common.log.Log;
+import python.Compiler;
+import python.CompilerOptions;
+
+/**
+ * Test of the widths of the integers : small programs are translated with the obfuscation level CONSTANTS, and their c code must declare
+ * the integers beyond 32 bits as int64_t and write the constants beyond 32 bits with the LL suffix, their obfuscated code too.
+ * A constant beyond 32 bits printed or raised to a power makes the helpers work on int64_t.
+ * The integers fitting in 32 bits stay int. The literals beyond 64 bits are rejected.
+ * Usage : java tests.IntegerWidthTest
+ * @author C.Silva, R.Cuinat
+ */
+public class IntegerWidthTest {
+	private static final String FACT = "def fact(n) :\n    if n < 2 :\n        return 1\n    else :\n        return n * fact(n - 1)\n\n";
+
+	/**
+	 * Main method of the test.
+	 * @param args Unused.
+	 * @throws AssertionError When a program is not translated as expected.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public static void main(String[] args) {
+		CompilerOptions options = CompilerOptions.parse(new String[] {"--quiet", "--obfuscation=constants"});
+		Log.configure(options.getLevel(), options.getTraced());
+		Compiler compiler = new Compiler();
+		int failures = 0;
+		failures += IntegerWidthTest.check(compiler, options, "literal", "x = 3000000000\nwhile x > 7 :\n    x = x // 2\nprint(x)\n", "3000000000LL", true);
+		failures += IntegerWidthTest.check(compiler, options, "negative literal", "x = 0 - 3000000000\nwhile x < 0 :\n    x = x + 7\nprint(x)\n", "-3000000000LL", true);
+		failures += IntegerWidthTest.check(compiler, options, "largest literal", "x = 9223372036854775807\nwhile x > 7 :\n    x = x // 2\nprint(x)\n", "9223372036854775807LL", true);
+		failures += IntegerWidthTest.check(compiler, options, "folded power", "x = 2 ** 40 + 1\nwhile x > 7 :\n    x = x // 2\nprint(x)\n", "1099511627777LL", true);
+		failures += IntegerWidthTest.check(compiler, options, "printed folded power", "p = 2\nq = 40\nr = p ** q\nprint(r)\n", "1099511627776LL", true);
+		failures += IntegerWidthTest.check(compiler, options, "factorial", IntegerWidthTest.FACT + "f = fact(20)\nif f == 2432902008176640000 :\n    print(f)\nprint(\"end\")\n",
+				"2432902008176640000LL", true);
+		failures += IntegerWidthTest.check(compiler, options, "int32", "i = 0\nwhile i < 2147483647 :\n    i = i + 1\nprint(i)\n", "2147483647", false);
+		try {
+			compiler.translate("beyond 64 bits", "x = 9223372036854775808\nprint(x)\n", options);
+			System.out.println("beyond 64 bits : FAILED (translated)");
+			failures++;
+		}
+		catch (CompilationException e) {
+			System.out.println("beyond 64 bits : OK (" + e.getMessage() + ")");
+		}
+		if (failures != 0) {
+			throw new AssertionError(failures + " program(s) failed.");
+		}
+	}
+
+	/**
+	 * Translates a program and checks its codes.
+	 * @param compiler Compiler translating the program.
+	 * @param options Options of the translation.
+	 * @param name Name of the program.
+	 * @param code Python code of the program.
+	 * @param constant Constant expected in the c code.
+	 * @param wide true if the c code must use int64_t and the obfuscated code constants suffixed by LL, false if neither must.
+	 * @return 0 if the codes are as expected, 1 otherwise.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static int check(Compiler compiler, CompilerOptions options, String name, String code, String constant, boolean wide) {
+		String[] codes;
+		try {
+			codes = compiler.translate(name, code, options);
+		}
+		catch (RuntimeException e) {
+			System.out.println(name + " : FAILED (" + e + ")");
+			return 1;
+		}
+		String error = null;
+		if (!codes[0].contains(constant)) {
+			error = "no constant " + constant;
+		}
+		else if (codes[0].contains("int64_t ") != wide) {
+			error = wide ? "no int64_t" : "int64_t";
+		}
+		else if (codes[1].contains("LL") != wide) {
+			error = wide ? "no obfuscated LL constant" : "obfuscated LL constant";
+		}
+		System.out.println(name + " : " + (error == null ? "OK" : "FAILED (" + error + ")"));
+		return error == null ? 0 : 1;
+	}
+}
@@ -0,0 +1,117 @@
+package tests;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import common.log.Log;
+import python.Compiler;
+import python.CompilerOptions;
+
+/**
+ * Test of the optimization of the loops : small programs are translated, their c code and their obfuscated code are compiled with gcc
+ * (or the compiler named by the CC environment variable) and run, and both must print what python prints.
+ * Usage : java tests.LoopOptimizerTest
+ * @author C.Silva, R.Cuinat
+ */
+public class LoopOptimizerTest {
+
+	/**
+	 * Main method of the test.
+	 * @param args Unused.
+	 * @throws AssertionError When a program does not print the expected output.
+	 * @throws IOException When the temporary directory cannot be created.
+	 * @throws InterruptedException When the test is interrupted during a compilation or a run.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public static void main(String[] args) throws IOException, InterruptedException {
+		CompilerOptions options = CompilerOptions.parse(new String[] {"--quiet"});
+		Log.configure(options.getLevel(), options.getTraced());
+		Compiler compiler = new Compiler();
+		File directory = Files.createTempDirectory("loop_optimizer_test").toFile();
+		int failures = 0;
+		try {
+			failures += LoopOptimizerTest.check(compiler, options, directory, "end assigned in the loop",
+					"n = 5\nc = 0\nfor i in range(0, n) :\n    n = n - 1\n    c = c + 1\nprint(c)\nprint(n)\n", "5\n0\n");
+			failures += LoopOptimizerTest.check(compiler, options, directory, "step assigned in the loop",
+					"s = 2\nk = 0\nfor j in range(0, 20, s) :\n    s = s + 5\n    k = k + 1\nprint(k)\n", "10\n");
+			failures += LoopOptimizerTest.check(compiler, options, directory, "invariant and products",
+					"a = 3\nt = 0\nfor i in range(1, 6) :\n    b = a * 4 + 1\n    t = t + i * b + i * i\nprint(t)\n", "250\n");
+			failures += LoopOptimizerTest.check(compiler, options, directory, "accumulation in a while loop",
+					"x = 0\ny = 10\nwhile y > 0 :\n    x = x + y * 2\n    y = y - 1\nprint(x)\n", "110\n");
+		}
+		finally {
+			for (File file : directory.listFiles()) {
+				file.delete();
+			}
+			directory.delete();
+		}
+		if (failures != 0) {
+			throw new AssertionError(failures + " program(s) failed.");
+		}
+	}
+
+	/**
+	 * Translates a program, then compiles and runs its codes.
+	 * @param compiler Compiler translating the program.
+	 * @param options Options of the translation.
+	 * @param directory Directory receiving the codes and the binaries.
+	 * @param name Name of the program.
+	 * @param code Python code of the program.
+	 * @param expected Output expected from both codes.
+	 * @return 0 if both codes print the expected output, 1 otherwise.
+	 * @throws IOException When a code cannot be written or a binary cannot be run.
+	 * @throws InterruptedException When the test is interrupted during a compilation or a run.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static int check(Compiler compiler, CompilerOptions options, File directory, String name, String code, String expected)
+			throws IOException, InterruptedException {
+		String[] codes;
+		try {
+			codes = compiler.translate(name, code, options);
+		}
+		catch (RuntimeException e) {
+			System.out.println(name + " : FAILED (" + e + ")");
+			return 1;
+		}
+		String error = null;
+		for (int i=0;i<codes.length && error == null;i++) {
+			String output = LoopOptimizerTest.run(directory, i == 0 ? "c" : "obf", codes[i]);
+			if (output == null) {
+				error = (i == 0 ? "c" : "obfuscated") + " code not compiled";
+			}
+			else if (output.compareTo(expected) != 0) {
+				error = (i == 0 ? "c" : "obfuscated") + " code printed " + output.replace("\n", " ").trim();
+			}
+		}
+		System.out.println(name + " : " + (error == null ? "OK" : "FAILED (" + error + ")"));
+		return error == null ? 0 : 1;
+	}
+
+	/**
+	 * Compiles and runs the given c code.
+	 * @param directory Directory receiving the code and the binary.
+	 * @param name Name of the code and of the binary.
+	 * @param code C code to compile.
+	 * @return The standard output of the binary, or null if the code cannot be compiled.
+	 * @throws IOException When the code cannot be written or the binary cannot be run.
+	 * @throws InterruptedException When the test is interrupted during the compilation or the run.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static String run(File directory, String name, String code) throws IOException, InterruptedException {
+		File source = new File(directory, name + ".c");
+		File binary = new File(directory, name);
+		File output = new File(directory, name + ".txt");
+		Files.write(source.toPath(), code.getBytes(StandardCharsets.UTF_8));
+		String cc = System.getenv("CC") == null ? "gcc" : System.getenv("CC");
+		List<String> command = Arrays.asList(cc, "-trigraphs", "-w", "-o", binary.getPath(), source.getPath(), "-lm");
+		if (new ProcessBuilder(command).inheritIO().start().waitFor() != 0) {
+			return null;
+		}
+		new ProcessBuilder(binary.getAbsolutePath()).redirectOutput(output).redirectError(ProcessBuilder.Redirect.INHERIT).start().waitFor();
+		return new String(Files.readAllBytes(output.toPath()), StandardCharsets.UTF_8);
+	}
+}
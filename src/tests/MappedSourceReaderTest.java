@@ -0,0 +1,83 @@
+package tests;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+
+import common.lexer.MappedSourceReader;
+
+/**
+ * Test of MappedSourceReader : a file is read by windows of several sizes, ending where a chunk of decoded characters ends,
+ * inside a line or inside a character, and its lines are compared to the ones read by BufferedReader.
+ * The file begins with an ASCII line longer than a chunk, then mixes characters of 1 to 4 bytes and the three line terminators.
+ * Usage : java tests.MappedSourceReaderTest
+ * @author C.Silva, R.Cuinat
+ */
+public class MappedSourceReaderTest {
+	private static final long[] WINDOWS = {4, 5, 7, 4095, 4096, 8191, 8192, 8193, 16384, 1L << 30};
+
+	/**
+	 * Main method of the test.
+	 * @param args Unused.
+	 * @throws IOException When the file cannot be written or read.
+	 * @throws AssertionError When the lines read by some window size differ from the expected ones.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public static void main(String[] args) throws IOException {
+		String content = MappedSourceReaderTest.content();
+		File file = File.createTempFile("mapped_source_reader", ".py");
+		file.deleteOnExit();
+		Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+		ArrayList<String> expected = new ArrayList<>();
+		BufferedReader br = new BufferedReader(new StringReader(content));
+		for (String line = br.readLine(); line != null; line = br.readLine()) {
+			expected.add(line);
+		}
+		int failures = 0;
+		for (long window : MappedSourceReaderTest.WINDOWS) {
+			ArrayList<String> lines = new ArrayList<>();
+			String error = null;
+			MappedSourceReader reader = new MappedSourceReader(file, window);
+			try {
+				for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+					lines.add(line);
+				}
+			}
+			catch (RuntimeException e) {
+				error = e.toString();
+			}
+			finally {
+				reader.close();
+			}
+			boolean same = error == null && lines.equals(expected);
+			System.out.println(String.format("window %10d bytes : %s", window, same ? "OK" : "FAILED (" + (error != null ? error : lines.size() + " lines read, " + expected.size() + " expected") + ")"));
+			failures += same ? 0 : 1;
+		}
+		if (failures != 0) {
+			throw new AssertionError(failures + " window size(s) failed.");
+		}
+	}
+
+	/**
+	 * Builds the content of the file read by the test.
+	 * @return The content.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static String content() {
+		StringBuilder content = new StringBuilder();
+		for (int i=0;i<10000;i++) {
+			content.append((char) ('a' + i % 26));
+		}
+		content.append("\n");
+		String[] words = {"x = 1", "print(\"unit\u00e9\")", "# \u2211 \u20ac", "s = \"\ud834\udd1e\"", ""};
+		String[] terminators = {"\n", "\r\n", "\r"};
+		for (int i=0;i<3000;i++) {
+			content.append(words[i % words.length]).append(i).append(terminators[i % terminators.length]);
+		}
+		return content.append("last line without terminator").toString();
+	}
+}
@@ -0,0 +1,6 @@
+/**
+ * This package contains the tests of the compiler. Each test is a main class, displaying its cases and throwing an AssertionError
+ * when one of them fails.
+ * @author C.Silva, R.Cuinat
+ */
+package tests;
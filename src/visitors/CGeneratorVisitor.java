@@ -1,71 +1,112 @@
 package visitors;
 
-import java.io.BufferedWriter;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
 
+import backends.Backend;
+import backends.CBackend;
+import backends.Dispatch;
+import backends.ObfuscatedCBackend;
+import common.CompilationException;
 import common.ast.AST;
-import common.ast.Node;
-import common.ast.ProgramNode;
-import common.lexer.Token;
+import common.log.Log;
+import common.log.Stage;
+import ir.BasicBlock;
+import ir.Body;
+import ir.Branch;
+import ir.Constant;
+import ir.Flattener;
+import ir.ForLoop;
+import ir.IRFunction;
+import ir.IRProgram;
+import ir.Instruction;
+import ir.Loop;
+import ir.LoopOptimizer;
+import ir.Opcode;
+import ir.RangeAnalyzer;
+import ir.Region;
+import ir.State;
+import ir.Temporary;
+import ir.Value;
+import ir.Variable;
+import ir.WhileLoop;
 import python.symbolTable.ArgumentSymbol;
 import python.symbolTable.FunctionSymbol;
 import python.symbolTable.OptionalArgumentSymbol;
-import python.symbolTable.SymbolTable;
-import python.symbolTable.SymbolTableGenerator;
-import python.symbolTable.VariableSymbol;
-import python.ast.other.BodyNode;
-import python.ast.other.LeftMemberNode;
-import python.ast.other.OperatorNode;
-import python.ast.other.RightMemberNode;
-import python.ast.other.arguments.actual.ActualArgumentListNode;
-import python.ast.other.arguments.actual.ActualArgumentNode;
-import python.ast.other.arguments.actual.ActualOptionalArgumentNode;
-import python.ast.other.arguments.actual.CallArgumentListNode;
-import python.ast.statements.AssignmentNode;
-import python.ast.statements.blocks.ForStatementNode;
-import python.ast.statements.blocks.FunctionDefinitionNode;
-import python.ast.statements.blocks.IfStatementNode;
-import python.ast.statements.blocks.WhileStatementNode;
-import python.ast.statements.blocks.ifBlocks.ElifBlockNode;
-import python.ast.statements.blocks.ifBlocks.ElseBlockNode;
-import python.ast.statements.blocks.ifBlocks.IfBlockNode;
-import python.ast.statements.expressions.ExpressionNode;
-import python.ast.statements.expressions.FunctionCallNode;
-import python.ast.statements.expressions.IdentifierNode;
-import python.ast.statements.expressions.OperationExpressionNode;
-import python.ast.statements.expressions.constants.FalseNode;
-import python.ast.statements.expressions.constants.FloatNode;
-import python.ast.statements.expressions.constants.IntegerNode;
-import python.ast.statements.expressions.constants.NoneNode;
-import python.ast.statements.expressions.constants.StringNode;
-import python.ast.statements.expressions.constants.TrueNode;
-import python.ast.statements.keywords.AssertStatementNode;
-import python.ast.statements.keywords.BreakStatementNode;
-import python.ast.statements.keywords.ContinueStatementNode;
-import python.ast.statements.keywords.PassStatementNode;
-import python.ast.statements.keywords.ReturnStatementNode;
+import python.symbolTable.PurityAnalyzer;
 
 /**
- * Visitor class visiting an AST to convert it into C code.
+ * Visitor class converting an AST into C code. The AST is lowered into the intermediate representation (see IRBuilderVisitor),
+ * from which the code is emitted for several backends (see Backend) : the symbol table and the types are computed
+ * and checked once, whatever the number of generated codes.
+ * The temporaries defined and used once in a block are written in the expression using them, so that the code keeps the shape of the python code.
  * @author C.Silva, R.Cuinat
  */
 public class CGeneratorVisitor implements Visitor {
-	private final String output;
-	private BufferedWriter bw;
-	private int current_tab;
-	private SymbolTable symbolTable;
-	private FunctionSymbol current_function;
+	private static final String POWER = "ipow";
+	private static final int MAX_CHAINED_EXPONENT = 4;
+	private static final int MEMO_BITS = 12;
+	private static final int MEMO_PROBES = 4;
+	private static final int OUTPUT_BUFFER = 1 << 16;
+	private static final String STATE = " state";
+	private static final String TABLE = " table";
+	private static final String END = " end";
+	private List<Backend> backends;
+	private IRProgram program;
 	private FunctionSymbol declared_function;
-	private boolean in_main;
+	private String integer_printer;
+	private String double_printer;
+	private boolean memoizing;
+	private Set<FunctionSymbol> memoized;
+	private final HashMap<Temporary, Integer> definitions;
+	private final HashMap<Temporary, Integer> uses;
+	private final HashMap<Temporary, Region> defined_in;
+	private final HashMap<Temporary, Region> used_in;
+	private final HashMap<Temporary, Instruction> folded;
+	private final HashSet<Temporary> declared;
 
-	/** Constructor of the class.
-	 * @param outputFile Name of the output c file. (without extension)
+	/** Constructor of the class. The c code and the obfuscated c code are generated in the files outputFile.c and outputFile_obf.c.
+	 * @param outputFile Name of the output c files. (without extension)
 	 * @author C.Silva, R.Cuinat
 	 */
 	public CGeneratorVisitor(String outputFile) {
-		this.output = outputFile;
-		this.current_tab = 0;
+		this(new CBackend(outputFile), new ObfuscatedCBackend(outputFile));
+	}
+	
+	/** Constructor of the class. The code is generated for each of the given backends.
+	 * @param backends Backends receiving the generated code.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public CGeneratorVisitor(Backend... backends) {
+		this.backends = Arrays.asList(backends);
+		this.memoizing = false;
+		this.memoized = Collections.emptySet();
+		this.definitions = new HashMap<>();
+		this.uses = new HashMap<>();
+		this.defined_in = new HashMap<>();
+		this.used_in = new HashMap<>();
+		this.folded = new HashMap<>();
+		this.declared = new HashSet<>();
+	}
+
+	/**
+	 * Setter of the memoizing field.
+	 * @param memoizing true if the results of the recursive pure functions are to be kept in a table (see PurityAnalyzer).
+	 * @author C.Silva, R.Cuinat
+	 */
+	public void setMemoizing(boolean memoizing) {
+		this.memoizing = memoizing;
 	}
 	
 	/**
@@ -73,796 +114,1682 @@ public class CGeneratorVisitor implements Visitor {
 	 * @param ast AST to visit.
 	 * @author C.Silva, R.Cuinat
 	 */
+	@Override
 	public void visit(AST ast) {
-		System.out.println("\nVisiting the AST (\""+ast.getSource()+"\") to generate c code.\n" );
+		StringBuilder codes = new StringBuilder();
+		for (Backend backend : this.backends) {
+			codes.append(codes.length() == 0 ? "" : " and ").append(backend.getDescription());
+		}
+		Log.info("\nVisiting the AST (\""+ast.getSource()+"\") to generate " + codes + ".\n" );
 		try {
-			this.bw = new BufferedWriter(new FileWriter(this.output + ".c"));
-			ast.accept(this);
-			System.out.println("\nGeneration complete");
-		} catch (IOException e) {
-			e.printStackTrace();
+			for (Backend backend : this.backends) {
+				try {
+					backend.open();
+				} catch (IOException e) {
+					throw backend.failure(e);
+				}
+			}
+			IRBuilderVisitor builder = new IRBuilderVisitor();
+			builder.visit(ast);
+			this.program = builder.getProgram();
+			new RangeAnalyzer(this.program).analyze();
+			new LoopOptimizer(this.program).optimize();
+			if (Log.isTracing(Stage.IR)) {
+				Log.trace(Stage.IR, "Intermediate representation after the optimization of the loops :\n" + this.program + "\n");
+			}
+			this.generate();
+		} finally {
+			for (Backend backend : this.backends) {
+				backend.close();
+			}
 		}
+		Log.info("\nGeneration complete");
 	}
 
 	/**
-	 * Print a new Line with the relevant tabulations ending with the specified string;
+	 * Ends the current line of every backend with the specified string;
 	 * @param c String to end the line with
 	 * @author C.Silva, R.Cuinat
 	 */
 	private void newLine(String c) {
-		StringBuilder chaine = new StringBuilder(c + "\n");
-		for (int i=0;i<this.current_tab;i++) {
-			chaine.append("\t");
+		for (Backend backend : this.backends) {
+			backend.newLine(c);
 		}
-		this.write(chaine.toString());
 	}
 
 	/**
-	 * Writes the specified string in the output file and in console.
+	 * Writes the specified string in the output of every backend.
 	 * @param s String to save.
 	 * @author C.Silva, R.Cuinat
 	 */
 	private void write(String s) {
-		try {
-			this.bw.write(s);
-			System.out.print(s);
-		} catch (IOException e) {
-			e.printStackTrace();
+		for (Backend backend : this.backends) {
+			backend.write(s);
+		}
+	}
+
+	/**
+	 * Writes the specified name of variable or of argument in the output of every backend.
+	 * @param name Name to write.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private void identifier(String name) {
+		for (Backend backend : this.backends) {
+			backend.identifier(name);
+		}
+	}
+
+	/**
+	 * Writes the specified name of function in the output of every backend.
+	 * @param name Name to write.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private void function_name(String name) {
+		for (Backend backend : this.backends) {
+			backend.function(name);
+		}
+	}
+
+	/**
+	 * Begins the code of a function in the output of every backend.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private void enter_function() {
+		for (Backend backend : this.backends) {
+			backend.enterFunction();
+		}
+	}
+
+	/**
+	 * Writes the condition of a branch or of a loop in the output of every backend.
+	 * @param condition The condition.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private void condition(Value condition) {
+		this.open_condition();
+		this.value(condition);
+		this.close_condition();
+	}
+
+	/**
+	 * Begins the condition of a branch or of a loop in the output of every backend.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private void open_condition() {
+		for (Backend backend : this.backends) {
+			backend.openCondition();
+		}
+	}
+
+	/**
+	 * Ends the condition of a branch or of a loop in the output of every backend.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private void close_condition() {
+		for (Backend backend : this.backends) {
+			backend.closeCondition();
+		}
+	}
+
+	/**
+	 * Writes the specified integer constant in the output of every backend.
+	 * @param value Value of the constant.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private void integer(long value) {
+		for (Backend backend : this.backends) {
+			backend.integer(value);
+		}
+	}
+
+	/**
+	 * Writes the specified string literal in the output of every backend.
+	 * @param literal The literal, as written between the quotes in the python code.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private void string(String literal) {
+		for (Backend backend : this.backends) {
+			backend.string(literal);
+		}
+	}
+
+	/**
+	 * Writes a declaration of variable or of argument in the output of every backend.
+	 * @param type C type of the variable.
+	 * @param name Name of the variable.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private void declaration(String type, String name) {
+		this.write(type + " ");
+		this.identifier(name);
+	}
+
+	/**
+	 * Opens a block of statements in the output of every backend.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private void openBlock() {
+		for (Backend backend : this.backends) {
+			backend.openBlock();
+		}
+	}
+
+	/**
+	 * Closes the current block of statements in the output of every backend.
+	 * @param end String ending the last line of the block.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private void closeBlock(String end) {
+		for (Backend backend : this.backends) {
+			backend.closeBlock(end);
 		}
 	}
 	
 	
 	/**
-	 * Converts to C the specified node.
-	 * @param root Node to display.
+	 * Writes the signature of the declared function in the output of every backend.
+	 * @param name Name given to the function.
 	 * @author C.Silva, R.Cuinat
 	 */
-	@Override
-	public void visit(ProgramNode root) {
-		this.in_main = false;
-		SymbolTableGenerator stg = new SymbolTableGenerator(new SymbolTable());
-		this.symbolTable = stg.generateFrom(root);
-		System.out.println("SymbolTable :\n" + this.symbolTable);
-		this.write("#include <stdlib.h>\n#include <stdio.h>\n#include <math.h>\n\n");
-		for (FunctionSymbol func : this.symbolTable.getFunctions()) {
-			if (func.getName().compareTo("print") != 0 && func.getNode() != null) {
-				this.declared_function = func;
-				func.getNode().accept(this);
+	private void signature(String name) {
+		List<Variable> arguments = this.program.getFunction(this.declared_function).getArguments();
+		if (this.declared_function.getReturnedType() == null || this.declared_function.getReturnedType().getName().compareTo("Undefined") == 0) {
+			this.write("void ");
+		}
+		else {
+			this.write(this.type(this.declared_function) + " ");
+		}
+		this.function_name(name);
+		this.write("(");
+		for  (int i=0;i<this.declared_function.getMandatoryArgs().size();i++) {
+			ArgumentSymbol arg = this.declared_function.getMandatoryArgs().get(i);
+			if (arg.getType().getName().compareTo("Undefined") == 0) {
+				throw new CompilationException("Unable to proceed with conversion : Undefined type for argument (L" + arg.getNode().getLine() + ", C" + arg.getNode().getColumn() + ").");
+			}
+			this.declaration(this.type(arguments.get(i)), arg.getName());
+			if (i != this.declared_function.getMandatoryArgs().size() - 1) {
+				this.write(", ");
 			}
 		}
-		this.declared_function = null;
-		this.in_main = true;
-		this.write("int main(){");
-		this.current_tab ++;
-		this.newLine("");
-		for (VariableSymbol var : this.symbolTable.getVariables()) {
-			if (var.getType().toString() == null) {
-				System.err.println("Unable to proceed with the conversion : undefined type for variable " + var.getName());
-				try {
-					this.bw.close();
-				} catch (IOException e) {
-					e.printStackTrace();
-				}
-				System.exit(1);
+		if (this.declared_function.getOptionals().size() != 0) {
+			this.write(", ");
+		}
+		for  (int i=0;i<this.declared_function.getOptionals().size();i++) {
+			OptionalArgumentSymbol opt = this.declared_function.getOptionals().get(i);
+			if (opt.getType().getName().compareTo("Undefined") == 0) {
+				throw new CompilationException("Unable to proceed with conversion : Undefined type for argument (L" + opt.getNode().getLine() + ", C" + opt.getNode().getColumn() + ").");
+			}
+			this.declaration(this.type(arguments.get(this.declared_function.getMandatoryArgs().size() + i)), opt.getName());
+			if (i != this.declared_function.getOptionals().size() - 1) {
+				this.write(", ");
 			}
-			this.write(var.getType().toString() + " " + var.getName());
-			this.newLine(";");
 		}
-		for (Node node : root.getChildren()) {
-			node.accept(this);
+		this.write(")");
+	}
+
+	/**
+	 * Writes the memoized version of the declared function in the output of every backend.
+	 * Its results are kept in a table of 2^MEMO_BITS entries with open addressing, keyed on the arguments (only the integer ones are hashed).
+	 * A result is looked for in MEMO_PROBES consecutive entries. When it is not found, the function is computed by its uncached version
+	 * and stored in the first free entry, or in the first entry looked at if they are all taken.
+	 * @param uncached Name of the uncached version of the function.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private void memo(String uncached) {
+		String prefix = this.declared_function.getName() + "_memo_";
+		String used = this.program.freshName(prefix + "used");
+		String value = this.program.freshName(prefix + "value");
+		String home = this.program.freshName(prefix + "home");
+		String slot = this.program.freshName(prefix + "slot");
+		String probe = this.program.freshName(prefix + "probe");
+		String result = this.program.freshName(prefix + "result");
+		List<ArgumentSymbol> args = this.declared_function.getMandatoryArgs();
+		String[] keys = new String[args.size()];
+		List<Variable> arguments = this.program.getFunction(this.declared_function).getArguments();
+		String type = this.type(this.declared_function);
+		this.signature(this.declared_function.getName());
+		this.openBlock();
+		this.newLine("");
+		this.write("static char ");
+		this.identifier(used);
+		this.table_size();
+		this.newLine(";");
+		for (int i=0;i<args.size();i++) {
+			keys[i] = this.program.freshName(prefix + args.get(i).getName());
+			this.write("static ");
+			this.declaration(this.type(arguments.get(i)), keys[i]);
+			this.table_size();
 			this.newLine(";");
 		}
-		this.write("return 1");
-		this.current_tab --;
+		this.write("static ");
+		this.declaration(type, value);
+		this.table_size();
 		this.newLine(";");
-		this.write("}");
-		try {
-			this.bw.close();
-		} catch (IOException e) {
-			e.printStackTrace();
+		this.declaration("unsigned int", home);
+		this.write(" = ");
+		this.integer(0);
+		this.newLine(";");
+		this.declaration("unsigned int", slot);
+		this.newLine(";");
+		this.declaration("int", probe);
+		this.newLine(";");
+		this.declaration(type, result);
+		this.newLine(";");
+		for (ArgumentSymbol arg : args) {
+			if (arg.getType().getName().compareTo("Integer") == 0) {
+				this.identifier(home);
+				this.write(" = ");
+				this.identifier(home);
+				this.write(" * ");
+				this.integer(31);
+				this.write(" + (unsigned int) ");
+				this.identifier(arg.getName());
+				this.newLine(";");
+			}
 		}
+		this.identifier(slot);
+		this.write(" = ");
+		this.identifier(home);
+		this.write(" = (");
+		this.identifier(home);
+		this.write(" * 0x9e3779b1u) >> ");
+		this.integer(32 - CGeneratorVisitor.MEMO_BITS);
+		this.newLine(";");
+		this.write("for (");
+		this.identifier(probe);
+		this.write(" = ");
+		this.integer(0);
+		this.write("; ");
+		this.identifier(probe);
+		this.write(" < ");
+		this.integer(CGeneratorVisitor.MEMO_PROBES);
+		this.write("; ");
+		this.identifier(probe);
+		this.write("++)");
+		this.openBlock();
+		this.newLine("");
+		this.write("if (!");
+		this.identifier(used);
+		this.index(slot);
+		this.write(")");
+		this.openBlock();
+		this.newLine("");
+		this.write("break");
+		this.closeBlock(";");
+		this.newLine("");
+		this.write("if (");
+		for (int i=0;i<args.size();i++) {
+			this.identifier(keys[i]);
+			this.index(slot);
+			this.write(" == ");
+			this.identifier(args.get(i).getName());
+			this.write(" && ");
+		}
+		this.integer(1);
+		this.write(")");
+		this.openBlock();
+		this.newLine("");
+		this.write("return ");
+		this.identifier(value);
+		this.index(slot);
+		this.closeBlock(";");
+		this.newLine("");
+		this.identifier(slot);
+		this.write(" = (");
+		this.identifier(slot);
+		this.write(" + ");
+		this.integer(1);
+		this.write(") & ");
+		this.integer((1 << CGeneratorVisitor.MEMO_BITS) - 1);
+		this.closeBlock(";");
+		this.newLine("");
+		this.write("if (");
+		this.identifier(probe);
+		this.write(" == ");
+		this.integer(CGeneratorVisitor.MEMO_PROBES);
+		this.write(")");
+		this.openBlock();
+		this.newLine("");
+		this.identifier(slot);
+		this.write(" = ");
+		this.identifier(home);
+		this.closeBlock(";");
+		this.newLine("");
+		this.identifier(result);
+		this.write(" = ");
+		this.function_name(uncached);
+		this.write("(");
+		for (int i=0;i<args.size();i++) {
+			this.write(i == 0 ? "" : ", ");
+			this.identifier(args.get(i).getName());
+		}
+		this.write(")");
+		this.newLine(";");
+		this.identifier(used);
+		this.index(slot);
+		this.write(" = ");
+		this.integer(1);
+		this.newLine(";");
+		for (int i=0;i<args.size();i++) {
+			this.identifier(keys[i]);
+			this.index(slot);
+			this.write(" = ");
+			this.identifier(args.get(i).getName());
+			this.newLine(";");
+		}
+		this.identifier(value);
+		this.index(slot);
+		this.write(" = ");
+		this.identifier(result);
+		this.newLine(";");
+		this.write("return ");
+		this.identifier(result);
+		this.closeBlock(";");
+		this.newLine("");
 	}
-	
+
 	/**
-	 * Converts to C the specified node.
-	 * @param node Node to display.
+	 * Writes the size of a memo table in the output of every backend.
 	 * @author C.Silva, R.Cuinat
 	 */
-	@Override
-	public void visit(FunctionDefinitionNode node) {
-		if (!in_main) {
-			if (this.declared_function.getReturnedType() == null || this.declared_function.getReturnedType().getName().compareTo("Undefined") == 0) {
-				this.write("void ");
-			}
-			else {
-				this.write(this.declared_function.getReturnedType() + " ");
-			}
-			if (node.getName() != null){
-				node.getName().accept(this);
-			}
-			this.write("(");
-			for  (int i=0;i<this.declared_function.getMandatoryArgs().size();i++) {
-				ArgumentSymbol arg = this.declared_function.getMandatoryArgs().get(i);
-				if (arg.getType().getName().compareTo("Undefined") == 0) {
-					System.err.println("Unable to proceed with conversion : Undefined type for argument (L" + arg.getNode().getLine() + ", C" + arg.getNode().getColumn() + ").");
-					System.exit(1);
+	private void table_size() {
+		this.write("[");
+		this.integer(1 << CGeneratorVisitor.MEMO_BITS);
+		this.write("]");
+	}
+
+	/**
+	 * Writes an access to an entry of a table in the output of every backend.
+	 * @param name Name of the variable holding the index.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private void index(String name) {
+		this.write("[");
+		this.identifier(name);
+		this.write("]");
+	}
+
+	/**
+	 * Writes the helper computing the power of two integers by squaring in the output of every backend.
+	 * The computation is done on unsigned integers, whose overflows wrap around. A negative exponent gives the truncated inverse.
+	 * The helper works on 64 bits integers when some integer of the program needs them, an integer constant beyond 32 bits included.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private void power_helper() {
+		boolean wide = this.program.hasWide();
+		String integer = wide ? "int64_t" : "int";
+		String unsigned = wide ? "uint64_t" : "unsigned int";
+		this.enter_function();
+		this.write("static inline " + integer + " ");
+		this.function_name(CGeneratorVisitor.POWER);
+		this.write("(");
+		this.declaration(integer, "base");
+		this.write(", ");
+		this.declaration("int", "exponent");
+		this.write(")");
+		this.openBlock();
+		this.newLine("");
+		this.declaration(unsigned, "result");
+		this.write(" = ");
+		this.integer(1);
+		this.newLine(";");
+		this.declaration(unsigned, "square");
+		this.write(" = ");
+		this.identifier("base");
+		this.newLine(";");
+		this.write("if (");
+		this.identifier("exponent");
+		this.write(" < 0)");
+		this.openBlock();
+		this.newLine("");
+		this.write("return (");
+		this.identifier("base");
+		this.write(" == ");
+		this.integer(1);
+		this.write(") + (");
+		this.identifier("base");
+		this.write(" == ");
+		this.integer(-1);
+		this.write(") * ((");
+		this.identifier("exponent");
+		this.write(" & ");
+		this.integer(1);
+		this.write(") ? ");
+		this.integer(-1);
+		this.write(" : ");
+		this.integer(1);
+		this.write(")");
+		this.closeBlock(";");
+		this.newLine("");
+		this.write("while (");
+		this.identifier("exponent");
+		this.write(" > 0)");
+		this.openBlock();
+		this.newLine("");
+		this.write("if (");
+		this.identifier("exponent");
+		this.write(" & ");
+		this.integer(1);
+		this.write(")");
+		this.openBlock();
+		this.newLine("");
+		this.identifier("result");
+		this.write(" = ");
+		this.identifier("result");
+		this.write(" * ");
+		this.identifier("square");
+		this.closeBlock(";");
+		this.newLine("");
+		this.identifier("square");
+		this.write(" = ");
+		this.identifier("square");
+		this.write(" * ");
+		this.identifier("square");
+		this.newLine(";");
+		this.identifier("exponent");
+		this.write(" = ");
+		this.identifier("exponent");
+		this.write(" >> ");
+		this.integer(1);
+		this.closeBlock(";");
+		this.newLine("");
+		this.write("return ");
+		this.identifier("result");
+		this.closeBlock(";");
+		this.newLine("");
+	}
+
+	/**
+	 * Writes the helper printing an integer and a new line in the output of every backend. The digits are written backwards
+	 * in a buffer from the absolute value of the integer, then written at once : no format string is parsed.
+	 * The helper prints 64 bits integers when some integer of the program needs them, an integer constant beyond 32 bits included.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private void integer_printer() {
+		boolean wide = this.program.hasWide();
+		String integer = wide ? "int64_t" : "int";
+		String unsigned = wide ? "uint64_t" : "unsigned int";
+		this.enter_function();
+		this.write("static void ");
+		this.function_name(this.integer_printer);
+		this.write("(");
+		this.declaration(integer, "value");
+		this.write(")");
+		this.openBlock();
+		this.newLine("");
+		this.declaration("char", "digits");
+		this.write("[");
+		this.integer(24);
+		this.newLine("];");
+		this.declaration("int", "index");
+		this.write(" = ");
+		this.integer(23);
+		this.newLine(";");
+		this.declaration(unsigned, "magnitude");
+		this.write(" = ");
+		this.identifier("value");
+		this.write(" < 0 ? 0 - (" + unsigned + ") ");
+		this.identifier("value");
+		this.write(" : (" + unsigned + ") ");
+		this.identifier("value");
+		this.newLine(";");
+		this.identifier("digits");
+		this.write("[");
+		this.identifier("index");
+		this.write("] = ");
+		this.integer('\n');
+		this.newLine(";");
+		this.write("do");
+		this.openBlock();
+		this.newLine("");
+		this.identifier("index");
+		this.write(" = ");
+		this.identifier("index");
+		this.write(" - ");
+		this.integer(1);
+		this.newLine(";");
+		this.identifier("digits");
+		this.write("[");
+		this.identifier("index");
+		this.write("] = ");
+		this.integer('0');
+		this.write(" + ");
+		this.identifier("magnitude");
+		this.write(" % ");
+		this.integer(10);
+		this.newLine(";");
+		this.identifier("magnitude");
+		this.write(" = ");
+		this.identifier("magnitude");
+		this.write(" / ");
+		this.integer(10);
+		this.closeBlock(";");
+		this.write(" while (");
+		this.identifier("magnitude");
+		this.write(" != 0);");
+		this.newLine("");
+		this.write("if (");
+		this.identifier("value");
+		this.write(" < 0)");
+		this.openBlock();
+		this.newLine("");
+		this.identifier("index");
+		this.write(" = ");
+		this.identifier("index");
+		this.write(" - ");
+		this.integer(1);
+		this.newLine(";");
+		this.identifier("digits");
+		this.write("[");
+		this.identifier("index");
+		this.write("] = ");
+		this.integer('-');
+		this.closeBlock(";");
+		this.newLine("");
+		this.write("fwrite(");
+		this.identifier("digits");
+		this.write(" + ");
+		this.identifier("index");
+		this.write(", 1, ");
+		this.integer(24);
+		this.write(" - ");
+		this.identifier("index");
+		this.write(", stdout)");
+		this.closeBlock(";");
+		this.newLine("");
+	}
+
+	/**
+	 * Writes the helper printing a double and a new line in the output of every backend, as python does : with the fewest significant digits
+	 * giving back the same double, from 15 to 17, and with a decimal point or an exponent.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private void double_printer() {
+		this.enter_function();
+		this.write("static void ");
+		this.function_name(this.double_printer);
+		this.write("(");
+		this.declaration("double", "value");
+		this.write(")");
+		this.openBlock();
+		this.newLine("");
+		this.declaration("char", "digits");
+		this.write("[");
+		this.integer(32);
+		this.newLine("];");
+		this.declaration("char *", "character");
+		this.newLine(";");
+		this.declaration("int", "precision");
+		this.write(" = ");
+		this.integer(15);
+		this.newLine(";");
+		this.write("snprintf(");
+		this.identifier("digits");
+		this.write(", sizeof ");
+		this.identifier("digits");
+		this.write(", \"%.*g\", ");
+		this.identifier("precision");
+		this.write(", ");
+		this.identifier("value");
+		this.newLine(");");
+		this.write("while (");
+		this.identifier("precision");
+		this.write(" < ");
+		this.integer(17);
+		this.write(" && strtod(");
+		this.identifier("digits");
+		this.write(", NULL) != ");
+		this.identifier("value");
+		this.write(")");
+		this.openBlock();
+		this.newLine("");
+		this.identifier("precision");
+		this.write(" = ");
+		this.identifier("precision");
+		this.write(" + ");
+		this.integer(1);
+		this.newLine(";");
+		this.write("snprintf(");
+		this.identifier("digits");
+		this.write(", sizeof ");
+		this.identifier("digits");
+		this.write(", \"%.*g\", ");
+		this.identifier("precision");
+		this.write(", ");
+		this.identifier("value");
+		this.closeBlock(");");
+		this.newLine("");
+		this.write("for (");
+		this.identifier("character");
+		this.write(" = ");
+		this.identifier("digits");
+		this.write("; *");
+		this.identifier("character");
+		this.write(" && *");
+		this.identifier("character");
+		this.write(" != ");
+		this.integer('.');
+		this.write(" && *");
+		this.identifier("character");
+		this.write(" != ");
+		this.integer('e');
+		this.write(" && *");
+		this.identifier("character");
+		this.write(" != ");
+		this.integer('n');
+		this.write("; ");
+		this.identifier("character");
+		this.write("++);");
+		this.newLine("");
+		this.write("fputs(");
+		this.identifier("digits");
+		this.newLine(", stdout);");
+		this.write("fputs(*");
+		this.identifier("character");
+		this.write(" ? \"\\n\" : \".0\\n\", stdout)");
+		this.closeBlock(";");
+		this.newLine("");
+	}
+
+	/**
+	 * Tells whether the given body contains an instruction satisfying the given predicate.
+	 * @param body The body.
+	 * @param used The predicate.
+	 * @return true if such an instruction is found.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static boolean uses(Body body, Predicate<Instruction> used) {
+		for (Region region : body.getRegions()) {
+			if (region instanceof BasicBlock) {
+				for (Instruction instruction : ((BasicBlock) region).getInstructions()) {
+					if (used.test(instruction)) {
+						return true;
+					}
 				}
-				this.write(arg.getType() + " " + arg.getName());
-				if (i != this.declared_function.getMandatoryArgs().size() - 1) {
-					this.write(", ");
+			}
+			else if (region instanceof Branch) {
+				Branch branch = (Branch) region;
+				if (CGeneratorVisitor.uses(branch.getThen(), used) || (branch.getOtherwise() != null && CGeneratorVisitor.uses(branch.getOtherwise(), used))) {
+					return true;
 				}
 			}
-			if (this.declared_function.getOptionals().size() != 0) {
-				this.write(", ");
+			else if (region instanceof WhileLoop && CGeneratorVisitor.uses(((WhileLoop) region).getHeader(), used)) {
+				return true;
 			}
-			for  (int i=0;i<this.declared_function.getOptionals().size();i++) {
-				OptionalArgumentSymbol opt = this.declared_function.getOptionals().get(i);
-				if (opt.getType().getName().compareTo("Undefined") == 0) {
-					System.err.println("Unable to proceed with conversion : Undefined type for argument (L" + opt.getNode().getLine() + ", C" + opt.getNode().getColumn() + ").");
-					System.exit(1);
+			if (region instanceof Loop && CGeneratorVisitor.uses(((Loop) region).getBody(), used)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Tells whether the program contains an instruction satisfying the given predicate.
+	 * @param used The predicate.
+	 * @return true if such an instruction is found in a function or in the main function.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private boolean program_uses(Predicate<Instruction> used) {
+		boolean uses = CGeneratorVisitor.uses(this.program.getMain().getBody(), used);
+		for (IRFunction function : this.program.getFunctions()) {
+			uses |= CGeneratorVisitor.uses(function.getBody(), used);
+		}
+		return uses;
+	}
+
+	/**
+	 * Tells whether the given instruction prints a value of the given type.
+	 * @param instruction The instruction.
+	 * @param type Name of the type.
+	 * @return true if the instruction is a call to print whose argument has this type.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static boolean prints(Instruction instruction, String type) {
+		return instruction.getOpcode() == Opcode.CALL && instruction.getFunction().getName().compareTo("print") == 0
+				&& instruction.getOperands().size() == 1 && instruction.getOperands().get(0).is(type);
+	}
+
+	/**
+	 * Collects the string literals used by the given body.
+	 * @param body The body.
+	 * @param literals Set receiving the literals, in the order of their first use.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static void literals(Body body, Set<String> literals) {
+		for (Region region : body.getRegions()) {
+			if (region instanceof BasicBlock) {
+				for (Instruction instruction : ((BasicBlock) region).getInstructions()) {
+					for (Value operand : instruction.getOperands()) {
+						if (operand instanceof Constant && ((Constant) operand).getValue() instanceof String) {
+							literals.add((String) ((Constant) operand).getValue());
+						}
+					}
 				}
-				this.write(opt.getType() + " " + opt.getName());
-				if (i != this.declared_function.getOptionals().size() - 1) {
-					this.write(", ");
+			}
+			else if (region instanceof Branch) {
+				CGeneratorVisitor.literals(((Branch) region).getThen(), literals);
+				if (((Branch) region).getOtherwise() != null) {
+					CGeneratorVisitor.literals(((Branch) region).getOtherwise(), literals);
 				}
 			}
-			this.write("){");
-			this.current_tab ++;
-			if (node.getBody() != null) {
-				node.getBody().accept(this);
+			else if (region instanceof WhileLoop) {
+				CGeneratorVisitor.literals(((WhileLoop) region).getHeader(), literals);
 			}
-			this.current_tab --;
+			if (region instanceof Loop) {
+				CGeneratorVisitor.literals(((Loop) region).getBody(), literals);
+			}
+		}
+	}
+
+	/**
+	 * Generates the code of the program in the output of every backend : the helpers, the string literals, the functions, then the main function.
+	 * When the program prints, the standard output gets a large buffer, written only when it is full and when the program exits.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private void generate() {
+		LinkedHashSet<String> literals = new LinkedHashSet<>();
+		for (IRFunction function : this.program.getFunctions()) {
+			CGeneratorVisitor.literals(function.getBody(), literals);
+		}
+		CGeneratorVisitor.literals(this.program.getMain().getBody(), literals);
+		for (Backend backend : this.backends) {
+			backend.header();
+			backend.literals(literals);
+		}
+		if (this.program_uses(instruction -> instruction.getOpcode() == Opcode.BINARY && instruction.getOperator().compareTo("**") == 0)) {
+			this.power_helper();
+		}
+		this.integer_printer = null;
+		if (this.program_uses(instruction -> CGeneratorVisitor.prints(instruction, "Integer"))) {
+			this.integer_printer = this.program.freshName("print_integer");
+			this.integer_printer();
+		}
+		this.double_printer = null;
+		if (this.program_uses(instruction -> CGeneratorVisitor.prints(instruction, "Double"))) {
+			this.double_printer = this.program.freshName("print_double");
+			this.double_printer();
+		}
+		if (this.memoizing) {
+			this.memoized = new PurityAnalyzer(this.program.getSymbolTable()).getRecursivePureFunctions();
+		}
+		for (IRFunction function : this.program.getFunctions()) {
+			this.declared_function = function.getSymbol();
+			this.function(function);
+		}
+		this.declared_function = null;
+		this.enter_function();
+		this.write("int main()");
+		this.openBlock();
+		if (this.program_uses(instruction -> instruction.getOpcode() == Opcode.CALL && instruction.getFunction().getName().compareTo("print") == 0)) {
+			String buffer = this.program.freshName("output_buffer");
 			this.newLine("");
-			this.write("}");
+			this.write("static char ");
+			this.identifier(buffer);
+			this.write("[");
+			this.integer(CGeneratorVisitor.OUTPUT_BUFFER);
+			this.write("];");
 			this.newLine("");
+			this.write("setvbuf(stdout, ");
+			this.identifier(buffer);
+			this.write(", _IOFBF, sizeof ");
+			this.identifier(buffer);
+			this.write(");");
 		}
+		this.function_body(this.program.getMain().getBody());
+		this.newLine("");
+		this.write("return 1");
+		this.closeBlock(";");
 	}
-	
+
 	/**
-	 * Converts to C the specified node.
-	 * @param node Node to display.
+	 * Writes the declared function in the output of every backend, followed by its memoized version if it is memoized.
+	 * @param function The function.
 	 * @author C.Silva, R.Cuinat
 	 */
-	@Override
-	public void visit(FalseNode node) {
-		this.write("0");
+	private void function(IRFunction function) {
+		String name = this.declared_function.getName();
+		this.enter_function();
+		boolean memoized = this.memoized.contains(this.declared_function);
+		if (memoized) {
+			this.signature(name);
+			this.newLine(";");
+			name = this.program.freshName(name + "_uncached");
+			this.write("static ");
+		}
+		this.signature(name);
+		this.openBlock();
+		this.function_body(function.getBody());
+		this.closeBlock("");
+		this.newLine("");
+		if (memoized) {
+			this.memo(name);
+		}
 	}
+
 	/**
-	 * Converts to C the specified node.
-	 * @param node Node to display.
+	 * Writes the body of the declared function, or of the main function, in the output of every backend : as it is for the backends keeping
+	 * the control flow, flattened for the other ones, grouped by dispatcher.
+	 * @param body The body of the function.
 	 * @author C.Silva, R.Cuinat
 	 */
-	@Override
-	public void visit(FloatNode node) {
-		this.write(Double.toString(node.getValue()));
+	private void function_body(Body body) {
+		List<Backend> backends = this.backends;
+		LinkedHashMap<Dispatch, List<Backend>> groups = new LinkedHashMap<>();
+		for (Backend backend : backends) {
+			groups.computeIfAbsent(backend.getDispatch(), dispatch -> new ArrayList<>()).add(backend);
+		}
+		for (Map.Entry<Dispatch, List<Backend>> group : groups.entrySet()) {
+			this.backends = group.getValue();
+			ArrayList<State> states = null;
+			Flattener flattener = null;
+			if (group.getKey() != null) {
+				flattener = new Flattener(this.program, group.getKey().getCost());
+				states = flattener.flatten(body);
+			}
+			if (states == null) {
+				this.prepare(body);
+				this.body(body, null);
+			}
+			else {
+				if (Log.isTracing(Stage.IR)) {
+					StringBuilder trace = new StringBuilder();
+					for (State state : states) {
+						trace.append(state);
+					}
+					Log.trace(Stage.IR, "States of " + (this.declared_function == null ? "the main function" : "the function " + this.declared_function.getName()) + " ("
+							+ flattener.getKept() + " loop(s) kept) :\n" + trace);
+				}
+				this.flattened(states, flattener.getDeclarations(), group.getKey());
+			}
+		}
+		this.backends = backends;
 	}
-	
+
 	/**
-	 * Converts to C the specified node.
-	 * @param node Node to display.
+	 * Writes a flattened function in the output of every backend : its declarations, then its states run by the given dispatcher,
+	 * a switch in an infinite loop or a computed goto through a table of labels. The function ends at the label END.
+	 * The temporaries computed in a state and used in another one are declared first.
+	 * @param states The states of the function, its first state first.
+	 * @param declarations The variables declared by the function.
+	 * @param dispatch The dispatcher.
 	 * @author C.Silva, R.Cuinat
 	 */
-	@Override
-	public void visit(IntegerNode node) {
-		this.write(Integer.toString(node.getValue()));
+	private void flattened(List<State> states, List<Variable> declarations, Dispatch dispatch) {
+		for (Variable variable : declarations) {
+			this.declare(variable);
+		}
+		this.prepare(states);
+		for (State state : states) {
+			for (Region region : state.getBody().getRegions()) {
+				if (region instanceof BasicBlock) {
+					for (Instruction instruction : ((BasicBlock) region).getInstructions()) {
+						Value target = instruction.getTarget();
+						if (target instanceof Temporary && this.uses.getOrDefault(target, 0) != 0 && !this.foldable((Temporary) target) && this.declared.add((Temporary) target)) {
+							this.newLine("");
+							this.declaration(this.type(target), ((Temporary) target).getName());
+							this.write(";");
+						}
+					}
+				}
+			}
+		}
+		this.newLine("");
+		if (dispatch == Dispatch.SWITCH) {
+			this.write("int ");
+			this.identifier(CGeneratorVisitor.STATE);
+			this.write(" = ");
+			this.integer(0);
+			this.write(";");
+			this.newLine("");
+			this.write("while (1)");
+			this.openBlock();
+			this.newLine("");
+			this.write("switch (");
+			this.identifier(CGeneratorVisitor.STATE);
+			this.write(")");
+			this.openBlock();
+		}
+		else {
+			this.write("static void *");
+			this.identifier(CGeneratorVisitor.TABLE);
+			this.write("[] = ");
+			this.openBlock();
+			for (State state : states) {
+				this.write(state.getNumber() == 0 ? "&&" : ", &&");
+				this.identifier(CGeneratorVisitor.STATE + " " + state.getNumber());
+			}
+			this.closeBlock("");
+			this.write(";");
+		}
+		for (State state : states) {
+			this.newLine("");
+			if (dispatch == Dispatch.SWITCH) {
+				this.write("case ");
+				this.integer(state.getNumber());
+			}
+			else {
+				this.identifier(CGeneratorVisitor.STATE + " " + state.getNumber());
+			}
+			this.write(":");
+			this.openBlock();
+			this.body(state.getBody(), state.getCondition());
+			if (state.getNext() != null) {
+				this.newLine("");
+				if (dispatch == Dispatch.SWITCH) {
+					this.identifier(CGeneratorVisitor.STATE);
+					this.write(" = ");
+					this.next_state(state);
+					this.write(";");
+					this.newLine("");
+					this.write("continue;");
+				}
+				else {
+					this.write("goto *");
+					this.identifier(CGeneratorVisitor.TABLE);
+					this.write("[");
+					this.next_state(state);
+					this.write("];");
+				}
+			}
+			else if (!state.returns()) {
+				this.newLine("");
+				this.write("goto ");
+				this.identifier(CGeneratorVisitor.END);
+				this.write(";");
+			}
+			this.closeBlock("");
+		}
+		if (dispatch == Dispatch.SWITCH) {
+			this.closeBlock("");
+			this.closeBlock("");
+		}
+		this.newLine("");
+		this.identifier(CGeneratorVisitor.END);
+		this.write(": ;");
 	}
-	
+
 	/**
-	 * Converts to C the specified node.
-	 * @param node Node to display.
+	 * Writes the number of the state following the given one in the output of every backend, chosen by its condition if it has one.
+	 * @param state The state.
 	 * @author C.Silva, R.Cuinat
 	 */
-	@Override
-	public void visit(NoneNode node) {
-		this.write("NULL");
+	private void next_state(State state) {
+		if (state.getCondition() != null) {
+			this.condition(state.getCondition());
+			this.write(" ? ");
+			this.integer(state.getNext().getNumber());
+			this.write(" : ");
+			this.integer(state.getOtherwise().getNumber());
+		}
+		else {
+			this.integer(state.getNext().getNumber());
+		}
 	}
-	
+
 	/**
-	 * Converts to C the specified node.
-	 * @param node Node to display.
+	 * Counts the definitions and the uses of the temporaries of a function, before its generation.
+	 * @param body Body of the function.
 	 * @author C.Silva, R.Cuinat
 	 */
-	@Override
-	public void visit(StringNode node) {
-		this.write("\"" + node.getValue().substring(1,node.getValue().length()-1) + "\"");
+	private void prepare(Body body) {
+		this.reset();
+		this.analyze(body);
 	}
-	
+
+	/**
+	 * Counts the definitions and the uses of the temporaries of a flattened function, before its generation.
+	 * The condition of a state is used in its last region.
+	 * @param states The states of the function.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private void prepare(List<State> states) {
+		this.reset();
+		for (State state : states) {
+			ArrayList<Region> regions = state.getBody().getRegions();
+			this.analyze(state.getBody());
+			if (state.getCondition() != null) {
+				this.use(state.getCondition(), regions.isEmpty() ? null : regions.get(regions.size() - 1));
+			}
+		}
+	}
+
 	/**
-	 * Converts to C the specified node.
-	 * @param node Node to display.
+	 * Forgets the definitions and the uses of the temporaries of the previous function.
 	 * @author C.Silva, R.Cuinat
 	 */
-	@Override
-	public void visit(TrueNode node) {
-		this.write("1");
+	private void reset() {
+		this.definitions.clear();
+		this.uses.clear();
+		this.defined_in.clear();
+		this.used_in.clear();
+		this.folded.clear();
+		this.declared.clear();
 	}
-	
+
 	/**
-	 * Converts to C the specified node.
-	 * @param node Node to display.
+	 * Counts the definitions and the uses of the temporaries of the given body. A use is located in the block of its instruction,
+	 * or in the block computing the condition of a branch or of a while loop, or the first value of a for loop, just before it.
+	 * @param body The body.
 	 * @author C.Silva, R.Cuinat
 	 */
-	@Override
-	public void visit(ExpressionNode node) {
-		for (Node n : node.getChildren()) {
-			n.accept(this);
-			this.write(" ");
+	private void analyze(Body body) {
+		ArrayList<Region> regions = body.getRegions();
+		for (int i=0;i<regions.size();i++) {
+			Region region = regions.get(i);
+			Region previous = i > 0 && regions.get(i - 1) instanceof BasicBlock ? regions.get(i - 1) : region;
+			if (region instanceof BasicBlock) {
+				for (Instruction instruction : ((BasicBlock) region).getInstructions()) {
+					for (Value operand : instruction.getOperands()) {
+						this.use(operand, region);
+					}
+					if (instruction.getTarget() instanceof Temporary) {
+						Temporary target = (Temporary) instruction.getTarget();
+						this.definitions.put(target, this.definitions.getOrDefault(target, 0) + 1);
+						this.defined_in.put(target, region);
+					}
+				}
+			}
+			else if (region instanceof Branch) {
+				Branch branch = (Branch) region;
+				this.use(branch.getCondition(), previous);
+				this.analyze(branch.getThen());
+				if (branch.getOtherwise() != null) {
+					this.analyze(branch.getOtherwise());
+				}
+			}
+			else if (region instanceof WhileLoop) {
+				WhileLoop loop = (WhileLoop) region;
+				ArrayList<Region> header = loop.getHeader().getRegions();
+				this.analyze(loop.getHeader());
+				this.use(loop.getCondition(), !header.isEmpty() && header.get(header.size() - 1) instanceof BasicBlock ? header.get(header.size() - 1) : region);
+				this.analyze(loop.getBody());
+			}
+			else if (region instanceof ForLoop) {
+				ForLoop loop = (ForLoop) region;
+				this.use(loop.getStart(), previous);
+				this.use(loop.getStop(), region);
+				this.use(loop.getStep(), region);
+				this.analyze(loop.getBody());
+			}
 		}
 	}
-	
+
 	/**
-	 * Converts to C the specified node.
-	 * @param node Node to display.
+	 * Counts a use of the given value.
+	 * @param value The value used.
+	 * @param region Region where the value is used.
 	 * @author C.Silva, R.Cuinat
 	 */
-	@Override
-	public void visit(FunctionCallNode node) {
-		FunctionSymbol func = this.symbolTable.getFunctionByName(node.getName());
-		if (func  == null) {
-			System.err.println("Unable to proceed with conversion : Call of unknown function (L" + node.getLine() + ", C" + node.getColumn() + ").");
-			System.exit(1);
-		}
-		if (func.getName().compareTo("print") == 0) {
-			this.write("printf");
-			this.write("(\"%s\\n\", ");
-			this.current_function = func;
-			node.getArgList().accept(this);
-			this.current_function = null;
-			this.write(")");
-		}
-		else {
-			node.getName().accept(this);
-			this.write("(");
-			this.current_function = func;
-			node.getArgList().accept(this);
-			this.current_function = null;
-			this.write(")");
+	private void use(Value value, Region region) {
+		if (value instanceof Temporary) {
+			this.uses.put((Temporary) value, this.uses.getOrDefault(value, 0) + 1);
+			this.used_in.put((Temporary) value, region);
 		}
 	}
-	
+
 	/**
-	 * Converts to C the specified node.
-	 * @param node Node to display.
+	 * Tells whether the given temporary can be written in the expression using it instead of being assigned :
+	 * it is defined once and used once, in the same block.
+	 * @param temporary The temporary.
+	 * @return true if the temporary can be folded into its use.
 	 * @author C.Silva, R.Cuinat
 	 */
-	@Override
-	public void visit(IdentifierNode node) {
-		this.write(node.getName());
+	private boolean foldable(Temporary temporary) {
+		return this.definitions.getOrDefault(temporary, 0) == 1 && this.uses.getOrDefault(temporary, 0) == 1 && this.used_in.get(temporary) == this.defined_in.get(temporary);
 	}
-	
+
 	/**
-	 * Converts to C the specified node.
-	 * @param node Node to display.
+	 * Chooses the instructions of a block to write, the other ones being folded into the expressions using their temporaries.
+	 * The folded instructions are delayed until their use. A delayed instruction is written before the next instruction
+	 * assigning a value it reads, and a delayed call before the next call, so that the order of execution is kept.
+	 * @param block The block.
+	 * @param exits Values used right after the block : the condition of the branch or of the while loop, or the first value of the for loop.
+	 * @return The instructions to write, in this order.
 	 * @author C.Silva, R.Cuinat
 	 */
-	@Override
-	public void visit(OperationExpressionNode node) {
-		if (node.getOperator() != null && node.getOperator().getValue().compareTo("**") == 0){
-			this.write("pow( ");
-			node.getLeftMember().accept(this);
-			this.write(", ");
-			node.getRightMember().accept(this);
-			this.write(")");
-		}
-		else{
-			if (node.getLeftMember() != null) {
-				this.write("(");
-				node.getLeftMember().accept(this);
-				this.write(")");
+	private ArrayList<Instruction> plan(BasicBlock block, List<Value> exits) {
+		ArrayList<Instruction> plan = new ArrayList<>();
+		LinkedHashMap<Temporary, Instruction> pending = new LinkedHashMap<>();
+		for (Instruction instruction : block.getInstructions()) {
+			for (Value operand : instruction.getOperands()) {
+				this.consume(operand, pending);
 			}
-			this.write(" ");
-			if (node.getOperator() != null) {
-				node.getOperator().accept(this);
+			Iterator<Instruction> delayed = pending.values().iterator();
+			while (delayed.hasNext()) {
+				Instruction previous = delayed.next();
+				if ((instruction.getTarget() != null && this.reads(previous, instruction.getTarget())) || (instruction.hasSideEffects() && this.has_side_effects(previous))) {
+					plan.add(previous);
+					delayed.remove();
+				}
 			}
-			this.write(" ");
-			if (node.getRightMember() != null) {
-				this.write("(");
-				node.getRightMember().accept(this);
-				this.write(")");
+			if (instruction.getTarget() instanceof Temporary) {
+				Temporary target = (Temporary) instruction.getTarget();
+				if (this.uses.getOrDefault(target, 0) == 0 && !instruction.hasSideEffects()) {
+					continue;
+				}
+				if (this.foldable(target)) {
+					pending.put(target, instruction);
+					continue;
+				}
 			}
+			plan.add(instruction);
 		}
+		for (Value exit : exits) {
+			this.consume(exit, pending);
+		}
+		plan.addAll(pending.values());
+		return plan;
 	}
-	
+
 	/**
-	 * Converts to C the specified node.
-	 * @param node Node to display.
+	 * Folds the given value into the expression using it, if it is a delayed temporary.
+	 * @param value The value used.
+	 * @param pending The delayed instructions, by temporary.
 	 * @author C.Silva, R.Cuinat
 	 */
-	@Override
-	public void visit(ElifBlockNode node) {
-		this.write("else if (");
-		if (node.getCondition() != null) {
-			node.getCondition().accept(this);
+	private void consume(Value value, LinkedHashMap<Temporary, Instruction> pending) {
+		if (value instanceof Temporary && pending.containsKey(value)) {
+			this.folded.put((Temporary) value, pending.remove(value));
 		}
-		this.write("){");
-		this.current_tab ++;
-		if (node.getBody() != null) {
-			node.getBody().accept(this);
-		}
-		this.current_tab --;
-		this.newLine("");
-		this.write("}");
 	}
-	
+
 	/**
-	 * Converts to C the specified node.
-	 * @param node Node to display.
+	 * Tells whether the expression of the given instruction reads the given value.
+	 * @param instruction The instruction.
+	 * @param value The value.
+	 * @return true if the value is an operand of the instruction or of the instructions folded into it.
 	 * @author C.Silva, R.Cuinat
 	 */
-	@Override
-	public void visit(ElseBlockNode node) {
-		this.write("else {");
-		this.current_tab++;
-		if (node.getBody() != null) {
-			node.getBody().accept(this);
+	private boolean reads(Instruction instruction, Value value) {
+		for (Value operand : instruction.getOperands()) {
+			if (operand == value || (this.folded.containsKey(operand) && this.reads(this.folded.get(operand), value))) {
+				return true;
+			}
 		}
-		this.current_tab--;
-		this.newLine("");
-		this.write("}");
+		return false;
 	}
-	
+
 	/**
-	 * Converts to C the specified node.
-	 * @param node Node to display.
+	 * Tells whether the expression of the given instruction has side effects.
+	 * @param instruction The instruction.
+	 * @return true if the instruction or one of the instructions folded into it is a call.
 	 * @author C.Silva, R.Cuinat
 	 */
-	@Override
-	public void visit(IfBlockNode node) {
-		this.write("if (");
-		if (node.getCondition() != null) {
-			node.getCondition().accept(this);
+	private boolean has_side_effects(Instruction instruction) {
+		if (instruction.hasSideEffects()) {
+			return true;
 		}
-		this.write(" ){");
-		this.current_tab ++;
-		if (node.getBody() != null){
-			node.getBody().accept(this);
+		for (Value operand : instruction.getOperands()) {
+			if (this.folded.containsKey(operand) && this.has_side_effects(this.folded.get(operand))) {
+				return true;
+			}
 		}
-		this.current_tab --;
-		this.newLine("");
-		this.write("}");
-	}
-	
-	/**
-	 * Converts to C the specified node.
-	 * @param node Node to display.
-	 * @author C.Silva, R.Cuinat
-	 */
-	@Override
-	public void visit(AssertStatementNode node) {
-		System.err.println("Unable to proceed with the conversion : assert statement (L" + node.getLine() + ", C" + node.getColumn() + ").");
+		return false;
 	}
-	
+
 	/**
-	 * Converts to C the specified node.
-	 * @param node Node to display.
+	 * Writes a body in the output of every backend : its declarations, then its regions.
+	 * @param body The body.
+	 * @param exit Value used right after the body, computed by its last block. null if none.
 	 * @author C.Silva, R.Cuinat
 	 */
-	@Override
-	public void visit(AssignmentNode node) {
-		if (node.getLeftMember() != null) {
-			node.getLeftMember().accept(this);
-		}
-		this.write(" ");
-		if (node.getOperator() != null) {
-			switch (node.getOperator().getValue()) {
-			case "+=" :
-				TypeDiscovererVisitor td6 = new TypeDiscovererVisitor(this.symbolTable);
-				td6.visit(node.getRightMember());
-				String typeRight6 = td6.getResult().getName();
-				VariableSymbol var6 = this.symbolTable.getVariableByName((IdentifierNode)node.getLeftMember().getExpression());
-				if (var6 == null || (typeRight6.compareTo("Integer") != 0 && typeRight6.compareTo("Double") != 0) ||(var6.getType().getName().compareTo("Integer") != 0 && var6.getType().getName().compareTo("Double") != 0)) {
-					System.err.println("Unable to proceed with conversion : Invalid type for operation - (L" + node.getLine() + ", C" + node.getColumn() + ")") ;
-				}
-				this.write("= ");
-				node.getLeftMember().accept(this);
-				this.write(" + (");
-				if (node.getRightMember() != null) {
-					node.getRightMember().accept(this);
-				}
-				this.write(")");
-				break;
-			case "*=" :
-				TypeDiscovererVisitor td5 = new TypeDiscovererVisitor(this.symbolTable);
-				td5.visit(node.getRightMember());
-				String typeRight5 = td5.getResult().getName();
-				VariableSymbol var5 = this.symbolTable.getVariableByName((IdentifierNode)node.getLeftMember().getExpression());
-				if (var5 == null || (typeRight5.compareTo("Integer") != 0 && typeRight5.compareTo("Double") != 0) ||(var5.getType().getName().compareTo("Integer") != 0 && var5.getType().getName().compareTo("Double") != 0)) {
-					System.err.println("Unable to proceed with conversion : Invalid type for operation * (L" + node.getLine() + ", C" + node.getColumn() + ")") ;
-				}
-				this.write("= ");
-				node.getLeftMember().accept(this);
-				this.write(" * (");
-				if (node.getRightMember() != null) {
-					node.getRightMember().accept(this);
-				}
-				this.write(")");
-				break;
-			case "/=" : 
-				TypeDiscovererVisitor td4 = new TypeDiscovererVisitor(this.symbolTable);
-				td4.visit(node.getRightMember());
-				String typeRight4 = td4.getResult().getName();
-				VariableSymbol var4 = this.symbolTable.getVariableByName((IdentifierNode)node.getLeftMember().getExpression());
-				if (var4 == null || (typeRight4.compareTo("Integer") != 0 && typeRight4.compareTo("Double") != 0) ||(var4.getType().getName().compareTo("Integer") != 0 && var4.getType().getName().compareTo("Double") != 0)) {
-					System.err.println("Unable to proceed with conversion : Invalid type for operation / (L" + node.getLine() + ", C" + node.getColumn() + ")") ;
-				}
-				this.write("= ");
-				node.getLeftMember().accept(this);
-				this.write(" / (");
-				if (node.getRightMember() != null) {
-					node.getRightMember().accept(this);
-				}
-				this.write(")");
-				break;
-			case "-=" :
-				TypeDiscovererVisitor td3 = new TypeDiscovererVisitor(this.symbolTable);
-				td3.visit(node.getRightMember());
-				String typeRight3 = td3.getResult().getName();
-				VariableSymbol var3 = this.symbolTable.getVariableByName((IdentifierNode)node.getLeftMember().getExpression());
-				if (var3 == null || (typeRight3.compareTo("Integer") != 0 && typeRight3.compareTo("Double") != 0) ||(var3.getType().getName().compareTo("Integer") != 0 && var3.getType().getName().compareTo("Double") != 0)) {
-					System.err.println("Unable to proceed with conversion : Invalid type for operation - (L" + node.getLine() + ", C" + node.getColumn() + ")") ;
-				}
-				this.write("= ");
-				node.getLeftMember().accept(this);
-				this.write(" - (");
-				if (node.getRightMember() != null) {
-					node.getRightMember().accept(this);
-				}
-				this.write(")");
-				break;
-			case "%=" :
-				TypeDiscovererVisitor td2 = new TypeDiscovererVisitor(this.symbolTable);
-				td2.visit(node.getRightMember());
-				String typeRight2 = td2.getResult().getName();
-				VariableSymbol var = this.symbolTable.getVariableByName((IdentifierNode)node.getLeftMember().getExpression());
-				if (var == null || typeRight2.compareTo("Integer") != 0 ||var.getType().getName().compareTo("Integer") != 0) {
-					System.err.println("Unable to proceed with conversion : Invalid operation % with non integer (L" + node.getLine() + ", C" + node.getColumn() + ")") ;
-				}
-				this.write("= ");
-				node.getLeftMember().accept(this);
-				this.write(" % (");
-				if (node.getRightMember() != null) {
-					node.getRightMember().accept(this);
-				}
-				this.write(")");
-				break;
-			case "**=" :
-				TypeDiscovererVisitor td = new TypeDiscovererVisitor(this.symbolTable);
-				td.visit(node.getRightMember());
-				String typeRight = td.getResult().getName();
-				VariableSymbol var2 = this.symbolTable.getVariableByName((IdentifierNode)node.getLeftMember().getExpression());
-				if (var2 == null || typeRight.compareTo("Integer") != 0 ||(var2.getType().getName().compareTo("Integer") != 0 && var2.getType().getName().compareTo("Double") != 0)) {
-					System.err.println("Unable to proceed with conversion : Invalid type for operation ** (L" + node.getLine() + ", C" + node.getColumn() + ")") ;
+	private void body(Body body, Value exit) {
+		for (Variable variable : body.getDeclarations()) {
+			this.declare(variable);
+		}
+		ArrayList<Region> regions = body.getRegions();
+		for (int i=0;i<regions.size();i++) {
+			Region region = regions.get(i);
+			if (region instanceof BasicBlock) {
+				Region next = i + 1 < regions.size() ? regions.get(i + 1) : null;
+				List<Value> exits = Collections.emptyList();
+				if (next instanceof Branch) {
+					exits = Collections.singletonList(((Branch) next).getCondition());
 				}
-				this.write("= pow(");
-				node.getLeftMember().accept(this);
-				this.write(", ");
-				if (node.getRightMember() != null) {
-					node.getRightMember().accept(this);
+				else if (next instanceof ForLoop) {
+					exits = Collections.singletonList(((ForLoop) next).getStart());
 				}
-				this.write(" )");
-				break;
-			case "=" :
-				TypeDiscovererVisitor td7 = new TypeDiscovererVisitor(this.symbolTable);
-				td7.visit(node.getRightMember());
-				String typeRight7 = td7.getResult().getName();
-				VariableSymbol var7 = this.symbolTable.getVariableByName((IdentifierNode)node.getLeftMember().getExpression());
-				if (var7 == null || typeRight7.compareTo(var7.getType().getName()) != 0) {
-					System.err.println("Unable to proceed with conversion : Invalid type for operation =  (L" + node.getLine() + ", C" + node.getColumn() + ")") ;
+				else if (next == null && exit != null) {
+					exits = Collections.singletonList(exit);
 				}
-				this.write( "= ");
-				if (node.getRightMember() != null) {
-					node.getRightMember().accept(this);
+				for (Instruction instruction : this.plan((BasicBlock) region, exits)) {
+					this.newLine("");
+					this.instruction(instruction);
+					this.write(";");
 				}
-				break;
-			default :
-				System.err.println("Unable to proceed with conversion : Unknown assignment operator (L"+node.getLine() + ", C" + node.getColumn() +").");
+			}
+			else if (region instanceof Branch) {
+				this.branch((Branch) region);
+			}
+			else if (region instanceof WhileLoop) {
+				this.loop((WhileLoop) region);
+			}
+			else if (region instanceof ForLoop) {
+				this.loop((ForLoop) region);
 			}
 		}
 	}
-	
+
 	/**
-	 * Converts to C the specified node.
-	 * @param node Node to display.
+	 * Writes the declaration of a variable of a body in the output of every backend.
+	 * @param variable The variable.
 	 * @author C.Silva, R.Cuinat
 	 */
-	@Override
-	public void visit(BreakStatementNode node) {
-		this.write("break");
+	private void declare(Variable variable) {
+		this.newLine("");
+		this.declaration((variable.isRegister() ? "register " : "") + this.type(variable), variable.getName());
+		this.write(";");
 	}
-	
+
 	/**
-	 * Converts to C the specified node.
-	 * @param node Node to display.
+	 * Writes a branch in the output of every backend. The branches alone in the otherwise body of the previous one are written as else if.
+	 * @param branch The branch.
 	 * @author C.Silva, R.Cuinat
 	 */
-	@Override
-	public void visit(ContinueStatementNode node) {
+	private void branch(Branch branch) {
+		this.newLine("");
+		this.write("if (");
+		this.condition(branch.getCondition());
+		this.write(")");
+		this.openBlock();
+		this.body(branch.getThen(), null);
+		this.closeBlock("");
+		Body otherwise = branch.getOtherwise();
+		while (otherwise != null) {
+			Branch elif = this.elif(otherwise);
+			if (elif == null) {
+				this.write(" else ");
+				this.openBlock();
+				this.body(otherwise, null);
+				this.closeBlock("");
+				break;
+			}
+			this.write(" else if (");
+			this.condition(elif.getCondition());
+			this.write(")");
+			this.openBlock();
+			this.body(elif.getThen(), null);
+			this.closeBlock("");
+			otherwise = elif.getOtherwise();
+		}
 	}
-	
+
 	/**
-	 * Converts to C the specified node.
-	 * @param node Node to display.
+	 * Returns the branch which is the only statement of the given otherwise body, its condition being folded into it.
+	 * @param otherwise The otherwise body of a branch.
+	 * @return The branch, or null if the body cannot be written as an else if.
 	 * @author C.Silva, R.Cuinat
 	 */
-	@Override
-	public void visit(ForStatementNode node) {
-		VariableSymbol itvar = this.symbolTable.getVariableByName(node.getVariable());
-		if (itvar == null) {
-			this.write("int " + node.getVariable().getName());
-			this.newLine(";");
-		}
-		else if (itvar.getType().getName().compareTo("Integer") != 0) {
-			System.err.println("Unable to proceed with conversion : Wrong type for iteration variable (L"+node.getLine() + ", C" + node.getColumn() + ").");
-			System.exit(1);
-		}
-		this.write("for (");
-		if (node.getVariable() != null) {
-			node.getVariable().accept(this);
+	private Branch elif(Body otherwise) {
+		ArrayList<Region> regions = otherwise.getRegions();
+		if (!otherwise.getDeclarations().isEmpty() || regions.isEmpty() || !(regions.get(regions.size() - 1) instanceof Branch)) {
+			return null;
 		}
-		// range
-		try {
-			if (((FunctionCallNode)node.getIterable().getExpression()).getName().getName().compareTo("range") == 0) {
-				TypeDiscovererVisitor td = new TypeDiscovererVisitor(this.symbolTable);
-				switch (((FunctionCallNode)node.getIterable().getExpression()).getArgList().getActualArgumentList().getChildren().size()) {
-				case 1 :
-					this.write("= 0; ");
-					node.getVariable().accept(this);
-					this.write(" < (");
-					(((FunctionCallNode)node.getIterable().getExpression()).getArgList().getActualArgumentList().getChildren().get(0)).accept(td);
-					if (td.getResult().getName().compareTo("Integer") != 0) {
-						System.err.println("Unable to proceed with conversion : Invalid iterable argument (L" + node.getLine() + ", C" + node.getColumn() + ").");
-					}
-					td.clear();
-					((FunctionCallNode)node.getIterable().getExpression()).getArgList().getActualArgumentList().getChildren().get(0).accept(this);
-					this.write("); ");
-					node.getVariable().accept(this);
-					this.write("++");
-					break;
-				case 2 :
-					this.write("= ");
-					(((FunctionCallNode)node.getIterable().getExpression()).getArgList().getActualArgumentList().getChildren().get(0)).accept(td);
-					if (td.getResult().getName().compareTo("Integer") != 0) {
-						System.err.println("Unable to proceed with conversion : Invalid iterable argument (L" + node.getLine() + ", C" + node.getColumn() + ").");
-					}
-					td.clear();
-					((FunctionCallNode)node.getIterable().getExpression()).getArgList().getActualArgumentList().getChildren().get(0).accept(this);
-					this.write("; "); 
-					node.getVariable().accept(this);
-					this.write(" < (");
-					(((FunctionCallNode)node.getIterable().getExpression()).getArgList().getActualArgumentList().getChildren().get(1)).accept(td);					if (td.getResult().getName().compareTo("Integer") != 0) {
-						System.err.println("Unable to proceed with conversion : Invalid iterable argument (L" + node.getLine() + ", C" + node.getColumn() + ").");
-					}
-					td.clear();
-					((FunctionCallNode)node.getIterable().getExpression()).getArgList().getActualArgumentList().getChildren().get(1).accept(this);
-					this.write("); ");
-					node.getVariable().accept(this);
-					this.write("++");
-					break;
-				case 3 :
-					this.write("= ");
-					(((FunctionCallNode)node.getIterable().getExpression()).getArgList().getActualArgumentList().getChildren().get(0)).accept(td);
-					if (td.getResult().getName().compareTo("Integer") != 0) {
-						System.err.println("Unable to proceed with conversion : Invalid iterable argument (L" + node.getLine() + ", C" + node.getColumn() + ").");
-					}
-					td.clear();
-					((FunctionCallNode)node.getIterable().getExpression()).getArgList().getActualArgumentList().getChildren().get(0).accept(this);
-					this.write("; "); 
-					node.getVariable().accept(this);
-					this.write(" < (");
-					(((FunctionCallNode)node.getIterable().getExpression()).getArgList().getActualArgumentList().getChildren().get(1)).accept(td);
-					if (td.getResult().getName().compareTo("Integer") != 0) {
-						System.err.println("Unable to proceed with conversion : Invalid iterable argument (L" + node.getLine() + ", C" + node.getColumn() + ").");
-					}
-					td.clear();
-					((FunctionCallNode)node.getIterable().getExpression()).getArgList().getActualArgumentList().getChildren().get(1).accept(this);
-					this.write("); ");
-					node.getVariable().accept(this);
-					this.write(" = ");
-					node.getVariable().accept(this);
-					this.write(" + (");
-					(((FunctionCallNode)node.getIterable().getExpression()).getArgList().getActualArgumentList().getChildren().get(2)).accept(td);					
-					if (td.getResult().getName().compareTo("Integer") != 0) {
-						System.err.println("Unable to proceed with conversion : Invalid iterable argument (L" + node.getLine() + ", C" + node.getColumn() + ").");
-					}
-					td.clear();
-					((FunctionCallNode)node.getIterable().getExpression()).getArgList().getActualArgumentList().getChildren().get(2).accept(this);
-					this.write(")");
-					break;
-				default :
-					System.err.println("Unable to proceed with conversion : Invalid iterable (L" + node.getLine() + ", C" + node.getColumn() + ").");
-					break;
-				}
-			}
+		Branch elif = (Branch) regions.get(regions.size() - 1);
+		if (regions.size() == 1 || (regions.size() == 2 && regions.get(0) instanceof BasicBlock
+				&& this.plan((BasicBlock) regions.get(0), Collections.singletonList(elif.getCondition())).isEmpty())) {
+			return elif;
 		}
-		catch (Exception e) {
-			System.err.println("Unable to proceed with conversion : Invalid iterable (L" + node.getLine() + ", C" + node.getColumn() + ").");
+		return null;
+	}
+
+	/**
+	 * Writes a while loop in the output of every backend. When its condition cannot be written in a single expression,
+	 * the loop is infinite and its header, followed by the test of the condition, begins its body.
+	 * @param loop The loop.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private void loop(WhileLoop loop) {
+		Body header = loop.getHeader();
+		boolean simple = header.getDeclarations().isEmpty() && (header.getRegions().isEmpty() || (header.getRegions().size() == 1 && header.getRegions().get(0) instanceof BasicBlock
+				&& this.plan((BasicBlock) header.getRegions().get(0), Collections.singletonList(loop.getCondition())).isEmpty()));
+		this.newLine("");
+		if (simple) {
+			this.write("while (");
+			this.condition(loop.getCondition());
+			this.write(")");
+			this.openBlock();
 		}
-		this.write("){");
-		this.current_tab ++;
-		AssignmentNode n = new AssignmentNode(node.getLine(), node.getColumn());
-		n.setLeftMember(node.getVariable());
-		n.setRightMember(new IntegerNode(new Token("Integer", "1", node.getLine(), node.getColumn())));
-		this.symbolTable.addVariable(new VariableSymbol(n, this.symbolTable));
-		if (node.getBody() != null) {
-			node.getBody().accept(this);
+		else {
+			this.write("while (1)");
+			this.openBlock();
+			this.body(header, loop.getCondition());
+			this.newLine("");
+			this.write("if (!(");
+			this.condition(loop.getCondition());
+			this.write("))");
+			this.openBlock();
+			this.newLine("");
+			this.write("break;");
+			this.closeBlock("");
 		}
-		this.current_tab --;
-		this.newLine("");
-		this.write("}");
-		this.newLine("");
-	}	
-	
+		this.body(loop.getBody(), null);
+		this.closeBlock("");
+	}
+
 	/**
-	 * Converts to C the specified node.
-	 * @param node Node to display.
+	 * Writes a for loop in the output of every backend. The loop goes up or down according to the sign of its step,
+	 * tested at each iteration when the step is not a constant.
+	 * @param loop The loop.
 	 * @author C.Silva, R.Cuinat
 	 */
-	@Override
-	public void visit(IfStatementNode node) {
-		for (Node n : node.getChildren()) {
-			n.accept(this);
-			if (node.getChildren().indexOf(n) != node.getChildren().size() - 1) {
-				this.newLine("");
-			}
+	private void loop(ForLoop loop) {
+		String counter = loop.getCounter().getName();
+		Value step = loop.getStep();
+		this.newLine("");
+		this.write("for (");
+		this.identifier(counter);
+		this.write(" = ");
+		this.value(loop.getStart());
+		this.write("; ");
+		this.open_condition();
+		if (step instanceof Constant) {
+			this.identifier(counter);
+			this.write((Long) ((Constant) step).getValue() < 0 ? " > " : " < ");
+			this.value(loop.getStop());
+		}
+		else {
+			this.write("(");
+			this.value(step);
+			this.write(" > 0 ? ");
+			this.identifier(counter);
+			this.write(" < ");
+			this.value(loop.getStop());
+			this.write(" : ");
+			this.identifier(counter);
+			this.write(" > ");
+			this.value(loop.getStop());
+			this.write(")");
+		}
+		this.close_condition();
+		this.write("; ");
+		this.identifier(counter);
+		if (step instanceof Constant && (Long) ((Constant) step).getValue() == 1) {
+			this.write("++");
+		}
+		else if (step instanceof Constant && (Long) ((Constant) step).getValue() < 0 && (Long) ((Constant) step).getValue() != Long.MIN_VALUE) {
+			this.write(" = ");
+			this.identifier(counter);
+			this.write(" - ");
+			this.integer(-(Long) ((Constant) step).getValue());
 		}
+		else {
+			this.write(" = ");
+			this.identifier(counter);
+			this.write(" + ");
+			this.value(step);
+		}
+		this.write(")");
+		this.openBlock();
+		this.body(loop.getBody(), null);
+		this.closeBlock("");
 	}
-	
+
 	/**
-	 * Converts to C the specified node.
-	 * @param node Node to display.
+	 * Writes an instruction in the output of every backend. A temporary is declared by its first assignment,
+	 * and the result of a call is dropped when it is not used.
+	 * @param instruction The instruction.
 	 * @author C.Silva, R.Cuinat
 	 */
-	@Override
-	public void visit(PassStatementNode node) {
+	private void instruction(Instruction instruction) {
+		switch (instruction.getOpcode()) {
+		case RETURN :
+			this.write("return");
+			if (!instruction.getOperands().isEmpty()) {
+				this.write(" ");
+				this.value(instruction.getOperands().get(0));
+			}
+			break;
+		case BREAK :
+			this.write("break");
+			break;
+		case CONTINUE :
+			this.write("continue");
+			break;
+		default :
+			Value target = instruction.getTarget();
+			if (target instanceof Temporary && this.uses.getOrDefault(target, 0) != 0) {
+				if (this.declared.add((Temporary) target)) {
+					this.declaration(this.type(target), ((Temporary) target).getName());
+				}
+				else {
+					this.identifier(((Temporary) target).getName());
+				}
+				this.write(" = ");
+			}
+			else if (target instanceof Variable) {
+				this.identifier(((Variable) target).getName());
+				this.write(" = ");
+			}
+			this.expression(instruction);
+			break;
+		}
 	}
-	
+
 	/**
-	 * Converts to C the specified node.
-	 * @param node Node to display.
+	 * Writes the expression computed by an instruction in the output of every backend.
+	 * @param instruction A copy, a binary operation or a call.
 	 * @author C.Silva, R.Cuinat
 	 */
-	@Override
-	public void visit(ReturnStatementNode node) {
-		this.write("return ");
-		node.getExpression().accept(this);
+	private void expression(Instruction instruction) {
+		List<Value> operands = instruction.getOperands();
+		switch (instruction.getOpcode()) {
+		case COPY :
+			this.value(operands.get(0));
+			break;
+		case BINARY :
+			if (instruction.getOperator().compareTo("**") == 0) {
+				this.power(operands.get(0), operands.get(1), this.widens(instruction));
+			}
+			else {
+				int precedence = CGeneratorVisitor.precedence(instruction.getOperator());
+				boolean widens = this.widens(instruction);
+				if (widens) {
+					this.write("(int64_t) ");
+				}
+				this.member(operands.get(0), widens ? Integer.MAX_VALUE : precedence, false);
+				this.write(" ");
+				this.operator(instruction.getOperator());
+				this.write(" ");
+				this.member(operands.get(1), precedence, true);
+			}
+			break;
+		case CALL :
+			if (CGeneratorVisitor.prints(instruction, "String")) {
+				this.write("puts(");
+			}
+			else if (CGeneratorVisitor.prints(instruction, "Integer")) {
+				this.function_name(this.integer_printer);
+				this.write("(");
+			}
+			else if (CGeneratorVisitor.prints(instruction, "Double")) {
+				this.function_name(this.double_printer);
+				this.write("(");
+			}
+			else if (instruction.getFunction().getName().compareTo("print") == 0) {
+				this.write("printf");
+				this.write("(\"%s\\n\", ");
+			}
+			else {
+				this.function_name(instruction.getFunction().getName());
+				this.write("(");
+			}
+			for (int i=0;i<operands.size();i++) {
+				this.write(i == 0 ? "" : ", ");
+				this.value(operands.get(i));
+			}
+			this.write(")");
+			break;
+		default :
+			throw new CompilationException("Unable to proceed with conversion : " + instruction + " has no value.");
+		}
 	}
-	
+
 	/**
-	 * Converts to C the specified node.
-	 * @param node Node to display.
+	 * Writes a value in the output of every backend. A folded temporary is replaced by the expression computing it.
+	 * @param value The value.
 	 * @author C.Silva, R.Cuinat
 	 */
-	public void visit(WhileStatementNode node) {
-		this.write("while (");
-		if (node.getCondition() != null) {
-			node.getCondition().accept(this);
+	private void value(Value value) {
+		if (value instanceof Constant) {
+			Object constant = ((Constant) value).getValue();
+			if (constant == null) {
+				this.write("NULL");
+			}
+			else if (constant instanceof Long) {
+				this.integer((Long) constant);
+			}
+			else if (constant instanceof String) {
+				this.string((String) constant);
+			}
+			else {
+				this.write(constant.toString());
+			}
 		}
-		this.write(" ){");
-		this.current_tab ++;
-		if (node.getBody() != null) {
-			node.getBody().accept(this);
+		else if (value instanceof Variable) {
+			this.identifier(((Variable) value).getName());
+		}
+		else if (this.folded.containsKey(value)) {
+			this.expression(this.folded.get(value));
+		}
+		else {
+			this.identifier(((Temporary) value).getName());
 		}
-		this.current_tab --;
-		this.newLine("");
-		this.write("}");
 	}
-	
+
 	/**
-	 * Converts to C the specified node.
-	 * @param node Node to display.
+	 * Writes the power of the given values in the output of every backend.
+	 * The power of two integers is a chain of multiplications when the exponent is a small constant and the base a single value,
+	 * a call to the exponentiation by squaring helper otherwise, so that it is computed exactly without libm. The other powers call pow.
+	 * @param base Base of the power.
+	 * @param exponent Exponent of the power.
+	 * @param widens true if the power of integers is computed on 64 bits.
 	 * @author C.Silva, R.Cuinat
 	 */
-	public void visit(CallArgumentListNode node) {
-		if (current_function == null) {
-			System.err.println("Unable to proceed with conversion : The AST cannot be understood.");
-			System.exit(1);
-		}
-		if (node.getActualArgumentList() != null) {
-			node.getActualArgumentList().accept(this);
-		}
-		if (this.current_function.getOptionals().size() != 0){
+	private void power(Value base, Value exponent, boolean widens) {
+		if (!base.is("Integer") || !exponent.is("Integer")) {
+			this.write("pow( ");
+			this.value(base);
 			this.write(", ");
+			this.value(exponent);
+			this.write(")");
 		}
-		if (node.getActualOptionalArgumentList() != null) {
-			boolean found = false;
-			for (int i=0;i < this.current_function.getOptionals().size();i++) {
-				OptionalArgumentSymbol opt = this.current_function.getOptionals().get(i);
-				found = false;
-				for (Node n : node.getActualOptionalArgumentList().getChildren()) {
-					ActualOptionalArgumentNode actual = (ActualOptionalArgumentNode) n;
-					if (actual.getName().getName().compareTo(opt.getName()) == 0) {
-						found = true;
-						actual.accept(this);
-						break;
-					}
-				}
-				if (!found) {
-					opt.getNode().getDefault().accept(this);
-				}
-				if (i != this.current_function.getOptionals().size() -1) {
-					this.write(", ");
-				}
+		else if (exponent instanceof Constant && (Long) ((Constant) exponent).getValue() >= 0 && (Long) ((Constant) exponent).getValue() <= CGeneratorVisitor.MAX_CHAINED_EXPONENT
+				&& !this.folded.containsKey(base)) {
+			long n = (Long) ((Constant) exponent).getValue();
+			if (n == 0) {
+				this.integer(1);
+			}
+			for (int i=0;i<n;i++) {
+				this.write(i == 0 ? (widens ? "((int64_t) " : "(") : " * (");
+				this.value(base);
+				this.write(")");
 			}
 		}
+		else {
+			this.function_name(CGeneratorVisitor.POWER);
+			this.write("(");
+			this.value(base);
+			this.write(", ");
+			this.value(exponent);
+			this.write(")");
+		}
 	}
-	
+
 	/**
-	 * Converts to C the specified node.
-	 * @param node Node to display.
+	 * Tells whether the given arithmetic operation on integers has to be computed on 64 bits while its operands have 32 bits :
+	 * its left operand is then converted, the other one following.
+	 * @param instruction A binary operation.
+	 * @return true if the result of the operation needs 64 bits and none of its operands has them.
 	 * @author C.Silva, R.Cuinat
 	 */
-	public void visit(ActualArgumentNode node) {
-		if (node.getExpression() != null) {
-			node.getExpression().accept(this);
-		}
+	private boolean widens(Instruction instruction) {
+		Value left = instruction.getOperands().get(0);
+		Value right = instruction.getOperands().get(1);
+		return CGeneratorVisitor.precedence(instruction.getOperator()) >= 5 && this.program.isWide(instruction.getTarget())
+				&& left.is("Integer") && right.is("Integer") && !this.program.isWide(left) && !this.program.isWide(right);
 	}
-	
+
 	/**
-	 * Converts to C the specified node.
-	 * @param node Node to display.
+	 * Returns the C type of the given value : the integers needing 64 bits are int64_t.
+	 * @param value Variable or temporary.
+	 * @return The C type.
 	 * @author C.Silva, R.Cuinat
 	 */
-	public void visit(ActualArgumentListNode node) {
-		for (Node n : node.getChildren()) {
-			n.accept(this);
-			if (node.getChildren().indexOf(n) != node.getChildren().size() - 1) {
-				this.write(", ");
-			}
-		}
+	private String type(Value value) {
+		return value.is("Integer") && this.program.isWide(value) ? "int64_t" : value.getType().toString();
 	}
-	
+
 	/**
-	 * Converts to C the specified node.
-	 * @param node Node to display.
+	 * Returns the C type of the result of the given function : the integers needing 64 bits are int64_t.
+	 * @param function Symbol of the function.
+	 * @return The C type.
 	 * @author C.Silva, R.Cuinat
 	 */
-	public void visit(BodyNode node) {
-		this.newLine("");
-		SymbolTable st = this.symbolTable.save();
-		SymbolTableGenerator stg = new SymbolTableGenerator(this.symbolTable);
-		this.symbolTable = stg.generateFrom(node);
-		for (int i=st.getVariables().size(); i< this.symbolTable.getVariables().size();i++) {
-			VariableSymbol var = this.symbolTable.getVariables().get(i);
-			if (var.getType() == null) {
-				System.err.println("Unable to proceed with the conversion : undefined type for variable " + var.getName());
-				try {
-					this.bw.close();
-				} catch (IOException e) {
-					e.printStackTrace();
-				}
-				System.exit(1);
-			}
-			this.write(var.getType().toString() + " " + var.getName());
-			this.newLine(";");
+	private String type(FunctionSymbol function) {
+		return function.getReturnedType().getName().compareTo("Integer") == 0 && this.program.isWide(function) ? "int64_t" : function.getReturnedType().toString();
+	}
+
+	/**
+	 * Writes an operand of a binary operation in the output of every backend, between parenthesis if it is an operation of lower precedence,
+	 * or of the same precedence on the right side, every binary operator of C being left-associative.
+	 * @param operand The operand.
+	 * @param precedence Precedence of the operation.
+	 * @param right true for the right operand of the operation.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private void member(Value operand, int precedence, boolean right) {
+		Instruction definition = this.folded.get(operand);
+		int inner = definition != null && definition.getOpcode() == Opcode.BINARY ? CGeneratorVisitor.precedence(definition.getOperator()) : Integer.MAX_VALUE;
+		boolean parenthesis = inner < precedence || (right && inner == precedence);
+		if (parenthesis) {
+			this.write("(");
 		}
-		this.newLine("");
-		for (Node n : node.getChildren()) {
-			n.accept(this);
-			this.newLine(";");
+		this.value(operand);
+		if (parenthesis) {
+			this.write(")");
 		}
-		this.symbolTable = st;
 	}
-	
+
 	/**
-	 * Converts to C the specified node.
-	 * @param node Node to display.
+	 * Returns the precedence in C of the given python operator. A power is written as a function call or a product, and takes the precedence of the product.
+	 * @param operator Python operator.
+	 * @return The precedence of the C operator, higher for the operators applied first.
 	 * @author C.Silva, R.Cuinat
 	 */
-	public void visit(LeftMemberNode node) {
-		if (node.getExpression() != null) {
-			node.getExpression().accept(this);
+	private static int precedence(String operator) {
+		switch (operator) {
+		case "or" :
+			return 1;
+		case "and" :
+			return 2;
+		case "==" :
+		case "!=" :
+			return 3;
+		case "<" :
+		case "<=" :
+		case ">" :
+		case ">=" :
+			return 4;
+		case "+" :
+		case "-" :
+			return 5;
+		default :
+			return 6;
 		}
 	}
-	
+
 	/**
-	 * Converts to C the specified node.
-	 * @param node Node to display.
+	 * Writes the C operator of the given python operator in the output of every backend.
+	 * @param operator Python operator.
 	 * @author C.Silva, R.Cuinat
 	 */
-	public void visit(OperatorNode node) {
-		switch (node.getValue()) {
+	private void operator(String operator) {
+		switch (operator) {
 		case "or" :
-			this.write("||");
+			for (Backend backend : this.backends) {
+				backend.operator("||");
+			}
 			break;
 		case "and" :
 			this.write("&&");
@@ -871,19 +1798,8 @@ public class CGeneratorVisitor implements Visitor {
 			this.write("/");
 			break;
 		default :
-			this.write(node.getValue());
+			this.write(operator);
 			break;
 		}
 	}
-	
-	/**
-	 * Converts to C the specified node.
-	 * @param node Node to display.
-	 * @author C.Silva, R.Cuinat
-	 */
-	public void visit(RightMemberNode node) {
-		if (node.getExpression() != null) {
-			node.getExpression().accept(this);
-		}
-	}
 }
\ No newline at end of file
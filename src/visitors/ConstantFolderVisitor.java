@@ -0,0 +1,581 @@
+package visitors;
+
+import java.util.HashMap;
+
+import common.ast.AST;
+import common.ast.Node;
+import common.ast.ProgramNode;
+import common.lexer.Token;
+import common.lexer.TokenKind;
+import common.log.Log;
+import python.symbolTable.FunctionSymbol;
+import python.symbolTable.SymbolTable;
+import python.symbolTable.SymbolTableGenerator;
+import python.symbolTable.VariableSymbol;
+import python.ast.other.BodyNode;
+import python.ast.other.arguments.actual.ActualArgumentListNode;
+import python.ast.statements.AssignmentNode;
+import python.ast.statements.blocks.ForStatementNode;
+import python.ast.statements.blocks.FunctionDefinitionNode;
+import python.ast.statements.blocks.IfStatementNode;
+import python.ast.statements.blocks.WhileStatementNode;
+import python.ast.statements.blocks.ifBlocks.ElifBlockNode;
+import python.ast.statements.blocks.ifBlocks.ElseBlockNode;
+import python.ast.statements.blocks.ifBlocks.IfBlockNode;
+import python.ast.statements.expressions.ExpressionNode;
+import python.ast.statements.expressions.FunctionCallNode;
+import python.ast.statements.expressions.IdentifierNode;
+import python.ast.statements.expressions.OperationExpressionNode;
+import python.ast.statements.expressions.constants.ConstantNode;
+import python.ast.statements.expressions.constants.FalseNode;
+import python.ast.statements.expressions.constants.FloatNode;
+import python.ast.statements.expressions.constants.IntegerNode;
+import python.ast.statements.expressions.constants.StringNode;
+import python.ast.statements.expressions.constants.TrueNode;
+import python.ast.statements.keywords.ReturnStatementNode;
+
+/**
+ * Visitor class folding the constant operations of an AST and propagating the constant values of the variables, before the generation of the C code.
+ * The operations are computed as the generated C code computes them (truncated integer division, int and double operands),
+ * except the powers of integers which are computed exactly, as typed by the compiler. The operations which would overflow or divide by zero are kept.
+ * The values of the variables are only known along the straight-line code : the variables assigned in a loop or in a branch of an if statement are forgotten.
+ * @author C.Silva, R.Cuinat
+ */
+public class ConstantFolderVisitor implements Visitor {
+	private SymbolTable symbolTable;
+	private HashMap<VariableSymbol, ConstantNode> constants;
+	private ExpressionNode result;
+
+	/**
+	 * Constructor of the class.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public ConstantFolderVisitor() {
+		this.constants = new HashMap<>();
+	}
+
+	/**
+	 * Folds the constants of the AST.
+	 * @param ast AST to transform.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(AST ast) {
+		Log.info("Folding constants");
+		ast.accept(this);
+	}
+
+	/**
+	 * Folds the constants of the main program and of the functions defined in it.
+	 * @param root Root of the AST.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(ProgramNode root) {
+		this.symbolTable = new SymbolTableGenerator(new SymbolTable()).generateFrom(root);
+		this.constants = new HashMap<>();
+		for (Node node : root.getChildren()) {
+			node.accept(this);
+		}
+	}
+
+	/**
+	 * Folds the constants of the body of the function, where no value is known at first.
+	 * @param node Node to transform.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(FunctionDefinitionNode node) {
+		FunctionSymbol func = this.symbolTable.getFunctionByName(node.getName());
+		if (func == null || func.getNode() != node || node.getBody() == null) {
+			return;
+		}
+		SymbolTable st = this.symbolTable;
+		HashMap<VariableSymbol, ConstantNode> constants = this.constants;
+		this.symbolTable = new SymbolTable(st);
+		this.symbolTable.addVariableFromMandatories(func.getMandatoryArgs());
+		this.symbolTable.addVariableFromOptionals(func.getOptionals());
+		this.constants = new HashMap<>();
+		node.getBody().accept(this);
+		this.symbolTable = st;
+		this.constants = constants;
+	}
+
+	/**
+	 * Folds the constants of the statements of the body.
+	 * @param node Node to transform.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(BodyNode node) {
+		SymbolTable st = this.symbolTable;
+		this.symbolTable = new SymbolTableGenerator(st).generateFrom(node);
+		for (Node n : node.getChildren()) {
+			n.accept(this);
+		}
+		this.symbolTable = st;
+	}
+
+	/**
+	 * Replaces the identifier by the value of its variable, if it is known.
+	 * @param node Node to transform.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(IdentifierNode node) {
+		VariableSymbol var = this.symbolTable.getVariableByName(node);
+		ConstantNode value = var == null ? null : this.constants.get(var);
+		if (value != null) {
+			this.result = ConstantFolderVisitor.copy(value, node.getLine(), node.getColumn());
+		}
+	}
+
+	/**
+	 * Folds the members of the operation, then the operation itself if both are constants.
+	 * @param node Node to transform.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(OperationExpressionNode node) {
+		if (node.getLeftMember() == null || node.getRightMember() == null || node.getOperator() == null) {
+			return;
+		}
+		ExpressionNode left = this.fold(node.getLeftMember().getExpression());
+		if (left != node.getLeftMember().getExpression()) {
+			node.getLeftMember().setExpression(left);
+		}
+		ExpressionNode right = this.fold(node.getRightMember().getExpression());
+		if (right != node.getRightMember().getExpression()) {
+			node.getRightMember().setExpression(right);
+		}
+		ConstantNode value = ConstantFolderVisitor.compute(node.getOperator().getValue(), left, right, node.getLine(), node.getColumn());
+		this.result = value != null ? value : node;
+	}
+
+	/**
+	 * Folds the mandatory arguments of the call. The optional ones are kept as written.
+	 * @param node Node to transform.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(FunctionCallNode node) {
+		if (node.getArgList() != null && node.getArgList().getActualArgumentList() != null) {
+			ActualArgumentListNode args = node.getArgList().getActualArgumentList();
+			for (int i=0;i<args.getChildren().size();i++) {
+				ExpressionNode arg = (ExpressionNode) args.getChildren().get(i);
+				ExpressionNode folded = this.fold(arg);
+				if (folded != arg) {
+					args.replaceArg(arg, folded);
+				}
+			}
+		}
+		this.result = node;
+	}
+
+	/**
+	 * Folds the assigned expression and records the new value of the variable, if it is known.
+	 * @param node Node to transform.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(AssignmentNode node) {
+		if (node.getLeftMember() == null || node.getRightMember() == null || node.getOperator() == null) {
+			return;
+		}
+		ExpressionNode right = this.fold(node.getRightMember().getExpression());
+		if (right != node.getRightMember().getExpression()) {
+			node.getRightMember().setExpression(right);
+		}
+		VariableSymbol var = this.symbolTable.getVariableByName((IdentifierNode) node.getLeftMember().getExpression());
+		if (var == null) {
+			return;
+		}
+		String operator = node.getOperator().getValue();
+		ConstantNode value = null;
+		if (operator.compareTo("=") == 0) {
+			value = right instanceof ConstantNode ? (ConstantNode) right : null;
+		}
+		else if (this.constants.containsKey(var)) {
+			value = ConstantFolderVisitor.compute(operator.substring(0, operator.length() - 1), this.constants.get(var), right, node.getLine(), node.getColumn());
+		}
+		value = value == null || var.getType() == null ? null : ConstantFolderVisitor.convert(value, var.getType().getName());
+		if (value != null) {
+			this.constants.put(var, value);
+		}
+		else {
+			this.constants.remove(var);
+		}
+	}
+
+	/**
+	 * Folds the returned expression.
+	 * @param node Node to transform.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(ReturnStatementNode node) {
+		if (node.getExpression() != null) {
+			ExpressionNode expression = this.fold(node.getExpression());
+			if (expression != node.getExpression()) {
+				node.setExpression(expression);
+			}
+		}
+	}
+
+	/**
+	 * Folds the conditions and the branches of the if statement. Every branch starts with the values known before the statement,
+	 * and the variables assigned in any of them are forgotten after the statement.
+	 * @param node Node to transform.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(IfStatementNode node) {
+		HashMap<VariableSymbol, ConstantNode> before = this.constants;
+		for (Node n : node.getChildren()) {
+			this.constants = new HashMap<>(before);
+			n.accept(this);
+		}
+		this.constants = before;
+		this.forget(node);
+	}
+
+	/**
+	 * Folds the condition and the body of the block.
+	 * @param node Node to transform.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(IfBlockNode node) {
+		if (node.getCondition() != null) {
+			ExpressionNode condition = this.fold(node.getCondition());
+			if (condition != node.getCondition()) {
+				node.setCondition(condition);
+			}
+		}
+		if (node.getBody() != null) {
+			node.getBody().accept(this);
+		}
+	}
+
+	/**
+	 * Folds the condition and the body of the block.
+	 * @param node Node to transform.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(ElifBlockNode node) {
+		if (node.getCondition() != null) {
+			ExpressionNode condition = this.fold(node.getCondition());
+			if (condition != node.getCondition()) {
+				node.setCondition(condition);
+			}
+		}
+		if (node.getBody() != null) {
+			node.getBody().accept(this);
+		}
+	}
+
+	/**
+	 * Folds the body of the block.
+	 * @param node Node to transform.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(ElseBlockNode node) {
+		if (node.getBody() != null) {
+			node.getBody().accept(this);
+		}
+	}
+
+	/**
+	 * Folds the condition and the body of the loop, once the variables assigned in the loop are forgotten.
+	 * @param node Node to transform.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(WhileStatementNode node) {
+		this.forget(node);
+		if (node.getCondition() != null) {
+			ExpressionNode condition = this.fold(node.getCondition());
+			if (condition != node.getCondition()) {
+				node.setCondition(condition);
+			}
+		}
+		if (node.getBody() != null) {
+			HashMap<VariableSymbol, ConstantNode> before = this.constants;
+			this.constants = new HashMap<>(before);
+			node.getBody().accept(this);
+			this.constants = before;
+		}
+	}
+
+	/**
+	 * Folds the arguments of the range and the body of the loop, once the variables assigned in the loop are forgotten.
+	 * @param node Node to transform.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(ForStatementNode node) {
+		this.forget(node);
+		if (node.getIterable() != null && node.getIterable().getExpression() != null) {
+			this.fold(node.getIterable().getExpression());
+		}
+		AssignmentNode n = new AssignmentNode(node.getLine(), node.getColumn());
+		n.setLeftMember(node.getVariable());
+		n.setRightMember(new IntegerNode(new Token(TokenKind.INTEGER, "1", node.getLine(), node.getColumn())));
+		this.symbolTable.addVariable(new VariableSymbol(n, this.symbolTable));
+		if (node.getBody() != null) {
+			HashMap<VariableSymbol, ConstantNode> before = this.constants;
+			this.constants = new HashMap<>(before);
+			node.getBody().accept(this);
+			this.constants = before;
+		}
+	}
+
+	/**
+	 * Folds the given expression.
+	 * @param expression Expression to fold.
+	 * @return The folded expression : a new constant, or the given expression whose members may have been folded.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private ExpressionNode fold(ExpressionNode expression) {
+		this.result = expression;
+		expression.accept(this);
+		return this.result;
+	}
+
+	/**
+	 * Forgets the values of the variables assigned in the given subtree, including the variables of its for loops.
+	 * The functions defined in the subtree are skipped, their variables being their own.
+	 * @param node Root of the subtree.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private void forget(Node node) {
+		IdentifierNode name = null;
+		if (node instanceof AssignmentNode && ((AssignmentNode) node).getLeftMember() != null) {
+			name = (IdentifierNode) ((AssignmentNode) node).getLeftMember().getExpression();
+		}
+		else if (node instanceof ForStatementNode) {
+			name = ((ForStatementNode) node).getVariable();
+		}
+		else if (node instanceof FunctionDefinitionNode) {
+			return;
+		}
+		if (name != null) {
+			VariableSymbol var = this.symbolTable.getVariableByName(name);
+			if (var != null) {
+				this.constants.remove(var);
+			}
+		}
+		for (Node child : node.getChildren()) {
+			if (child != null) {
+				this.forget(child);
+			}
+		}
+	}
+
+	/**
+	 * Returns the numeric value of the given expression.
+	 * @param expression The expression.
+	 * @return A Long for the integer constants, an Integer for the boolean constants, a Double for the float constants, null otherwise.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static Number value_of(ExpressionNode expression) {
+		if (expression instanceof IntegerNode) {
+			return ((IntegerNode) expression).getValue();
+		}
+		else if (expression instanceof FloatNode) {
+			return ((FloatNode) expression).getValue();
+		}
+		else if (expression instanceof TrueNode) {
+			return 1;
+		}
+		else if (expression instanceof FalseNode) {
+			return 0;
+		}
+		return null;
+	}
+
+	/**
+	 * Computes the given operation on two constants.
+	 * The comparisons and the logical operations produce a boolean when both operands are integers, a float otherwise, so that their type is unchanged.
+	 * @param operator Python operator of the operation.
+	 * @param left Left operand.
+	 * @param right Right operand.
+	 * @param line Line of the operation.
+	 * @param column Column of the operation.
+	 * @return The constant result, or null if the operation cannot be computed at compile time.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static ConstantNode compute(String operator, ExpressionNode left, ExpressionNode right, int line, int column) {
+		Number a = ConstantFolderVisitor.value_of(left);
+		Number b = ConstantFolderVisitor.value_of(right);
+		if (a == null || b == null) {
+			return null;
+		}
+		if (a instanceof Double || b instanceof Double) {
+			Boolean test = ConstantFolderVisitor.test(operator, a.doubleValue(), b.doubleValue());
+			if (test != null) {
+				return new FloatNode(test ? 1.0 : 0.0, line, column);
+			}
+			double x = a.doubleValue();
+			double y = b.doubleValue();
+			double value;
+			switch (operator) {
+			case "+" :
+				value = x + y;
+				break;
+			case "-" :
+				value = x - y;
+				break;
+			case "*" :
+				value = x * y;
+				break;
+			case "/" :
+			case "//" :
+				value = x / y;
+				break;
+			default :
+				return null;
+			}
+			return Double.isInfinite(value) || Double.isNaN(value) ? null : new FloatNode(value, line, column);
+		}
+		long x = a.longValue();
+		long y = b.longValue();
+		// The integers are compared through their order, exact beyond the 53 bits of a double.
+		Boolean test = operator.compareTo("and") == 0 || operator.compareTo("or") == 0 ? ConstantFolderVisitor.test(operator, x, y) : ConstantFolderVisitor.test(operator, Long.compare(x, y), 0);
+		if (test != null) {
+			return test ? new TrueNode(line, column) : new FalseNode(line, column);
+		}
+		long value;
+		// The results beyond 64 bits (ArithmeticException) are left to the generated code.
+		try {
+			switch (operator) {
+			case "+" :
+				value = Math.addExact(x, y);
+				break;
+			case "-" :
+				value = Math.subtractExact(x, y);
+				break;
+			case "*" :
+				value = Math.multiplyExact(x, y);
+				break;
+			case "/" :
+			case "//" :
+				if (y == 0 || (x == Long.MIN_VALUE && y == -1)) {
+					return null;
+				}
+				value = x / y;
+				break;
+			case "%" :
+				if (y == 0) {
+					return null;
+				}
+				value = x % y;
+				break;
+			case "**" :
+				if (y < 0) {
+					return null;
+				}
+				if (Math.abs(x) <= 1) {
+					value = y == 0 ? 1 : (x == -1 && y % 2 == 0 ? 1 : x);
+					break;
+				}
+				value = 1;
+				for (long i=0;i<y;i++) {
+					value = Math.multiplyExact(value, x);
+				}
+				break;
+			default :
+				return null;
+			}
+		}
+		catch (ArithmeticException e) {
+			return null;
+		}
+		return new IntegerNode(value, line, column);
+	}
+
+	/**
+	 * Computes the given comparison or logical operation.
+	 * @param operator Python operator of the operation.
+	 * @param x Left operand.
+	 * @param y Right operand.
+	 * @return The result of the operation, or null if the operator is neither a comparison nor a logical operator.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static Boolean test(String operator, double x, double y) {
+		switch (operator) {
+		case "<" :
+			return x < y;
+		case "<=" :
+			return x <= y;
+		case ">" :
+			return x > y;
+		case ">=" :
+			return x >= y;
+		case "==" :
+			return x == y;
+		case "!=" :
+			return x != y;
+		case "and" :
+			return x != 0 && y != 0;
+		case "or" :
+			return x != 0 || y != 0;
+		default :
+			return null;
+		}
+	}
+
+	/**
+	 * Converts the given constant to the type of a variable, as the C assignment does.
+	 * @param value The constant.
+	 * @param type Name of the type of the variable.
+	 * @return The converted constant, or null if it cannot be converted.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static ConstantNode convert(ConstantNode value, String type) {
+		switch (type) {
+		case "Integer" :
+			if (value instanceof FloatNode) {
+				double v = ((FloatNode) value).getValue();
+				return v > Integer.MIN_VALUE - 1.0 && v < Integer.MAX_VALUE + 1.0 ? new IntegerNode((int) v, value.getLine(), value.getColumn()) : null;
+			}
+			return value instanceof IntegerNode || value instanceof TrueNode || value instanceof FalseNode ? value : null;
+		case "Double" :
+			if (value instanceof FloatNode) {
+				return value;
+			}
+			Number v = ConstantFolderVisitor.value_of(value);
+			return v == null ? null : new FloatNode(v.doubleValue(), value.getLine(), value.getColumn());
+		case "String" :
+			return value instanceof StringNode ? value : null;
+		default :
+			return null;
+		}
+	}
+
+	/**
+	 * Creates a copy of the given constant, every occurrence of a value being a distinct node of the AST.
+	 * @param value The constant.
+	 * @param line Line of the copy.
+	 * @param column Column of the copy.
+	 * @return The copy.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static ConstantNode copy(ConstantNode value, int line, int column) {
+		if (value instanceof IntegerNode) {
+			return new IntegerNode(((IntegerNode) value).getValue(), line, column);
+		}
+		else if (value instanceof FloatNode) {
+			return new FloatNode(((FloatNode) value).getValue(), line, column);
+		}
+		else if (value instanceof TrueNode) {
+			return new TrueNode(line, column);
+		}
+		else if (value instanceof FalseNode) {
+			return new FalseNode(line, column);
+		}
+		return new StringNode(new Token(TokenKind.STRING, ((StringNode) value).getValue(), line, column));
+	}
+}
@@ -0,0 +1,627 @@
+package visitors;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import common.ast.AST;
+import common.ast.Node;
+import common.ast.ProgramNode;
+import common.log.Log;
+import python.symbolTable.CallGraph;
+import python.symbolTable.FunctionSymbol;
+import python.symbolTable.SymbolTable;
+import python.symbolTable.SymbolTableGenerator;
+import python.ast.other.BodyNode;
+import python.ast.other.arguments.actual.ActualOptionalArgumentNode;
+import python.ast.statements.AssignmentNode;
+import python.ast.statements.StatementNode;
+import python.ast.statements.blocks.ForStatementNode;
+import python.ast.statements.blocks.FunctionDefinitionNode;
+import python.ast.statements.blocks.IfStatementNode;
+import python.ast.statements.blocks.WhileStatementNode;
+import python.ast.statements.blocks.ifBlocks.ElifBlockNode;
+import python.ast.statements.blocks.ifBlocks.ElseBlockNode;
+import python.ast.statements.blocks.ifBlocks.IfBlockNode;
+import python.ast.statements.expressions.ExpressionNode;
+import python.ast.statements.expressions.FunctionCallNode;
+import python.ast.statements.expressions.IdentifierNode;
+import python.ast.statements.expressions.constants.FalseNode;
+import python.ast.statements.expressions.constants.FloatNode;
+import python.ast.statements.expressions.constants.IntegerNode;
+import python.ast.statements.expressions.constants.NoneNode;
+import python.ast.statements.expressions.constants.TrueNode;
+import python.ast.statements.keywords.BreakStatementNode;
+import python.ast.statements.keywords.ContinueStatementNode;
+import python.ast.statements.keywords.ReturnStatementNode;
+
+/**
+ * Visitor class removing the dead code of an AST, before the generation of the C code :
+ * the statements following a return, a break, a continue or an if statement all of whose blocks end with one of them, the while loops
+ * and the blocks of the if statements whose condition is a false constant, the blocks following a block whose condition is a true constant,
+ * the functions which are not called from the main program, and the assignments of the variables which are never read.
+ * The assigned expressions containing a call are kept, for the side effects of the call. The loops left empty are then removed
+ * when their condition (or their range) calls no function, as well as the assignments read by them only.
+ * @author C.Silva, R.Cuinat
+ */
+public class DeadCodeEliminatorVisitor implements Visitor {
+
+	/**
+	 * Removes the dead code of the AST.
+	 * @param ast AST to transform.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(AST ast) {
+		Log.info("Eliminating dead code");
+		ast.accept(this);
+	}
+
+	/**
+	 * Removes the unreachable statements of the program, then its unused functions, then its unused variables and its empty loops.
+	 * A function which is not called is kept if it calls a used function taking arguments, since the types of the arguments may come from its calls.
+	 * @param root Root of the AST.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(ProgramNode root) {
+		this.statements(root);
+		SymbolTable st = new SymbolTableGenerator(new SymbolTable()).generateFrom(root);
+		CallGraph graph = new CallGraph(st);
+		HashSet<String> called = new HashSet<>();
+		for (Node n : root.getChildren()) {
+			DeadCodeEliminatorVisitor.collect_calls(n, called);
+		}
+		Set<String> reachable = graph.getReachable(called);
+		HashSet<Node> defined = new HashSet<>(root.getChildren());
+		for (FunctionSymbol func : st.getFunctions()) {
+			if (func.getNode() != null && defined.contains(func.getNode()) && !reachable.contains(func.getName())) {
+				boolean typing = false;
+				for (String name : graph.getCalled(func)) {
+					FunctionSymbol callee = graph.getFunction(name);
+					typing |= callee != null && reachable.contains(name) && !callee.getMandatoryArgs().isEmpty();
+				}
+				if (!typing) {
+					root.replaceStatement(func.getNode(), Collections.<Node>emptyList());
+				}
+			}
+		}
+		do {
+			DeadCodeEliminatorVisitor.sweep(root);
+		} while (DeadCodeEliminatorVisitor.prune(root, root));
+		for (Node n : root.getChildren()) {
+			if (n instanceof FunctionDefinitionNode && ((FunctionDefinitionNode) n).getBody() != null) {
+				BodyNode body = ((FunctionDefinitionNode) n).getBody();
+				do {
+					DeadCodeEliminatorVisitor.sweep(body);
+				} while (DeadCodeEliminatorVisitor.prune(body, body));
+			}
+		}
+	}
+
+	/**
+	 * Removes the unreachable statements of the body of the function.
+	 * @param node Node to transform.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(FunctionDefinitionNode node) {
+		if (node.getBody() != null) {
+			node.getBody().accept(this);
+		}
+	}
+
+	/**
+	 * Removes the unreachable statements of the body.
+	 * @param node Node to transform.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(BodyNode node) {
+		this.statements(node);
+	}
+
+	/**
+	 * Removes the unreachable statements of the blocks of the if statement.
+	 * @param node Node to transform.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(IfStatementNode node) {
+		for (Node n : node.getChildren()) {
+			n.accept(this);
+		}
+	}
+
+	/**
+	 * Removes the unreachable statements of the body of the block.
+	 * @param node Node to transform.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(IfBlockNode node) {
+		if (node.getBody() != null) {
+			node.getBody().accept(this);
+		}
+	}
+
+	/**
+	 * Removes the unreachable statements of the body of the block.
+	 * @param node Node to transform.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(ElifBlockNode node) {
+		if (node.getBody() != null) {
+			node.getBody().accept(this);
+		}
+	}
+
+	/**
+	 * Removes the unreachable statements of the body of the block.
+	 * @param node Node to transform.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(ElseBlockNode node) {
+		if (node.getBody() != null) {
+			node.getBody().accept(this);
+		}
+	}
+
+	/**
+	 * Removes the unreachable statements of the body of the loop.
+	 * @param node Node to transform.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(WhileStatementNode node) {
+		if (node.getBody() != null) {
+			node.getBody().accept(this);
+		}
+	}
+
+	/**
+	 * Removes the unreachable statements of the body of the loop.
+	 * @param node Node to transform.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(ForStatementNode node) {
+		if (node.getBody() != null) {
+			node.getBody().accept(this);
+		}
+	}
+
+	/**
+	 * Removes the unreachable statements of the given block : the statements following a return, a break, a continue
+	 * or an if statement which always ends with one of them, the loops which are never entered and the blocks of the if statements which are never executed.
+	 * The statements replacing an if statement are transformed in turn.
+	 * @param block Program or body whose statements are transformed.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private void statements(Node block) {
+		for (int i=0;i<block.getChildren().size();i++) {
+			Node n = block.getChildren().get(i);
+			if (n instanceof WhileStatementNode && Boolean.FALSE.equals(DeadCodeEliminatorVisitor.truth(((WhileStatementNode) n).getCondition()))) {
+				DeadCodeEliminatorVisitor.replace(block, n, Collections.<StatementNode>emptyList());
+				i--;
+				continue;
+			}
+			if (n instanceof IfStatementNode) {
+				List<StatementNode> statements = DeadCodeEliminatorVisitor.simplify((IfStatementNode) n);
+				if (statements.size() != 1 || statements.get(0) != n) {
+					DeadCodeEliminatorVisitor.replace(block, n, statements);
+					i--;
+					continue;
+				}
+			}
+			n.accept(this);
+			if (DeadCodeEliminatorVisitor.terminates(n)) {
+				while (block.getChildren().size() > i + 1) {
+					DeadCodeEliminatorVisitor.replace(block, block.getChildren().get(i + 1), Collections.<StatementNode>emptyList());
+				}
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Tells whether the given statement always ends with a return, a break or a continue : it is one of them,
+	 * or an if statement which has an else block (or a block whose condition is a true constant) and all of whose blocks end with such a statement.
+	 * @param node The statement, whose blocks have already been transformed.
+	 * @return true if the statements following the given one are never executed.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static boolean terminates(Node node) {
+		if (node instanceof ReturnStatementNode || node instanceof BreakStatementNode || node instanceof ContinueStatementNode) {
+			return true;
+		}
+		if (!(node instanceof IfStatementNode)) {
+			return false;
+		}
+		boolean exhaustive = false;
+		for (Node b : node.getChildren()) {
+			BodyNode body = DeadCodeEliminatorVisitor.body(b);
+			if (body == null || body.getChildren().isEmpty() || !DeadCodeEliminatorVisitor.terminates(body.getChildren().get(body.getChildren().size() - 1))) {
+				return false;
+			}
+			ExpressionNode condition = DeadCodeEliminatorVisitor.condition(b);
+			exhaustive |= condition == null || Boolean.TRUE.equals(DeadCodeEliminatorVisitor.truth(condition));
+		}
+		return exhaustive;
+	}
+
+	/**
+	 * Returns the condition of the given block of an if statement.
+	 * @param block The block.
+	 * @return The condition of the block, or null if it is an else block.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static ExpressionNode condition(Node block) {
+		return block instanceof IfBlockNode ? ((IfBlockNode) block).getCondition() : block instanceof ElifBlockNode ? ((ElifBlockNode) block).getCondition() : null;
+	}
+
+	/**
+	 * Returns the body of the given block of an if statement.
+	 * @param block The block.
+	 * @return The body of the block.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static BodyNode body(Node block) {
+		return block instanceof IfBlockNode ? ((IfBlockNode) block).getBody() : block instanceof ElifBlockNode ? ((ElifBlockNode) block).getBody() : ((ElseBlockNode) block).getBody();
+	}
+
+	/**
+	 * Removes the blocks of the given if statement which are never executed : the blocks whose condition is a false constant,
+	 * and the blocks following a block whose condition is a true constant. When the first remaining block is always executed,
+	 * the if statement is replaced by the statements of its body.
+	 * @param node The if statement.
+	 * @return The given statement alone if no block is removed, a new statement made of the remaining blocks, the statements of the body
+	 * always executed, or no statement if no block remains.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static List<StatementNode> simplify(IfStatementNode node) {
+		ArrayList<Node> blocks = new ArrayList<>();
+		for (Node n : node.getChildren()) {
+			ExpressionNode condition = DeadCodeEliminatorVisitor.condition(n);
+			Boolean truth = condition == null ? null : DeadCodeEliminatorVisitor.truth(condition);
+			if (!Boolean.FALSE.equals(truth)) {
+				blocks.add(n);
+			}
+			if (Boolean.TRUE.equals(truth)) {
+				break;
+			}
+		}
+		if (blocks.isEmpty()) {
+			return Collections.<StatementNode>emptyList();
+		}
+		ExpressionNode condition = DeadCodeEliminatorVisitor.condition(blocks.get(0));
+		if (condition == null || Boolean.TRUE.equals(DeadCodeEliminatorVisitor.truth(condition))) {
+			ArrayList<StatementNode> statements = new ArrayList<>();
+			BodyNode body = DeadCodeEliminatorVisitor.body(blocks.get(0));
+			for (Node n : body == null ? Collections.<Node>emptyList() : body.getChildren()) {
+				statements.add((StatementNode) n);
+			}
+			return statements;
+		}
+		if (blocks.size() == node.getChildren().size()) {
+			return Arrays.<StatementNode>asList(node);
+		}
+		IfStatementNode statement = new IfStatementNode(node.getLine(), node.getColumn());
+		Node first = blocks.get(0);
+		if (first instanceof IfBlockNode) {
+			statement.setIfBlock((IfBlockNode) first);
+		}
+		else {
+			IfBlockNode block = new IfBlockNode(first.getLine(), first.getColumn());
+			block.setCondition(((ElifBlockNode) first).getCondition());
+			block.setBody(((ElifBlockNode) first).getBody());
+			statement.setIfBlock(block);
+		}
+		for (Node n : blocks.subList(1, blocks.size())) {
+			if (n instanceof ElifBlockNode) {
+				statement.addElifBlock((ElifBlockNode) n);
+			}
+			else {
+				statement.addElseBlock((ElseBlockNode) n);
+			}
+		}
+		return Arrays.<StatementNode>asList(statement);
+	}
+
+	/**
+	 * Returns the truth value of the given condition, if it is a constant.
+	 * @param condition The condition.
+	 * @return The truth value of the condition, or null if it is not a constant.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static Boolean truth(ExpressionNode condition) {
+		if (condition instanceof TrueNode) {
+			return true;
+		}
+		else if (condition instanceof FalseNode || condition instanceof NoneNode) {
+			return false;
+		}
+		else if (condition instanceof IntegerNode) {
+			return ((IntegerNode) condition).getValue() != 0;
+		}
+		else if (condition instanceof FloatNode) {
+			return ((FloatNode) condition).getValue() != 0.0;
+		}
+		return null;
+	}
+
+	/**
+	 * Replaces a statement of the given block with the given statements.
+	 * @param block Program or body containing the statement.
+	 * @param old Statement to replace.
+	 * @param statements Statements replacing it, in order.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static void replace(Node block, Node old, List<StatementNode> statements) {
+		if (block instanceof BodyNode) {
+			((BodyNode) block).replaceStatement((StatementNode) old, statements);
+		}
+		else {
+			((ProgramNode) block).replaceStatement(old, statements);
+		}
+	}
+
+	/**
+	 * Removes the assignments of the variables of the given scope which are never read.
+	 * A variable is read when it is used by a statement other than an assignment, by an assignment whose expression contains a call,
+	 * or by the assignment of a read variable. The variables of the for loops are always read.
+	 * @param scope Program or body of a function.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static void sweep(Node scope) {
+		HashSet<String> live = new HashSet<>();
+		HashMap<String, HashSet<String>> dependencies = new HashMap<>();
+		HashMap<AssignmentNode, Node> assignments = new HashMap<>();
+		DeadCodeEliminatorVisitor.mark(scope, live, dependencies, assignments);
+		ArrayList<String> pending = new ArrayList<>(live);
+		while (!pending.isEmpty()) {
+			HashSet<String> used = dependencies.get(pending.remove(pending.size() - 1));
+			if (used != null) {
+				for (String name : used) {
+					if (live.add(name)) {
+						pending.add(name);
+					}
+				}
+			}
+		}
+		for (AssignmentNode assignment : assignments.keySet()) {
+			if (live.contains(((IdentifierNode) assignment.getLeftMember().getExpression()).getName())) {
+				continue;
+			}
+			ExpressionNode value = assignment.getRightMember().getExpression();
+			if (!DeadCodeEliminatorVisitor.has_call(value)) {
+				DeadCodeEliminatorVisitor.replace(assignments.get(assignment), assignment, Collections.<StatementNode>emptyList());
+			}
+			else if (value instanceof FunctionCallNode && assignment.getOperator().getValue().compareTo("=") == 0) {
+				DeadCodeEliminatorVisitor.replace(assignments.get(assignment), assignment, Arrays.<StatementNode>asList(value));
+			}
+		}
+	}
+
+	/**
+	 * Removes the loops of the given block which are left empty, once their own loops are removed, and whose condition has no side effect :
+	 * the while loops whose condition calls no function, and the for loops whose range calls no other function and whose variable is not used elsewhere in the scope.
+	 * An empty loop whose condition holds forever is removed too, its end being assumed as in C.
+	 * @param block Program or body whose statements are transformed. The functions defined in it are skipped.
+	 * @param scope Program or body of the function containing the block.
+	 * @return true if a loop was removed.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static boolean prune(Node block, Node scope) {
+		boolean removed = false;
+		for (Node n : new ArrayList<>(block.getChildren())) {
+			if (n instanceof IfStatementNode) {
+				for (Node b : n.getChildren()) {
+					if (DeadCodeEliminatorVisitor.body(b) != null) {
+						removed |= DeadCodeEliminatorVisitor.prune(DeadCodeEliminatorVisitor.body(b), scope);
+					}
+				}
+			}
+			else if (n instanceof WhileStatementNode && ((WhileStatementNode) n).getBody() != null) {
+				WhileStatementNode loop = (WhileStatementNode) n;
+				removed |= DeadCodeEliminatorVisitor.prune(loop.getBody(), scope);
+				if (loop.getBody().getChildren().isEmpty() && loop.getCondition() != null && !DeadCodeEliminatorVisitor.has_effect(loop.getCondition())) {
+					DeadCodeEliminatorVisitor.replace(block, loop, Collections.<StatementNode>emptyList());
+					removed = true;
+				}
+			}
+			else if (n instanceof ForStatementNode && ((ForStatementNode) n).getBody() != null) {
+				ForStatementNode loop = (ForStatementNode) n;
+				removed |= DeadCodeEliminatorVisitor.prune(loop.getBody(), scope);
+				if (loop.getBody().getChildren().isEmpty() && loop.getIterable() != null && !DeadCodeEliminatorVisitor.has_effect(loop.getIterable())
+						&& !DeadCodeEliminatorVisitor.uses(scope, loop.getVariable().getName(), loop)) {
+					DeadCodeEliminatorVisitor.replace(block, loop, Collections.<StatementNode>emptyList());
+					removed = true;
+				}
+			}
+		}
+		return removed;
+	}
+
+	/**
+	 * Tells whether the given variable is used in the given subtree, outside of the given node. The functions defined in the subtree are skipped,
+	 * as the variables of the main program are local to the main function of the generated code.
+	 * @param node Root of the subtree.
+	 * @param name Name of the variable.
+	 * @param skipped Node whose subtree is skipped.
+	 * @return true if an identifier of the variable is found.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static boolean uses(Node node, String name, Node skipped) {
+		if (node == skipped || node instanceof FunctionDefinitionNode) {
+			return false;
+		}
+		if (node instanceof IdentifierNode && ((IdentifierNode) node).getName().compareTo(name) == 0) {
+			return true;
+		}
+		for (Node child : node.getChildren()) {
+			if (child != null && DeadCodeEliminatorVisitor.uses(child, name, skipped)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Finds the variables read by the statements of the given block, and the variables used by every assignment.
+	 * @param block Program or body whose statements are analyzed. The functions defined in it are skipped.
+	 * @param live Set receiving the variables read by the statements which are kept.
+	 * @param dependencies Map receiving the variables used by the assignments of every variable.
+	 * @param assignments Map receiving the assignments, with the block containing them.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static void mark(Node block, HashSet<String> live, HashMap<String, HashSet<String>> dependencies, HashMap<AssignmentNode, Node> assignments) {
+		for (Node n : block.getChildren()) {
+			if (n instanceof FunctionDefinitionNode) {
+				continue;
+			}
+			else if (n instanceof AssignmentNode) {
+				AssignmentNode assignment = (AssignmentNode) n;
+				if (assignment.getLeftMember() == null || assignment.getRightMember() == null || assignment.getOperator() == null) {
+					continue;
+				}
+				String name = ((IdentifierNode) assignment.getLeftMember().getExpression()).getName();
+				HashSet<String> used = new HashSet<>();
+				DeadCodeEliminatorVisitor.reads(assignment.getRightMember().getExpression(), used);
+				if (DeadCodeEliminatorVisitor.has_call(assignment.getRightMember().getExpression())) {
+					live.addAll(used);
+				}
+				if (assignment.getOperator().getValue().compareTo("=") != 0) {
+					used.add(name);
+				}
+				dependencies.computeIfAbsent(name, k -> new HashSet<>()).addAll(used);
+				assignments.put(assignment, block);
+			}
+			else if (n instanceof ForStatementNode) {
+				ForStatementNode loop = (ForStatementNode) n;
+				live.add(loop.getVariable().getName());
+				if (loop.getIterable() != null) {
+					DeadCodeEliminatorVisitor.reads(loop.getIterable(), live);
+				}
+				if (loop.getBody() != null) {
+					DeadCodeEliminatorVisitor.mark(loop.getBody(), live, dependencies, assignments);
+				}
+			}
+			else if (n instanceof WhileStatementNode) {
+				WhileStatementNode loop = (WhileStatementNode) n;
+				if (loop.getCondition() != null) {
+					DeadCodeEliminatorVisitor.reads(loop.getCondition(), live);
+				}
+				if (loop.getBody() != null) {
+					DeadCodeEliminatorVisitor.mark(loop.getBody(), live, dependencies, assignments);
+				}
+			}
+			else if (n instanceof IfStatementNode) {
+				for (Node b : n.getChildren()) {
+					ExpressionNode condition = DeadCodeEliminatorVisitor.condition(b);
+					BodyNode body = DeadCodeEliminatorVisitor.body(b);
+					if (condition != null) {
+						DeadCodeEliminatorVisitor.reads(condition, live);
+					}
+					if (body != null) {
+						DeadCodeEliminatorVisitor.mark(body, live, dependencies, assignments);
+					}
+				}
+			}
+			else {
+				DeadCodeEliminatorVisitor.reads(n, live);
+			}
+		}
+	}
+
+	/**
+	 * Gathers the variables read in the given subtree.
+	 * @param node Root of the subtree.
+	 * @param names Set receiving the names of the variables.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static void reads(Node node, HashSet<String> names) {
+		if (node instanceof IdentifierNode) {
+			names.add(((IdentifierNode) node).getName());
+		}
+		else if (node instanceof FunctionCallNode) {
+			if (((FunctionCallNode) node).getArgList() != null) {
+				DeadCodeEliminatorVisitor.reads(((FunctionCallNode) node).getArgList(), names);
+			}
+		}
+		else if (node instanceof ActualOptionalArgumentNode) {
+			if (((ActualOptionalArgumentNode) node).getValue() != null) {
+				DeadCodeEliminatorVisitor.reads(((ActualOptionalArgumentNode) node).getValue(), names);
+			}
+		}
+		else if (!(node instanceof FunctionDefinitionNode)) {
+			for (Node child : node.getChildren()) {
+				if (child != null) {
+					DeadCodeEliminatorVisitor.reads(child, names);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Gathers the names of the functions called in the given subtree. The functions defined in the subtree are skipped.
+	 * @param node Root of the subtree.
+	 * @param called Set receiving the names of the called functions.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static void collect_calls(Node node, HashSet<String> called) {
+		if (node instanceof FunctionDefinitionNode) {
+			return;
+		}
+		if (node instanceof FunctionCallNode) {
+			called.add(((FunctionCallNode) node).getName().getName());
+		}
+		for (Node child : node.getChildren()) {
+			if (child != null) {
+				DeadCodeEliminatorVisitor.collect_calls(child, called);
+			}
+		}
+	}
+
+	/**
+	 * Tells whether the given expression may have a side effect, that is whether it calls a function other than range.
+	 * @param node Root of the expression.
+	 * @return true if a function other than range is called in the expression.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static boolean has_effect(Node node) {
+		if (node instanceof FunctionCallNode && ((FunctionCallNode) node).getName().getName().compareTo("range") != 0) {
+			return true;
+		}
+		for (Node child : node.getChildren()) {
+			if (child != null && DeadCodeEliminatorVisitor.has_effect(child)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Tells whether the given expression contains a call.
+	 * @param node Root of the expression.
+	 * @return true if a function is called in the expression.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static boolean has_call(Node node) {
+		if (node instanceof FunctionCallNode) {
+			return true;
+		}
+		for (Node child : node.getChildren()) {
+			if (child != null && DeadCodeEliminatorVisitor.has_call(child)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,654 @@
+package visitors;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+
+import common.ast.AST;
+import common.ast.Node;
+import common.ast.ProgramNode;
+import common.lexer.Token;
+import common.lexer.TokenKind;
+import common.log.Log;
+import python.symbolTable.ArgumentSymbol;
+import python.symbolTable.CallGraph;
+import python.symbolTable.FunctionSymbol;
+import python.symbolTable.OptionalArgumentSymbol;
+import python.symbolTable.SymbolTable;
+import python.symbolTable.SymbolTableGenerator;
+import python.symbolTable.VariableSymbol;
+import python.symbolTable.types.AbstractType;
+import python.ast.other.BodyNode;
+import python.ast.other.OperatorNode;
+import python.ast.other.arguments.actual.ActualArgumentListNode;
+import python.ast.other.arguments.actual.ActualOptionalArgumentNode;
+import python.ast.statements.AssignmentNode;
+import python.ast.statements.blocks.ForStatementNode;
+import python.ast.statements.blocks.FunctionDefinitionNode;
+import python.ast.statements.blocks.IfStatementNode;
+import python.ast.statements.blocks.WhileStatementNode;
+import python.ast.statements.blocks.ifBlocks.ElifBlockNode;
+import python.ast.statements.blocks.ifBlocks.ElseBlockNode;
+import python.ast.statements.blocks.ifBlocks.IfBlockNode;
+import python.ast.statements.expressions.ExpressionNode;
+import python.ast.statements.expressions.FunctionCallNode;
+import python.ast.statements.expressions.IdentifierNode;
+import python.ast.statements.expressions.OperationExpressionNode;
+import python.ast.statements.expressions.constants.ConstantNode;
+import python.ast.statements.expressions.constants.FalseNode;
+import python.ast.statements.expressions.constants.FloatNode;
+import python.ast.statements.expressions.constants.IntegerNode;
+import python.ast.statements.expressions.constants.NoneNode;
+import python.ast.statements.expressions.constants.StringNode;
+import python.ast.statements.expressions.constants.TrueNode;
+import python.ast.statements.keywords.ReturnStatementNode;
+
+/**
+ * Visitor class inlining the calls of the small non-recursive functions of an AST, before the generation of the C code.
+ * A function is inlined when it is defined in the main program, its body is a single return statement whose expression is small,
+ * only made of its arguments, constants and operations, and its default values are constants.
+ * The arguments of the calls are typed as their parameters are, so that the C conversions are unchanged.
+ * An argument containing a call must be used exactly once by the function, and a large argument at most once : its computation is never duplicated nor dropped.
+ * Since the parameters of a function are typed by its first call, a function is inlined at all of its calls or at none, and its definition is then removed.
+ * @author C.Silva, R.Cuinat
+ */
+public class FunctionInlinerVisitor implements Visitor {
+	private static final int MAX_INLINED_SIZE = 16;
+	private static final int MAX_DUPLICATED_SIZE = 3;
+	private SymbolTable symbolTable;
+	private HashSet<FunctionSymbol> candidates;
+	private HashSet<FunctionSymbol> inlined;
+	private HashMap<String, Integer> inlinable;
+	private HashMap<String, Integer> remaining;
+	private ExpressionNode result;
+
+	/**
+	 * Constructor of the class.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public FunctionInlinerVisitor() {
+		this.candidates = new HashSet<>();
+		this.inlined = new HashSet<>();
+	}
+
+	/**
+	 * Inlines the small functions of the AST.
+	 * @param ast AST to transform.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(AST ast) {
+		Log.info("Inlining functions");
+		ast.accept(this);
+	}
+
+	/**
+	 * Finds the functions to inline, inlines their calls in the main program and in the functions defined in it, then removes their definitions.
+	 * The calls are first counted without transforming the AST, to find the functions whose calls can all be inlined.
+	 * @param root Root of the AST.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(ProgramNode root) {
+		this.symbolTable = new SymbolTableGenerator(new SymbolTable()).generateFrom(root);
+		CallGraph graph = new CallGraph(this.symbolTable);
+		this.candidates = new HashSet<>();
+		for (FunctionSymbol func : this.symbolTable.getFunctions()) {
+			if (func.getNode() != null && root.getChildren().contains(func.getNode()) && !graph.isRecursive(func) && this.is_inlinable(func)) {
+				this.candidates.add(func);
+			}
+		}
+		if (this.candidates.isEmpty()) {
+			return;
+		}
+		HashMap<String, Integer> calls = new HashMap<>();
+		FunctionInlinerVisitor.count_calls(root, calls);
+		this.inlined = new HashSet<>();
+		this.inlinable = new HashMap<>();
+		this.traverse(root);
+		for (FunctionSymbol func : this.candidates) {
+			Integer count = this.inlinable.get(func.getName());
+			if (count != null && count.equals(calls.get(func.getName()))) {
+				this.inlined.add(func);
+			}
+		}
+		if (this.inlined.isEmpty()) {
+			return;
+		}
+		this.inlinable = null;
+		this.remaining = new HashMap<>();
+		this.traverse(root);
+		for (FunctionSymbol func : this.inlined) {
+			if (!this.remaining.containsKey(func.getName())) {
+				root.getChildren().remove(func.getNode());
+			}
+		}
+	}
+
+	/**
+	 * Inlines the calls of the body of the function.
+	 * @param node Node to transform.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(FunctionDefinitionNode node) {
+		FunctionSymbol func = this.symbolTable.getFunctionByName(node.getName());
+		if (func == null || func.getNode() != node || node.getBody() == null || this.inlined.contains(func)) {
+			return;
+		}
+		SymbolTable st = this.symbolTable;
+		this.symbolTable = new SymbolTable(st);
+		this.symbolTable.addVariableFromMandatories(func.getMandatoryArgs());
+		this.symbolTable.addVariableFromOptionals(func.getOptionals());
+		node.getBody().accept(this);
+		this.symbolTable = st;
+	}
+
+	/**
+	 * Inlines the calls of the statements of the body.
+	 * @param node Node to transform.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(BodyNode node) {
+		SymbolTable st = this.symbolTable;
+		this.symbolTable = new SymbolTableGenerator(st).generateFrom(node);
+		this.statements(node);
+		this.symbolTable = st;
+	}
+
+	/**
+	 * Inlines the calls of the arguments, then the call itself if its function is inlined.
+	 * @param node Node to transform.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(FunctionCallNode node) {
+		this.arguments(node);
+		FunctionSymbol func = this.symbolTable.getFunctionByName(node.getName());
+		HashMap<String, ExpressionNode> bindings = func == null || !this.candidates.contains(func) ? null : this.bind(node, func);
+		if (this.inlinable != null) {
+			if (bindings != null) {
+				this.inlinable.merge(func.getName(), 1, Integer::sum);
+			}
+		}
+		else if (this.inlined.contains(func)) {
+			if (bindings != null) {
+				ExpressionNode body = ((ReturnStatementNode) func.getNode().getBody().getChildren().get(0)).getExpression();
+				HashSet<ExpressionNode> owned = new HashSet<>(bindings.values());
+				for (OptionalArgumentSymbol opt : func.getOptionals()) {
+					owned.remove(opt.getNode().getDefault());
+				}
+				this.result = FunctionInlinerVisitor.copy(body, bindings, owned, node.getLine(), node.getColumn());
+				return;
+			}
+			this.remaining.merge(func.getName(), 1, Integer::sum);
+		}
+		this.result = node;
+	}
+
+	/**
+	 * Inlines the calls of the members of the operation.
+	 * @param node Node to transform.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(OperationExpressionNode node) {
+		if (node.getLeftMember() != null) {
+			ExpressionNode left = this.inline(node.getLeftMember().getExpression());
+			if (left != node.getLeftMember().getExpression()) {
+				node.getLeftMember().setExpression(left);
+			}
+		}
+		if (node.getRightMember() != null) {
+			ExpressionNode right = this.inline(node.getRightMember().getExpression());
+			if (right != node.getRightMember().getExpression()) {
+				node.getRightMember().setExpression(right);
+			}
+		}
+		this.result = node;
+	}
+
+	/**
+	 * Inlines the calls of the assigned expression.
+	 * @param node Node to transform.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(AssignmentNode node) {
+		if (node.getRightMember() != null) {
+			ExpressionNode right = this.inline(node.getRightMember().getExpression());
+			if (right != node.getRightMember().getExpression()) {
+				node.getRightMember().setExpression(right);
+			}
+		}
+	}
+
+	/**
+	 * Inlines the calls of the returned expression.
+	 * @param node Node to transform.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(ReturnStatementNode node) {
+		if (node.getExpression() != null) {
+			ExpressionNode expression = this.inline(node.getExpression());
+			if (expression != node.getExpression()) {
+				node.setExpression(expression);
+			}
+		}
+	}
+
+	/**
+	 * Inlines the calls of the blocks of the if statement.
+	 * @param node Node to transform.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(IfStatementNode node) {
+		for (Node n : node.getChildren()) {
+			n.accept(this);
+		}
+	}
+
+	/**
+	 * Inlines the calls of the condition and of the body of the block.
+	 * @param node Node to transform.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(IfBlockNode node) {
+		if (node.getCondition() != null) {
+			ExpressionNode condition = this.inline(node.getCondition());
+			if (condition != node.getCondition()) {
+				node.setCondition(condition);
+			}
+		}
+		if (node.getBody() != null) {
+			node.getBody().accept(this);
+		}
+	}
+
+	/**
+	 * Inlines the calls of the condition and of the body of the block.
+	 * @param node Node to transform.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(ElifBlockNode node) {
+		if (node.getCondition() != null) {
+			ExpressionNode condition = this.inline(node.getCondition());
+			if (condition != node.getCondition()) {
+				node.setCondition(condition);
+			}
+		}
+		if (node.getBody() != null) {
+			node.getBody().accept(this);
+		}
+	}
+
+	/**
+	 * Inlines the calls of the body of the block.
+	 * @param node Node to transform.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(ElseBlockNode node) {
+		if (node.getBody() != null) {
+			node.getBody().accept(this);
+		}
+	}
+
+	/**
+	 * Inlines the calls of the condition and of the body of the loop.
+	 * @param node Node to transform.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(WhileStatementNode node) {
+		if (node.getCondition() != null) {
+			ExpressionNode condition = this.inline(node.getCondition());
+			if (condition != node.getCondition()) {
+				node.setCondition(condition);
+			}
+		}
+		if (node.getBody() != null) {
+			node.getBody().accept(this);
+		}
+	}
+
+	/**
+	 * Inlines the calls of the arguments of the range and of the body of the loop.
+	 * @param node Node to transform.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(ForStatementNode node) {
+		if (node.getIterable() != null && node.getIterable().getExpression() instanceof FunctionCallNode) {
+			this.arguments((FunctionCallNode) node.getIterable().getExpression());
+		}
+		AssignmentNode n = new AssignmentNode(node.getLine(), node.getColumn());
+		n.setLeftMember(node.getVariable());
+		n.setRightMember(new IntegerNode(new Token(TokenKind.INTEGER, "1", node.getLine(), node.getColumn())));
+		this.symbolTable.addVariable(new VariableSymbol(n, this.symbolTable));
+		if (node.getBody() != null) {
+			node.getBody().accept(this);
+		}
+	}
+
+	/**
+	 * Inlines the calls of the statements of the given node. The calls written as statements are kept, their values being ignored,
+	 * but the calls of their arguments are inlined.
+	 * @param node Program or body whose statements are transformed.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private void statements(Node node) {
+		for (Node n : new ArrayList<>(node.getChildren())) {
+			if (n instanceof FunctionCallNode) {
+				this.arguments((FunctionCallNode) n);
+				FunctionSymbol func = this.symbolTable.getFunctionByName(((FunctionCallNode) n).getName());
+				if (func != null && this.remaining != null && this.inlined.contains(func)) {
+					this.remaining.merge(func.getName(), 1, Integer::sum);
+				}
+			}
+			else {
+				n.accept(this);
+			}
+		}
+	}
+
+	/**
+	 * Inlines the calls of the arguments of the given call.
+	 * @param node The call.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private void arguments(FunctionCallNode node) {
+		if (node.getArgList() == null) {
+			return;
+		}
+		if (node.getArgList().getActualArgumentList() != null) {
+			ActualArgumentListNode args = node.getArgList().getActualArgumentList();
+			for (int i=0;i<args.getChildren().size();i++) {
+				ExpressionNode arg = (ExpressionNode) args.getChildren().get(i);
+				ExpressionNode inlined = this.inline(arg);
+				if (inlined != arg) {
+					args.replaceArg(arg, inlined);
+				}
+			}
+		}
+		if (node.getArgList().getActualOptionalArgumentList() != null) {
+			for (Node n : node.getArgList().getActualOptionalArgumentList().getChildren()) {
+				ActualOptionalArgumentNode opt = (ActualOptionalArgumentNode) n;
+				if (opt.getValue() != null) {
+					ExpressionNode inlined = this.inline(opt.getValue());
+					if (inlined != opt.getValue()) {
+						opt.setValue(inlined);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Inlines the calls of the given expression.
+	 * @param expression Expression to transform.
+	 * @return The transformed expression : the inlined body of a call, or the given expression whose calls may have been inlined.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private ExpressionNode inline(ExpressionNode expression) {
+		this.result = expression;
+		expression.accept(this);
+		return this.result;
+	}
+
+	/**
+	 * Traverses the statements of the main program, counting or inlining the calls.
+	 * @param root Root of the AST.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private void traverse(ProgramNode root) {
+		SymbolTable st = this.symbolTable;
+		this.statements(root);
+		this.symbolTable = st;
+	}
+
+	/**
+	 * Tells whether the given function can be inlined : its body is a single small return statement,
+	 * whose expression only uses the arguments of the function, and its default values are constants.
+	 * @param func The function.
+	 * @return true if the calls of the function can be replaced by its returned expression.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private boolean is_inlinable(FunctionSymbol func) {
+		BodyNode body = func.getNode().getBody();
+		if (body == null || body.getChildren().size() != 1 || !(body.getChildren().get(0) instanceof ReturnStatementNode)) {
+			return false;
+		}
+		ExpressionNode expression = ((ReturnStatementNode) body.getChildren().get(0)).getExpression();
+		if (expression == null || FunctionInlinerVisitor.size(expression) > FunctionInlinerVisitor.MAX_INLINED_SIZE) {
+			return false;
+		}
+		HashSet<String> parameters = new HashSet<>();
+		for (ArgumentSymbol arg : func.getMandatoryArgs()) {
+			parameters.add(arg.getName());
+		}
+		for (OptionalArgumentSymbol opt : func.getOptionals()) {
+			ExpressionNode value = opt.getNode().getDefault();
+			if (value == null || !FunctionInlinerVisitor.uses_only(value, new HashSet<String>())) {
+				return false;
+			}
+			parameters.add(opt.getName());
+		}
+		return FunctionInlinerVisitor.uses_only(expression, parameters);
+	}
+
+	/**
+	 * Binds the parameters of the given function to the arguments of the call, if the call can be inlined.
+	 * @param node The call.
+	 * @param func The called function.
+	 * @return The expression of every parameter, or null if the types of the arguments differ from the types of the parameters,
+	 * if the returned expression is not typed as the function, or if an argument would be computed a wrong number of times.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private HashMap<String, ExpressionNode> bind(FunctionCallNode node, FunctionSymbol func) {
+		HashMap<String, ExpressionNode> bindings = new HashMap<>();
+		ArrayList<Node> args = node.getArgList() == null || node.getArgList().getActualArgumentList() == null ? new ArrayList<Node>() : node.getArgList().getActualArgumentList().getChildren();
+		if (args.size() != func.getMandatoryArgs().size()) {
+			return null;
+		}
+		for (int i=0;i<args.size();i++) {
+			ArgumentSymbol arg = func.getMandatoryArgs().get(i);
+			if (!FunctionInlinerVisitor.same_type(TypeDiscovererVisitor.typeOf(args.get(i), this.symbolTable), arg.getType())) {
+				return null;
+			}
+			bindings.put(arg.getName(), (ExpressionNode) args.get(i));
+		}
+		if (node.getArgList() != null && node.getArgList().getActualOptionalArgumentList() != null) {
+			for (Node n : node.getArgList().getActualOptionalArgumentList().getChildren()) {
+				ActualOptionalArgumentNode actual = (ActualOptionalArgumentNode) n;
+				OptionalArgumentSymbol opt = func.getOptionalFromActual(actual);
+				if (opt == null || actual.getValue() == null || !FunctionInlinerVisitor.same_type(TypeDiscovererVisitor.typeOf(actual.getValue(), this.symbolTable), opt.getType())) {
+					return null;
+				}
+				bindings.put(opt.getName(), actual.getValue());
+			}
+		}
+		for (OptionalArgumentSymbol opt : func.getOptionals()) {
+			if (!bindings.containsKey(opt.getName())) {
+				if (!FunctionInlinerVisitor.same_type(TypeDiscovererVisitor.typeOf(opt.getNode().getDefault(), this.symbolTable), opt.getType())) {
+					return null;
+				}
+				bindings.put(opt.getName(), opt.getNode().getDefault());
+			}
+		}
+		ExpressionNode expression = ((ReturnStatementNode) func.getNode().getBody().getChildren().get(0)).getExpression();
+		SymbolTable st = new SymbolTable(this.symbolTable);
+		st.addVariableFromMandatories(func.getMandatoryArgs());
+		st.addVariableFromOptionals(func.getOptionals());
+		AbstractType type = TypeDiscovererVisitor.typeOf(expression, st);
+		AbstractType returned = func.getReturnedType();
+		if (!FunctionInlinerVisitor.same_type(type, returned == null || returned.getName().compareTo("Undefined") == 0 ? type : returned)) {
+			return null;
+		}
+		HashMap<String, Integer> uses = new HashMap<>();
+		FunctionInlinerVisitor.count_uses(expression, uses);
+		for (String name : bindings.keySet()) {
+			ExpressionNode value = bindings.get(name);
+			int count = uses.containsKey(name) ? uses.get(name) : 0;
+			if (FunctionInlinerVisitor.has_call(value)) {
+				if (count != 1) {
+					return null;
+				}
+			}
+			else if (count > 1 && (FunctionInlinerVisitor.size(value) > FunctionInlinerVisitor.MAX_DUPLICATED_SIZE || !FunctionInlinerVisitor.uses_only(value, null))) {
+				return null;
+			}
+		}
+		return bindings;
+	}
+
+	/**
+	 * Tells whether the given types are the same known type.
+	 * @param a First type.
+	 * @param b Second type.
+	 * @return true if both types are defined and have the same name.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static boolean same_type(AbstractType a, AbstractType b) {
+		return a != null && b != null && a.getName().compareTo("Undefined") != 0 && a.getName().compareTo(b.getName()) == 0;
+	}
+
+	/**
+	 * Counts the calls of every function in the given subtree.
+	 * @param node Root of the subtree.
+	 * @param calls Map receiving the number of calls of every function name.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static void count_calls(Node node, HashMap<String, Integer> calls) {
+		if (node instanceof FunctionCallNode) {
+			calls.merge(((FunctionCallNode) node).getName().getName(), 1, Integer::sum);
+		}
+		for (Node child : node.getChildren()) {
+			if (child != null) {
+				FunctionInlinerVisitor.count_calls(child, calls);
+			}
+		}
+	}
+
+	/**
+	 * Counts the uses of every identifier in the given expression.
+	 * @param node Root of the expression.
+	 * @param uses Map receiving the number of uses of every identifier.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static void count_uses(Node node, HashMap<String, Integer> uses) {
+		if (node instanceof IdentifierNode) {
+			uses.merge(((IdentifierNode) node).getName(), 1, Integer::sum);
+		}
+		for (Node child : node.getChildren()) {
+			if (child != null) {
+				FunctionInlinerVisitor.count_uses(child, uses);
+			}
+		}
+	}
+
+	/**
+	 * Tells whether the given expression contains a call.
+	 * @param node Root of the expression.
+	 * @return true if a function is called in the expression.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static boolean has_call(Node node) {
+		if (node instanceof FunctionCallNode) {
+			return true;
+		}
+		for (Node child : node.getChildren()) {
+			if (child != null && FunctionInlinerVisitor.has_call(child)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the number of expressions of the given expression.
+	 * @param node Root of the expression.
+	 * @return The number of expression nodes of the subtree.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static int size(Node node) {
+		int size = node instanceof ExpressionNode ? 1 : 0;
+		for (Node child : node.getChildren()) {
+			if (child != null) {
+				size += FunctionInlinerVisitor.size(child);
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * Tells whether the given expression is only made of operations, constants and the given identifiers.
+	 * @param expression The expression.
+	 * @param names Names of the identifiers allowed, or null to allow any identifier.
+	 * @return true if the expression can be copied by the inliner.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static boolean uses_only(ExpressionNode expression, HashSet<String> names) {
+		if (expression instanceof IdentifierNode) {
+			return names == null || names.contains(((IdentifierNode) expression).getName());
+		}
+		else if (expression instanceof OperationExpressionNode) {
+			OperationExpressionNode operation = (OperationExpressionNode) expression;
+			return operation.getLeftMember() != null && operation.getRightMember() != null && operation.getOperator() != null
+					&& FunctionInlinerVisitor.uses_only(operation.getLeftMember().getExpression(), names)
+					&& FunctionInlinerVisitor.uses_only(operation.getRightMember().getExpression(), names);
+		}
+		return expression instanceof ConstantNode;
+	}
+
+	/**
+	 * Creates a copy of the given expression, its identifiers being replaced by the expressions they are bound to.
+	 * An argument of the call is used as is at its first use, and copied at the next ones. The default values are always copied.
+	 * @param expression The expression, only made of operations, constants and identifiers.
+	 * @param bindings Expression of every identifier, or null to copy the identifiers.
+	 * @param owned Arguments of the call which are not used yet.
+	 * @param line Line of the copy.
+	 * @param column Column of the copy.
+	 * @return The copy.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static ExpressionNode copy(ExpressionNode expression, HashMap<String, ExpressionNode> bindings, HashSet<ExpressionNode> owned, int line, int column) {
+		if (expression instanceof IdentifierNode) {
+			String name = ((IdentifierNode) expression).getName();
+			if (bindings == null) {
+				return new IdentifierNode(new Token(TokenKind.IDENTIFIER, name, line, column));
+			}
+			ExpressionNode value = bindings.get(name);
+			return owned.remove(value) ? value : FunctionInlinerVisitor.copy(value, null, owned, line, column);
+		}
+		else if (expression instanceof OperationExpressionNode) {
+			OperationExpressionNode operation = (OperationExpressionNode) expression;
+			OperationExpressionNode copy = new OperationExpressionNode(line, column);
+			copy.setLeftMember(FunctionInlinerVisitor.copy(operation.getLeftMember().getExpression(), bindings, owned, line, column));
+			copy.setOperator(new OperatorNode(operation.getOperator(), line, column));
+			copy.setRightMember(FunctionInlinerVisitor.copy(operation.getRightMember().getExpression(), bindings, owned, line, column));
+			return copy;
+		}
+		else if (expression instanceof IntegerNode) {
+			return new IntegerNode(((IntegerNode) expression).getValue(), line, column);
+		}
+		else if (expression instanceof FloatNode) {
+			return new FloatNode(((FloatNode) expression).getValue(), line, column);
+		}
+		else if (expression instanceof TrueNode) {
+			return new TrueNode(line, column);
+		}
+		else if (expression instanceof FalseNode) {
+			return new FalseNode(line, column);
+		}
+		else if (expression instanceof NoneNode) {
+			return new NoneNode(line, column);
+		}
+		return new StringNode(new Token(TokenKind.STRING, ((StringNode) expression).getValue(), line, column));
+	}
+}
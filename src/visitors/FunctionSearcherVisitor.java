@@ -2,6 +2,7 @@ package visitors;
 
 import java.util.ArrayList;
 
+import common.CompilationException;
 import common.ast.Node;
 import common.ast.ProgramNode;
 import python.symbolTable.ArgumentSymbol;
@@ -76,33 +77,27 @@ public class FunctionSearcherVisitor implements Visitor {
 		TypeDiscovererVisitor td;
 		FunctionSymbol func = this.symbolTable.getFunctionByName(node.getName());
 		if (func == null) {
-			System.err.println("Error during function search : Call of undefined function (L"+node.getLine() + ", C" + node.getColumn() + ").");
-			System.exit(1);
+			throw new CompilationException("Error during function search : Call of undefined function (L"+node.getLine() + ", C" + node.getColumn() + ").");
 		}
 		else {
 			// Mandatory arguments
 			ArrayList<ArgumentSymbol> args = func.getMandatoryArgs();
 			if (node.getArgList().getActualArgumentList() == null) {
 				if (args.size() != 0) {
-					System.err.println("Error during function search : Wrong number of argument in function call (L"+node.getLine() + ", C" + node.getColumn() + ").");
-					System.exit(1);
+					throw new CompilationException("Error during function search : Wrong number of argument in function call (L"+node.getLine() + ", C" + node.getColumn() + ").");
 				}
 			}
 			else {
 				if (node.getArgList().getActualArgumentList().getChildren().size() == args.size()) {
 					for (int i=0;i<args.size();i++) {
 						if (args.get(i).getType().getName().compareTo("Undefined") == 0) {
-							td = new TypeDiscovererVisitor(this.symbolTable);
-							node.getArgList().getActualArgumentList().getChildren().get(i).accept(td);
-							args.get(i).setType(td.getResult());
-							td.clear();
+							args.get(i).setType(TypeDiscovererVisitor.typeOf(node.getArgList().getActualArgumentList().getChildren().get(i), this.symbolTable));
 						}
 						
 					}
 				}
 				else {
-					System.err.println("Error during function search : Wrong number of argument in function call (L"+node.getLine() + ", C" + node.getColumn() + ").");
-					System.exit(1);
+					throw new CompilationException("Error during function search : Wrong number of argument in function call (L"+node.getLine() + ", C" + node.getColumn() + ").");
 				}
 			}
 			// Optional Arguments
@@ -112,8 +107,7 @@ public class FunctionSearcherVisitor implements Visitor {
 					ActualOptionalArgumentNode actualOpt = (ActualOptionalArgumentNode) n;
 					OptionalArgumentSymbol opt = func.getOptionalFromActual(actualOpt);
 					if (opt == null) {
-						System.err.println("Error during function search : Unknown optional argument in function call (L"+node.getLine() + ", C" + node.getColumn() + ").");
-						System.exit(1);
+						throw new CompilationException("Error during function search : Unknown optional argument in function call (L"+node.getLine() + ", C" + node.getColumn() + ").");
 					}
 					actualOpt.accept(td);
 					if (opt.getType().getName().compareTo("Undefined") == 0) {
@@ -121,8 +115,7 @@ public class FunctionSearcherVisitor implements Visitor {
 					}
 					else {
 						if (td.getResult().getName().compareTo("Undefined") != 0 && td.getResult().getName().compareTo(opt.getType().getName()) != 0){
-							System.err.println("Error during function search : Invalid type for optional argument in function call (L"+node.getLine() + ", C" + node.getColumn() + ").");
-							System.exit(1);
+							throw new CompilationException("Error during function search : Invalid type for optional argument in function call (L"+node.getLine() + ", C" + node.getColumn() + ").");
 						}
 					}
 				}
@@ -199,8 +192,7 @@ public class FunctionSearcherVisitor implements Visitor {
 	public void visit(FunctionDefinitionNode node) {
 		FunctionSymbol func = this.symbolTable.getFunctionByName(node.getName());
 		if (func != null) {
-			System.err.println("Error during function search : redefinition of function (L"+node.getLine() + ", C" + node.getColumn() + ").");
-			System.exit(1);
+			throw new CompilationException("Error during function search : redefinition of function (L"+node.getLine() + ", C" + node.getColumn() + ").");
 		}
 		func = new FunctionSymbol(node);
 		func.setReturnedType(new UndefinedType(null));
@@ -214,8 +206,7 @@ public class FunctionSearcherVisitor implements Visitor {
 					func.addArg(arg);
 				}
 				else {
-					System.err.println("Error during function search : redefinition of argument (L"+node.getLine() + ", C" + node.getColumn() + ").");
-					System.exit(1);
+					throw new CompilationException("Error during function search : redefinition of argument (L"+node.getLine() + ", C" + node.getColumn() + ").");
 				}
 			}
 		}
@@ -228,8 +219,7 @@ public class FunctionSearcherVisitor implements Visitor {
 					func.addOptionalArg(opt, this.symbolTable);
 				}
 				else {
-					System.err.println("Error during function search : redefinition of optional argument (L"+node.getLine() + ", C" + node.getColumn() + ").");
-					System.exit(1);
+					throw new CompilationException("Error during function search : redefinition of optional argument (L"+node.getLine() + ", C" + node.getColumn() + ").");
 				}
 			}
 		}
@@ -0,0 +1,797 @@
+package visitors;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+
+import common.CompilationException;
+import common.ast.AST;
+import common.ast.Node;
+import common.ast.ProgramNode;
+import common.lexer.Token;
+import common.lexer.TokenKind;
+import common.log.Log;
+import common.log.Stage;
+import ir.BasicBlock;
+import ir.Body;
+import ir.Branch;
+import ir.Constant;
+import ir.ForLoop;
+import ir.IRFunction;
+import ir.IRProgram;
+import ir.Instruction;
+import ir.Opcode;
+import ir.Region;
+import ir.Temporary;
+import ir.Value;
+import ir.Variable;
+import ir.WhileLoop;
+import python.symbolTable.ArgumentSymbol;
+import python.symbolTable.CallGraph;
+import python.symbolTable.FunctionSymbol;
+import python.symbolTable.OptionalArgumentSymbol;
+import python.symbolTable.SymbolTable;
+import python.symbolTable.SymbolTableGenerator;
+import python.symbolTable.VariableSymbol;
+import python.symbolTable.types.AbstractType;
+import python.symbolTable.types.IntegerType;
+import python.symbolTable.types.UndefinedType;
+import python.ast.other.BodyNode;
+import python.ast.other.arguments.actual.ActualOptionalArgumentNode;
+import python.ast.other.arguments.actual.CallArgumentListNode;
+import python.ast.statements.AssignmentNode;
+import python.ast.statements.blocks.ForStatementNode;
+import python.ast.statements.blocks.FunctionDefinitionNode;
+import python.ast.statements.blocks.IfStatementNode;
+import python.ast.statements.blocks.WhileStatementNode;
+import python.ast.statements.blocks.ifBlocks.ElifBlockNode;
+import python.ast.statements.blocks.ifBlocks.ElseBlockNode;
+import python.ast.statements.blocks.ifBlocks.IfBlockNode;
+import python.ast.statements.expressions.ExpressionNode;
+import python.ast.statements.expressions.FunctionCallNode;
+import python.ast.statements.expressions.IdentifierNode;
+import python.ast.statements.expressions.OperationExpressionNode;
+import python.ast.statements.expressions.constants.FalseNode;
+import python.ast.statements.expressions.constants.FloatNode;
+import python.ast.statements.expressions.constants.IntegerNode;
+import python.ast.statements.expressions.constants.NoneNode;
+import python.ast.statements.expressions.constants.StringNode;
+import python.ast.statements.expressions.constants.TrueNode;
+import python.ast.statements.keywords.AssertStatementNode;
+import python.ast.statements.keywords.BreakStatementNode;
+import python.ast.statements.keywords.ContinueStatementNode;
+import python.ast.statements.keywords.PassStatementNode;
+import python.ast.statements.keywords.ReturnStatementNode;
+
+/**
+ * Visitor class lowering a checked AST into the intermediate representation (see IRProgram), from which the C code is generated.
+ * Every operation is given a typed temporary, in the order python evaluates it. The types are those of the symbol table,
+ * the comparisons and the logical operations giving integers.
+ * An and/or whose right member calls a function is turned into a branch, so that the call is only done when python does it.
+ * The bounds and the step of a range are computed once, before the loop, as in python.
+ * @author C.Silva, R.Cuinat
+ */
+public class IRBuilderVisitor implements Visitor {
+	private IRProgram program;
+	private SymbolTable symbolTable;
+	private HashMap<String, Variable> variables;
+	private Body body;
+	private BasicBlock block;
+	private Value result;
+	private final HashSet<Value> truths;
+
+	/**
+	 * Constructor of the class.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public IRBuilderVisitor() {
+		this.truths = new HashSet<>();
+	}
+
+	/**
+	 * Lowers the AST.
+	 * @param ast AST to lower.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(AST ast) {
+		ast.accept(this);
+		if (Log.isTracing(Stage.IR)) {
+			Log.trace(Stage.IR, "Intermediate representation :\n" + this.program + "\n");
+		}
+	}
+
+	/**
+	 * Getter of the program field.
+	 * @return The program lowered from the last AST visited.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public IRProgram getProgram() {
+		return this.program;
+	}
+
+	/**
+	 * Returns the block receiving the instructions : the last region of the current body, created if it is not a block.
+	 * @return The current block.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private BasicBlock block() {
+		if (this.block == null) {
+			this.block = new BasicBlock();
+			this.body.add(this.block);
+		}
+		return this.block;
+	}
+
+	/**
+	 * Appends a branch or a loop to the current body. The next instructions are put in a new block.
+	 * @param region The region.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private void add(Region region) {
+		this.body.add(region);
+		this.block = null;
+	}
+
+	/**
+	 * Appends a return, a break or a continue to the current block. The instructions following it, which are never executed, are put in a new block.
+	 * @param instruction The instruction.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private void terminate(Instruction instruction) {
+		this.block().add(instruction);
+		this.block = null;
+	}
+
+	/**
+	 * Returns the variable of the given name, created on its first use in the current function.
+	 * @param name Name of the variable.
+	 * @param type Type of the variable, if it is created.
+	 * @return The variable.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private Variable variable(String name, AbstractType type) {
+		Variable variable = this.variables.get(name);
+		if (variable == null) {
+			variable = new Variable(name, type);
+			this.variables.put(name, variable);
+		}
+		return variable;
+	}
+
+	/**
+	 * Returns the variable of the given identifier, typed by the symbol table.
+	 * @param node Identifier of the variable.
+	 * @return The variable.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private Variable variable(IdentifierNode node) {
+		VariableSymbol symbol = this.symbolTable.getVariableByName(node);
+		return this.variable(node.getName(), symbol != null ? symbol.getType() : new UndefinedType(node));
+	}
+
+	/**
+	 * Lowers an expression into the current body.
+	 * @param node Expression to lower.
+	 * @return The value of the expression.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private Value lower(ExpressionNode node) {
+		this.result = null;
+		node.accept(this);
+		return this.result;
+	}
+
+	/**
+	 * Lowers a body of statements into a new body.
+	 * @param node Body to lower. null for an empty body.
+	 * @return The lowered body.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private Body lower(BodyNode node) {
+		Body enclosing = this.body;
+		BasicBlock block = this.block;
+		Body body = new Body();
+		this.body = body;
+		this.block = null;
+		if (node != null) {
+			node.accept(this);
+		}
+		this.body = enclosing;
+		this.block = block;
+		return body;
+	}
+
+	/**
+	 * Lowers a statement into the current body.
+	 * @param node Statement to lower.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private void statement(Node node) {
+		if (node instanceof FunctionCallNode) {
+			this.call((FunctionCallNode) node, true);
+		}
+		else {
+			node.accept(this);
+		}
+	}
+
+	/**
+	 * Gathers the identifiers used in the given subtree.
+	 * @param node Root of the subtree.
+	 * @param names Set receiving the names of the identifiers.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static void collect_names(Node node, HashSet<String> names) {
+		if (node instanceof IdentifierNode) {
+			names.add(((IdentifierNode) node).getName());
+		}
+		for (Node child : node.getChildren()) {
+			if (child != null) {
+				IRBuilderVisitor.collect_names(child, names);
+			}
+		}
+	}
+
+	/**
+	 * Tells whether the given subtree calls a function.
+	 * @param node Root of the subtree.
+	 * @return true if a function call is found.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static boolean calls(Node node) {
+		if (node instanceof FunctionCallNode) {
+			return true;
+		}
+		for (Node child : node.getChildren()) {
+			if (child != null && IRBuilderVisitor.calls(child)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Tells whether the given operator gives a truth value.
+	 * @param operator Python operator.
+	 * @return true for the comparisons, and and or.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static boolean is_logical(String operator) {
+		switch (operator) {
+		case "and" :
+		case "or" :
+		case "==" :
+		case "!=" :
+		case "<" :
+		case "<=" :
+		case ">" :
+		case ">=" :
+			return true;
+		default :
+			return false;
+		}
+	}
+
+	/**
+	 * Lowers the program into a new IRProgram. The types of the arguments of a function are known once its calls are typed :
+	 * the main program is lowered first, in a table of its own so that its loop counters stay unknown to the functions,
+	 * then every function before the functions it calls.
+	 * @param root Node to lower.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(ProgramNode root) {
+		HashSet<String> names = new HashSet<>();
+		IRBuilderVisitor.collect_names(root, names);
+		SymbolTableGenerator stg = new SymbolTableGenerator(new SymbolTable());
+		this.symbolTable = stg.generateFrom(root);
+		if (Log.isTracing(Stage.SYMBOL_TABLE)) {
+			Log.trace(Stage.SYMBOL_TABLE, "SymbolTable :\n" + this.symbolTable + "\n");
+		}
+		for (FunctionSymbol func : this.symbolTable.getFunctions()) {
+			names.add(func.getName());
+		}
+		this.program = new IRProgram(this.symbolTable, names);
+		this.variables = new HashMap<>();
+		Body main = new Body();
+		for (VariableSymbol var : this.symbolTable.getVariables()) {
+			if (var.getType().toString() == null) {
+				throw new CompilationException("Unable to proceed with the conversion : undefined type for variable " + var.getName());
+			}
+			main.declare(this.variable(var.getName(), var.getType()));
+		}
+		SymbolTable st = this.symbolTable;
+		this.symbolTable = new SymbolTable(st);
+		this.body = main;
+		this.block = null;
+		for (Node node : root.getChildren()) {
+			this.statement(node);
+		}
+		this.symbolTable = st;
+		this.program.setMain(new IRFunction(null, new ArrayList<Variable>(), main));
+		HashMap<String, FunctionSymbol> functions = new HashMap<>();
+		for (FunctionSymbol func : this.symbolTable.getFunctions()) {
+			if (func.getName().compareTo("print") != 0 && func.getNode() != null) {
+				functions.put(func.getName(), func);
+			}
+		}
+		CallGraph graph = new CallGraph(this.symbolTable);
+		ArrayList<FunctionSymbol> order = new ArrayList<>();
+		HashSet<FunctionSymbol> visited = new HashSet<>();
+		for (FunctionSymbol func : this.symbolTable.getFunctions()) {
+			if (functions.containsKey(func.getName())) {
+				IRBuilderVisitor.post_order(func, graph, functions, visited, order);
+			}
+		}
+		HashMap<FunctionSymbol, IRFunction> lowered = new HashMap<>();
+		for (int i=order.size()-1;i>=0;i--) {
+			lowered.put(order.get(i), this.function(order.get(i)));
+		}
+		for (FunctionSymbol func : this.symbolTable.getFunctions()) {
+			if (lowered.containsKey(func)) {
+				this.program.addFunction(lowered.get(func));
+			}
+		}
+	}
+
+	/**
+	 * Lists the given function after the functions it calls, directly or not, unless they call it back.
+	 * @param func The function.
+	 * @param graph Call graph of the program.
+	 * @param functions The functions of the program, by name.
+	 * @param visited Functions already listed or being listed.
+	 * @param order List receiving the functions.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static void post_order(FunctionSymbol func, CallGraph graph, HashMap<String, FunctionSymbol> functions, HashSet<FunctionSymbol> visited, ArrayList<FunctionSymbol> order) {
+		if (visited.add(func)) {
+			for (String name : graph.getCalled(func)) {
+				if (functions.containsKey(name)) {
+					IRBuilderVisitor.post_order(functions.get(name), graph, functions, visited, order);
+				}
+			}
+			order.add(func);
+		}
+	}
+
+	/**
+	 * Lowers a function of the program.
+	 * @param func Symbol of the function.
+	 * @return The lowered function.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private IRFunction function(FunctionSymbol func) {
+		this.variables = new HashMap<>();
+		SymbolTable st = this.symbolTable;
+		this.symbolTable = new SymbolTable(st);
+		this.symbolTable.addVariableFromMandatories(func.getMandatoryArgs());
+		this.symbolTable.addVariableFromOptionals(func.getOptionals());
+		ArrayList<Variable> arguments = new ArrayList<>();
+		for (ArgumentSymbol arg : func.getMandatoryArgs()) {
+			arguments.add(this.variable(arg.getName(), arg.getType()));
+		}
+		for (OptionalArgumentSymbol opt : func.getOptionals()) {
+			arguments.add(this.variable(opt.getName(), opt.getType()));
+		}
+		Body body = this.lower(func.getNode().getBody());
+		this.symbolTable = st;
+		return new IRFunction(func, arguments, body);
+	}
+
+	/**
+	 * Lowers the specified node. The functions are lowered apart, the ones defined inside a body are ignored.
+	 * @param node Node to lower.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(FunctionDefinitionNode node) {
+	}
+
+	/**
+	 * Lowers the specified node : its variables are declared in the current body.
+	 * @param node Node to lower.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(BodyNode node) {
+		SymbolTable st = this.symbolTable;
+		SymbolTableGenerator stg = new SymbolTableGenerator(this.symbolTable);
+		this.symbolTable = stg.generateFrom(node);
+		for (VariableSymbol var : this.symbolTable.getLocalVariables()) {
+			if (var.getType() == null) {
+				throw new CompilationException("Unable to proceed with the conversion : undefined type for variable " + var.getName());
+			}
+			this.body.declare(this.variable(var.getName(), var.getType()));
+		}
+		for (Node n : node.getChildren()) {
+			this.statement(n);
+		}
+		this.symbolTable = st;
+	}
+
+	/**
+	 * Lowers the specified node.
+	 * @param node Node to lower.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(FalseNode node) {
+		this.result = Constant.integer(0);
+	}
+
+	/**
+	 * Lowers the specified node.
+	 * @param node Node to lower.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(TrueNode node) {
+		this.result = Constant.integer(1);
+	}
+
+	/**
+	 * Lowers the specified node.
+	 * @param node Node to lower.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(FloatNode node) {
+		this.result = Constant.real(node.getValue());
+	}
+
+	/**
+	 * Lowers the specified node.
+	 * @param node Node to lower.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(IntegerNode node) {
+		this.result = Constant.integer(node.getValue());
+	}
+
+	/**
+	 * Lowers the specified node.
+	 * @param node Node to lower.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(NoneNode node) {
+		this.result = Constant.none(new UndefinedType(node));
+	}
+
+	/**
+	 * Lowers the specified node.
+	 * @param node Node to lower.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(StringNode node) {
+		this.result = Constant.string(node.getValue().substring(1, node.getValue().length() - 1));
+	}
+
+	/**
+	 * Lowers the specified node.
+	 * @param node Node to lower.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(IdentifierNode node) {
+		this.result = this.variable(node);
+	}
+
+	/**
+	 * Lowers the specified node.
+	 * @param node Node to lower.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(FunctionCallNode node) {
+		this.result = this.call(node, false);
+	}
+
+	/**
+	 * Lowers a function call. Its arguments are evaluated from left to right, the optional ones in the order of the declaration of the function,
+	 * the missing ones taking their default value.
+	 * @param node Call to lower.
+	 * @param statement true if the result of the call is not used.
+	 * @return The temporary receiving the result. null for a statement.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private Value call(FunctionCallNode node, boolean statement) {
+		FunctionSymbol func = this.symbolTable.getFunctionByName(node.getName());
+		if (func == null) {
+			throw new CompilationException("Unable to proceed with conversion : Call of unknown function (L" + node.getLine() + ", C" + node.getColumn() + ").");
+		}
+		CallArgumentListNode list = node.getArgList();
+		List<Value> args = new ArrayList<>();
+		if (list != null && list.getActualArgumentList() != null) {
+			for (Node n : list.getActualArgumentList().getChildren()) {
+				args.add(this.lower((ExpressionNode) n));
+			}
+		}
+		for (OptionalArgumentSymbol opt : func.getOptionals()) {
+			ExpressionNode value = opt.getNode().getDefault();
+			if (list != null && list.getActualOptionalArgumentList() != null) {
+				for (Node n : list.getActualOptionalArgumentList().getChildren()) {
+					ActualOptionalArgumentNode actual = (ActualOptionalArgumentNode) n;
+					if (actual.getName().getName().compareTo(opt.getName()) == 0) {
+						value = actual.getValue();
+						break;
+					}
+				}
+			}
+			args.add(this.lower(value));
+		}
+		Temporary target = null;
+		if (!statement) {
+			if (func.getReturnedType() == null || func.getReturnedType().getName().compareTo("Undefined") == 0) {
+				throw new CompilationException("Unable to proceed with conversion : Use of the result of a function returning nothing (L" + node.getLine() + ", C" + node.getColumn() + ").");
+			}
+			target = this.program.newTemporary(func.getReturnedType());
+		}
+		this.block().add(Instruction.call(target, func, args));
+		return target;
+	}
+
+	/**
+	 * Lowers the specified node.
+	 * @param node Node to lower.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(OperationExpressionNode node) {
+		String operator = node.getOperator().getValue();
+		ExpressionNode right = node.getRightMember().getExpression();
+		if ((operator.compareTo("and") == 0 || operator.compareTo("or") == 0) && IRBuilderVisitor.calls(right)) {
+			this.result = this.short_circuit(operator, node.getLeftMember().getExpression(), right);
+			return;
+		}
+		Value left = this.lower(node.getLeftMember().getExpression());
+		Value value = this.lower(right);
+		Temporary target = this.program.newTemporary(IRBuilderVisitor.is_logical(operator) ? new IntegerType() : TypeDiscovererVisitor.typeOf(node, this.symbolTable));
+		this.block().add(Instruction.binary(target, operator, left, value));
+		if (IRBuilderVisitor.is_logical(operator)) {
+			this.truths.add(target);
+		}
+		this.result = target;
+	}
+
+	/**
+	 * Lowers an and or an or whose right member is only evaluated when the left one does not give the result.
+	 * @param operator and or or.
+	 * @param left Left member.
+	 * @param right Right member.
+	 * @return The temporary receiving the result, 0 or 1.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private Value short_circuit(String operator, ExpressionNode left, ExpressionNode right) {
+		Temporary target = this.program.newTemporary(new IntegerType());
+		this.block().add(this.truth(target, this.lower(left)));
+		Value condition = target;
+		if (operator.compareTo("or") == 0) {
+			condition = this.program.newTemporary(new IntegerType());
+			this.block().add(Instruction.binary(condition, "==", target, Constant.integer(0)));
+		}
+		Body enclosing = this.body;
+		BasicBlock block = this.block;
+		Body then = new Body();
+		this.body = then;
+		this.block = null;
+		this.block().add(this.truth(target, this.lower(right)));
+		this.body = enclosing;
+		this.block = block;
+		this.add(new Branch(condition, then));
+		this.truths.add(target);
+		return target;
+	}
+
+	/**
+	 * Creates the instruction assigning the truth value of the given value.
+	 * @param target Temporary assigned.
+	 * @param value The value.
+	 * @return A copy of the value if it is an integer constant or the result of a comparison or of a logical operation, or the comparison of the value with 0.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private Instruction truth(Temporary target, Value value) {
+		if (this.truths.contains(value)) {
+			return Instruction.copy(target, value);
+		}
+		if (value instanceof Constant && ((Constant) value).getValue() instanceof Long) {
+			return Instruction.copy(target, Constant.integer((Long) ((Constant) value).getValue() != 0 ? 1 : 0));
+		}
+		return Instruction.binary(target, "!=", value, Constant.integer(0));
+	}
+
+	/**
+	 * Lowers the specified node. The instruction computing the assigned value assigns the variable itself.
+	 * @param node Node to lower.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(AssignmentNode node) {
+		IdentifierNode name = (IdentifierNode) node.getLeftMember().getExpression();
+		String operator = node.getOperator().getValue();
+		String typeRight = TypeDiscovererVisitor.typeOf(node.getRightMember(), this.symbolTable).getName();
+		VariableSymbol var = this.symbolTable.getVariableByName(name);
+		switch (operator) {
+		case "+=" :
+		case "-=" :
+		case "*=" :
+		case "/=" :
+			if (var == null || (typeRight.compareTo("Integer") != 0 && typeRight.compareTo("Double") != 0) || (var.getType().getName().compareTo("Integer") != 0 && var.getType().getName().compareTo("Double") != 0)) {
+				Log.error("Unable to proceed with conversion : Invalid type for operation " + operator.charAt(0) + " (L" + node.getLine() + ", C" + node.getColumn() + ")") ;
+			}
+			break;
+		case "%=" :
+			if (var == null || typeRight.compareTo("Integer") != 0 || var.getType().getName().compareTo("Integer") != 0) {
+				Log.error("Unable to proceed with conversion : Invalid operation % with non integer (L" + node.getLine() + ", C" + node.getColumn() + ")") ;
+			}
+			break;
+		case "**=" :
+			if (var == null || typeRight.compareTo("Integer") != 0 || (var.getType().getName().compareTo("Integer") != 0 && var.getType().getName().compareTo("Double") != 0)) {
+				Log.error("Unable to proceed with conversion : Invalid type for operation ** (L" + node.getLine() + ", C" + node.getColumn() + ")") ;
+			}
+			break;
+		case "=" :
+			if (var == null || typeRight.compareTo(var.getType().getName()) != 0) {
+				Log.error("Unable to proceed with conversion : Invalid type for operation =  (L" + node.getLine() + ", C" + node.getColumn() + ")") ;
+			}
+			break;
+		default :
+			Log.error("Unable to proceed with conversion : Unknown assignment operator (L" + node.getLine() + ", C" + node.getColumn() + ").");
+			return;
+		}
+		Value value = this.lower(node.getRightMember().getExpression());
+		Variable target = this.variable(name);
+		List<Instruction> instructions = this.block().getInstructions();
+		if (operator.compareTo("=") == 0 && value instanceof Temporary && !instructions.isEmpty() && instructions.get(instructions.size() - 1).getTarget() == value) {
+			instructions.set(instructions.size() - 1, instructions.get(instructions.size() - 1).assign(target));
+		}
+		else if (operator.compareTo("=") == 0) {
+			this.block().add(Instruction.copy(target, value));
+		}
+		else {
+			this.block().add(Instruction.binary(target, operator.substring(0, operator.length() - 1), target, value));
+		}
+	}
+
+	/**
+	 * Lowers the specified node.
+	 * @param node Node to lower.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(AssertStatementNode node) {
+		Log.error("Unable to proceed with the conversion : assert statement (L" + node.getLine() + ", C" + node.getColumn() + ").");
+	}
+
+	/**
+	 * Lowers the specified node.
+	 * @param node Node to lower.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(BreakStatementNode node) {
+		this.terminate(Instruction.jump(Opcode.BREAK));
+	}
+
+	/**
+	 * Lowers the specified node.
+	 * @param node Node to lower.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(ContinueStatementNode node) {
+		this.terminate(Instruction.jump(Opcode.CONTINUE));
+	}
+
+	/**
+	 * Lowers the specified node.
+	 * @param node Node to lower.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(PassStatementNode node) {
+	}
+
+	/**
+	 * Lowers the specified node.
+	 * @param node Node to lower.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(ReturnStatementNode node) {
+		this.terminate(Instruction.ret(node.getExpression() == null ? null : this.lower(node.getExpression())));
+	}
+
+	/**
+	 * Lowers the specified node.
+	 * @param node Node to lower.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(ForStatementNode node) {
+		VariableSymbol itvar = this.symbolTable.getVariableByName(node.getVariable());
+		Variable counter = this.variable(node.getVariable().getName(), new IntegerType());
+		if (itvar == null) {
+			this.body.declare(counter);
+		}
+		else if (itvar.getType().getName().compareTo("Integer") != 0) {
+			throw new CompilationException("Unable to proceed with conversion : Wrong type for iteration variable (L"+node.getLine() + ", C" + node.getColumn() + ").");
+		}
+		ExpressionNode iterable = node.getIterable().getExpression();
+		if (!(iterable instanceof FunctionCallNode) || ((FunctionCallNode) iterable).getName().getName().compareTo("range") != 0
+				|| ((FunctionCallNode) iterable).getArgList().getActualArgumentList() == null) {
+			throw new CompilationException("Unable to proceed with conversion : Invalid iterable (L" + node.getLine() + ", C" + node.getColumn() + ").");
+		}
+		ArrayList<Node> args = ((FunctionCallNode) iterable).getArgList().getActualArgumentList().getChildren();
+		if (args.size() < 1 || args.size() > 3) {
+			throw new CompilationException("Unable to proceed with conversion : Invalid iterable (L" + node.getLine() + ", C" + node.getColumn() + ").");
+		}
+		Value[] bounds = new Value[args.size()];
+		for (int i=0;i<args.size();i++) {
+			if (TypeDiscovererVisitor.typeOf(args.get(i), this.symbolTable).getName().compareTo("Integer") != 0) {
+				Log.error("Unable to proceed with conversion : Invalid iterable argument (L" + node.getLine() + ", C" + node.getColumn() + ").");
+			}
+			bounds[i] = this.lower((ExpressionNode) args.get(i));
+		}
+		if (itvar == null) {
+			AssignmentNode n = new AssignmentNode(node.getLine(), node.getColumn());
+			n.setLeftMember(node.getVariable());
+			n.setRightMember(new IntegerNode(new Token(TokenKind.INTEGER, "1", node.getLine(), node.getColumn())));
+			this.symbolTable.addVariable(new VariableSymbol(n, this.symbolTable));
+		}
+		Value start = bounds.length == 1 ? Constant.integer(0) : bounds[0];
+		Value stop = bounds.length == 1 ? bounds[0] : bounds[1];
+		Value step = bounds.length == 3 ? bounds[2] : Constant.integer(1);
+		this.add(new ForLoop(counter, start, stop, step, this.lower(node.getBody())));
+	}
+
+	/**
+	 * Lowers the specified node.
+	 * @param node Node to lower.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(WhileStatementNode node) {
+		Body enclosing = this.body;
+		BasicBlock block = this.block;
+		Body header = new Body();
+		this.body = header;
+		this.block = null;
+		Value condition = this.lower(node.getCondition());
+		this.body = enclosing;
+		this.block = block;
+		this.add(new WhileLoop(header, condition, this.lower(node.getBody())));
+	}
+
+	/**
+	 * Lowers the specified node. Every elif and the else are put in the otherwise body of the previous branch.
+	 * @param node Node to lower.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(IfStatementNode node) {
+		Body enclosing = this.body;
+		Branch last = null;
+		for (Node n : node.getChildren()) {
+			if (n instanceof ElseBlockNode) {
+				last.setOtherwise(this.lower(((ElseBlockNode) n).getBody()));
+				continue;
+			}
+			if (last != null) {
+				Body otherwise = new Body();
+				last.setOtherwise(otherwise);
+				this.body = otherwise;
+				this.block = null;
+			}
+			Value condition = this.lower(n instanceof IfBlockNode ? ((IfBlockNode) n).getCondition() : ((ElifBlockNode) n).getCondition());
+			last = new Branch(condition, this.lower(n instanceof IfBlockNode ? ((IfBlockNode) n).getBody() : ((ElifBlockNode) n).getBody()));
+			this.add(last);
+		}
+		this.body = enclosing;
+		this.block = null;
+	}
+}
@@ -3,6 +3,8 @@ package visitors;
 import common.ast.AST;
 import common.ast.Node;
 import common.ast.ProgramNode;
+import common.log.Log;
+import common.log.Stage;
 import python.ast.other.BodyNode;
 import python.ast.other.LeftMemberNode;
 import python.ast.other.OperatorNode;
@@ -66,7 +68,7 @@ public class PythonPrettyPrinterVisitor implements Visitor {
 		for (int i=0;i<this.current_tab;i++) {
 			chaine.append("\t");
 		}
-		System.out.print(chaine);
+		Log.trace(Stage.PARSER, chaine.toString());
 	}
 	
 	/**
@@ -76,9 +78,9 @@ public class PythonPrettyPrinterVisitor implements Visitor {
 	 */
 	@Override
 	public void visit(AST ast) {
-		System.out.println("Visiting the AST (\""+ast.getSource()+"\") to print the source code.\n" );
+		Log.trace(Stage.PARSER, "Visiting the AST (\""+ast.getSource()+"\") to print the source code.\n\n");
 		ast.accept(this);
-		System.out.println("\nEnd of the visit\n");
+		Log.trace(Stage.PARSER, "\nEnd of the visit\n\n");
 	}
 	
 	/**
@@ -101,15 +103,15 @@ public class PythonPrettyPrinterVisitor implements Visitor {
 	 */
 	@Override
 	public void visit(FunctionDefinitionNode node) {
-		System.out.print("def ");
+		Log.trace(Stage.PARSER, "def ");
 		if (node.getName() != null){
 			node.getName().accept(this);
 		}
-		System.out.print("(");
+		Log.trace(Stage.PARSER, "(");
 		if (node.getArgList() != null) {
 			node.getArgList().accept(this);
 		}
-		System.out.print(") :");
+		Log.trace(Stage.PARSER, ") :");
 		this.current_tab ++;
 		if (node.getBody() != null) {
 			node.getBody().accept(this);
@@ -125,7 +127,7 @@ public class PythonPrettyPrinterVisitor implements Visitor {
 	 */
 	@Override
 	public void visit(FalseNode node) {
-		System.out.print("False");
+		Log.trace(Stage.PARSER, "False");
 	}
 	/**
 	 * Displays the specified node.
@@ -134,7 +136,7 @@ public class PythonPrettyPrinterVisitor implements Visitor {
 	 */
 	@Override
 	public void visit(FloatNode node) {
-		System.out.print(node.getValue());
+		Log.trace(Stage.PARSER, String.valueOf(node.getValue()));
 	}
 	
 	/**
@@ -144,7 +146,7 @@ public class PythonPrettyPrinterVisitor implements Visitor {
 	 */
 	@Override
 	public void visit(IntegerNode node) {
-		System.out.print(node.getValue());
+		Log.trace(Stage.PARSER, String.valueOf(node.getValue()));
 	}
 	
 	/**
@@ -154,7 +156,7 @@ public class PythonPrettyPrinterVisitor implements Visitor {
 	 */
 	@Override
 	public void visit(NoneNode node) {
-		System.out.print("None");
+		Log.trace(Stage.PARSER, "None");
 	}
 	
 	/**
@@ -164,7 +166,7 @@ public class PythonPrettyPrinterVisitor implements Visitor {
 	 */
 	@Override
 	public void visit(StringNode node) {
-		System.out.print(node.getValue());
+		Log.trace(Stage.PARSER, node.getValue());
 	}
 	
 	/**
@@ -174,7 +176,7 @@ public class PythonPrettyPrinterVisitor implements Visitor {
 	 */
 	@Override
 	public void visit(TrueNode node) {
-		System.out.print("True");
+		Log.trace(Stage.PARSER, "True");
 	}
 	
 	/**
@@ -186,7 +188,7 @@ public class PythonPrettyPrinterVisitor implements Visitor {
 	public void visit(ExpressionNode node) {
 		for (Node n : node.getChildren()) {
 			n.accept(this);
-			System.out.print(" ");
+			Log.trace(Stage.PARSER, " ");
 		}
 	}
 	
@@ -200,11 +202,11 @@ public class PythonPrettyPrinterVisitor implements Visitor {
 		if (node.getName() != null) {
 			node.getName().accept(this);
 		}
-		System.out.print("(");
+		Log.trace(Stage.PARSER, "(");
 		if (node.getArgList() != null) {
 			node.getArgList().accept(this);
 		}
-		System.out.print(")");
+		Log.trace(Stage.PARSER, ")");
 	}
 	
 	/**
@@ -214,7 +216,7 @@ public class PythonPrettyPrinterVisitor implements Visitor {
 	 */
 	@Override
 	public void visit(IdentifierNode node) {
-		System.out.print(node.getName());
+		Log.trace(Stage.PARSER, node.getName());
 	}
 	
 	/**
@@ -225,19 +227,19 @@ public class PythonPrettyPrinterVisitor implements Visitor {
 	@Override
 	public void visit(OperationExpressionNode node) {
 		if (node.getLeftMember() != null) {
-			System.out.print("(");
+			Log.trace(Stage.PARSER, "(");
 			node.getLeftMember().accept(this);
-			System.out.print(")");
+			Log.trace(Stage.PARSER, ")");
 		}
-		System.out.print(" ");
+		Log.trace(Stage.PARSER, " ");
 		if (node.getOperator() != null) {
 			node.getOperator().accept(this);
 		}
-		System.out.print(" ");
+		Log.trace(Stage.PARSER, " ");
 		if (node.getRightMember() != null) {
-			System.out.print("(");
+			Log.trace(Stage.PARSER, "(");
 			node.getRightMember().accept(this);
-			System.out.print(")");
+			Log.trace(Stage.PARSER, ")");
 		}
 	}
 	
@@ -248,11 +250,11 @@ public class PythonPrettyPrinterVisitor implements Visitor {
 	 */
 	@Override
 	public void visit(ElifBlockNode node) {
-		System.out.print("elif ");
+		Log.trace(Stage.PARSER, "elif ");
 		if (node.getCondition() != null) {
 			node.getCondition().accept(this);
 		}
-		System.out.print(":");
+		Log.trace(Stage.PARSER, ":");
 		this.current_tab ++;
 		if (node.getBody() != null) {
 			node.getBody().accept(this);
@@ -267,7 +269,7 @@ public class PythonPrettyPrinterVisitor implements Visitor {
 	 */
 	@Override
 	public void visit(ElseBlockNode node) {
-		System.out.print("else :");
+		Log.trace(Stage.PARSER, "else :");
 		this.current_tab++;
 		if (node.getBody() != null) {
 			node.getBody().accept(this);
@@ -282,11 +284,11 @@ public class PythonPrettyPrinterVisitor implements Visitor {
 	 */
 	@Override
 	public void visit(IfBlockNode node) {
-		System.out.print("if ");
+		Log.trace(Stage.PARSER, "if ");
 		if (node.getCondition() != null) {
 			node.getCondition().accept(this);
 		}
-		System.out.print(" :");
+		Log.trace(Stage.PARSER, " :");
 		this.current_tab ++;
 		if (node.getBody() != null){
 			node.getBody().accept(this);
@@ -301,7 +303,7 @@ public class PythonPrettyPrinterVisitor implements Visitor {
 	 */
 	@Override
 	public void visit(AssertStatementNode node) {
-		System.out.print("assert ");
+		Log.trace(Stage.PARSER, "assert ");
 		node.getAssertion().accept(this);
 	}
 	
@@ -315,11 +317,11 @@ public class PythonPrettyPrinterVisitor implements Visitor {
 		if (node.getLeftMember() != null) {
 			node.getLeftMember().accept(this);
 		}
-		System.out.print(" ");
+		Log.trace(Stage.PARSER, " ");
 		if (node.getOperator() != null) {
 			node.getOperator().accept(this);
 		}
-		System.out.print(" ");
+		Log.trace(Stage.PARSER, " ");
 		if (node.getRightMember() != null) {
 			node.getRightMember().accept(this);
 		}
@@ -332,7 +334,7 @@ public class PythonPrettyPrinterVisitor implements Visitor {
 	 */
 	@Override
 	public void visit(BreakStatementNode node) {
-		System.out.print("break");
+		Log.trace(Stage.PARSER, "break");
 	}
 	
 	/**
@@ -342,7 +344,7 @@ public class PythonPrettyPrinterVisitor implements Visitor {
 	 */
 	@Override
 	public void visit(ContinueStatementNode node) {
-		System.out.print("continue");
+		Log.trace(Stage.PARSER, "continue");
 	}
 	
 	/**
@@ -352,15 +354,15 @@ public class PythonPrettyPrinterVisitor implements Visitor {
 	 */
 	@Override
 	public void visit(ForStatementNode node) {
-		System.out.print("for ");
+		Log.trace(Stage.PARSER, "for ");
 		if (node.getVariable() != null) {
 			node.getVariable().accept(this);
 		}
-		System.out.print(" in ");
+		Log.trace(Stage.PARSER, " in ");
 		if (node.getIterable() != null) {
 			node.getIterable().accept(this);
 		}
-		System.out.print(" :");
+		Log.trace(Stage.PARSER, " :");
 		this.current_tab ++;
 		if (node.getBody() != null) {
 			node.getBody().accept(this);
@@ -403,7 +405,7 @@ public class PythonPrettyPrinterVisitor implements Visitor {
 	 */
 	@Override
 	public void visit(PassStatementNode node) {
-		System.out.print("pass");
+		Log.trace(Stage.PARSER, "pass");
 	}
 	
 	/**
@@ -413,7 +415,7 @@ public class PythonPrettyPrinterVisitor implements Visitor {
 	 */
 	@Override
 	public void visit(ReturnStatementNode node) {
-		System.out.print("return ");
+		Log.trace(Stage.PARSER, "return ");
 		node.getExpression().accept(this);
 	}
 	
@@ -423,11 +425,11 @@ public class PythonPrettyPrinterVisitor implements Visitor {
 	 * @author C.Silva, R.Cuinat
 	 */
 	public void visit(WhileStatementNode node) {
-		System.out.print("while ");
+		Log.trace(Stage.PARSER, "while ");
 		if (node.getCondition() != null) {
 			node.getCondition().accept(this);
 		}
-		System.out.print(" :");
+		Log.trace(Stage.PARSER, " :");
 		this.current_tab ++;
 		if (node.getBody() != null) {
 			node.getBody().accept(this);
@@ -448,7 +450,7 @@ public class PythonPrettyPrinterVisitor implements Visitor {
 		}
 		if (node.getActualOptionalArgumentList() != null) {
 			if (yes) {
-				System.out.print(", ");
+				Log.trace(Stage.PARSER, ", ");
 			}
 			node.getActualOptionalArgumentList().accept(this);
 		}
@@ -474,7 +476,7 @@ public class PythonPrettyPrinterVisitor implements Visitor {
 		for (Node n : node.getChildren()) {
 			n.accept(this);
 			if (node.getChildren().indexOf(n) != node.getChildren().size() - 1) {
-				System.out.print(", ");
+				Log.trace(Stage.PARSER, ", ");
 			}
 		}
 	}
@@ -488,7 +490,7 @@ public class PythonPrettyPrinterVisitor implements Visitor {
 		if (node.getName() != null) {
 			node.getName().accept(this);
 		}
-		System.out.print(" = ");
+		Log.trace(Stage.PARSER, " = ");
 		if (node.getValue() != null) {
 			node.getValue().accept(this);
 		}
@@ -503,7 +505,7 @@ public class PythonPrettyPrinterVisitor implements Visitor {
 		for (Node n : node.getChildren()) {
 			n.accept(this);
 			if (node.getChildren().indexOf(n) != node.getChildren().size() - 1) {
-				System.out.print(", ");
+				Log.trace(Stage.PARSER, ", ");
 			}
 		}
 	}
@@ -521,7 +523,7 @@ public class PythonPrettyPrinterVisitor implements Visitor {
 		}
 		if (node.getOptionalArgumentList() != null) {
 			if (yes) {
-				System.out.print(", ");
+				Log.trace(Stage.PARSER, ", ");
 			}
 			node.getOptionalArgumentList().accept(this);
 		}
@@ -536,7 +538,7 @@ public class PythonPrettyPrinterVisitor implements Visitor {
 		for (Node n : node.getChildren()) {
 			n.accept(this);
 			if (node.getChildren().indexOf(n) != node.getChildren().size() - 1) {
-				System.out.print(", ");
+				Log.trace(Stage.PARSER, ", ");
 			}
 		}
 	}
@@ -561,7 +563,7 @@ public class PythonPrettyPrinterVisitor implements Visitor {
 		for (Node n : node.getChildren()) {
 			n.accept(this);
 			if (node.getChildren().indexOf(n) != node.getChildren().size() - 1) {
-				System.out.print(", ");
+				Log.trace(Stage.PARSER, ", ");
 			}
 		}
 	}
@@ -575,7 +577,7 @@ public class PythonPrettyPrinterVisitor implements Visitor {
 		if (node.getName() != null) {
 			node.getName().accept(this);
 		}
-		System.out.print(" = ");
+		Log.trace(Stage.PARSER, " = ");
 		if (node.getDefault() != null) {
 			node.getDefault().accept(this);
 		}
@@ -610,7 +612,7 @@ public class PythonPrettyPrinterVisitor implements Visitor {
 	 * @author C.Silva, R.Cuinat
 	 */
 	public void visit(OperatorNode node) {
-		System.out.print(node.getValue());
+		Log.trace(Stage.PARSER, node.getValue());
 	}
 	
 	/**
@@ -2,6 +2,7 @@ package visitors;
 
 import java.util.ArrayList;
 
+import common.CompilationException;
 import common.ast.Node;
 import python.symbolTable.FunctionSymbol;
 import python.symbolTable.SymbolTable;
@@ -109,8 +110,7 @@ public class ReturnDiscovererVisitor implements Visitor {
 		this.node = node;
 		FunctionSymbol func = this.symbolTable.getFunctionByName(node.getName());
 		if (func == null) {
-			System.err.println("Error during function discovery : Unknown function (L"+node.getLine()+", C"+node.getColumn()+").");
-			System.exit(1);
+			throw new CompilationException("Error during function discovery : Unknown function (L"+node.getLine()+", C"+node.getColumn()+").");
 		}
 		this.symbolTable.addVariableFromMandatories(func.getMandatoryArgs());
 		this.symbolTable.addVariableFromOptionals(func.getOptionals());
@@ -136,9 +136,7 @@ public class ReturnDiscovererVisitor implements Visitor {
 	 * @author C.Silva, R.Cuinat
 	 */
 	public void visit(ReturnStatementNode node) {
-		TypeDiscovererVisitor tdv = new TypeDiscovererVisitor(this.symbolTable);
-		node.getExpression().accept(tdv);
-		this.result.add(tdv.getResult());
+		this.result.add(TypeDiscovererVisitor.typeOf(node.getExpression(), this.symbolTable));
 	}
 	/**
 	 * Visits the specified node.
@@ -177,8 +175,7 @@ public class ReturnDiscovererVisitor implements Visitor {
 				if (r.getName().compareTo(type.getName()) == 0 || type.getName().compareTo("Undefined") == 0) {
 				}
 				else {
-					System.err.println("Error during function discovery : Return type inconsistency with function (L"+this.node.getLine()+", C"+this.node.getColumn()+").");
-					System.exit(1);
+					throw new CompilationException("Error during function discovery : Return type inconsistency with function (L"+this.node.getLine()+", C"+this.node.getColumn()+").");
 				}
 			}
 		}
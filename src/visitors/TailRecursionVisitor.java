@@ -0,0 +1,444 @@
+package visitors;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+
+import common.ast.AST;
+import common.ast.Node;
+import common.ast.ProgramNode;
+import common.lexer.Token;
+import common.lexer.TokenKind;
+import common.log.Log;
+import python.symbolTable.ArgumentSymbol;
+import python.symbolTable.FunctionSymbol;
+import python.symbolTable.SymbolTable;
+import python.symbolTable.SymbolTableGenerator;
+import python.ast.other.BodyNode;
+import python.ast.statements.AssignmentNode;
+import python.ast.statements.StatementNode;
+import python.ast.statements.blocks.ForStatementNode;
+import python.ast.statements.blocks.FunctionDefinitionNode;
+import python.ast.statements.blocks.WhileStatementNode;
+import python.ast.statements.expressions.ExpressionNode;
+import python.ast.statements.expressions.FunctionCallNode;
+import python.ast.statements.expressions.IdentifierNode;
+import python.ast.statements.expressions.OperationExpressionNode;
+import python.ast.statements.expressions.constants.IntegerNode;
+import python.ast.statements.expressions.constants.TrueNode;
+import python.ast.statements.keywords.BreakStatementNode;
+import python.ast.statements.keywords.ContinueStatementNode;
+import python.ast.statements.keywords.ReturnStatementNode;
+
+/**
+ * Visitor class turning the self-recursive functions of an AST into loops, before the generation of the C code.
+ * A function is transformed when all its recursive calls are returned, outside of any loop of the function :
+ *  return f(args) : the arguments are assigned to the parameters and the loop continues.
+ *  return e + f(args) or return e * f(args) (or the call first) : e is accumulated in a new variable beforehand, and every other return gives the accumulator combined with its value.
+ * The accumulations are only done on integers, whose additions and multiplications can be reordered without changing the result.
+ * The body of the function is wrapped in a while loop, so that the function runs in constant stack.
+ * @author C.Silva, R.Cuinat
+ */
+public class TailRecursionVisitor implements Visitor {
+	private SymbolTable symbolTable;
+	private final HashSet<String> names;
+
+	/**
+	 * Constructor of the class.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public TailRecursionVisitor() {
+		this.names = new HashSet<>();
+	}
+
+	/**
+	 * Transforms the recursive functions of the AST.
+	 * @param ast AST to transform.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(AST ast) {
+		Log.info("Removing recursions");
+		ast.accept(this);
+	}
+
+	/**
+	 * Transforms the recursive functions defined in the main program.
+	 * @param root Root of the AST.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(ProgramNode root) {
+		this.symbolTable = new SymbolTableGenerator(new SymbolTable()).generateFrom(root);
+		TailRecursionVisitor.collect_names(root, this.names);
+		for (Node node : root.getChildren()) {
+			node.accept(this);
+		}
+	}
+
+	/**
+	 * Turns the function into a loop if its recursive calls allow it.
+	 * @param node Node to transform.
+	 * @author C.Silva, R.Cuinat
+	 */
+	@Override
+	public void visit(FunctionDefinitionNode node) {
+		FunctionSymbol func = this.symbolTable.getFunctionByName(node.getName());
+		if (func == null || func.getNode() != node || node.getBody() == null || !func.getOptionals().isEmpty()) {
+			return;
+		}
+		ArrayList<ReturnStatementNode> recursive = new ArrayList<>();
+		ArrayList<ReturnStatementNode> bases = new ArrayList<>();
+		HashMap<ReturnStatementNode, BodyNode> parents = new HashMap<>();
+		if (!this.find_returns(node.getBody(), func.getName(), false, recursive, bases, parents) || recursive.isEmpty()
+				|| TailRecursionVisitor.count_calls(node.getBody(), func.getName()) != recursive.size()) {
+			return;
+		}
+		SymbolTable st = new SymbolTable(this.symbolTable);
+		st.addVariableFromMandatories(func.getMandatoryArgs());
+		st = new SymbolTableGenerator(st).generateFrom(node.getBody());
+		String operator = null;
+		for (ReturnStatementNode r : recursive) {
+			FunctionCallNode call = TailRecursionVisitor.recursive_call(r.getExpression(), func.getName());
+			if (!this.arguments_match(call, func, st)) {
+				return;
+			}
+			ExpressionNode accumulated = TailRecursionVisitor.accumulated(r.getExpression(), call);
+			if (accumulated != null) {
+				String op = ((OperationExpressionNode) r.getExpression()).getOperator().getValue();
+				if ((operator != null && operator.compareTo(op) != 0) || TypeDiscovererVisitor.typeOf(accumulated, st).getName().compareTo("Integer") != 0) {
+					return;
+				}
+				operator = op;
+			}
+		}
+		if (operator != null) {
+			if (func.getReturnedType() == null || func.getReturnedType().getName().compareTo("Integer") != 0) {
+				return;
+			}
+			for (ReturnStatementNode r : bases) {
+				if (r.getExpression() == null) {
+					return;
+				}
+			}
+		}
+		this.transform(node, func, operator, recursive, bases, parents);
+	}
+
+	/**
+	 * Rewrites the function as a loop, once its recursive calls are known to allow it.
+	 * @param node Definition of the function.
+	 * @param func Symbol of the function.
+	 * @param operator Operator of the accumulations, or null if the recursive calls are only tail calls.
+	 * @param recursive Returns of the recursive calls.
+	 * @param bases Other returns of the function.
+	 * @param parents Blocks containing the returns of the recursive calls.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private void transform(FunctionDefinitionNode node, FunctionSymbol func, String operator, ArrayList<ReturnStatementNode> recursive, ArrayList<ReturnStatementNode> bases, HashMap<ReturnStatementNode, BodyNode> parents) {
+		int line = node.getLine();
+		int column = node.getColumn();
+		String accumulator = operator == null ? null : this.fresh_name(func.getName() + "_acc");
+		for (ReturnStatementNode r : recursive) {
+			FunctionCallNode call = TailRecursionVisitor.recursive_call(r.getExpression(), func.getName());
+			ArrayList<StatementNode> statements = new ArrayList<>();
+			ExpressionNode accumulated = TailRecursionVisitor.accumulated(r.getExpression(), call);
+			if (accumulated != null) {
+				statements.add(TailRecursionVisitor.assignment(accumulator, operator.compareTo("*") == 0 ? TokenKind.OPERATOR_MULTIPLY_ASSIGN : TokenKind.OPERATOR_PLUS_ASSIGN, operator + "=", accumulated));
+			}
+			statements.addAll(this.parameter_assignments(call, func));
+			statements.add(new ContinueStatementNode(r.getLine(), r.getColumn()));
+			parents.get(r).replaceStatement(r, statements);
+		}
+		if (accumulator != null) {
+			for (ReturnStatementNode r : bases) {
+				OperationExpressionNode combined = new OperationExpressionNode(r.getLine(), r.getColumn());
+				combined.setLeftMember(TailRecursionVisitor.identifier(accumulator, r.getLine(), r.getColumn()));
+				combined.setOperator(new Token(operator.compareTo("*") == 0 ? TokenKind.OPERATOR_MULTIPLY : TokenKind.OPERATOR_PLUS, operator, r.getLine(), r.getColumn()));
+				combined.setRightMember(r.getExpression());
+				r.setExpression(combined);
+			}
+		}
+		BodyNode loop_body = new BodyNode(line, column);
+		for (Node statement : node.getBody().getChildren()) {
+			loop_body.addStatement((StatementNode) statement);
+		}
+		if (loop_body.getChildren().isEmpty() || !(loop_body.getChildren().get(loop_body.getChildren().size() - 1) instanceof ReturnStatementNode)) {
+			loop_body.addStatement(new BreakStatementNode(line, column));
+		}
+		WhileStatementNode loop = new WhileStatementNode(line, column);
+		loop.setCondition(new TrueNode(line, column));
+		loop.setBody(loop_body);
+		BodyNode body = new BodyNode(line, column);
+		if (accumulator != null) {
+			body.addStatement(TailRecursionVisitor.assignment(accumulator, TokenKind.OPERATOR_ASSIGN, "=", new IntegerNode(operator.compareTo("*") == 0 ? 1 : 0, line, column)));
+		}
+		body.addStatement(loop);
+		node.setBody(body);
+	}
+
+	/**
+	 * Finds the returns of the given subtree, sorting out the returns of a recursive call from the other ones.
+	 * @param node Root of the subtree.
+	 * @param name Name of the function.
+	 * @param in_loop true if the subtree is in a loop of the function.
+	 * @param recursive List receiving the returns of a recursive call, outside of the loops.
+	 * @param bases List receiving the other returns.
+	 * @param parents Map receiving the blocks of the returns of a recursive call.
+	 * @return false if the function defines another function, true otherwise.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private boolean find_returns(Node node, String name, boolean in_loop, ArrayList<ReturnStatementNode> recursive, ArrayList<ReturnStatementNode> bases, HashMap<ReturnStatementNode, BodyNode> parents) {
+		for (Node child : node.getChildren()) {
+			if (child instanceof FunctionDefinitionNode) {
+				return false;
+			}
+			else if (child instanceof ReturnStatementNode) {
+				ReturnStatementNode r = (ReturnStatementNode) child;
+				if (!in_loop && node instanceof BodyNode && TailRecursionVisitor.recursive_call(r.getExpression(), name) != null) {
+					recursive.add(r);
+					parents.put(r, (BodyNode) node);
+				}
+				else {
+					bases.add(r);
+				}
+			}
+			else if (child != null && !this.find_returns(child, name, in_loop || child instanceof WhileStatementNode || child instanceof ForStatementNode, recursive, bases, parents)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the recursive call of the given returned expression, if it is a call of the function or an addition or a multiplication with such a call.
+	 * @param expression The returned expression.
+	 * @param name Name of the function.
+	 * @return The recursive call, or null if the expression has none of these forms.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static FunctionCallNode recursive_call(ExpressionNode expression, String name) {
+		if (TailRecursionVisitor.is_call(expression, name)) {
+			return (FunctionCallNode) expression;
+		}
+		if (expression instanceof OperationExpressionNode) {
+			OperationExpressionNode operation = (OperationExpressionNode) expression;
+			if (operation.getOperator() == null || operation.getLeftMember() == null || operation.getRightMember() == null
+					|| (operation.getOperator().getValue().compareTo("+") != 0 && operation.getOperator().getValue().compareTo("*") != 0)) {
+				return null;
+			}
+			if (TailRecursionVisitor.is_call(operation.getLeftMember().getExpression(), name)) {
+				return (FunctionCallNode) operation.getLeftMember().getExpression();
+			}
+			if (TailRecursionVisitor.is_call(operation.getRightMember().getExpression(), name)) {
+				return (FunctionCallNode) operation.getRightMember().getExpression();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the operand combined with the recursive call in the given returned expression.
+	 * @param expression The returned expression.
+	 * @param call The recursive call of the expression.
+	 * @return The other operand of the operation, or null if the expression is the call itself.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static ExpressionNode accumulated(ExpressionNode expression, FunctionCallNode call) {
+		if (expression == call) {
+			return null;
+		}
+		OperationExpressionNode operation = (OperationExpressionNode) expression;
+		return operation.getLeftMember().getExpression() == call ? operation.getRightMember().getExpression() : operation.getLeftMember().getExpression();
+	}
+
+	/**
+	 * Tells whether the given expression is a call of the given function.
+	 * @param expression The expression.
+	 * @param name Name of the function.
+	 * @return true if the expression calls the function.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static boolean is_call(ExpressionNode expression, String name) {
+		return expression instanceof FunctionCallNode && ((FunctionCallNode) expression).getName().getName().compareTo(name) == 0;
+	}
+
+	/**
+	 * Counts the calls of the given function in the given subtree.
+	 * @param node Root of the subtree.
+	 * @param name Name of the function.
+	 * @return The number of calls.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static int count_calls(Node node, String name) {
+		int count = node instanceof ExpressionNode && TailRecursionVisitor.is_call((ExpressionNode) node, name) ? 1 : 0;
+		for (Node child : node.getChildren()) {
+			if (child != null) {
+				count += TailRecursionVisitor.count_calls(child, name);
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Tells whether the arguments of the given recursive call can be assigned to the parameters of the function : one per parameter, of the same type.
+	 * @param call The recursive call.
+	 * @param func Symbol of the function.
+	 * @param st Symbol table of the body of the function.
+	 * @return true if the arguments match the parameters.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private boolean arguments_match(FunctionCallNode call, FunctionSymbol func, SymbolTable st) {
+		ArrayList<ExpressionNode> args = TailRecursionVisitor.arguments(call);
+		if (args == null || args.size() != func.getMandatoryArgs().size()) {
+			return false;
+		}
+		for (int i=0;i<args.size();i++) {
+			ArgumentSymbol param = func.getMandatoryArgs().get(i);
+			if (param.getType() == null || TypeDiscovererVisitor.typeOf(args.get(i), st).getName().compareTo(param.getType().getName()) != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the mandatory arguments of the given call.
+	 * @param call The call.
+	 * @return The arguments, or null if the call has optional arguments.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static ArrayList<ExpressionNode> arguments(FunctionCallNode call) {
+		ArrayList<ExpressionNode> args = new ArrayList<>();
+		if (call.getArgList() == null) {
+			return args;
+		}
+		if (call.getArgList().getActualOptionalArgumentList() != null && !call.getArgList().getActualOptionalArgumentList().getChildren().isEmpty()) {
+			return null;
+		}
+		if (call.getArgList().getActualArgumentList() != null) {
+			for (Node arg : call.getArgList().getActualArgumentList().getChildren()) {
+				args.add((ExpressionNode) arg);
+			}
+		}
+		return args;
+	}
+
+	/**
+	 * Creates the assignments of the arguments of the given recursive call to the parameters of the function.
+	 * The arguments go through temporary variables when one of them reads a parameter assigned before it.
+	 * @param call The recursive call.
+	 * @param func Symbol of the function.
+	 * @return The assignments, in order.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private ArrayList<StatementNode> parameter_assignments(FunctionCallNode call, FunctionSymbol func) {
+		ArrayList<ExpressionNode> args = TailRecursionVisitor.arguments(call);
+		ArrayList<Integer> changed = new ArrayList<>();
+		boolean temporaries = false;
+		for (int i=0;i<args.size();i++) {
+			String param = func.getMandatoryArgs().get(i).getName();
+			if (args.get(i) instanceof IdentifierNode && ((IdentifierNode) args.get(i)).getName().compareTo(param) == 0) {
+				continue;
+			}
+			for (int j : changed) {
+				temporaries |= TailRecursionVisitor.reads(args.get(i), func.getMandatoryArgs().get(j).getName());
+			}
+			changed.add(i);
+		}
+		ArrayList<StatementNode> statements = new ArrayList<>();
+		ArrayList<StatementNode> moves = new ArrayList<>();
+		for (int i : changed) {
+			String param = func.getMandatoryArgs().get(i).getName();
+			if (temporaries) {
+				String temporary = this.fresh_name(param + "_next");
+				statements.add(TailRecursionVisitor.assignment(temporary, TokenKind.OPERATOR_ASSIGN, "=", args.get(i)));
+				moves.add(TailRecursionVisitor.assignment(param, TokenKind.OPERATOR_ASSIGN, "=", TailRecursionVisitor.identifier(temporary, call.getLine(), call.getColumn())));
+			}
+			else {
+				statements.add(TailRecursionVisitor.assignment(param, TokenKind.OPERATOR_ASSIGN, "=", args.get(i)));
+			}
+		}
+		statements.addAll(moves);
+		return statements;
+	}
+
+	/**
+	 * Tells whether the given subtree reads the given variable.
+	 * @param node Root of the subtree.
+	 * @param name Name of the variable.
+	 * @return true if an identifier of this name is found.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static boolean reads(Node node, String name) {
+		if (node instanceof IdentifierNode && ((IdentifierNode) node).getName().compareTo(name) == 0) {
+			return true;
+		}
+		for (Node child : node.getChildren()) {
+			if (child != null && TailRecursionVisitor.reads(child, name)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Gathers the identifiers used in the given subtree.
+	 * @param node Root of the subtree.
+	 * @param names Set receiving the names of the identifiers.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static void collect_names(Node node, HashSet<String> names) {
+		if (node instanceof IdentifierNode) {
+			names.add(((IdentifierNode) node).getName());
+		}
+		for (Node child : node.getChildren()) {
+			if (child != null) {
+				TailRecursionVisitor.collect_names(child, names);
+			}
+		}
+	}
+
+	/**
+	 * Returns a name used nowhere in the program, based on the given name.
+	 * @param name The name wished.
+	 * @return The name wished, followed by as many underscores as needed to make it unique.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private String fresh_name(String name) {
+		while (this.names.contains(name)) {
+			name += "_";
+		}
+		this.names.add(name);
+		return name;
+	}
+
+	/**
+	 * Creates an identifier.
+	 * @param name Name of the identifier.
+	 * @param line Line of the identifier.
+	 * @param column Column of the identifier.
+	 * @return The identifier.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static IdentifierNode identifier(String name, int line, int column) {
+		return new IdentifierNode(new Token(TokenKind.IDENTIFIER, name, line, column));
+	}
+
+	/**
+	 * Creates an assignment of the given expression to a variable.
+	 * @param name Name of the variable.
+	 * @param kind Kind of the assignment operator.
+	 * @param operator The assignment operator.
+	 * @param expression Assigned expression.
+	 * @return The assignment.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private static AssignmentNode assignment(String name, TokenKind kind, String operator, ExpressionNode expression) {
+		AssignmentNode assignment = new AssignmentNode(expression.getLine(), expression.getColumn());
+		assignment.setLeftMember(TailRecursionVisitor.identifier(name, expression.getLine(), expression.getColumn()));
+		assignment.setOperator(new Token(kind, operator, expression.getLine(), expression.getColumn()));
+		assignment.setRightMember(expression);
+		return assignment;
+	}
+}
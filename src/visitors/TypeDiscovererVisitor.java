@@ -26,6 +26,7 @@ import python.ast.statements.expressions.constants.TrueNode;
 
 /**
  * Visitor Class determining the type of an expression. To be fully efficient, the visit is to be started with a symbolTable containing as much information as possible.
+ * The types of the visited expressions are cached on their nodes : an expression is only typed again once the symbolTable changed.
  * @author C.Silva, R.Cuinat
  */
 public class TypeDiscovererVisitor implements Visitor {
@@ -48,6 +49,45 @@ public class TypeDiscovererVisitor implements Visitor {
 	public void clear() {
 		this.result = null;
 	}
+
+	/**
+	 * Determines the type of the given expression.
+	 * @param node Node of the expression to type.
+	 * @param st SymbolTable used to determine the type.
+	 * @return The type of the expression.
+	 * @author C.Silva, R.Cuinat
+	 */
+	public static AbstractType typeOf(Node node, SymbolTable st) {
+		TypeDiscovererVisitor td = new TypeDiscovererVisitor(st);
+		node.accept(td);
+		return td.getResult();
+	}
+
+	/**
+	 * Takes the type cached on the given node as result, if it is still valid.
+	 * @param node Node of the expression being typed.
+	 * @return true if the cached type was taken, false if the expression is to be typed.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private boolean cached(ExpressionNode node) {
+		AbstractType type = node.getType(this.symbolTable);
+		if (type == null) {
+			return false;
+		}
+		this.result = type;
+		return true;
+	}
+
+	/**
+	 * Caches the current result on the given node.
+	 * @param node Node of the expression just typed.
+	 * @author C.Silva, R.Cuinat
+	 */
+	private void annotate(ExpressionNode node) {
+		if (this.result != null) {
+			node.setType(this.result, this.symbolTable);
+		}
+	}
 	
 	
 	/**
@@ -107,9 +147,13 @@ public class TypeDiscovererVisitor implements Visitor {
 	 * @author C.Silva, R.Cuinat
 	 */
 	public void visit(ExpressionNode node) {
+		if (this.cached(node)) {
+			return;
+		}
 		for (Node n : node.getChildren()) {
 			n.accept(this);
 		}
+		this.annotate(node);
 	}
 	
 	/**
@@ -118,6 +162,9 @@ public class TypeDiscovererVisitor implements Visitor {
 	 * @author C.Silva, R.Cuinat
 	 */
 	public void visit(FunctionCallNode node) {
+		if (this.cached(node)) {
+			return;
+		}
 		FunctionSymbol function = this.symbolTable.getFunctionByName(node.getName());
 		if (function == null) {
 			this.result = new UndefinedType(node);
@@ -125,6 +172,7 @@ public class TypeDiscovererVisitor implements Visitor {
 		else {
 			this.result = function.getReturnedType();
 		}
+		this.annotate(node);
 	}
 	
 	/**
@@ -133,6 +181,9 @@ public class TypeDiscovererVisitor implements Visitor {
 	 * @author C.Silva, R.Cuinat
 	 */
 	public void visit(IdentifierNode node) {
+		if (this.cached(node)) {
+			return;
+		}
 		VariableSymbol variable = this.symbolTable.getVariableByName(node);
 		if (variable == null) {
 			this.result = new UndefinedType(node);
@@ -140,7 +191,7 @@ public class TypeDiscovererVisitor implements Visitor {
 		else {
 			this.result = variable.getType();
 		}
-		
+		this.annotate(node);
 	}
 	
 	/**
@@ -149,6 +200,9 @@ public class TypeDiscovererVisitor implements Visitor {
 	 * @author C.Silva, R.Cuinat
 	 */
 	public void visit(OperationExpressionNode node) {
+		if (this.cached(node)) {
+			return;
+		}
 		node.getLeftMember().getExpression().accept(this);
 		AbstractType temp = this.result;
 		node.getRightMember().getExpression().accept(this);
@@ -167,6 +221,7 @@ public class TypeDiscovererVisitor implements Visitor {
 			this.result = this.result.operationWith((UndefinedType) temp);
 			break;
 		}
+		this.annotate(node);
 	}
 
 	/**
@@ -202,9 +257,13 @@ public class TypeDiscovererVisitor implements Visitor {
 	 * @author C.Silva, R.Cuinat
 	 */
 	public void visit(IterableNode node) {
+		if (this.cached(node)) {
+			return;
+		}
 		for (Node n : node.getChildren()) {
 			n.accept(this);
 		}
+		this.annotate(node);
 	}
 	
 	/**
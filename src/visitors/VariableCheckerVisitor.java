@@ -1,10 +1,14 @@
 package visitors;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 import common.ast.AST;
 import common.ast.Node;
 import common.ast.ProgramNode;
+import common.log.Log;
 import python.ast.other.BodyNode;
 import python.ast.other.LeftMemberNode;
 import python.ast.other.RightMemberNode;
@@ -40,7 +44,7 @@ import python.ast.statements.keywords.ReturnStatementNode;
  */
 public class VariableCheckerVisitor implements Visitor {
 	private final ArrayList<String> vars;
-	private static ArrayList<String> reservedVars;
+	private static final List<String> reservedVars = Collections.unmodifiableList(Arrays.asList("__name__"));
 	private final ArrayList<String> var_buffer;
 	
 	/**
@@ -49,22 +53,10 @@ public class VariableCheckerVisitor implements Visitor {
 	 */
 	public VariableCheckerVisitor() {
 		vars = new ArrayList<>();
-		VariableCheckerVisitor.init();
 		vars.addAll(VariableCheckerVisitor.reservedVars);
 		this.var_buffer = new ArrayList<>();
 	}
 	
-	/**
-	 * Initializes useful resources for the check.
-	 * @author C.Silva, R.Cuinat
-	 */
-	private static void init() {
-		if (VariableCheckerVisitor.reservedVars == null) {
-			VariableCheckerVisitor.reservedVars = new ArrayList<>();
-			VariableCheckerVisitor.reservedVars.add("__name__");
-		}		
-	}
-	
 	/**
 	 * Checks the AST
 	 * @param ast Node to display.
@@ -72,7 +64,7 @@ public class VariableCheckerVisitor implements Visitor {
 	 */
 	@Override
 	public void visit(AST ast) {
-		System.out.println("Checking variables");
+		Log.info("Checking variables");
 		ast.accept(this);
 	}
 	
@@ -104,7 +96,7 @@ public class VariableCheckerVisitor implements Visitor {
 			node.getRightMember().accept(this);
 			IdentifierNode varname = ((IdentifierNode)node.getLeftMember().getChildren().get(0));
 			if (VariableCheckerVisitor.reservedVars.contains(varname.getName())) {
-				System.err.println("\nError : Assigning reserved variable " + varname + " (L"+varname.getLine() + ", C"+varname.getColumn()+")");
+				Log.error("\nError : Assigning reserved variable " + varname + " (L"+varname.getLine() + ", C"+varname.getColumn()+")");
 			}
 			else {
 				this.vars.add(varname.getName());	
@@ -120,7 +112,7 @@ public class VariableCheckerVisitor implements Visitor {
 	@Override
 	public void visit(IdentifierNode node) {
 		if (!this.vars.contains(node.getName())){
-			System.err.println("\nError : Undefined variable " + node.getName() + " (L" + node.getLine() + ", C" + node.getColumn() + ")");
+			Log.error("\nError : Undefined variable " + node.getName() + " (L" + node.getLine() + ", C" + node.getColumn() + ")");
 		}
 	}
 	
@@ -4,6 +4,7 @@ import common.ast.Node;
 import python.ast.statements.blocks.FunctionDefinitionNode;
 import python.symbolTable.SymbolTable;
 import python.symbolTable.VariableSymbol;
+import python.symbolTable.types.AbstractType;
 import python.symbolTable.types.UndefinedType;
 import python.ast.statements.AssignmentNode;
 import python.ast.statements.expressions.IdentifierNode;
@@ -58,10 +59,9 @@ public class VariableSearcherVisitor implements Visitor {
 			this.symbolTable.addVariable(var);
 		}
 		else if (var.getType().getName().compareTo("Undefined") == 0) {
-			TypeDiscovererVisitor v = new TypeDiscovererVisitor(this.symbolTable);
-			v.visit(node.getRightMember());
-			if (v.getResult().getName().compareTo("Undefined") != 0 || ((UndefinedType) v.getResult()).getCause().size() < ((UndefinedType)var.getType()).getCause().size()) {
-				var.setType(v.getResult());
+			AbstractType type = TypeDiscovererVisitor.typeOf(node.getRightMember(), this.symbolTable);
+			if (type.getName().compareTo("Undefined") != 0 || ((UndefinedType) type).getCause().size() < ((UndefinedType)var.getType()).getCause().size()) {
+				var.setType(type);
 			}
 		}
 	}
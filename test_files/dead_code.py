@@ -0,0 +1,36 @@
+def sign(x) :
+    if x < 0 :
+        return 0 - 1
+    elif x == 0 :
+        return 0
+    else :
+        return 1
+    print("never")
+
+def first(n) :
+    i = 0
+    while i < n :
+        if i == 2 :
+            return i
+        else :
+            i = i + 1
+            continue 
+        print("never")
+    return n
+
+s = 0
+for i in range(1,11) :
+    t = i * 2
+k = 5
+while k > 10 :
+    u = k
+a = sign(0 - 3)
+print(a)
+b = first(5)
+print(b)
+if 0 :
+    print("never")
+else :
+    c = b + 1
+    print(c)
+print("end")
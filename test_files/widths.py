@@ -0,0 +1,20 @@
+def fact(n) :
+    if n < 2 :
+        return 1
+    else :
+        return n * fact(n - 1)
+
+x = 3000000000
+print(x)
+y = x * 3
+print(y)
+z = 0 - 9223372036854775807
+print(z)
+f = fact(20)
+print(f)
+if f == 2432902008176640000 :
+    print("fact(20) ok")
+w = 2 ** 40 + 1
+print(w)
+m = 4294967296 // 65536
+print(m)